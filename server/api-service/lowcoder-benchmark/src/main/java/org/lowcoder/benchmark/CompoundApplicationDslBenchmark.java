@@ -0,0 +1,79 @@
+package org.lowcoder.benchmark;
+
+import org.lowcoder.api.application.CompoundApplicationDslFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.lowcoder.sdk.constants.DslConstants.CompoundAppDslConstants.ACTION;
+import static org.lowcoder.sdk.constants.DslConstants.CompoundAppDslConstants.APP;
+import static org.lowcoder.sdk.constants.DslConstants.CompoundAppDslConstants.APP_ID;
+import static org.lowcoder.sdk.constants.DslConstants.CompoundAppDslConstants.COMP;
+import static org.lowcoder.sdk.constants.DslConstants.CompoundAppDslConstants.ITEMS;
+
+/**
+ * Traversal of the navigation dsl of a compound application, collecting the ids of its sub-applications.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompoundApplicationDslBenchmark {
+
+    @Param({"3"})
+    private int depth;
+
+    @Param({"10"})
+    private int width;
+
+    // the sub-app id collection does not touch the injected services
+    private final CompoundApplicationDslFilter filter = new CompoundApplicationDslFilter();
+    private Map<String, Object> comp;
+
+    @Setup
+    public void setUp() {
+        comp = node(depth, new int[1]);
+    }
+
+    private Map<String, Object> node(int level, int[] appCounter) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 0; i < width; i++) {
+            if (level <= 1) {
+                items.add(leaf("app-" + appCounter[0]++));
+            } else {
+                items.add(node(level - 1, appCounter));
+            }
+        }
+        Map<String, Object> node = new HashMap<>();
+        node.put(ITEMS, items);
+        return node;
+    }
+
+    private static Map<String, Object> leaf(String appId) {
+        Map<String, Object> leaf = new HashMap<>();
+        leaf.put(ACTION, Map.of(COMP, Map.of(APP, Map.of(APP_ID, appId))));
+        return leaf;
+    }
+
+    @Benchmark
+    public Set<String> collectSubAppIds() {
+        return filter.getAllSubAppIdsFromCompoundAppDsl(comp);
+    }
+}
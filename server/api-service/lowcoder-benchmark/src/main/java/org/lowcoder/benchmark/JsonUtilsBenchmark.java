@@ -0,0 +1,73 @@
+package org.lowcoder.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.lowcoder.sdk.util.JsonUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Json serialisation of query results, the shape returned to the client by every query execution.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonUtilsBenchmark {
+
+    @Param({"100", "10000"})
+    private int rows;
+
+    private List<Map<String, Object>> result;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        result = IntStream.range(0, rows)
+                .mapToObj(JsonUtilsBenchmark::row)
+                .toList();
+        json = JsonUtils.toJson(result);
+    }
+
+    private static Map<String, Object> row(int i) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", i);
+        row.put("user_name", "user-" + i % 100);
+        row.put("amount", i * 0.13);
+        row.put("paid", i % 2 == 0);
+        row.put("created_at", "2024-01-01 10:00:00");
+        row.put("note", i % 3 == 0 ? null : "note of order " + i);
+        return row;
+    }
+
+    @Benchmark
+    public String toJson() {
+        return JsonUtils.toJson(result);
+    }
+
+    @Benchmark
+    public JsonNode valueToTree() {
+        return JsonUtils.valueToTree(result);
+    }
+
+    @Benchmark
+    public List<Object> fromJson() {
+        return JsonUtils.fromJsonList(json);
+    }
+}
@@ -0,0 +1,75 @@
+package org.lowcoder.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.lowcoder.sdk.util.MustacheHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Template rendering of query configs and building of prepared sql statements from mustache bindings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MustacheBenchmark {
+
+    private static final String STRING_TEMPLATE = "https://api.example.com/users/{{ userId }}/orders?status={{status}}&limit={{ limit }}";
+
+    private static final String JSON_TEMPLATE = """
+            {
+              "user": {{ user }},
+              "filter": { "status": "{{ status }}", "tags": {{ tags }}, "limit": {{ limit }} },
+              "title": "orders of {{ user.name }} since {{ since }}",
+              "flags": [true, false, null, 1, 2.5]
+            }
+            """;
+
+    private static final String SQL_TEMPLATE = "select * from orders where user_id = {{ userId }} and status = {{ status }} "
+            + "and created_at > {{ since }} and tag in ({{ tags }}) order by created_at desc limit {{ limit }}";
+
+    private Map<String, Object> paramMap;
+    private List<String> sqlBindings;
+
+    @Setup
+    public void setUp() {
+        paramMap = Map.of(
+                "userId", "u-1024",
+                "status", "PAID",
+                "limit", 50,
+                "since", "2024-01-01",
+                "tags", List.of("a", "b", "c"),
+                "user", Map.of("id", "u-1024", "name", "Jane", "roles", List.of("admin", "editor")),
+                "user.name", "Jane");
+        sqlBindings = MustacheHelper.extractMustacheKeysInOrder(SQL_TEMPLATE);
+    }
+
+    @Benchmark
+    public String renderString() {
+        return MustacheHelper.renderMustacheString(STRING_TEMPLATE, paramMap);
+    }
+
+    @Benchmark
+    public JsonNode renderJson() {
+        return MustacheHelper.renderMustacheJson(JSON_TEMPLATE, paramMap);
+    }
+
+    @Benchmark
+    public String buildPreparedStatement() {
+        return MustacheHelper.doPrepareStatement(SQL_TEMPLATE, sqlBindings, paramMap);
+    }
+}
@@ -0,0 +1,91 @@
+package org.lowcoder.benchmark;
+
+import org.lowcoder.sdk.plugin.common.sql.ResultSetParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of jdbc result sets into query result rows, read from an in-memory H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultSetParserBenchmark {
+
+    @Param({"100", "10000"})
+    private int rows;
+
+    private Connection connection;
+    private PreparedStatement statement;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:benchmark_" + rows + ";DB_CLOSE_DELAY=-1");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("""
+                    create table if not exists orders (
+                      id bigint primary key,
+                      user_name varchar(64),
+                      amount decimal(12, 2),
+                      paid boolean,
+                      created_date date,
+                      created_at timestamp,
+                      note varchar(255)
+                    )""");
+            ddl.execute("truncate table orders");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("insert into orders values (?, ?, ?, ?, current_date, current_timestamp, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                insert.setLong(1, i);
+                insert.setString(2, "user-" + i % 100);
+                insert.setBigDecimal(3, BigDecimal.valueOf(i * 13L, 2));
+                insert.setBoolean(4, i % 2 == 0);
+                insert.setString(5, i % 3 == 0 ? null : "note of order " + i);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        statement = connection.prepareStatement("select * from orders");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        statement.close();
+        try (Statement drop = connection.createStatement()) {
+            drop.execute("drop table orders");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> parseRows() throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            return ResultSetParser.parseRows(resultSet);
+        }
+    }
+}
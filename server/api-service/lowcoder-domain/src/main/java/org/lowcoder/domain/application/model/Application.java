@@ -56,6 +56,25 @@ public class Application extends HasIdAndAuditing {
     @Getter
     @Setter
     protected Instant lastEditedAt;
+    /**
+     * when / by whom the application was last opened in the editor; kept apart from updatedAt and modifiedBy, which
+     * version the application and its caches
+     */
+    @Getter
+    private Instant lastOpenedAt;
+    @Getter
+    private String lastOpenedBy;
+    /**
+     * when editing was last finished, buffered edits recorded before it no longer set the editing user
+     */
+    @Getter
+    private Instant editingFinishedAt;
+
+    /**
+     * container size of the live dsl, written together with the dsl so that modules can be listed without their dsl
+     */
+    @Setter
+    private Object liveContainerSize;
 
     public Application(
             @JsonProperty("orgId") String organizationId,
@@ -102,14 +121,6 @@ public class Application extends HasIdAndAuditing {
     @Transient
     private final Supplier<Set<String>> liveModules = memoize(() -> getDependentModulesFromDsl(getLiveApplicationDsl()));
 
-    @Transient
-    private final Supplier<Object> liveContainerSize = memoize(() -> {
-        if (ApplicationType.APPLICATION.getValue() == getApplicationType()) {
-            return null;
-        }
-        return getContainerSizeFromDSL(getLiveApplicationDsl());
-    });
-
     public Set<ApplicationQuery> getEditingQueries() {
         return editingQueries.get();
     }
@@ -179,8 +190,21 @@ public class Application extends HasIdAndAuditing {
         return dsl;
     }
 
+    /**
+     * falls back to the dsl for applications saved before the container size was persisted
+     */
     public Object getLiveContainerSize() {
-        return liveContainerSize.get();
+        if (ApplicationType.APPLICATION.getValue() == getApplicationType()) {
+            return null;
+        }
+        if (liveContainerSize == null && (MapUtils.isNotEmpty(publishedApplicationDSL) || MapUtils.isNotEmpty(editingApplicationDSL))) {
+            return getContainerSizeFromDSL(getLiveApplicationDsl());
+        }
+        return liveContainerSize;
+    }
+
+    public void refreshLiveContainerSize() {
+        liveContainerSize = getContainerSizeFromDSL(getLiveApplicationDsl());
     }
 
 	public Map<String, Object> getPublishedApplicationDSL() {
@@ -0,0 +1,47 @@
+package org.lowcoder.domain.application.model;
+
+import jakarta.annotation.Nullable;
+
+import java.time.Instant;
+
+/**
+ * Pending activity tracking of an application, coalesced until it's written to the application document.
+ *
+ * @param openedAt when the application was last opened in the editor, written as its lastOpenedAt
+ * @param openedBy who last opened the application in the editor, written as its lastOpenedBy
+ */
+public record ApplicationActivity(String applicationId,
+                                  @Nullable Instant openedAt,
+                                  @Nullable String openedBy,
+                                  @Nullable Instant lastEditedAt,
+                                  @Nullable String editingUserId) {
+
+    public static ApplicationActivity opened(String applicationId, Instant time, String visitorId) {
+        return new ApplicationActivity(applicationId, time, visitorId, null, null);
+    }
+
+    public static ApplicationActivity edited(String applicationId, Instant time, String visitorId) {
+        return new ApplicationActivity(applicationId, null, null, time, visitorId);
+    }
+
+    /**
+     * @param later activity recorded after this one, its values take precedence
+     */
+    public ApplicationActivity merge(ApplicationActivity later) {
+        boolean laterOpened = later.openedAt != null;
+        boolean laterEdited = later.lastEditedAt != null;
+        return new ApplicationActivity(applicationId,
+                laterOpened ? later.openedAt : openedAt,
+                laterOpened ? later.openedBy : openedBy,
+                laterEdited ? later.lastEditedAt : lastEditedAt,
+                laterEdited ? later.editingUserId : editingUserId);
+    }
+
+    @Nullable
+    public ApplicationActivity withoutEdit() {
+        if (openedAt == null) {
+            return null;
+        }
+        return new ApplicationActivity(applicationId, openedAt, openedBy, null, null);
+    }
+}
@@ -2,6 +2,7 @@ package org.lowcoder.domain.application.model;
 
 import java.util.Map;
 
+import jakarta.annotation.Nullable;
 import lombok.NoArgsConstructor;
 import org.lowcoder.sdk.models.HasIdAndAuditing;
 import org.springframework.data.mongodb.core.mapping.Document;
@@ -10,7 +11,14 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
-@ToString(callSuper = true)
+/**
+ * A saved version of an application's dsl.
+ * <p>
+ * Snapshots of an application form chains: a keyframe stores the whole dsl, every following snapshot of the chain only
+ * stores a compressed patch against the snapshot before it. Snapshots saved before chains existed have no chain fields
+ * and are keyframes.
+ */
+@ToString(callSuper = true, exclude = "dslPatch")
 @Document
 @Getter
 @Setter
@@ -18,7 +26,34 @@ import lombok.ToString;
 public class ApplicationHistorySnapshot extends HasIdAndAuditing {
 
     private String applicationId;
+    /**
+     * only set on keyframes, see {@link #getDslPatch()} for the other snapshots
+     */
+    @Nullable
     private Map<String, Object> dsl;
     private Map<String, Object> context;
 
+    /**
+     * the keyframe of the chain, null for keyframes
+     */
+    @Nullable
+    private String keyframeId;
+    /**
+     * the snapshot {@link #dslPatch} applies to, null for keyframes
+     */
+    @Nullable
+    private String previousSnapshotId;
+    /**
+     * position in the chain, 0 for keyframes
+     */
+    private int chainIndex;
+    /**
+     * gzip compressed json patch from the dsl of the previous snapshot to the dsl of this one, null for keyframes
+     */
+    @Nullable
+    private byte[] dslPatch;
+
+    public boolean isKeyframe() {
+        return keyframeId == null;
+    }
 }
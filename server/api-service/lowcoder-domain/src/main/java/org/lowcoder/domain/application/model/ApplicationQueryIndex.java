@@ -0,0 +1,84 @@
+package org.lowcoder.domain.application.model;
+
+import org.apache.commons.collections4.MapUtils;
+import org.lowcoder.domain.query.model.ApplicationQuery;
+import org.lowcoder.sdk.exception.BizError;
+import org.lowcoder.sdk.exception.BizException;
+import org.lowcoder.sdk.util.JsonUtils;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.lowcoder.domain.application.ApplicationUtil.getDependentModulesFromDsl;
+
+/**
+ * What query execution needs from an application dsl, extracted once per application version: the editing and live
+ * queries by id / gid, and the modules the application directly depends on.
+ * <p>
+ * Queries are kept as json and deserialized per lookup because query execution mutates the query config.
+ *
+ * @param version updatedAt of the application the index is built from
+ */
+public record ApplicationQueryIndex(String applicationId,
+                                    Instant version,
+                                    Map<String, String> editingQueries,
+                                    Map<String, String> liveQueries,
+                                    Set<String> editingModules,
+                                    Set<String> liveModules) {
+
+    public static ApplicationQueryIndex of(Application application) {
+        return new ApplicationQueryIndex(application.getId(),
+                application.getUpdatedAt(),
+                indexQueries(application.getEditingApplicationDSL().get("queries")),
+                indexQueries(application.getLiveApplicationDsl().get("queries")),
+                Set.copyOf(getDependentModulesFromDsl(application.getEditingApplicationDSL())),
+                Set.copyOf(getDependentModulesFromDsl(application.getLiveApplicationDsl())));
+    }
+
+    /**
+     * @param application the application read with or without dsl
+     */
+    public boolean isVersionOf(Application application) {
+        return applicationId.equals(application.getId()) && Objects.equals(version, application.getUpdatedAt());
+    }
+
+    public ApplicationQuery getQuery(boolean isViewMode, String queryId) {
+        String queryJson = (isViewMode ? liveQueries : editingQueries).get(queryId);
+        if (queryJson == null) {
+            throw new BizException(BizError.QUERY_NOT_FOUND, "LIBRARY_QUERY_NOT_FOUND");
+        }
+        return JsonUtils.fromJson(queryJson, ApplicationQuery.class);
+    }
+
+    public Set<String> getModules(boolean isViewMode) {
+        return isViewMode ? liveModules : editingModules;
+    }
+
+    private static Map<String, String> indexQueries(Object queries) {
+        if (!(queries instanceof Collection<?> queryList)) {
+            return Map.of();
+        }
+        Map<String, String> result = new HashMap<>();
+        for (Object query : queryList) {
+            if (!(query instanceof Map<?, ?>)) {
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> queryMap = (Map<String, Object>) query;
+            String queryJson = JsonUtils.toJson(queryMap);
+            String id = MapUtils.getString(queryMap, "id");
+            String gid = MapUtils.getString(queryMap, "gid");
+            if (id != null) {
+                result.putIfAbsent(id, queryJson);
+            }
+            if (gid != null) {
+                result.putIfAbsent(gid, queryJson);
+            }
+        }
+        return Map.copyOf(result);
+    }
+}
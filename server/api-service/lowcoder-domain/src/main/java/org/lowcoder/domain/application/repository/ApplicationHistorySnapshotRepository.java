@@ -2,6 +2,7 @@ package org.lowcoder.domain.application.repository;
 
 import org.lowcoder.domain.application.model.ApplicationHistorySnapshot;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
@@ -12,8 +13,19 @@ import reactor.core.publisher.Mono;
 @Repository
 public interface ApplicationHistorySnapshotRepository extends ReactiveMongoRepository<ApplicationHistorySnapshot, String> {
 
-    @Query(fields = "{applicationId : 1, context: 1, createdBy : 1, createdAt : 1}")
+    @Query(fields = "{applicationId : 1, context: 1, createdBy : 1, createdAt : 1, keyframeId : 1, previousSnapshotId : 1, chainIndex : 1}")
     Flux<ApplicationHistorySnapshot> findAllByApplicationId(String applicationId, Pageable pageable);
 
+    /**
+     * all snapshots of the application without their dsl and patch
+     */
+    @Query(value = "{applicationId : ?0}", fields = "{dsl : 0, dslPatch : 0}")
+    Flux<ApplicationHistorySnapshot> findAllChainInfoByApplicationId(String applicationId, Sort sort);
+
+    /**
+     * the deltas of a chain, with their patches
+     */
+    Flux<ApplicationHistorySnapshot> findAllByKeyframeId(String keyframeId);
+
     Mono<Long> countByApplicationId(String applicationId);
 }
@@ -36,6 +36,12 @@ public interface ApplicationRepository extends ReactiveMongoRepository<Applicati
     Flux<Application> findByIdIn(Collection<String> ids);
     Flux<Application> findByGidIn(Collection<String> ids);
 
+    @Query(value = "{ _id : { $in : ?0 } }", fields = "{ publishedApplicationDSL : 0 , editingApplicationDSL : 0 }")
+    Flux<Application> findWithoutDslByIdIn(Collection<String> ids);
+
+    @Query(value = "{ gid : { $in : ?0 } }", fields = "{ publishedApplicationDSL : 0 , editingApplicationDSL : 0 }")
+    Flux<Application> findWithoutDslByGidIn(Collection<String> gids);
+
     Flux<Application> findByCreatedByAndIdIn(String userId, Collection<String> ids);
     Flux<Application> findByCreatedByAndGidIn(String userId, Collection<String> gids);
 
@@ -1,6 +1,13 @@
 package org.lowcoder.domain.application.repository;
 
 import org.lowcoder.domain.application.model.Application;
+import org.lowcoder.domain.application.model.ApplicationActivity;
+import org.lowcoder.domain.application.model.ApplicationStatus;
+import org.lowcoder.domain.application.model.ApplicationType;
+
+import java.util.Collection;
+
+import jakarta.annotation.Nullable;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -10,4 +17,21 @@ public interface CustomApplicationRepository {
     Flux<Application> findByOrganizationIdWithDsl(String organizationId);
 
     Mono<Application> findByIdWithDsl(String applicationId);
+
+    /**
+     * applications of the organization without their dsl, filtered in the query
+     *
+     * @param applicationIds null for all applications of the organization
+     * @param applicationType null for all types
+     * @param applicationStatus null for all statuses
+     */
+    Flux<Application> findWithoutDslByOrganizationId(String organizationId, @Nullable Collection<String> applicationIds,
+            @Nullable ApplicationType applicationType, @Nullable ApplicationStatus applicationStatus);
+
+    /**
+     * writes the activity fields of the applications in one unordered bulk write, leaving their dsl untouched
+     * <p>
+     * an edit is skipped if editing was finished, or a later edit was written, since it was recorded
+     */
+    Mono<Void> updateActivities(Collection<ApplicationActivity> activities);
 }
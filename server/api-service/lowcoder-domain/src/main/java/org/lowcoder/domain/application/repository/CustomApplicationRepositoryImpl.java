@@ -1,19 +1,34 @@
 package org.lowcoder.domain.application.repository;
 
 import org.lowcoder.domain.application.model.Application;
+import org.lowcoder.domain.application.model.ApplicationActivity;
+import org.lowcoder.domain.application.model.ApplicationStatus;
+import org.lowcoder.domain.application.model.ApplicationType;
 import org.lowcoder.sdk.constants.FieldName;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+
+import jakarta.annotation.Nullable;
+
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Repository
 public class CustomApplicationRepositoryImpl implements CustomApplicationRepository {
 
+    private static final String PUBLISHED_DSL = "publishedApplicationDSL";
+    private static final String EDITING_DSL = "editingApplicationDSL";
+    private static final String LAST_EDITED_AT = "lastEditedAt";
+    private static final String EDITING_FINISHED_AT = "editingFinishedAt";
+
     @Autowired
     private ReactiveMongoTemplate reactiveMongoTemplate;
 
@@ -28,4 +43,50 @@ public class CustomApplicationRepositoryImpl implements CustomApplicationReposit
     public Mono<Application> findByIdWithDsl(String applicationId) {
         return reactiveMongoTemplate.findOne(new Query(Criteria.where(FieldName.guessFieldNameFromId(applicationId)).is(applicationId)), Application.class);
     }
+
+    @Override
+    public Flux<Application> findWithoutDslByOrganizationId(String organizationId, @Nullable Collection<String> applicationIds,
+            @Nullable ApplicationType applicationType, @Nullable ApplicationStatus applicationStatus) {
+        Criteria criteria = Criteria.where("organizationId").is(organizationId);
+        if (applicationIds != null) {
+            criteria.and(FieldName.ID).in(applicationIds);
+        }
+        if (applicationType == ApplicationType.APPLICATION) {
+            // applications saved without a type are applications
+            criteria.and("applicationType").in(applicationType.getValue(), null);
+        } else if (applicationType != null) {
+            criteria.and("applicationType").is(applicationType.getValue());
+        }
+        if (applicationStatus != null) {
+            criteria.and("applicationStatus").is(applicationStatus);
+        }
+        Query query = new Query(criteria);
+        query.fields().exclude(PUBLISHED_DSL, EDITING_DSL);
+        return reactiveMongoTemplate.find(query, Application.class);
+    }
+
+    @Override
+    public Mono<Void> updateActivities(Collection<ApplicationActivity> activities) {
+        if (activities.isEmpty()) {
+            return Mono.empty();
+        }
+        ReactiveBulkOperations bulkOperations = reactiveMongoTemplate.bulkOps(BulkMode.UNORDERED, Application.class);
+        for (ApplicationActivity activity : activities) {
+            String applicationId = activity.applicationId();
+            // updatedAt / modifiedBy are left alone, opening an application doesn't modify it
+            if (activity.openedAt() != null) {
+                bulkOperations.updateOne(new Query(Criteria.where(FieldName.guessFieldNameFromId(applicationId)).is(applicationId)),
+                        Update.update("lastOpenedAt", activity.openedAt()).set("lastOpenedBy", activity.openedBy()));
+            }
+            // an edit flushed by another node after editing was finished, or after a later edit, is dropped
+            if (activity.lastEditedAt() != null) {
+                Criteria criteria = Criteria.where(FieldName.guessFieldNameFromId(applicationId)).is(applicationId)
+                        .and(EDITING_FINISHED_AT).not().gte(activity.lastEditedAt())
+                        .and(LAST_EDITED_AT).not().gte(activity.lastEditedAt());
+                bulkOperations.updateOne(new Query(criteria),
+                        Update.update(LAST_EDITED_AT, activity.lastEditedAt()).set("editingUserId", activity.editingUserId()));
+            }
+        }
+        return bulkOperations.execute().then();
+    }
 }
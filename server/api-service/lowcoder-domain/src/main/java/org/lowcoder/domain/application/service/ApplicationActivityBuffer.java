@@ -0,0 +1,97 @@
+package org.lowcoder.domain.application.service;
+
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.lowcoder.domain.application.model.ApplicationActivity;
+import org.lowcoder.domain.application.repository.ApplicationRepository;
+import org.lowcoder.infra.perf.PerfHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.lowcoder.infra.perf.PerfEvent.APPLICATION_ACTIVITY_BATCH_UPDATE;
+
+/**
+ * Write-behind buffer of application last-opened / last-edited tracking, so that opening or auto-saving an application
+ * does not write the application document on every request.
+ * <p>
+ * Activities of the same application are coalesced in memory and written in one bulk update every
+ * {@link #FLUSH_INTERVAL_SECONDS} seconds, so each application is written at most once per interval.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ApplicationActivityBuffer {
+
+    private static final long FLUSH_INTERVAL_SECONDS = 5;
+    private static final Duration SHUTDOWN_FLUSH_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ApplicationRepository repository;
+    private final PerfHelper perfHelper;
+
+    private final Map<String, ApplicationActivity> pendingActivities = new ConcurrentHashMap<>();
+
+    public void recordOpened(String applicationId, String visitorId) {
+        record(ApplicationActivity.opened(applicationId, Instant.now(), visitorId));
+    }
+
+    public void recordEdited(String applicationId, Instant time, String visitorId) {
+        record(ApplicationActivity.edited(applicationId, time, visitorId));
+    }
+
+    /**
+     * drops the pending last-edited tracking of the application, used when its edit state is written directly so that
+     * a later flush does not overwrite it
+     */
+    public void discardEdited(String applicationId) {
+        pendingActivities.computeIfPresent(applicationId, (id, activity) -> activity.withoutEdit());
+    }
+
+    private void record(ApplicationActivity activity) {
+        pendingActivities.merge(activity.applicationId(), activity, ApplicationActivity::merge);
+    }
+
+    @Scheduled(initialDelay = FLUSH_INTERVAL_SECONDS, fixedRate = FLUSH_INTERVAL_SECONDS, timeUnit = TimeUnit.SECONDS)
+    public void scheduledFlush() {
+        flush().subscribe();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush().block(SHUTDOWN_FLUSH_TIMEOUT);
+        } catch (Exception e) {
+            log.warn("flush application activities on shutdown error", e);
+        }
+    }
+
+    Mono<Void> flush() {
+        if (pendingActivities.isEmpty()) {
+            return Mono.empty();
+        }
+        // removing key by key keeps activities recorded during the flush for the next one
+        List<ApplicationActivity> activities = new ArrayList<>(pendingActivities.size());
+        for (String applicationId : pendingActivities.keySet()) {
+            ApplicationActivity activity = pendingActivities.remove(applicationId);
+            if (activity != null) {
+                activities.add(activity);
+            }
+        }
+        return repository.updateActivities(activities)
+                .doOnSuccess(__ -> perfHelper.count(APPLICATION_ACTIVITY_BATCH_UPDATE, Tags.empty(), activities.size()))
+                .onErrorResume(e -> {
+                    log.error("update application activities error, size: {}", activities.size(), e);
+                    return Mono.empty();
+                });
+    }
+}
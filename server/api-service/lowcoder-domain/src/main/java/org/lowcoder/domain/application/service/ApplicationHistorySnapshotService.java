@@ -19,4 +19,9 @@ public interface ApplicationHistorySnapshotService {
     Mono<ApplicationHistorySnapshot> getHistorySnapshotDetail(String historySnapshotId);
 
     Mono<ApplicationHistorySnapshot> getLastSnapshotByApp(String applicationId);
+
+    /**
+     * removes the snapshots of the application beyond the configured retention
+     */
+    Mono<Void> compact(String applicationId);
 }
@@ -0,0 +1,131 @@
+package org.lowcoder.domain.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.lowcoder.domain.application.model.Application;
+import org.lowcoder.domain.application.model.ApplicationQueryIndex;
+import org.lowcoder.domain.application.repository.ApplicationRepository;
+import org.lowcoder.sdk.constants.FieldName;
+import org.lowcoder.sdk.exception.BizError;
+import org.lowcoder.sdk.exception.BizException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Caches {@link ApplicationQueryIndex}es so that executing a query reads the application without its dsl instead of
+ * loading and walking the whole dsl on every run.
+ * <p>
+ * A cached index is used only while its version equals the updatedAt of the application just read, so saves and
+ * publishes made on any node are picked up by the next query; the index is rebuilt lazily on that first query.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ApplicationQueryIndexCache {
+
+    private static final long MAX_SIZE = 2000;
+    private static final Duration EXPIRE_AFTER_ACCESS = Duration.ofMinutes(30);
+
+    private final ApplicationRepository repository;
+
+    private final Cache<String, ApplicationQueryIndex> indexes = Caffeine.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .expireAfterAccess(EXPIRE_AFTER_ACCESS)
+            .build();
+
+    /**
+     * @param application the application read with or without dsl
+     */
+    public Mono<ApplicationQueryIndex> getIndex(Application application) {
+        ApplicationQueryIndex index = indexes.getIfPresent(application.getId());
+        if (index != null && index.isVersionOf(application)) {
+            return Mono.just(index);
+        }
+        return repository.findByIdWithDsl(application.getId())
+                .switchIfEmpty(Mono.error(new BizException(BizError.NO_RESOURCE_FOUND, "CANT_FIND_APPLICATION", application.getId())))
+                .map(this::buildIndex);
+    }
+
+    /**
+     * Ids of all the modules the application depends on, directly or through other modules, same as
+     * {@link ApplicationService#getAllDependentModulesFromApplication(Application, boolean)} but resolved from the
+     * module indexes, one batched read per dependency level.
+     */
+    public Mono<Set<String>> getAllDependentModuleIds(ApplicationQueryIndex index, boolean viewMode) {
+        Set<String> circularDependencyCheckSet = new HashSet<>(index.getModules(viewMode));
+        return getIndexes(circularDependencyCheckSet)
+                .expand(modules -> {
+                    List<String> nextModuleIds = modules.stream()
+                            .flatMap(module -> module.liveModules().stream())
+                            .filter(circularDependencyCheckSet::add)
+                            .toList();
+                    return nextModuleIds.isEmpty() ? Mono.empty() : getIndexes(nextModuleIds);
+                })
+                .flatMapIterable(Function.identity())
+                .map(ApplicationQueryIndex::applicationId)
+                .collect(Collectors.toSet());
+    }
+
+    public void invalidate(String applicationId) {
+        indexes.invalidate(applicationId);
+    }
+
+    private Mono<List<ApplicationQueryIndex>> getIndexes(Collection<String> applicationIds) {
+        if (applicationIds.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return findWithoutDslByIdIn(applicationIds)
+                .collectList()
+                .flatMap(applications -> {
+                    List<ApplicationQueryIndex> result = new ArrayList<>(applications.size());
+                    List<String> staleIds = new ArrayList<>();
+                    for (Application application : applications) {
+                        ApplicationQueryIndex index = indexes.getIfPresent(application.getId());
+                        if (index != null && index.isVersionOf(application)) {
+                            result.add(index);
+                        } else {
+                            staleIds.add(application.getId());
+                        }
+                    }
+                    if (staleIds.isEmpty()) {
+                        return Mono.just(result);
+                    }
+                    return repository.findByIdIn(staleIds)
+                            .map(this::buildIndex)
+                            .collectList()
+                            .map(loaded -> {
+                                result.addAll(loaded);
+                                return result;
+                            });
+                })
+                .onErrorResume(e -> {
+                    log.warn("get dependent modules on error continue , {}", e.getMessage());
+                    return Mono.just(List.of());
+                });
+    }
+
+    private Flux<Application> findWithoutDslByIdIn(Collection<String> applicationIds) {
+        if (FieldName.isGID(applicationIds.iterator().next())) {
+            return repository.findWithoutDslByGidIn(applicationIds);
+        }
+        return repository.findWithoutDslByIdIn(applicationIds);
+    }
+
+    private ApplicationQueryIndex buildIndex(Application application) {
+        ApplicationQueryIndex index = ApplicationQueryIndex.of(application);
+        indexes.put(index.applicationId(), index);
+        return index;
+    }
+}
@@ -3,7 +3,9 @@ package org.lowcoder.domain.application.service;
 import org.lowcoder.domain.application.model.Application;
 import org.lowcoder.domain.application.model.ApplicationRequestType;
 import org.lowcoder.domain.application.model.ApplicationStatus;
+import org.lowcoder.domain.application.model.ApplicationType;
 import org.lowcoder.infra.annotation.NonEmptyMono;
+import jakarta.annotation.Nullable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -32,6 +34,19 @@ public interface ApplicationService {
 
     Flux<Application> findByOrganizationIdWithoutDsl(String organizationId);
 
+    /**
+     * @param applicationType null for all types
+     * @param applicationStatus null for all statuses
+     */
+    Flux<Application> findByOrganizationIdWithoutDsl(String organizationId, @Nullable ApplicationType applicationType,
+            @Nullable ApplicationStatus applicationStatus);
+
+    /**
+     * same as {@link #findByOrganizationIdWithoutDsl(String, ApplicationType, ApplicationStatus)}, limited to the given applications
+     */
+    Flux<Application> findByOrganizationIdWithoutDsl(String organizationId, Collection<String> applicationIds,
+            @Nullable ApplicationType applicationType, @Nullable ApplicationStatus applicationStatus);
+
     Flux<Application> findAllMarketplaceApps();
 
     Flux<Application> findAllAgencyProfileApps();
@@ -75,5 +90,13 @@ public interface ApplicationService {
 
     Flux<Application> findAll();
 
+    /**
+     * buffered, see {@link ApplicationActivityBuffer}
+     */
     Mono<Boolean> updateLastEditedAt(String applicationId, Instant time, String visitorId);
+
+    /**
+     * records that the current visitor opened the application in the editor, buffered, see {@link ApplicationActivityBuffer}
+     */
+    Mono<Void> recordOpened(String applicationId);
 }
@@ -1,6 +1,7 @@
 package org.lowcoder.domain.application.service;
 
 
+import static org.lowcoder.domain.application.ApplicationUtil.getContainerSizeFromDSL;
 import static org.lowcoder.domain.application.ApplicationUtil.getDependentModulesFromDsl;
 
 import java.time.Instant;
@@ -8,10 +9,13 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.bson.Document;
 import org.lowcoder.domain.application.model.Application;
 import org.lowcoder.domain.application.model.ApplicationRequestType;
 import org.lowcoder.domain.application.model.ApplicationStatus;
+import org.lowcoder.domain.application.model.ApplicationType;
 import org.lowcoder.domain.application.repository.ApplicationRepository;
 import org.lowcoder.domain.organization.repository.OrganizationRepository;
 import org.lowcoder.domain.organization.service.OrgMemberService;
@@ -23,15 +27,19 @@ import org.lowcoder.domain.user.service.UserService;
 import org.lowcoder.infra.annotation.NonEmptyMono;
 import org.lowcoder.infra.mongo.MongoUpsertHelper;
 import org.lowcoder.sdk.constants.FieldName;
+import org.lowcoder.sdk.constants.GlobalContext;
 import org.lowcoder.sdk.exception.BizError;
 import org.lowcoder.sdk.exception.BizException;
 import org.lowcoder.sdk.models.HasIdAndAuditing;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 
+import jakarta.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -41,10 +49,14 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class ApplicationServiceImpl implements ApplicationService {
 
+    private static final String PUBLISHED_DSL = "publishedApplicationDSL";
+
     private final MongoUpsertHelper mongoUpsertHelper;
     private final ResourcePermissionService resourcePermissionService;
     private final ApplicationRepository repository;
     private final UserRepository userRepository;
+    private final ApplicationQueryIndexCache applicationQueryIndexCache;
+    private final ApplicationActivityBuffer applicationActivityBuffer;
 
     @Override
     public Mono<Application> findById(String id) {
@@ -74,14 +86,46 @@ public class ApplicationServiceImpl implements ApplicationService {
             return Mono.error(new BizException(BizError.INVALID_PARAMETER, "INVALID_PARAMETER", FieldName.ID));
         }
 
-        return mongoUpsertHelper.updateById(application, applicationId);
+        return updateWithLiveContainerSize(applicationId, application)
+                .doOnTerminate(() -> applicationQueryIndexCache.invalidate(applicationId));
     }
 
 
     @Override
     public Mono<Boolean> updatePublishedApplicationDSL(String applicationId, Map<String, Object> applicationDSL) {
         Application application = Application.builder().publishedApplicationDSL(applicationDSL).build();
-        return mongoUpsertHelper.updateById(application, applicationId);
+        return updateWithLiveContainerSize(applicationId, application)
+                .doOnTerminate(() -> applicationQueryIndexCache.invalidate(applicationId));
+    }
+
+    /**
+     * keeps the persisted live container size in step with the dsl, the size is written in the same update as the dsl
+     */
+    private Mono<Boolean> updateWithLiveContainerSize(String applicationId, Application application) {
+        if (MapUtils.isNotEmpty(application.getPublishedApplicationDSL())) {
+            application.refreshLiveContainerSize();
+            return mongoUpsertHelper.updateById(application, applicationId);
+        }
+        if (MapUtils.isEmpty(application.getEditingApplicationDSL())) {
+            return mongoUpsertHelper.updateById(application, applicationId);
+        }
+        // the editing dsl is only live until the application is published, otherwise it is written without the size
+        application.refreshLiveContainerSize();
+        return mongoUpsertHelper.update(application, new Query(unpublished(applicationId)))
+                .flatMap(updated -> {
+                    if (updated) {
+                        return Mono.just(true);
+                    }
+                    application.setLiveContainerSize(null);
+                    return mongoUpsertHelper.updateById(application, applicationId);
+                });
+    }
+
+    private static Criteria unpublished(String applicationId) {
+        return Criteria.where(FieldName.guessFieldNameFromId(applicationId)).is(applicationId)
+                .orOperator(Criteria.where(PUBLISHED_DSL).exists(false),
+                        Criteria.where(PUBLISHED_DSL).is(null),
+                        Criteria.where(PUBLISHED_DSL).is(new Document()));
     }
 
     @Override
@@ -98,14 +142,18 @@ public class ApplicationServiceImpl implements ApplicationService {
     public Mono<Boolean> updateEditState(String applicationId, Boolean editingFinished) {
         return findById(applicationId)
                 .flatMap(newApplication -> {
-                    Application application = Application.builder().editingUserId("").build();
-                    if(editingFinished) return mongoUpsertHelper.updateById(application, applicationId);
+                    Application application = Application.builder().editingUserId("").editingFinishedAt(Instant.now()).build();
+                    if(editingFinished) {
+                        applicationActivityBuffer.discardEdited(applicationId);
+                        return mongoUpsertHelper.updateById(application, applicationId);
+                    }
                     return Mono.just(true);
                 });
     }
 
     @Override
     public Mono<Application> create(Application newApplication, String visitorId) {
+        newApplication.refreshLiveContainerSize();
         return repository.save(newApplication)
                 .delayUntil(app -> resourcePermissionService.addResourcePermissionToUser(app.getId(), visitorId, ResourceRole.OWNER, ResourceType.APPLICATION));
     }
@@ -123,6 +171,21 @@ public class ApplicationServiceImpl implements ApplicationService {
         return repository.findByOrganizationId(organizationId);
     }
 
+    @Override
+    public Flux<Application> findByOrganizationIdWithoutDsl(String organizationId, @Nullable ApplicationType applicationType,
+            @Nullable ApplicationStatus applicationStatus) {
+        return repository.findWithoutDslByOrganizationId(organizationId, null, applicationType, applicationStatus);
+    }
+
+    @Override
+    public Flux<Application> findByOrganizationIdWithoutDsl(String organizationId, Collection<String> applicationIds,
+            @Nullable ApplicationType applicationType, @Nullable ApplicationStatus applicationStatus) {
+        if (applicationIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return repository.findWithoutDslByOrganizationId(organizationId, applicationIds, applicationType, applicationStatus);
+    }
+
     @Override
     public Flux<Application> findAllMarketplaceApps() {
         return repository.findByPublicToAllIsTrueAndPublicToMarketplaceIsTrue();
@@ -224,7 +287,7 @@ public class ApplicationServiceImpl implements ApplicationService {
                             .build();
 
                 })
-                .flatMap(application -> mongoUpsertHelper.updateById(application, applicationId));
+                .flatMap(application -> updateWithLiveContainerSize(applicationId, application));
 
 
     }
@@ -349,10 +412,19 @@ public class ApplicationServiceImpl implements ApplicationService {
 
     @Override
     public Mono<Boolean> updateLastEditedAt(String applicationId, Instant time, String visitorId) {
-        return repository.findByIdIn(List.of(applicationId))
-                .doOnNext(application -> application.setLastEditedAt(time))
-                .doOnNext(application -> application.setEditingUserId(visitorId))
-                .flatMap(repository::save)
-                .hasElements();
+        return repository.existsById(applicationId)
+                .doOnNext(exists -> {
+                    if (exists) {
+                        applicationActivityBuffer.recordEdited(applicationId, time, visitorId);
+                    }
+                });
+    }
+
+    @Override
+    public Mono<Void> recordOpened(String applicationId) {
+        return Mono.deferContextual(ctx -> {
+            applicationActivityBuffer.recordOpened(applicationId, ctx.getOrDefault(GlobalContext.VISITOR_ID, GlobalContext.SYSTEM_USER_ID));
+            return Mono.empty();
+        });
     }
 }
@@ -4,38 +4,123 @@ import static org.lowcoder.sdk.exception.BizError.INVALID_HISTORY_SNAPSHOT;
 import static org.lowcoder.sdk.util.ExceptionUtils.deferredError;
 import static org.lowcoder.sdk.util.ExceptionUtils.ofException;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.lowcoder.domain.application.model.ApplicationHistorySnapshot;
 import org.lowcoder.domain.application.repository.ApplicationHistorySnapshotRepository;
 import org.lowcoder.domain.application.service.ApplicationHistorySnapshotService;
+import org.lowcoder.sdk.config.CommonConfig;
 import org.lowcoder.sdk.exception.BizError;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
+import org.lowcoder.sdk.util.JsonUtils;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-@RequiredArgsConstructor
+/**
+ * Stores snapshots as chains of a keyframe followed by compressed deltas, see {@link ApplicationHistorySnapshot}.
+ * <p>
+ * The dsl of the latest snapshot of recently edited applications is kept in memory, so that saving the next snapshot
+ * only diffs against it instead of rebuilding it from its chain.
+ */
+@Slf4j
 @Service
 public class ApplicationHistorySnapshotServiceImpl implements ApplicationHistorySnapshotService {
 
+    private static final Duration LATEST_DSL_EXPIRE_AFTER_ACCESS = Duration.ofMinutes(30);
+
     private final ApplicationHistorySnapshotRepository repository;
+    private final CommonConfig commonConfig;
+    private final Cache<String, LatestDsl> latestDsls;
+
+    public ApplicationHistorySnapshotServiceImpl(ApplicationHistorySnapshotRepository repository, CommonConfig commonConfig) {
+        this.repository = repository;
+        this.commonConfig = commonConfig;
+        this.latestDsls = Caffeine.newBuilder()
+                .maximumWeight(commonConfig.getHistorySnapshot().getLatestDslCacheSize().toBytes())
+                .<String, LatestDsl> weigher((applicationId, latestDsl) -> latestDsl.weight())
+                .expireAfterAccess(LATEST_DSL_EXPIRE_AFTER_ACCESS)
+                .build();
+    }
 
     @Override
     public Mono<Boolean> createHistorySnapshot(String applicationId, Map<String, Object> dsl, Map<String, Object> context, String userId) {
-        ApplicationHistorySnapshot applicationHistorySnapshot = new ApplicationHistorySnapshot();
-        applicationHistorySnapshot.setApplicationId(applicationId);
-        applicationHistorySnapshot.setDsl(dsl);
-        applicationHistorySnapshot.setContext(context);
-        return repository.save(applicationHistorySnapshot)
+        return repository.findAllByApplicationId(applicationId, PageRequest.of(0, 1).withSort(Direction.DESC, "id"))
+                .next()
+                .flatMap(latest -> {
+                    if (latest.getChainIndex() + 1 >= commonConfig.getHistorySnapshot().getKeyframeInterval()) {
+                        return Mono.<ApplicationHistorySnapshot> empty();
+                    }
+                    return getLatestDsl(latest)
+                            .onErrorResume(e -> {
+                                // a broken chain is not continued, the snapshot becomes a keyframe
+                                log.warn("rebuild history snapshot {} error", latest.getId(), e);
+                                return Mono.empty();
+                            })
+                            .map(latestDsl -> {
+                                ApplicationHistorySnapshot delta = newSnapshot(applicationId, context);
+                                delta.setKeyframeId(latest.isKeyframe() ? latest.getId() : latest.getKeyframeId());
+                                delta.setPreviousSnapshotId(latest.getId());
+                                delta.setChainIndex(latest.getChainIndex() + 1);
+                                delta.setDslPatch(DslPatch.diff(latestDsl, dsl));
+                                return delta;
+                            });
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    ApplicationHistorySnapshot keyframe = newSnapshot(applicationId, context);
+                    keyframe.setDsl(dsl);
+                    return keyframe;
+                }))
+                .flatMap(repository::save)
+                .doOnNext(saved -> latestDsls.put(applicationId, LatestDsl.of(saved.getId(), dsl)))
+                .delayUntil(saved -> {
+                    if (!saved.isKeyframe()) {
+                        return Mono.empty();
+                    }
+                    return compact(applicationId)
+                            .onErrorResume(e -> {
+                                log.warn("compact history snapshots error, application: {}", applicationId, e);
+                                return Mono.empty();
+                            });
+                })
                 .thenReturn(true)
-                .onErrorReturn(false);
+                .onErrorResume(e -> {
+                    log.error("create history snapshot error, application: {}", applicationId, e);
+                    return Mono.just(false);
+                });
+    }
+
+    private static ApplicationHistorySnapshot newSnapshot(String applicationId, Map<String, Object> context) {
+        ApplicationHistorySnapshot snapshot = new ApplicationHistorySnapshot();
+        snapshot.setApplicationId(applicationId);
+        snapshot.setContext(context);
+        return snapshot;
+    }
+
+    private Mono<Map<String, Object>> getLatestDsl(ApplicationHistorySnapshot latest) {
+        LatestDsl cached = latestDsls.getIfPresent(latest.getApplicationId());
+        if (cached != null && cached.snapshotId().equals(latest.getId())) {
+            return Mono.just(cached.dsl());
+        }
+        return repository.findById(latest.getId())
+                .flatMap(this::loadDsl);
     }
 
     @Override
@@ -56,7 +141,13 @@ public class ApplicationHistorySnapshotServiceImpl implements ApplicationHistory
     @Override
     public Mono<ApplicationHistorySnapshot> getHistorySnapshotDetail(String historySnapshotId) {
         return repository.findById(historySnapshotId)
-                .switchIfEmpty(deferredError(INVALID_HISTORY_SNAPSHOT, "INVALID_HISTORY_SNAPSHOT", historySnapshotId));
+                .switchIfEmpty(deferredError(INVALID_HISTORY_SNAPSHOT, "INVALID_HISTORY_SNAPSHOT", historySnapshotId))
+                .flatMap(snapshot -> loadDsl(snapshot)
+                        .map(dsl -> {
+                            snapshot.setDsl(dsl);
+                            snapshot.setDslPatch(null);
+                            return snapshot;
+                        }));
     }
 
     @Override
@@ -67,4 +158,136 @@ public class ApplicationHistorySnapshotServiceImpl implements ApplicationHistory
         return repository.findAllByApplicationId(applicationId, PageRequest.of(0, 1).withSort(Direction.DESC, "createdAt"))
                 .switchIfEmpty(Mono.just(_default)).next();
     }
+
+    /**
+     * Removes the snapshots of the application beyond the retention, see {@link CommonConfig.HistorySnapshot}. A kept
+     * delta whose keyframe is removed is turned into a keyframe first, so every kept snapshot can still be rebuilt.
+     */
+    @Override
+    public Mono<Void> compact(String applicationId) {
+        CommonConfig.HistorySnapshot config = commonConfig.getHistorySnapshot();
+        if (config.getRetention() == null && config.getMaxCount() <= 0) {
+            return Mono.empty();
+        }
+        return repository.findAllChainInfoByApplicationId(applicationId, Sort.by(Direction.ASC, "id"))
+                .collectList()
+                .flatMap(snapshots -> {
+                    Instant expireBefore = config.getRetention() == null ? null : Instant.now().minus(config.getRetention());
+                    int removeCount = config.getMaxCount() > 0 ? Math.max(snapshots.size() - config.getMaxCount(), 0) : 0;
+                    Set<String> removedIds = new HashSet<>();
+                    for (int i = 0; i < snapshots.size(); i++) {
+                        ApplicationHistorySnapshot snapshot = snapshots.get(i);
+                        boolean expired = expireBefore != null && snapshot.getCreatedAt() != null
+                                && snapshot.getCreatedAt().isBefore(expireBefore);
+                        if (i < removeCount || expired) {
+                            removedIds.add(snapshot.getId());
+                        }
+                    }
+                    if (removedIds.isEmpty()) {
+                        return Mono.empty();
+                    }
+                    // chains losing their keyframe but keeping some deltas
+                    Set<String> brokenKeyframeIds = snapshots.stream()
+                            .filter(snapshot -> !snapshot.isKeyframe() && !removedIds.contains(snapshot.getId()))
+                            .map(ApplicationHistorySnapshot::getKeyframeId)
+                            .filter(removedIds::contains)
+                            .collect(Collectors.toSet());
+                    return Flux.fromIterable(brokenKeyframeIds)
+                            .concatMap(keyframeId -> rebaseChain(keyframeId, removedIds))
+                            .then(repository.deleteAllById(removedIds));
+                });
+    }
+
+    /**
+     * turns the first kept deltas of a chain whose keyframe is removed into keyframes, and moves the deltas after them
+     * onto the new keyframes
+     */
+    private Mono<Void> rebaseChain(String keyframeId, Set<String> removedIds) {
+        return loadChain(keyframeId)
+                .flatMap(chain -> {
+                    List<ApplicationHistorySnapshot> kept = chain.snapshots().values().stream()
+                            .filter(snapshot -> !removedIds.contains(snapshot.getId()))
+                            .sorted(Comparator.comparingInt(ApplicationHistorySnapshot::getChainIndex))
+                            .toList();
+                    Set<String> keptIds = kept.stream().map(ApplicationHistorySnapshot::getId).collect(Collectors.toSet());
+                    // rebuilt before any snapshot of the chain is changed
+                    Map<String, Map<String, Object>> keyframeDsls = new HashMap<>();
+                    for (ApplicationHistorySnapshot snapshot : kept) {
+                        if (!keptIds.contains(snapshot.getPreviousSnapshotId())) {
+                            keyframeDsls.put(snapshot.getId(), chain.rebuild(snapshot.getId()));
+                        }
+                    }
+                    Map<String, ApplicationHistorySnapshot> rebased = new HashMap<>();
+                    for (ApplicationHistorySnapshot snapshot : kept) {
+                        Map<String, Object> dsl = keyframeDsls.get(snapshot.getId());
+                        if (dsl != null) {
+                            snapshot.setDsl(dsl);
+                            snapshot.setKeyframeId(null);
+                            snapshot.setPreviousSnapshotId(null);
+                            snapshot.setChainIndex(0);
+                            snapshot.setDslPatch(null);
+                        } else {
+                            ApplicationHistorySnapshot previous = rebased.get(snapshot.getPreviousSnapshotId());
+                            snapshot.setKeyframeId(previous.isKeyframe() ? previous.getId() : previous.getKeyframeId());
+                            snapshot.setChainIndex(previous.getChainIndex() + 1);
+                        }
+                        rebased.put(snapshot.getId(), snapshot);
+                    }
+                    return repository.saveAll(kept).then();
+                });
+    }
+
+    private Mono<Map<String, Object>> loadDsl(ApplicationHistorySnapshot snapshot) {
+        if (snapshot.isKeyframe()) {
+            return Mono.just(snapshot.getDsl() == null ? Map.of() : snapshot.getDsl());
+        }
+        return loadChain(snapshot.getKeyframeId())
+                .map(chain -> chain.rebuild(snapshot.getId()));
+    }
+
+    private Mono<Chain> loadChain(String keyframeId) {
+        return repository.findById(keyframeId)
+                .switchIfEmpty(deferredError(INVALID_HISTORY_SNAPSHOT, "INVALID_HISTORY_SNAPSHOT", keyframeId))
+                .zipWith(repository.findAllByKeyframeId(keyframeId).collectMap(ApplicationHistorySnapshot::getId))
+                .map(tuple -> new Chain(tuple.getT1(), tuple.getT2()));
+    }
+
+    /**
+     * @param weight serialized size of the dsl in bytes
+     */
+    private record LatestDsl(String snapshotId, Map<String, Object> dsl, int weight) {
+
+        static LatestDsl of(String snapshotId, Map<String, Object> dsl) {
+            String json = JsonUtils.toJson(dsl);
+            return new LatestDsl(snapshotId, dsl, json == null ? 0 : json.length());
+        }
+    }
+
+    /**
+     * @param snapshots the deltas of the chain by id
+     */
+    private record Chain(ApplicationHistorySnapshot keyframe, Map<String, ApplicationHistorySnapshot> snapshots) {
+
+        /**
+         * applies the patches from the keyframe up to the snapshot, following the previous snapshot links since
+         * concurrent saves may branch a chain
+         */
+        Map<String, Object> rebuild(String snapshotId) {
+            Deque<byte[]> patches = new ArrayDeque<>();
+            String id = snapshotId;
+            while (!keyframe.getId().equals(id)) {
+                ApplicationHistorySnapshot snapshot = snapshots.get(id);
+                if (snapshot == null || patches.size() > snapshots.size()) {
+                    throw ofException(INVALID_HISTORY_SNAPSHOT, "INVALID_HISTORY_SNAPSHOT", snapshotId);
+                }
+                patches.push(snapshot.getDslPatch());
+                id = snapshot.getPreviousSnapshotId();
+            }
+            Map<String, Object> dsl = keyframe.getDsl() == null ? Map.of() : keyframe.getDsl();
+            for (byte[] patch : patches) {
+                dsl = DslPatch.apply(dsl, patch);
+            }
+            return dsl;
+        }
+    }
 }
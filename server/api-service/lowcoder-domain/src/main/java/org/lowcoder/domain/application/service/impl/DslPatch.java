@@ -0,0 +1,182 @@
+package org.lowcoder.domain.application.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.lowcoder.sdk.util.JsonUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip compressed json patches (RFC 6902, add / remove / replace only) between two dsls.
+ * <p>
+ * Objects are diffed by key and arrays by index, so an element inserted in the middle of an array replaces the elements
+ * after it; the patch stays correct, only larger.
+ */
+final class DslPatch {
+
+    private static final String OP = "op";
+    private static final String PATH = "path";
+    private static final String VALUE = "value";
+    private static final String ADD = "add";
+    private static final String REMOVE = "remove";
+    private static final String REPLACE = "replace";
+
+    private DslPatch() {
+    }
+
+    static byte[] diff(Map<String, Object> from, Map<String, Object> to) {
+        ArrayNode operations = JsonUtils.createArrayNode();
+        diff("", JsonUtils.valueToTree(from), JsonUtils.valueToTree(to), operations);
+        return compress(operations);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> apply(Map<String, Object> dsl, byte[] patch) {
+        JsonNode result = JsonUtils.valueToTree(dsl);
+        for (JsonNode operation : decompress(patch)) {
+            result = apply(result, operation);
+        }
+        return (Map<String, Object>) JsonUtils.jsonNodeToObject(result);
+    }
+
+    private static void diff(String path, JsonNode from, JsonNode to, ArrayNode operations) {
+        if (from.equals(to)) {
+            return;
+        }
+        if (from.isObject() && to.isObject()) {
+            Iterator<String> fromFields = from.fieldNames();
+            while (fromFields.hasNext()) {
+                String field = fromFields.next();
+                if (!to.has(field)) {
+                    operations.add(operation(REMOVE, path + "/" + escape(field), null));
+                }
+            }
+            Iterator<Map.Entry<String, JsonNode>> toFields = to.fields();
+            while (toFields.hasNext()) {
+                Map.Entry<String, JsonNode> field = toFields.next();
+                String fieldPath = path + "/" + escape(field.getKey());
+                JsonNode fromValue = from.get(field.getKey());
+                if (fromValue == null) {
+                    operations.add(operation(ADD, fieldPath, field.getValue()));
+                } else {
+                    diff(fieldPath, fromValue, field.getValue(), operations);
+                }
+            }
+            return;
+        }
+        if (from.isArray() && to.isArray()) {
+            int common = Math.min(from.size(), to.size());
+            for (int i = 0; i < common; i++) {
+                diff(path + "/" + i, from.get(i), to.get(i), operations);
+            }
+            for (int i = common; i < to.size(); i++) {
+                operations.add(operation(ADD, path + "/" + i, to.get(i)));
+            }
+            // from the end, so that the indexes of the remaining removals stay valid
+            for (int i = from.size() - 1; i >= common; i--) {
+                operations.add(operation(REMOVE, path + "/" + i, null));
+            }
+            return;
+        }
+        operations.add(operation(REPLACE, path, to));
+    }
+
+    private static ObjectNode operation(String op, String path, JsonNode value) {
+        ObjectNode operation = JsonUtils.createObjectNode();
+        operation.put(OP, op);
+        operation.put(PATH, path);
+        if (value != null) {
+            operation.set(VALUE, value);
+        }
+        return operation;
+    }
+
+    /**
+     * @return the patched document, a new one if the root itself is replaced
+     */
+    private static JsonNode apply(JsonNode document, JsonNode operation) {
+        String op = operation.path(OP).asText();
+        List<String> tokens = parsePath(operation.path(PATH).asText());
+        JsonNode value = operation.get(VALUE);
+        if (tokens.isEmpty()) {
+            if (!REPLACE.equals(op)) {
+                throw new IllegalArgumentException("unsupported patch operation on the root: " + op);
+            }
+            return value;
+        }
+
+        JsonNode parent = document;
+        for (String token : tokens.subList(0, tokens.size() - 1)) {
+            parent = parent.isArray() ? parent.get(Integer.parseInt(token)) : parent.get(token);
+            if (parent == null) {
+                throw new IllegalArgumentException("patch path not found: " + operation.path(PATH).asText());
+            }
+        }
+
+        String last = tokens.get(tokens.size() - 1);
+        if (parent instanceof ObjectNode objectNode) {
+            switch (op) {
+                case ADD, REPLACE -> objectNode.set(last, value);
+                case REMOVE -> objectNode.remove(last);
+                default -> throw new IllegalArgumentException("unsupported patch operation: " + op);
+            }
+        } else if (parent instanceof ArrayNode arrayNode) {
+            int index = Integer.parseInt(last);
+            switch (op) {
+                case ADD -> arrayNode.insert(index, value);
+                case REPLACE -> arrayNode.set(index, value);
+                case REMOVE -> arrayNode.remove(index);
+                default -> throw new IllegalArgumentException("unsupported patch operation: " + op);
+            }
+        } else {
+            throw new IllegalArgumentException("patch path not found: " + operation.path(PATH).asText());
+        }
+        return document;
+    }
+
+    private static String escape(String token) {
+        return token.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static List<String> parsePath(String path) {
+        List<String> tokens = new ArrayList<>();
+        if (path.isEmpty()) {
+            return tokens;
+        }
+        // the leading "/" yields no token, trailing empty tokens are kept for "" keys
+        for (String token : path.substring(1).split("/", -1)) {
+            tokens.add(token.replace("~1", "/").replace("~0", "~"));
+        }
+        return tokens;
+    }
+
+    private static byte[] compress(JsonNode operations) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            JsonUtils.getObjectMapper().writeValue(out, operations);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static JsonNode decompress(byte[] patch) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(patch))) {
+            return JsonUtils.getObjectMapper().readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -3,11 +3,13 @@ package org.lowcoder.domain.asset.model;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 import lombok.extern.jackson.Jacksonized;
+import org.lowcoder.sdk.constants.AssetStorageType;
 import org.lowcoder.sdk.models.HasIdAndAuditing;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.http.MediaType;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Document
 @Jacksonized
@@ -17,8 +19,22 @@ public class Asset extends HasIdAndAuditing {
 
     private String contentType;
 
+    /**
+     * only set for assets stored in the document, see {@link #getStorageType()}
+     */
     private byte[] data;
 
+    private AssetStorageType storageType;
+
+    private String storageKey;
+
+    private Long size;
+
+    /**
+     * sha-256 of the content, hex encoded
+     */
+    private String hash;
+
     public static Asset from(MediaType mediaType, byte[] data) {
         return Asset.builder()
                 .contentType(mediaType == null ? null : mediaType.toString())
@@ -33,4 +49,31 @@ public class Asset extends HasIdAndAuditing {
     public byte[] getData() {
         return data;
     }
+
+    /**
+     * assets uploaded before storages were configurable have no storage type and keep the content in the document
+     */
+    public AssetStorageType getStorageType() {
+        return storageType == null ? AssetStorageType.DOCUMENT : storageType;
+    }
+
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    /**
+     * the content of an asset never changes, so the id is a valid entity tag for assets uploaded without a hash
+     */
+    @JsonIgnore
+    public String getETag() {
+        return "\"" + (hash == null ? getId() : hash) + "\"";
+    }
 }
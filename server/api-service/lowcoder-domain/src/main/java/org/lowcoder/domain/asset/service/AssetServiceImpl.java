@@ -1,11 +1,17 @@
 package org.lowcoder.domain.asset.service;
 
+import com.google.common.hash.Hashing;
+import jakarta.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 import org.lowcoder.domain.asset.model.Asset;
+import org.lowcoder.domain.asset.service.storage.AssetStorageService;
+import org.lowcoder.sdk.config.CommonConfig;
 import org.lowcoder.sdk.config.dynamic.Conf;
 import org.lowcoder.sdk.config.dynamic.ConfigCenter;
+import org.lowcoder.sdk.constants.AssetStorageType;
 import org.lowcoder.sdk.exception.BizError;
 import org.lowcoder.sdk.exception.BizException;
+import org.reactivestreams.Publisher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferUtils;
@@ -25,7 +31,11 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 @Slf4j
 @Service
@@ -35,12 +45,18 @@ public class AssetServiceImpl implements AssetService {
 
     private final AssetRepository repository;
     private final Conf<Integer> thumbNailPhotoDimension;
+    private final AssetStorageType storageType;
+    private final Map<AssetStorageType, AssetStorageService> storageServices = new EnumMap<>(AssetStorageType.class);
 
     @Autowired
     public AssetServiceImpl(AssetRepository repository,
-            ConfigCenter configCenter) {
+            ConfigCenter configCenter,
+            CommonConfig commonConfig,
+            List<AssetStorageService> storageServices) {
         this.repository = repository;
         thumbNailPhotoDimension = configCenter.asset().ofInteger("thumbNailPhotoDimension", 128);
+        storageType = commonConfig.getAssetStorage().getType();
+        storageServices.forEach(storageService -> this.storageServices.put(storageService.getType(), storageService));
     }
 
     @Override
@@ -77,7 +93,7 @@ public class AssetServiceImpl implements AssetService {
                 })
                 .flatMap(dataBuffer -> {
                     try {
-                        return repository.save(createAsset(dataBuffer, contentType, isThumbnail));
+                        return save(createAsset(dataBuffer, contentType, isThumbnail));
                     } catch (IOException e) {
                         log.error("failed to upload image", e);
                         return Mono.error(new BizException(BizError.INVALID_PARAMETER, "IMAGE_PARSE_ERROR"));
@@ -85,10 +101,41 @@ public class AssetServiceImpl implements AssetService {
                 });
     }
 
+    private Mono<Asset> save(Asset asset) {
+        AssetStorageService storageService = storageServices.get(storageType);
+        if (storageService == null) {
+            return repository.save(asset);
+        }
+        String storageKey = UUID.randomUUID().toString();
+        Asset storedAsset = Asset.builder()
+                .contentType(asset.getContentType())
+                .storageType(storageType)
+                .storageKey(storageKey)
+                .size(asset.getSize())
+                .hash(asset.getHash())
+                .build();
+        return storageService.save(storageKey, asset.getData())
+                .then(repository.save(storedAsset))
+                .onErrorResume(e -> storageService.delete(storageKey)
+                        .onErrorResume(deleteError -> Mono.empty())
+                        .then(Mono.error(e)));
+    }
+
     @Override
     public Mono<Void> remove(String assetId) {
-        return repository.deleteById(assetId)
-                .then();
+        return repository.findById(assetId)
+                .flatMap(asset -> {
+                    AssetStorageService storageService = storageServices.get(asset.getStorageType());
+                    if (storageService == null) {
+                        return Mono.empty();
+                    }
+                    return storageService.delete(asset.getStorageKey())
+                            .onErrorResume(e -> {
+                                log.warn("failed to delete asset content: {}", assetId, e);
+                                return Mono.empty();
+                            });
+                })
+                .then(repository.deleteById(assetId));
     }
 
     private Asset createAsset(DataBuffer dataBuffer, MediaType srcContentType, boolean createThumbnail) throws IOException {
@@ -104,7 +151,12 @@ public class AssetServiceImpl implements AssetService {
             contentType = srcContentType;
         }
         DataBufferUtils.release(dataBuffer);
-        return Asset.from(contentType, imageData);
+        return Asset.builder()
+                .contentType(contentType.toString())
+                .data(imageData)
+                .size((long) imageData.length)
+                .hash(Hashing.sha256().hashBytes(imageData).toString())
+                .build();
     }
 
     private byte[] resizeImage(DataBuffer dataBuffer) throws IOException {
@@ -125,17 +177,57 @@ public class AssetServiceImpl implements AssetService {
     public Mono<Void> makeImageResponse(ServerWebExchange exchange, String assetId) {
         return getById(assetId)
                 .flatMap(asset -> {
-                    final String contentType = asset.getContentType();
-                    final ServerHttpResponse response = exchange.getResponse();
-
-                    response.setStatusCode(HttpStatus.OK);
-
-                    if (contentType != null) {
-                        response.getHeaders().set(HttpHeaders.CONTENT_TYPE, contentType);
+                    if (exchange.checkNotModified(asset.getETag())) {
+                        return exchange.getResponse().setComplete();
                     }
 
-                    return response.writeWith(Mono.just(new DefaultDataBufferFactory().wrap(asset.getData())));
+                    final ServerHttpResponse response = exchange.getResponse();
+                    AssetStorageService storageService = storageServices.get(asset.getStorageType());
+                    if (storageService == null) {
+                        return writeImage(response, asset.getContentType(), null,
+                                Mono.just(DefaultDataBufferFactory.sharedInstance.wrap(asset.getData())));
+                    }
+                    // the status is only set once the stored content is found
+                    return storageService.download(asset.getStorageKey())
+                            .switchOnFirst((first, content) -> {
+                                if (first.hasValue()) {
+                                    return writeImage(response, asset.getContentType(), asset.getSize(), content);
+                                }
+                                if (first.isOnError()) {
+                                    return Mono.error(first.getThrowable());
+                                }
+                                return writeMissingContent(response, asset);
+                            })
+                            .then();
                 });
     }
 
+    private Mono<Void> writeImage(ServerHttpResponse response, @Nullable String contentType, @Nullable Long size,
+            Publisher<DataBuffer> content) {
+        response.setStatusCode(HttpStatus.OK);
+        if (contentType != null) {
+            response.getHeaders().set(HttpHeaders.CONTENT_TYPE, contentType);
+        }
+        if (size != null) {
+            response.getHeaders().setContentLength(size);
+        }
+        return response.writeWith(content);
+    }
+
+    /**
+     * the asset document is left from a content that was not stored or was deleted, its inline data is served if any
+     */
+    private Mono<Void> writeMissingContent(ServerHttpResponse response, Asset asset) {
+        if (asset.getData() != null) {
+            return writeImage(response, asset.getContentType(), null,
+                    Mono.just(DefaultDataBufferFactory.sharedInstance.wrap(asset.getData())));
+        }
+        log.warn("content of asset {} not found in {}", asset.getId(), asset.getStorageType());
+        response.setStatusCode(HttpStatus.NOT_FOUND);
+        // not to be cached as the image
+        response.getHeaders().remove(HttpHeaders.CACHE_CONTROL);
+        response.getHeaders().remove(HttpHeaders.ETAG);
+        return response.setComplete();
+    }
+
 }
@@ -0,0 +1,24 @@
+package org.lowcoder.domain.asset.service.storage;
+
+import org.lowcoder.sdk.constants.AssetStorageType;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stores the content of assets outside of the asset documents, see {@link AssetStorageType}.
+ */
+public interface AssetStorageService {
+
+    AssetStorageType getType();
+
+    Mono<Void> save(String storageKey, byte[] content);
+
+    /**
+     * completes empty if there is no content for the key
+     */
+    Flux<DataBuffer> download(String storageKey);
+
+    Mono<Void> delete(String storageKey);
+}
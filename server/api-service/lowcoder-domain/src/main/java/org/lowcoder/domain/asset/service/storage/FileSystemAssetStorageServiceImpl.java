@@ -0,0 +1,76 @@
+package org.lowcoder.domain.asset.service.storage;
+
+import org.lowcoder.sdk.config.CommonConfig;
+import org.lowcoder.sdk.constants.AssetStorageType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps asset content as files below {@code common.asset-storage.filesystem-path}, which has to be shared by all
+ * api-service nodes.
+ */
+@Service
+public class FileSystemAssetStorageServiceImpl implements AssetStorageService {
+
+    private static final Pattern STORAGE_KEY_PATTERN = Pattern.compile("^[0-9a-zA-Z-]+$");
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final Path root;
+
+    public FileSystemAssetStorageServiceImpl(CommonConfig commonConfig) {
+        this.root = Paths.get(commonConfig.getAssetStorage().getFilesystemPath()).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public AssetStorageType getType() {
+        return AssetStorageType.FILESYSTEM;
+    }
+
+    @Override
+    public Mono<Void> save(String storageKey, byte[] content) {
+        return Mono.fromCallable(() -> {
+                    Path path = resolve(storageKey);
+                    Files.createDirectories(path.getParent());
+                    Files.write(path, content);
+                    return path;
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    @Override
+    public Flux<DataBuffer> download(String storageKey) {
+        return Mono.fromCallable(() -> resolve(storageKey))
+                .flatMapMany(path -> DataBufferUtils.read(path, DefaultDataBufferFactory.sharedInstance, READ_BUFFER_SIZE))
+                .onErrorResume(NoSuchFileException.class, e -> Flux.empty());
+    }
+
+    @Override
+    public Mono<Void> delete(String storageKey) {
+        return Mono.fromCallable(() -> Files.deleteIfExists(resolve(storageKey)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    /**
+     * files are spread over sub directories named after the first two key characters
+     */
+    private Path resolve(String storageKey) {
+        if (storageKey == null || storageKey.length() < 2 || !STORAGE_KEY_PATTERN.matcher(storageKey).matches()) {
+            throw new IllegalArgumentException("invalid asset storage key: " + storageKey);
+        }
+        return root.resolve(storageKey.substring(0, 2)).resolve(storageKey);
+    }
+}
@@ -0,0 +1,50 @@
+package org.lowcoder.domain.asset.service.storage;
+
+import org.lowcoder.sdk.constants.AssetStorageType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.ReactiveGridFsResource;
+import org.springframework.data.mongodb.gridfs.ReactiveGridFsTemplate;
+import org.springframework.stereotype.Service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class GridFsAssetStorageServiceImpl implements AssetStorageService {
+
+    @Autowired
+    @Qualifier("assetGridFsTemplate")
+    private ReactiveGridFsTemplate reactiveGridFsTemplate;
+
+    @Override
+    public AssetStorageType getType() {
+        return AssetStorageType.GRIDFS;
+    }
+
+    @Override
+    public Mono<Void> save(String storageKey, byte[] content) {
+        return reactiveGridFsTemplate.store(Mono.just(DefaultDataBufferFactory.sharedInstance.wrap(content)), storageKey)
+                .then();
+    }
+
+    @Override
+    public Flux<DataBuffer> download(String storageKey) {
+        return reactiveGridFsTemplate.findFirst(queryByFilename(storageKey))
+                .flatMap(reactiveGridFsTemplate::getResource)
+                .flatMapMany(ReactiveGridFsResource::getDownloadStream);
+    }
+
+    @Override
+    public Mono<Void> delete(String storageKey) {
+        return reactiveGridFsTemplate.delete(queryByFilename(storageKey));
+    }
+
+    private Query queryByFilename(String storageKey) {
+        return new Query(Criteria.where("filename").is(storageKey));
+    }
+}
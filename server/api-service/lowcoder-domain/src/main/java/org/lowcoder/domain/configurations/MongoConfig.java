@@ -10,6 +10,7 @@ import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.lowcoder.domain.user.model.User;
+import org.lowcoder.sdk.config.CommonConfig;
 import org.lowcoder.sdk.config.MaterialProperties;
 import org.lowcoder.sdk.models.HasIdAndAuditing;
 import org.springframework.context.ApplicationContext;
@@ -37,6 +38,7 @@ import java.util.List;
 public class MongoConfig {
 
     private final MaterialProperties materialProperties;
+    private final CommonConfig commonConfig;
     private final MappingMongoConverter mappingMongoConverter;
 
     @PostConstruct
@@ -91,6 +93,11 @@ public class MongoConfig {
         return new ReactiveGridFsTemplate(factory, converter, materialProperties.getMongodbGridFs().getBucketName());
     }
 
+    @Bean("assetGridFsTemplate")
+    public ReactiveGridFsTemplate assetGridFsTemplate(ReactiveMongoDatabaseFactory factory, MappingMongoConverter converter) {
+        return new ReactiveGridFsTemplate(factory, converter, commonConfig.getAssetStorage().getGridFsBucketName());
+    }
+
     /**
      * used by mongock
      */
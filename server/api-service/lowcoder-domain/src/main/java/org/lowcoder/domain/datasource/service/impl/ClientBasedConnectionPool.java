@@ -29,10 +29,11 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.lowcoder.infra.perf.PerfEvent.*;
 import static org.lowcoder.sdk.exception.BizError.PLUGIN_CREATE_CONNECTION_FAILED;
@@ -55,32 +56,39 @@ public class ClientBasedConnectionPool implements DatasourceConnectionPool {
             HIKARI_POOL_WAITING_CONNECTIONS,
             HIKARI_POOL_TOTAL_CONNECTIONS
     );
-    private static final Map<ClientBasedDatasourceCacheKey, HikariPerfWrapper> HIKARI_PERF_WRAPPER_MAP = new ConcurrentHashMap<>();
 
     private final DatasourceMetaInfoService datasourceMetaInfoService;
     private final PerfHelper perfHelper;
 
+    /**
+     * datasource id -> key of the connection currently cached for it, so that an updated datasource releases its previous
+     * connection without scanning the cache
+     */
+    private final Map<String, ClientBasedDatasourceCacheKey> currentCacheKeys = new ConcurrentHashMap<>();
+    /**
+     * datasource type -> number of cached connections, maintained on load and removal for the size gauge
+     */
+    private final Map<String, AtomicInteger> connectionCounts = new ConcurrentHashMap<>();
+    /**
+     * datasource type -> hikari pools of the cached connections
+     */
+    private final Map<String, Map<ClientBasedDatasourceCacheKey, HikariPerfWrapper>> hikariPerfWrappers = new ConcurrentHashMap<>();
+
     @PostConstruct
     public void init() {
         List<DatasourceMetaInfo> supportedDatasourceTypes = datasourceMetaInfoService.getJavaBasedSupportedDatasourceMetaInfos();
         supportedDatasourceTypes.stream()
                 .filter(datasourceMetaInfo -> datasourceMetaInfo.getConnectionPool() == ClientBasedConnectionPool.class)
                 .forEach(datasourceMetaInfo ->
-                        perfHelper.gaugeSafely(CLIENT_BASED_CONNECTION_SIZE, Tags.of("type", datasourceMetaInfo.getType()), cache,
-                                value -> value.asMap().keySet()
-                                        .stream()
-                                        .filter(cacheKey -> cacheKey.datasource().getType().equals(datasourceMetaInfo.getType()))
-                                        .toList()
-                                        .size()));
+                        perfHelper.gaugeSafely(CLIENT_BASED_CONNECTION_SIZE, Tags.of("type", datasourceMetaInfo.getType()),
+                                getConnectionCount(datasourceMetaInfo.getType()), AtomicInteger::get));
 
         for (DatasourceMetaInfo metaInfo : supportedDatasourceTypes) {
             String datasourceType = metaInfo.getType();
             for (var perfEvent : HIKARI_PERF_CONFIG) {
-                perfHelper.gaugeSafely(perfEvent, Tags.of("datasourceType", datasourceType), HIKARI_PERF_WRAPPER_MAP,
-                        perfWrapperMap -> perfWrapperMap.entrySet()
+                perfHelper.gaugeSafely(perfEvent, Tags.of("datasourceType", datasourceType), getHikariPerfWrappers(datasourceType),
+                        perfWrapperMap -> perfWrapperMap.values()
                                 .stream()
-                                .filter(entry -> StringUtils.equals(entry.getKey().datasource().getType(), datasourceType))
-                                .map(Entry::getValue)
                                 .mapToInt(hikariPerfWrapper -> switch (perfEvent) {
                                     case HIKARI_POOL_ACTIVE_CONNECTIONS -> hikariPerfWrapper.getActiveConnections();
                                     case HIKARI_POOL_IDLE_CONNECTIONS -> hikariPerfWrapper.getIdleConnections();
@@ -106,7 +114,9 @@ public class ClientBasedConnectionPool implements DatasourceConnectionPool {
                     String type = key.datasource().getType();
                     perfHelper.count(CLIENT_BASED_CONNECTION_REMOVE, Tags.of("type", type, "cause", notification.getCause().name()));
 
-                    HIKARI_PERF_WRAPPER_MAP.remove(key);
+                    currentCacheKeys.remove(key.id(), key);
+                    getConnectionCount(type).decrementAndGet();
+                    getHikariPerfWrappers(type).remove(key);
                     Mono.just(datasourceMetaInfoService.getDatasourceConnector(key.datasource().getType()))
                             .flatMap(factory -> notification.getValue().flatMap(connection -> factory.destroyConnection(connection.connection())))
                             .subscribeOn(querySharedScheduler())
@@ -119,23 +129,38 @@ public class ClientBasedConnectionPool implements DatasourceConnectionPool {
                     Datasource datasource = key.datasource();
                     perfHelper.count(CLIENT_BASED_CONNECTION_CREATE, Tags.of("type", datasource.getType()));
 
-                    releasePreviousConnection(datasource); // datasource is updated, so release previous connections
-
-                    return create(datasource)
-                            .doOnNext(connection -> {
-                                if (connection.connection() instanceof HikariPerfWrapper wrapper) {
-                                    HIKARI_PERF_WRAPPER_MAP.put(key, wrapper);
+                    releasePreviousConnection(key); // datasource is updated, so release previous connections
+
+                    Mono<ClientBasedDatasourceConnectionHolder> connection = create(datasource)
+                            .doOnNext(holder -> {
+                                if (holder.connection() instanceof HikariPerfWrapper wrapper) {
+                                    Map<ClientBasedDatasourceCacheKey, HikariPerfWrapper> wrappers = getHikariPerfWrappers(datasource.getType());
+                                    wrappers.put(key, wrapper);
+                                    // the connection may have been evicted before it was created
+                                    if (!cache.asMap().containsKey(key)) {
+                                        wrappers.remove(key);
+                                    }
                                 }
                             })
                             .cache();
+                    getConnectionCount(datasource.getType()).incrementAndGet();
+                    return connection;
                 }
             });
 
-    private void releasePreviousConnection(Datasource datasource) {
-        cache.asMap().keySet()
-                .stream()
-                .filter(cacheKey -> StringUtils.equals(datasource.getId(), cacheKey.datasource().getId()))
-                .forEach(cache::invalidate);
+    private void releasePreviousConnection(ClientBasedDatasourceCacheKey key) {
+        ClientBasedDatasourceCacheKey previous = currentCacheKeys.put(key.id(), key);
+        if (previous != null && !previous.equals(key)) {
+            cache.invalidate(previous);
+        }
+    }
+
+    private AtomicInteger getConnectionCount(String datasourceType) {
+        return connectionCounts.computeIfAbsent(datasourceType, ignore -> new AtomicInteger());
+    }
+
+    private Map<ClientBasedDatasourceCacheKey, HikariPerfWrapper> getHikariPerfWrappers(String datasourceType) {
+        return hikariPerfWrappers.computeIfAbsent(datasourceType, ignore -> new ConcurrentHashMap<>());
     }
 
     @Override
@@ -162,17 +187,16 @@ public class ClientBasedConnectionPool implements DatasourceConnectionPool {
 
     @Override
     public Object info(@Nullable String datasourceId) {
-        return HIKARI_PERF_WRAPPER_MAP.entrySet()
-                .stream()
-                .filter(entry -> {
-                    if (StringUtils.isBlank(datasourceId)) {
-                        return true;
-                    }
-                    return datasourceId.equals(entry.getKey().id());
-                })
+        Stream<HikariPerfWrapper> wrappers;
+        if (StringUtils.isBlank(datasourceId)) {
+            wrappers = hikariPerfWrappers.values().stream().flatMap(perfWrapperMap -> perfWrapperMap.values().stream());
+        } else {
+            ClientBasedDatasourceCacheKey key = currentCacheKeys.get(datasourceId);
+            wrappers = key == null ? Stream.empty() : Stream.ofNullable(getHikariPerfWrappers(key.datasource().getType()).get(key));
+        }
+        return wrappers
                 .limit(100)
-                .map(entry -> {
-                    HikariPerfWrapper wrapper = entry.getValue();
+                .map(wrapper -> {
                     Map<String, Integer> connections = Map.of("total", wrapper.getTotalConnections(),
                             "idle", wrapper.getIdleConnections(),
                             "active", wrapper.getActiveConnections(),
@@ -1,18 +1,35 @@
 package org.lowcoder.domain.datasource.service.impl;
 
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.lowcoder.domain.datasource.model.Datasource;
 import org.lowcoder.domain.datasource.model.DatasourceConnectionHolder;
 import org.lowcoder.domain.datasource.model.StatelessDatasourceConnectionHolder;
 import org.lowcoder.domain.datasource.service.DatasourceConnectionPool;
+import org.lowcoder.infra.perf.PerfHelper;
+import org.lowcoder.sdk.webclient.HttpClientRegistry;
 import org.springframework.stereotype.Service;
 
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
 
+import static org.lowcoder.infra.perf.PerfEvent.SHARED_HTTP_CLIENT_SIZE;
+
+@RequiredArgsConstructor
 @Service
 @Slf4j
 public class StatelessConnectionPool implements DatasourceConnectionPool {
 
+    private final PerfHelper perfHelper;
+
+    @PostConstruct
+    public void init() {
+        // stateless datasources (rest api/graphql) reuse the http clients cached in HttpClientRegistry,
+        // per-pool connection gauges are published by reactor-netty itself
+        perfHelper.gaugeSafely(SHARED_HTTP_CLIENT_SIZE, Tags.empty(), this, ignore -> HttpClientRegistry.size());
+    }
+
     @Override
     public Mono<? extends DatasourceConnectionHolder> getOrCreateConnection(Datasource datasource) {
         return Mono.just(new StatelessDatasourceConnectionHolder());
@@ -23,4 +40,3 @@ public class StatelessConnectionPool implements DatasourceConnectionPool {
         throw new UnsupportedOperationException();
     }
 }
-
@@ -19,20 +19,24 @@ import reactor.core.publisher.Mono;
 public class FolderElementRelationServiceImpl implements FolderElementRelationService {
 
     private final BiRelationService biRelationService;
+    private final FolderTreeCache folderTreeCache;
 
     @Override
     public Mono<Boolean> deleteByFolderIds(List<String> folderIds) {
-        return biRelationService.removeAllBiRelations(FOLDER_ELEMENT, folderIds);
+        return biRelationService.removeAllBiRelations(FOLDER_ELEMENT, folderIds)
+                .doFinally(signalType -> folderTreeCache.invalidateFolders(folderIds));
     }
 
     @Override
     public Mono<Boolean> deleteByElementId(String elementId) {
-        return biRelationService.removeAllBiRelationsByTargetId(FOLDER_ELEMENT, elementId);
+        return biRelationService.removeAllBiRelationsByTargetId(FOLDER_ELEMENT, elementId)
+                .doFinally(signalType -> folderTreeCache.invalidateElement(elementId));
     }
 
     @Override
     public Mono<Void> create(String folderId, String elementId) {
         return biRelationService.addBiRelation(BiRelationBizType.FOLDER_ELEMENT, folderId, elementId, null, null)
+                .doFinally(signalType -> folderTreeCache.invalidateFolders(List.of(folderId)))
                 .then();
     }
 
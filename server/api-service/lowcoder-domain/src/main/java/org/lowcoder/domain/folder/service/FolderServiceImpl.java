@@ -3,6 +3,7 @@ package org.lowcoder.domain.folder.service;
 import static org.lowcoder.sdk.exception.BizError.NO_RESOURCE_FOUND;
 
 import java.util.Collection;
+import java.util.List;
 
 import lombok.RequiredArgsConstructor;
 import org.lowcoder.domain.folder.model.Folder;
@@ -23,6 +24,7 @@ public class FolderServiceImpl implements FolderService {
 
     private final FolderRepository repository;
     private final MongoUpsertHelper mongoUpsertHelper;
+    private final FolderTreeCache folderTreeCache;
 
     @Override
     public Mono<Boolean> updateById(String id, Folder resource) {
@@ -30,7 +32,8 @@ public class FolderServiceImpl implements FolderService {
             return Mono.error(new BizException(BizError.INVALID_PARAMETER, "INVALID_PARAMETER", FieldName.ID));
         }
 
-        return mongoUpsertHelper.updateById(resource, id);
+        return mongoUpsertHelper.updateById(resource, id)
+                .doFinally(signalType -> folderTreeCache.invalidateFolders(List.of(id)));
     }
 
     @Override
@@ -48,7 +51,8 @@ public class FolderServiceImpl implements FolderService {
 
     @Override
     public Mono<Folder> create(Folder folder) {
-        return repository.save(folder);
+        return repository.save(folder)
+                .doFinally(signalType -> folderTreeCache.invalidateOrg(folder.getOrganizationId()));
     }
 
     @Override
@@ -58,9 +62,12 @@ public class FolderServiceImpl implements FolderService {
 
     @Override
     public Mono<Void> deleteAllById(Collection<String> ids) {
+        Mono<Void> delete;
         if(!ids.isEmpty() && FieldName.isGID(ids.stream().findFirst().get()))
-            return repository.deleteAllByGid(ids);
-        return repository.deleteAllById(ids);
+            delete = repository.deleteAllByGid(ids);
+        else
+            delete = repository.deleteAllById(ids);
+        return delete.doFinally(signalType -> folderTreeCache.invalidateFolders(ids));
     }
 
     @Override
@@ -0,0 +1,118 @@
+package org.lowcoder.domain.folder.service;
+
+import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.StringUtils;
+import org.lowcoder.domain.folder.model.Folder;
+import org.lowcoder.domain.folder.model.FolderElement;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The folders of an org and the elements placed in them, indexed by parent so that a subtree can be read without
+ * walking the whole hierarchy.
+ * <p>
+ * Elements are kept by id only, whether the current user may see them is decided when the structure is read.
+ */
+public class FolderStructure {
+
+    private static final String ROOT = "";
+
+    private final String orgId;
+    private final Map<String, Folder> foldersById = new HashMap<>();
+    private final Map<String, String> folderIdsByGid = new HashMap<>();
+    private final Map<String, List<Folder>> childFoldersByParentId = new HashMap<>();
+    private final Map<String, String> folderIdsByElementId = new HashMap<>();
+    private final Map<String, List<String>> elementIdsByFolderId = new HashMap<>();
+
+    public FolderStructure(String orgId, Collection<Folder> folders, Collection<FolderElement> folderElements) {
+        this.orgId = orgId;
+        for (Folder folder : folders) {
+            foldersById.put(folder.getId(), folder);
+            if (folder.getGid() != null) {
+                folderIdsByGid.put(folder.getGid(), folder.getId());
+            }
+            childFoldersByParentId.computeIfAbsent(StringUtils.defaultString(folder.getParentFolderId(), ROOT), k -> new ArrayList<>())
+                    .add(folder);
+        }
+        for (FolderElement folderElement : folderElements) {
+            // an element belongs to one folder, keep the first relation of a broken one
+            if (folderIdsByElementId.putIfAbsent(folderElement.elementId(), folderElement.folderId()) == null) {
+                elementIdsByFolderId.computeIfAbsent(folderElement.folderId(), k -> new ArrayList<>()).add(folderElement.elementId());
+            }
+        }
+    }
+
+    public String getOrgId() {
+        return orgId;
+    }
+
+    /**
+     * @param folderId id or gid
+     */
+    @Nullable
+    public Folder getFolder(String folderId) {
+        Folder folder = foldersById.get(folderId);
+        if (folder != null) {
+            return folder;
+        }
+        String id = folderIdsByGid.get(folderId);
+        return id == null ? null : foldersById.get(id);
+    }
+
+    public boolean containsFolder(String folderId) {
+        return getFolder(folderId) != null;
+    }
+
+    public boolean containsElement(String elementId) {
+        return folderIdsByElementId.containsKey(elementId);
+    }
+
+    /**
+     * @return id of the folder the element is in, null means the root folder
+     */
+    @Nullable
+    public String getFolderIdOfElement(String elementId) {
+        return folderIdsByElementId.get(elementId);
+    }
+
+    /**
+     * @param folderId null means the root folder
+     * @return all sub folders of the folder at any depth, without the folder itself
+     */
+    public List<Folder> getDescendants(@Nullable String folderId) {
+        String rootId = StringUtils.isBlank(folderId) ? ROOT : folderId;
+        List<Folder> result = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(rootId);
+        while (!pending.isEmpty()) {
+            for (Folder child : childFoldersByParentId.getOrDefault(pending.poll(), List.of())) {
+                // guards against parent cycles in corrupted data
+                if (visited.add(child.getId())) {
+                    result.add(child);
+                    pending.add(child.getId());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return ids of the elements directly in the folders
+     */
+    public Set<String> getElementIds(Collection<String> folderIds) {
+        Set<String> result = new HashSet<>();
+        for (String folderId : folderIds) {
+            result.addAll(elementIdsByFolderId.getOrDefault(folderId, List.of()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,193 @@
+package org.lowcoder.domain.folder.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.lowcoder.domain.folder.model.Folder;
+import org.lowcoder.domain.folder.model.FolderElement;
+import org.lowcoder.domain.folder.repository.FolderRepository;
+import org.lowcoder.infra.birelation.BiRelationService;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.lowcoder.infra.birelation.BiRelationBizType.FOLDER_ELEMENT;
+
+/**
+ * Caches the {@link FolderStructure} of every org, so that listing a folder doesn't read all folders and folder
+ * relations of the org on every call.
+ * <p>
+ * Entries are dropped when folders or folder relations change. Invalidations are also published over redis to the
+ * other nodes; if a message is lost, the change becomes visible there once the ttl expires.
+ */
+@Slf4j
+@Component
+public class FolderTreeCache {
+
+    private static final String INVALIDATION_CHANNEL = "lowcoder:folder-tree-cache:invalidate";
+    private static final String ORG = "org";
+    private static final String FOLDERS = "folders";
+    private static final String ELEMENT = "element";
+
+    private final boolean enabled;
+    private final FolderRepository folderRepository;
+    private final BiRelationService biRelationService;
+    private final ReactiveRedisOperations<String, String> reactiveRedisOperations;
+    private final Cache<String, FolderStructure> structures;
+    /**
+     * tells this node's messages apart from the other nodes'
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+    private Disposable invalidationListener;
+    /**
+     * bumped on every invalidation, a structure loaded while it changed may be stale and is not cached
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public FolderTreeCache(CommonConfig commonConfig, FolderRepository folderRepository, BiRelationService biRelationService,
+            ReactiveRedisOperations<String, String> reactiveRedisOperations) {
+        CommonConfig.FolderTreeCache config = commonConfig.getFolderTreeCache();
+        this.enabled = config.isEnabled();
+        this.folderRepository = folderRepository;
+        this.biRelationService = biRelationService;
+        this.reactiveRedisOperations = reactiveRedisOperations;
+        this.structures = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterWrite(config.getTtl())
+                .build();
+    }
+
+    @PostConstruct
+    private void listenToInvalidations() {
+        if (!enabled) {
+            return;
+        }
+        invalidationListener = reactiveRedisOperations.listenToChannel(INVALIDATION_CHANNEL)
+                .doOnNext(message -> onInvalidation(message.getMessage()))
+                .doOnError(e -> log.warn("folder tree cache invalidations not received: {}", e.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofMinutes(1)))
+                .subscribe();
+    }
+
+    @PreDestroy
+    private void stopListening() {
+        if (invalidationListener != null) {
+            invalidationListener.dispose();
+        }
+    }
+
+    public Mono<FolderStructure> get(String orgId) {
+        if (!enabled) {
+            return load(orgId);
+        }
+        return Mono.defer(() -> {
+            FolderStructure structure = structures.getIfPresent(orgId);
+            if (structure != null) {
+                return Mono.just(structure);
+            }
+            long loadGeneration = generation.get();
+            return load(orgId)
+                    .doOnNext(loaded -> {
+                        if (generation.get() == loadGeneration) {
+                            structures.put(orgId, loaded);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * drops the cached structure of the org and loads it again, for lookups that missed a folder which may have been
+     * created since the structure was cached
+     */
+    public Mono<FolderStructure> reload(String orgId) {
+        return Mono.defer(() -> {
+            invalidateOrgLocally(orgId);
+            return get(orgId);
+        });
+    }
+
+    public void invalidateOrg(String orgId) {
+        invalidateOrgLocally(orgId);
+        publish(ORG, List.of(orgId));
+    }
+
+    /**
+     * @param folderIds ids or gids
+     */
+    public void invalidateFolders(Collection<String> folderIds) {
+        invalidateFoldersLocally(folderIds);
+        publish(FOLDERS, folderIds);
+    }
+
+    public void invalidateElement(String elementId) {
+        invalidateElementLocally(elementId);
+        publish(ELEMENT, List.of(elementId));
+    }
+
+    private void invalidateOrgLocally(String orgId) {
+        generation.incrementAndGet();
+        structures.invalidate(orgId);
+    }
+
+    private void invalidateFoldersLocally(Collection<String> folderIds) {
+        generation.incrementAndGet();
+        structures.asMap().values().removeIf(structure -> folderIds.stream().anyMatch(structure::containsFolder));
+    }
+
+    private void invalidateElementLocally(String elementId) {
+        generation.incrementAndGet();
+        structures.asMap().values().removeIf(structure -> structure.containsElement(elementId));
+    }
+
+    /**
+     * message format: nodeId|type|id,id...
+     */
+    private void publish(String type, Collection<String> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        String message = nodeId + "|" + type + "|" + String.join(",", ids);
+        reactiveRedisOperations.convertAndSend(INVALIDATION_CHANNEL, message)
+                .subscribe(null, e -> log.warn("folder tree cache invalidation not published: {}", e.getMessage()));
+    }
+
+    void onInvalidation(String message) {
+        String[] parts = message.split("\\|", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        List<String> ids = List.of(parts[2].split(","));
+        switch (parts[1]) {
+            case ORG -> ids.forEach(this::invalidateOrgLocally);
+            case FOLDERS -> invalidateFoldersLocally(ids);
+            case ELEMENT -> ids.forEach(this::invalidateElementLocally);
+            default -> log.warn("unknown folder tree cache invalidation: {}", message);
+        }
+    }
+
+    private Mono<FolderStructure> load(String orgId) {
+        return folderRepository.findByOrganizationId(orgId)
+                .collectList()
+                .flatMap(folders -> {
+                    if (folders.isEmpty()) {
+                        return Mono.just(new FolderStructure(orgId, folders, List.of()));
+                    }
+                    List<String> folderIds = folders.stream().map(Folder::getId).toList();
+                    return biRelationService.getBySourceIds(FOLDER_ELEMENT, folderIds)
+                            .map(biRelation -> new FolderElement(biRelation.getSourceId(), biRelation.getTargetId()))
+                            .collectList()
+                            .map(folderElements -> new FolderStructure(orgId, folders, folderElements));
+                });
+    }
+}
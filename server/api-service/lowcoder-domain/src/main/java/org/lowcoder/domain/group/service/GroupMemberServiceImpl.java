@@ -13,6 +13,7 @@ import org.lowcoder.domain.group.model.Group;
 import org.lowcoder.domain.group.model.GroupMember;
 import org.lowcoder.domain.organization.model.MemberRole;
 import org.lowcoder.domain.organization.model.OrgMemberState;
+import org.lowcoder.domain.permission.service.ResourcePermissionDecisionCache;
 import org.lowcoder.infra.birelation.BiRelation;
 import org.lowcoder.infra.birelation.BiRelationService;
 import org.lowcoder.infra.mongo.MongoUpsertHelper;
@@ -27,6 +28,7 @@ public class GroupMemberServiceImpl implements GroupMemberService {
 
     private final BiRelationService biRelationService;
     private final MongoUpsertHelper mongoUpsertHelper;
+    private final ResourcePermissionDecisionCache permissionDecisionCache;
 
     @Override
     public Mono<List<GroupMember>> getGroupMembers(String groupId, int page, int count) {
@@ -39,7 +41,8 @@ public class GroupMemberServiceImpl implements GroupMemberService {
     public Mono<Boolean> addMember(String orgId, String groupId, String userId, MemberRole memberRole) {
         return biRelationService.addBiRelation(GROUP_MEMBER, groupId,
                         userId, memberRole.getValue(), OrgMemberState.NORMAL.getValue(), orgId)
-                .hasElement();
+                .hasElement()
+                .doOnTerminate(() -> permissionDecisionCache.invalidateUser(userId));
     }
 
     @Override
@@ -50,7 +53,8 @@ public class GroupMemberServiceImpl implements GroupMemberService {
 
     @Override
     public Mono<Boolean> removeMember(String groupId, String userId) {
-        return biRelationService.removeBiRelation(GROUP_MEMBER, groupId, userId);
+        return biRelationService.removeBiRelation(GROUP_MEMBER, groupId, userId)
+                .doOnTerminate(() -> permissionDecisionCache.invalidateUser(userId));
     }
 
     @Override
@@ -81,7 +85,8 @@ public class GroupMemberServiceImpl implements GroupMemberService {
 
     @Override
     public Mono<Boolean> deleteGroupMembers(String groupId) {
-        return biRelationService.removeAllBiRelations(GROUP_MEMBER, groupId);
+        return biRelationService.removeAllBiRelations(GROUP_MEMBER, groupId)
+                .doOnTerminate(() -> permissionDecisionCache.invalidateGroup(groupId));
     }
 
     @Override
@@ -112,7 +117,8 @@ public class GroupMemberServiceImpl implements GroupMemberService {
                         .build())
                 .toList();
         return biRelationService.batchAddBiRelation(biRelations)
-                .map(r -> r.stream().map(GroupMember::from).toList());
+                .map(r -> r.stream().map(GroupMember::from).toList())
+                .doOnTerminate(() -> permissionDecisionCache.invalidateUsers(groupMembers.stream().map(GroupMember::getUserId).toList()));
     }
 
     @Override
@@ -120,6 +126,7 @@ public class GroupMemberServiceImpl implements GroupMemberService {
         List<Document> filters = userIds.stream()
                 .map(userId -> new Document(Map.of("bizType", GROUP_MEMBER.name(), "sourceId", groupId, "targetId", userId)))
                 .toList();
-        return mongoUpsertHelper.bulkRemove(filters, BiRelation.class);
+        return mongoUpsertHelper.bulkRemove(filters, BiRelation.class)
+                .doOnTerminate(() -> permissionDecisionCache.invalidateUsers(userIds));
     }
 }
@@ -8,6 +8,7 @@ import org.lowcoder.domain.group.model.GroupMember;
 import org.lowcoder.domain.group.service.GroupMemberService;
 import org.lowcoder.domain.group.service.GroupService;
 import org.lowcoder.domain.organization.model.*;
+import org.lowcoder.domain.permission.service.ResourcePermissionDecisionCache;
 import org.lowcoder.domain.user.model.User;
 import org.lowcoder.infra.annotation.PossibleEmptyMono;
 import org.lowcoder.infra.birelation.BiRelation;
@@ -44,6 +45,7 @@ public class OrgMemberServiceImpl implements OrgMemberService {
     private final OrganizationService organizationService;
     private final CommonConfig commonConfig;
     private final MongoUpsertHelper mongoUpsertHelper;
+    private final ResourcePermissionDecisionCache permissionDecisionCache;
 
     @Override
     public Flux<OrgMember> getOrganizationMembers(String orgId) {
@@ -127,7 +129,8 @@ public class OrgMemberServiceImpl implements OrgMemberService {
         return biRelationService.addBiRelation(ORG_MEMBER, orgId,
                         userId, memberRole.getValue(), OrgMemberState.NORMAL.getValue())
                 .delayUntil(biRelation -> onOrgMemberAdded(orgId, userId))
-                .hasElement();
+                .hasElement()
+                .doOnTerminate(() -> permissionDecisionCache.invalidateUser(userId));
     }
 
     private Mono<Void> onOrgMemberAdded(String orgId, String userId) {
@@ -144,17 +147,20 @@ public class OrgMemberServiceImpl implements OrgMemberService {
     @Override
     public Mono<Boolean> updateMemberRole(String orgId, String userId, MemberRole memberRole) {
         return biRelationService.updateRelation(ORG_MEMBER, orgId, userId, memberRole.getValue())
-                .hasElement();
+                .hasElement()
+                .doOnTerminate(() -> permissionDecisionCache.invalidateUser(userId));
     }
 
     @Override
     public Mono<Boolean> removeMember(String orgId, String userId) {
-        return biRelationService.removeBiRelation(ORG_MEMBER, orgId, userId);
+        return biRelationService.removeBiRelation(ORG_MEMBER, orgId, userId)
+                .doOnTerminate(() -> permissionDecisionCache.invalidateUser(userId));
     }
 
     @Override
     public Mono<Boolean> deleteOrgMembers(String orgId) {
-        return biRelationService.removeAllBiRelations(ORG_MEMBER, orgId);
+        return biRelationService.removeAllBiRelations(ORG_MEMBER, orgId)
+                .doOnTerminate(() -> permissionDecisionCache.invalidateOrg(orgId));
     }
 
     @Override
@@ -243,7 +249,8 @@ public class OrgMemberServiceImpl implements OrgMemberService {
                         .build())
                 .toList();
         return biRelationService.batchAddBiRelation(biRelations)
-                .then(bulkAddToAllUserGroup(orgId, userIds));
+                .then(bulkAddToAllUserGroup(orgId, userIds))
+                .doOnTerminate(() -> permissionDecisionCache.invalidateUsers(userIds));
     }
 
     @Override
@@ -258,7 +265,8 @@ public class OrgMemberServiceImpl implements OrgMemberService {
                         .build())
                 .toList();
         return biRelationService.batchAddBiRelation(biRelations)
-                .then(bulkAddToAllUserGroup(orgIds, userId, memberRole));
+                .then(bulkAddToAllUserGroup(orgIds, userId, memberRole))
+                .doOnTerminate(() -> permissionDecisionCache.invalidateUser(userId));
     }
 
     @Override
@@ -288,6 +296,7 @@ public class OrgMemberServiceImpl implements OrgMemberService {
         List<Document> filters = userIds.stream()
                 .map(userId -> new Document(Map.of("bizType", ORG_MEMBER.name(), "sourceId", orgId, "targetId", userId)))
                 .toList();
-        return mongoUpsertHelper.bulkRemove(filters, BiRelation.class);
+        return mongoUpsertHelper.bulkRemove(filters, BiRelation.class)
+                .doOnTerminate(() -> permissionDecisionCache.invalidateUsers(userIds));
     }
 }
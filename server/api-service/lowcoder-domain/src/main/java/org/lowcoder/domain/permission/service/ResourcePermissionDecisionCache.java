@@ -0,0 +1,102 @@
+package org.lowcoder.domain.permission.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.StringUtils;
+import org.lowcoder.domain.permission.model.ResourceAction;
+import org.lowcoder.domain.permission.model.ResourcePermission;
+import org.lowcoder.domain.permission.model.ResourceType;
+import org.lowcoder.infra.localcache.CaffeineCacheUtils;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.lowcoder.sdk.config.CommonConfig.PermissionCache;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of what an org member may do on a resource, used by {@link ResourcePermissionHandler} to skip the
+ * org member / group member / resource permission lookups of repeated checks.
+ * <p>
+ * Entries are dropped when resource permissions, group members or org members change on this node; changes made on
+ * other nodes become visible once the ttl expires.
+ */
+@Component
+public class ResourcePermissionDecisionCache {
+
+    private final boolean enabled;
+    private final Cache<DecisionKey, OrgMemberDecision> decisions;
+    private final Cache<ResourceKey, String> resourceOrgIds;
+
+    public ResourcePermissionDecisionCache(CommonConfig commonConfig) {
+        PermissionCache config = commonConfig.getPermissionCache();
+        this.enabled = config.isEnabled();
+        this.decisions = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterWrite(config.getTtl())
+                .build();
+        this.resourceOrgIds = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterWrite(config.getTtl())
+                .build();
+    }
+
+    @Nullable
+    OrgMemberDecision getIfPresent(DecisionKey key) {
+        return enabled ? decisions.getIfPresent(key) : null;
+    }
+
+    void put(DecisionKey key, OrgMemberDecision decision) {
+        if (enabled) {
+            decisions.put(key, decision);
+        }
+    }
+
+    Mono<String> getOrgId(ResourceType resourceType, String resourceId, Supplier<Mono<String>> orgIdSupplier) {
+        if (!enabled) {
+            return orgIdSupplier.get();
+        }
+        return CaffeineCacheUtils.getCacheValueMono(resourceOrgIds, new ResourceKey(resourceType, resourceId), orgIdSupplier);
+    }
+
+    public void invalidateResource(ResourceType resourceType, String resourceId) {
+        decisions.asMap().keySet().removeIf(key -> key.resourceType() == resourceType && StringUtils.equals(key.resourceId(), resourceId));
+    }
+
+    public void invalidateUser(String userId) {
+        decisions.asMap().keySet().removeIf(key -> StringUtils.equals(key.userId(), userId));
+    }
+
+    public void invalidateUsers(Collection<String> userIds) {
+        Set<String> userIdSet = new HashSet<>(userIds);
+        decisions.asMap().keySet().removeIf(key -> userIdSet.contains(key.userId()));
+    }
+
+    public void invalidateGroup(String groupId) {
+        decisions.asMap().values().removeIf(decision -> decision.groupIds().contains(groupId));
+    }
+
+    public void invalidateOrg(String orgId) {
+        decisions.asMap().keySet().removeIf(key -> StringUtils.equals(key.orgId(), orgId));
+    }
+
+    record DecisionKey(String userId, String orgId, ResourceType resourceType, String resourceId, ResourceAction resourceAction) {
+    }
+
+    private record ResourceKey(ResourceType resourceType, String resourceId) {
+    }
+
+    /**
+     * @param permissions permissions of the user or the user's groups matching the action, only resolved for non-admin members
+     */
+    record OrgMemberDecision(boolean orgMember, boolean admin, boolean superAdmin, Set<String> groupIds,
+                             List<ResourcePermission> permissions) {
+
+        static final OrgMemberDecision NOT_ORG_MEMBER = new OrgMemberDecision(false, false, false, Set.of(), List.of());
+    }
+}
@@ -1,6 +1,5 @@
 package org.lowcoder.domain.permission.service;
 
-import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import jakarta.annotation.Nonnull;
 import org.apache.commons.collections4.CollectionUtils;
@@ -10,6 +9,8 @@ import org.lowcoder.domain.bundle.model.BundleRequestType;
 import org.lowcoder.domain.group.service.GroupMemberService;
 import org.lowcoder.domain.organization.service.OrgMemberService;
 import org.lowcoder.domain.permission.model.*;
+import org.lowcoder.domain.permission.service.ResourcePermissionDecisionCache.DecisionKey;
+import org.lowcoder.domain.permission.service.ResourcePermissionDecisionCache.OrgMemberDecision;
 import org.lowcoder.sdk.config.CommonConfig;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
@@ -37,6 +38,9 @@ abstract class ResourcePermissionHandler implements ResourcePermissionHandlerSer
     @Autowired
     protected CommonConfig config;
 
+    @Autowired
+    private ResourcePermissionDecisionCache decisionCache;
+
     @Override
     public Mono<Map<String, List<ResourcePermission>>> getAllMatchingPermissions(String userId,
                                                                                  Collection<String> resourceIds,
@@ -52,15 +56,23 @@ abstract class ResourcePermissionHandler implements ResourcePermissionHandlerSer
             return getAnonymousUserPermissions(resourceIds, resourceAction);
         }
 
-        return getOrgId(resourceIds.iterator().next())
-                .flatMap(orgId -> orgMemberService.getOrgMember(orgId, userId))
-                .flatMap(orgMember -> {
-                    if (orgMember.isAdmin() || orgMember.isSuperAdmin()) {
-                        return Mono.just(buildAdminPermissions(resourceType, resourceIds, userId));
-                    }
-                    return getAllMatchingPermissions0(userId, orgMember.getOrgId(), resourceType, resourceIds, resourceAction);
+        return getCachedOrgId(resourceType, resourceIds.iterator().next())
+                .flatMap(orgId -> getOrgMemberDecisions(userId, orgId, resourceIds, resourceAction))
+                .map(decisions -> {
+                    Map<String, List<ResourcePermission>> permissionMap = new HashMap<>();
+                    decisions.forEach((resourceId, decision) -> {
+                        if (!decision.orgMember()) {
+                            return;
+                        }
+                        if (decision.admin() || decision.superAdmin()) {
+                            permissionMap.put(resourceId, singletonList(buildAdminPermission(resourceType, userId, resourceId)));
+                            return;
+                        }
+                        permissionMap.put(resourceId, decision.permissions());
+                    });
+                    return permissionMap;
                 })
-                .switchIfEmpty(Mono.just(Maps.newHashMap()))
+                .switchIfEmpty(Mono.fromSupplier(HashMap::new))
                 .zipWith(getAnonymousUserPermissions(resourceIds, resourceAction))
                 .flatMap(tuple2 -> {
                     Map<String, List<ResourcePermission>> permissionMap = tuple2.getT1();
@@ -99,18 +111,7 @@ abstract class ResourcePermissionHandler implements ResourcePermissionHandlerSer
                 });
 
 
-        Mono<UserPermissionOnResourceStatus> orgUserPermissionMono = getOrgId(resourceId)
-                .flatMap(orgId -> orgMemberService.getOrgMember(orgId, userId))
-                .flatMap(orgMember -> {
-                    if (orgMember.isAdmin() || orgMember.isSuperAdmin()) {
-                        return Mono.just(UserPermissionOnResourceStatus.success(buildAdminPermission(resourceType, resourceId, userId)));
-                    }
-                    return getAllMatchingPermissions0(userId, orgMember.getOrgId(), resourceType, Collections.singleton(resourceId), resourceAction)
-                            .map(it -> it.getOrDefault(resourceId, emptyList()))
-                            .map(permissions -> permissions.isEmpty() ? UserPermissionOnResourceStatus.notEnoughPermission()
-                                                                      : UserPermissionOnResourceStatus.success(getMaxPermission(permissions)));
-                })
-                .defaultIfEmpty(UserPermissionOnResourceStatus.notInOrg());
+        Mono<UserPermissionOnResourceStatus> orgUserPermissionMono = getOrgUserPermissionStatus(userId, resourceId, resourceAction, true);
 
         return Mono.zip(publicResourcePermissionMono, nonAnonymousPublicResourcePermissionMono, orgUserPermissionMono)
                 .map(tuple -> {
@@ -157,28 +158,77 @@ abstract class ResourcePermissionHandler implements ResourcePermissionHandlerSer
             (Collection<String> resourceIds, ResourceAction resourceAction, BundleRequestType requestType, String userId);
     
     
-    private Mono<Map<String, List<ResourcePermission>>> getAllMatchingPermissions0(String userId, String orgId, ResourceType resourceType,
-            Collection<String> resourceIds,
+    private Mono<UserPermissionOnResourceStatus> getOrgUserPermissionStatus(String userId, String resourceId,
+            ResourceAction resourceAction, boolean superAdminAsAdmin) {
+        ResourceType resourceType = resourceAction.getResourceType();
+        return getCachedOrgId(resourceType, resourceId)
+                .flatMap(orgId -> getOrgMemberDecisions(userId, orgId, singleton(resourceId), resourceAction))
+                .map(decisions -> decisions.get(resourceId))
+                .filter(OrgMemberDecision::orgMember)
+                .map(decision -> {
+                    if (decision.admin() || (superAdminAsAdmin && decision.superAdmin())) {
+                        return UserPermissionOnResourceStatus.success(buildAdminPermission(resourceType, resourceId, userId));
+                    }
+                    List<ResourcePermission> permissions = decision.permissions();
+                    return permissions.isEmpty() ? UserPermissionOnResourceStatus.notEnoughPermission()
+                                                 : UserPermissionOnResourceStatus.success(getMaxPermission(permissions));
+                })
+                .defaultIfEmpty(UserPermissionOnResourceStatus.notInOrg());
+    }
+
+    /**
+     * Resolves the org member part of the permission check per resource, reading the decision cache first and loading
+     * the org member, its groups and the resource permissions only once for all missed resources.
+     */
+    private Mono<Map<String, OrgMemberDecision>> getOrgMemberDecisions(String userId, String orgId, Collection<String> resourceIds,
             ResourceAction resourceAction) {
-        Mono<Map<String, Collection<ResourcePermission>>> permissionsMapMono =
-                resourcePermissionService.getByResourceTypeAndResourceIds(resourceType, resourceIds);
-        Mono<Set<String>> userGroupIdsMono = getUserGroupIds(orgId, userId);
+        ResourceType resourceType = resourceAction.getResourceType();
+        Map<String, OrgMemberDecision> result = new HashMap<>();
+        List<String> missedResourceIds = new ArrayList<>();
+        for (String resourceId : new LinkedHashSet<>(resourceIds)) {
+            OrgMemberDecision decision = decisionCache.getIfPresent(new DecisionKey(userId, orgId, resourceType, resourceId, resourceAction));
+            if (decision == null) {
+                missedResourceIds.add(resourceId);
+            } else {
+                result.put(resourceId, decision);
+            }
+        }
+        if (missedResourceIds.isEmpty()) {
+            return Mono.just(result);
+        }
 
-        return Mono.zip(userGroupIdsMono, permissionsMapMono)
-                .map(tuple -> {
-                    Set<String> userGroupIds = tuple.getT1();
-                    Map<String, Collection<ResourcePermission>> permissionMap = tuple.getT2();
-
-                    return resourceIds
-                            .stream()
-                            .collect(toMap(identity(),
-                                    resourceId -> {
-                                        var resourcePermissions = permissionMap.getOrDefault(resourceId, emptyList());
-                                        return filterMatchingPermissions(userId, userGroupIds, resourcePermissions, resourceAction);
-                                    }));
+        return orgMemberService.getOrgMember(orgId, userId)
+                .flatMap(orgMember -> {
+                    if (orgMember.isAdmin()) {
+                        OrgMemberDecision adminDecision = new OrgMemberDecision(true, true, orgMember.isSuperAdmin(), emptySet(), emptyList());
+                        return Mono.just(missedResourceIds.stream().collect(toMap(identity(), ignore -> adminDecision)));
+                    }
+                    return Mono.zip(getUserGroupIds(orgId, userId),
+                                    resourcePermissionService.getByResourceTypeAndResourceIds(resourceType, missedResourceIds))
+                            .map(tuple -> {
+                                Set<String> userGroupIds = Set.copyOf(tuple.getT1());
+                                Map<String, Collection<ResourcePermission>> permissionMap = tuple.getT2();
+                                return missedResourceIds.stream()
+                                        .collect(toMap(identity(), resourceId -> {
+                                            var resourcePermissions = permissionMap.getOrDefault(resourceId, emptyList());
+                                            return new OrgMemberDecision(true, false, orgMember.isSuperAdmin(), userGroupIds,
+                                                    filterMatchingPermissions(userId, userGroupIds, resourcePermissions, resourceAction));
+                                        }));
+                            });
+                })
+                .defaultIfEmpty(missedResourceIds.stream().collect(toMap(identity(), ignore -> OrgMemberDecision.NOT_ORG_MEMBER)))
+                .map(decisions -> {
+                    decisions.forEach((resourceId, decision) ->
+                            decisionCache.put(new DecisionKey(userId, orgId, resourceType, resourceId, resourceAction), decision));
+                    result.putAll(decisions);
+                    return result;
                 });
     }
 
+    private Mono<String> getCachedOrgId(ResourceType resourceType, String resourceId) {
+        return decisionCache.getOrgId(resourceType, resourceId, () -> getOrgId(resourceId));
+    }
+
     private List<ResourcePermission> filterMatchingPermissions(String userId,
             Set<String> userGroupIds, Collection<ResourcePermission> resourcePermissions, ResourceAction resourceAction) {
         if (CollectionUtils.isEmpty(resourcePermissions)) {
@@ -190,15 +240,6 @@ abstract class ResourcePermissionHandler implements ResourcePermissionHandlerSer
                 .toList();
     }
 
-    private Map<String, List<ResourcePermission>> buildAdminPermissions(ResourceType resourceType,
-            Collection<String> resourceIds, String userId) {
-        return resourceIds.stream()
-                .distinct()
-                .collect(toMap(it -> it,
-                        resourceId -> singletonList(buildAdminPermission(resourceType, userId, resourceId)))
-                );
-    }
-
     private ResourcePermission buildAdminPermission(ResourceType resourceType, String userId, String resourceId) {
         return ResourcePermission.builder()
                 .resourceType(resourceType)
@@ -246,18 +287,7 @@ abstract class ResourcePermissionHandler implements ResourcePermissionHandlerSer
                 });
 
 
-        Mono<UserPermissionOnResourceStatus> orgUserPermissionMono = getOrgId(resourceId)
-                .flatMap(orgId -> orgMemberService.getOrgMember(orgId, userId))
-                .flatMap(orgMember -> {
-                    if (orgMember.isAdmin()) {
-                        return Mono.just(UserPermissionOnResourceStatus.success(buildAdminPermission(resourceType, resourceId, userId)));
-                    }
-                    return getAllMatchingPermissions0(userId, orgMember.getOrgId(), resourceType, Collections.singleton(resourceId), resourceAction)
-                            .map(it -> it.getOrDefault(resourceId, emptyList()))
-                            .map(permissions -> permissions.isEmpty() ? UserPermissionOnResourceStatus.notEnoughPermission()
-                                                                      : UserPermissionOnResourceStatus.success(getMaxPermission(permissions)));
-                })
-                .defaultIfEmpty(UserPermissionOnResourceStatus.notInOrg());
+        Mono<UserPermissionOnResourceStatus> orgUserPermissionMono = getOrgUserPermissionStatus(userId, resourceId, resourceAction, false);
 
         return Mono.zip(publicResourcePermissionMono, nonAnonymousPublicResourcePermissionMono, orgUserPermissionMono)
                 .map(tuple -> {
@@ -305,18 +335,7 @@ abstract class ResourcePermissionHandler implements ResourcePermissionHandlerSer
                 });
 
 
-        Mono<UserPermissionOnResourceStatus> orgUserPermissionMono = getOrgId(resourceId)
-                .flatMap(orgId -> orgMemberService.getOrgMember(orgId, userId))
-                .flatMap(orgMember -> {
-                    if (orgMember.isAdmin()) {
-                        return Mono.just(UserPermissionOnResourceStatus.success(buildAdminPermission(resourceType, resourceId, userId)));
-                    }
-                    return getAllMatchingPermissions0(userId, orgMember.getOrgId(), resourceType, Collections.singleton(resourceId), resourceAction)
-                            .map(it -> it.getOrDefault(resourceId, emptyList()))
-                            .map(permissions -> permissions.isEmpty() ? UserPermissionOnResourceStatus.notEnoughPermission()
-                                    : UserPermissionOnResourceStatus.success(getMaxPermission(permissions)));
-                })
-                .defaultIfEmpty(UserPermissionOnResourceStatus.notInOrg());
+        Mono<UserPermissionOnResourceStatus> orgUserPermissionMono = getOrgUserPermissionStatus(userId, resourceId, resourceAction, false);
 
         return Mono.zip(publicResourcePermissionMono, nonAnonymousPublicResourcePermissionMono, orgUserPermissionMono)
                 .map(tuple -> {
@@ -38,6 +38,7 @@ public class ResourcePermissionServiceImpl implements ResourcePermissionService
     private final ResourcePermissionHandlerService datasourcePermissionHandler;
     @Qualifier("bundlePermissionHandler")
     private final ResourcePermissionHandlerService bundlePermissionHandler;
+    private final ResourcePermissionDecisionCache decisionCache;
 
     @Override
     public Mono<Map<String, Collection<ResourcePermission>>> getByResourceTypeAndResourceIds(ResourceType resourceType,
@@ -75,7 +76,8 @@ public class ResourcePermissionServiceImpl implements ResourcePermissionService
         if (CollectionUtils.isEmpty(userIds) && CollectionUtils.isEmpty(groupIds)) {
             return Mono.empty();
         }
-        return repository.insertBatchPermission(resourceType, resourceId, buildResourceHolders(emptyIfNull(userIds), emptyIfNull(groupIds)), role);
+        return repository.insertBatchPermission(resourceType, resourceId, buildResourceHolders(emptyIfNull(userIds), emptyIfNull(groupIds)), role)
+                .doOnTerminate(() -> decisionCache.invalidateResource(resourceType, resourceId));
     }
 
     private Multimap<ResourceHolder, String> buildResourceHolders(@NotNull Set<String> userIds, @NotNull Set<String> groupIds) {
@@ -93,7 +95,8 @@ public class ResourcePermissionServiceImpl implements ResourcePermissionService
     Mono<Boolean> addPermission(ResourceType resourceType, String resourceId,
             ResourceHolder holderType, String holderId,
             ResourceRole resourceRole) {
-        return repository.addPermission(resourceType, resourceId, holderType, holderId, resourceRole);
+        return repository.addPermission(resourceType, resourceId, holderType, holderId, resourceRole)
+                .doOnTerminate(() -> decisionCache.invalidateResource(resourceType, resourceId));
     }
 
     @Override
@@ -125,12 +128,20 @@ public class ResourcePermissionServiceImpl implements ResourcePermissionService
 
     @Override
     public Mono<Boolean> removeById(String permissionId) {
-        return repository.removePermissionById(permissionId);
+        return invalidateAfter(permissionId, repository.removePermissionById(permissionId));
     }
 
     @Override
     public Mono<Boolean> updateRoleById(String permissionId, ResourceRole role) {
-        return repository.updatePermissionRoleById(permissionId, role);
+        return invalidateAfter(permissionId, repository.updatePermissionRoleById(permissionId, role));
+    }
+
+    private Mono<Boolean> invalidateAfter(String permissionId, Mono<Boolean> operation) {
+        return repository.getById(permissionId)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(permission -> operation.doOnTerminate(() -> permission.ifPresent(
+                        it -> decisionCache.invalidateResource(it.getResourceType(), it.getResourceId()))));
     }
 
     /**
@@ -256,12 +267,14 @@ public class ResourcePermissionServiceImpl implements ResourcePermissionService
     
     @Override
     public Mono<Boolean> removeUserApplicationPermission(String appId, String userId) {
-        return repository.removePermissionBy(ResourceType.APPLICATION, appId, ResourceHolder.USER, userId);
+        return repository.removePermissionBy(ResourceType.APPLICATION, appId, ResourceHolder.USER, userId)
+                .doOnTerminate(() -> decisionCache.invalidateResource(ResourceType.APPLICATION, appId));
     }
 
     @Override
     public Mono<Boolean> removeUserDatasourcePermission(String appId, String userId) {
-        return repository.removePermissionBy(ResourceType.APPLICATION, appId, ResourceHolder.USER, userId);
+        return repository.removePermissionBy(ResourceType.APPLICATION, appId, ResourceHolder.USER, userId)
+                .doOnTerminate(() -> decisionCache.invalidateResource(ResourceType.APPLICATION, appId));
     }
 
     @Override
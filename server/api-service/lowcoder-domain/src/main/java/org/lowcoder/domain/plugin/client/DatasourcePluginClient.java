@@ -1,5 +1,8 @@
 package org.lowcoder.domain.plugin.client;
 
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
@@ -9,6 +12,7 @@ import org.lowcoder.domain.plugin.client.dto.DatasourcePluginDefinition;
 import org.lowcoder.domain.plugin.client.dto.GetPluginDynamicConfigRequestDTO;
 import org.lowcoder.infra.js.NodeServerClient;
 import org.lowcoder.infra.js.NodeServerHelper;
+import org.lowcoder.sdk.config.CommonConfig;
 import org.lowcoder.sdk.config.CommonConfigHelper;
 import org.lowcoder.sdk.exception.ServerException;
 import org.lowcoder.sdk.models.DatasourceTestResult;
@@ -26,8 +30,9 @@ import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
 
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
 import static org.lowcoder.sdk.constants.GlobalContext.REQUEST;
 
 @Slf4j
@@ -44,14 +49,33 @@ public class DatasourcePluginClient implements NodeServerClient {
             .exchangeStrategies(EXCHANGE_STRATEGIES)
             .build();
 
-    private final CommonConfigHelper commonConfigHelper;
-    private final NodeServerHelper nodeServerHelper;
+    private static final long PLUGIN_CATALOG_MAX_SIZE = 100;
+    private static final Duration PLUGIN_CATALOG_EXPIRE_AFTER_ACCESS = Duration.ofDays(1);
 
     private static final String PLUGINS_PATH = "plugins";
     private static final String RUN_PLUGIN_QUERY = "runPluginQuery";
     private static final String VALIDATE_PLUGIN_DATA_SOURCE_CONFIG = "validatePluginDataSourceConfig";
     private static final String GET_PLUGIN_DYNAMIC_CONFIG = "getPluginDynamicConfig";
 
+    private final CommonConfig commonConfig;
+    private final CommonConfigHelper commonConfigHelper;
+    private final NodeServerHelper nodeServerHelper;
+
+    /**
+     * Plugin definitions per node service host and accept language. Entries are reloaded in the background once the
+     * refresh interval passed, and the loaded definitions are kept serving when a reload fails.
+     */
+    private AsyncLoadingCache<PluginCatalogKey, PluginCatalog> pluginCatalogs;
+
+    @PostConstruct
+    private void init() {
+        pluginCatalogs = Caffeine.newBuilder()
+                .maximumSize(PLUGIN_CATALOG_MAX_SIZE)
+                .refreshAfterWrite(commonConfig.getJsExecutor().getPluginDefinitionRefreshInterval())
+                .expireAfterAccess(PLUGIN_CATALOG_EXPIRE_AFTER_ACCESS)
+                .buildAsync((key, executor) -> loadPluginCatalog(key.language()).toFuture());
+    }
+
     public Mono<List<Object>> getPluginDynamicConfigSafely(List<GetPluginDynamicConfigRequestDTO> getPluginDynamicConfigRequestDTOS) {
         return getPluginDynamicConfig(getPluginDynamicConfigRequestDTOS)
                 .onErrorResume(throwable -> {
@@ -84,36 +108,47 @@ public class DatasourcePluginClient implements NodeServerClient {
     }
 
     public Mono<DatasourcePluginDefinition> getDatasourcePluginDefinition(String type) {
-        return getDatasourcePluginDefinitions()
-                .filter(datasourcePluginDefinition -> datasourcePluginDefinition.getId().equals(type))
-                .next();
+        return getPluginCatalog()
+                .mapNotNull(catalog -> catalog.definitionsById().get(type))
+                .map(PluginCatalog::copyOf);
     }
 
     public Flux<DatasourcePluginDefinition> getDatasourcePluginDefinitions() {
-        if (StringUtils.isBlank(commonConfigHelper.getHost())) {
-            return Flux.empty();
+        return getPluginCatalog()
+                .flatMapIterable(PluginCatalog::definitions)
+                .map(PluginCatalog::copyOf);
+    }
+
+    private Mono<PluginCatalog> getPluginCatalog() {
+        String host = commonConfigHelper.getHost();
+        if (StringUtils.isBlank(host)) {
+            return Mono.empty();
         }
         return getAcceptLanguage()
-                .flatMap(language -> WEB_CLIENT
-                        .get()
-                        .uri(nodeServerHelper.createUri(PLUGINS_PATH))
-                        .header(HttpHeaders.ACCEPT_LANGUAGE, language)
-                        .exchangeToMono(response -> {
-                            if (response.statusCode().is2xxSuccessful()) {
-                                return response.bodyToMono(new ParameterizedTypeReference<List<DatasourcePluginDefinition>>() {
-                                });
-                            }
-                            log.error("request /plugins error.{}", response.statusCode().value());
-                            return Mono.just(Collections.emptyList());
-                        })
-                        .timeout(Duration.ofSeconds(10))
-                )
+                // a cancelled subscriber must not cancel the load shared through the cache
+                .flatMap(language -> Mono.fromFuture(() -> pluginCatalogs.get(new PluginCatalogKey(host, language)), true))
                 .onErrorResume(throwable -> {
                     log.error("request /plugins error", throwable);
-                    return Mono.just(Collections.emptyList());
+                    return Mono.just(PluginCatalog.EMPTY);
+                });
+    }
+
+    private Mono<PluginCatalog> loadPluginCatalog(String language) {
+        return WEB_CLIENT
+                .get()
+                .uri(nodeServerHelper.createUri(PLUGINS_PATH))
+                .header(HttpHeaders.ACCEPT_LANGUAGE, language)
+                .exchangeToMono(response -> {
+                    if (response.statusCode().is2xxSuccessful()) {
+                        return response.bodyToMono(new ParameterizedTypeReference<List<DatasourcePluginDefinition>>() {
+                        });
+                    }
+                    log.error("request /plugins error.{}", response.statusCode().value());
+                    return Mono.error(new ServerException("get plugin definitions error"));
                 })
+                .timeout(Duration.ofSeconds(10))
                 .defaultIfEmpty(Collections.emptyList())
-                .flatMapIterable(Function.identity());
+                .map(PluginCatalog::of);
     }
 
     @SuppressWarnings("unchecked")
@@ -165,4 +200,27 @@ public class DatasourcePluginClient implements NodeServerClient {
                 .map(Mono::just)
                 .orElse(Mono.just("")));
     }
+
+    private record PluginCatalogKey(String host, String language) {
+    }
+
+    /**
+     * definitions are copied when handed out, as callers may modify them
+     */
+    private record PluginCatalog(List<DatasourcePluginDefinition> definitions, Map<String, DatasourcePluginDefinition> definitionsById) {
+
+        static final PluginCatalog EMPTY = of(List.of());
+
+        static PluginCatalog of(List<DatasourcePluginDefinition> definitions) {
+            return new PluginCatalog(List.copyOf(definitions), definitions.stream()
+                    .filter(definition -> definition.getId() != null)
+                    .collect(toMap(DatasourcePluginDefinition::getId, identity(), (a, b) -> a)));
+        }
+
+        static DatasourcePluginDefinition copyOf(DatasourcePluginDefinition definition) {
+            DatasourcePluginDefinition copy = new DatasourcePluginDefinition();
+            copy.putAll(definition);
+            return copy;
+        }
+    }
 }
@@ -22,6 +22,8 @@ public class ApplicationQuery {
 
     private final String timeoutStr;
 
+    private final String cacheTtlStr;
+
     @JsonCreator
     public ApplicationQuery(@JsonProperty("id") String id,
             @JsonProperty("gid") String gid,
@@ -30,17 +32,20 @@ public class ApplicationQuery {
             @JsonProperty("comp") Map<String, Object> queryConfig,
             @JsonProperty("triggerType") String triggerType,
             @JsonProperty("timeout") String timeoutStr,
+            @JsonProperty("cacheTtl") String cacheTtlStr,
             @JsonProperty("compType") String compType) {
         this.id = id;
         this.gid = gid;
         this.name = name;
         this.triggerType = triggerType;
         this.timeoutStr = timeoutStr;
+        this.cacheTtlStr = cacheTtlStr;
         this.baseQuery = BaseQuery.builder()
                 .queryConfig(queryConfig)
                 .datasourceId(datasourceId)
                 .compType(compType)
-                .timeoutStr(timeoutStr).build();
+                .timeoutStr(timeoutStr)
+                .cacheTtlStr(cacheTtlStr).build();
     }
 
     public boolean isUsingLibraryQuery() {
@@ -24,4 +24,7 @@ public class BaseQuery {
     @JsonProperty(value = "timeout")
     private final String timeoutStr;
 
+    @JsonProperty(value = "cacheTtl")
+    private final String cacheTtlStr;
+
 }
@@ -0,0 +1,59 @@
+package org.lowcoder.domain.query.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.Nonnull;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.lowcoder.sdk.models.QueryExecutionResult;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * node local {@link QueryResultCache}, each entry expires after its own ttl.
+ */
+@Component
+public class InMemoryQueryResultCache implements QueryResultCache {
+
+    private final Cache<String, CachedResult> cache;
+
+    public InMemoryQueryResultCache(CommonConfig commonConfig) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(commonConfig.getQuery().getResultCacheMaxSize())
+                .expireAfter(new Expiry<String, CachedResult>() {
+                    @Override
+                    public long expireAfterCreate(@Nonnull String key, @Nonnull CachedResult value, long currentTime) {
+                        return value.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(@Nonnull String key, @Nonnull CachedResult value, long currentTime,
+                            long currentDuration) {
+                        return value.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(@Nonnull String key, @Nonnull CachedResult value, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public Mono<QueryExecutionResult> get(String key) {
+        return Mono.fromSupplier(() -> cache.getIfPresent(key))
+                .map(CachedResult::result);
+    }
+
+    @Override
+    public Mono<Void> put(String key, QueryExecutionResult result, Duration ttl) {
+        return Mono.fromRunnable(() -> cache.put(key, new CachedResult(result, ttl)));
+    }
+
+    private record CachedResult(QueryExecutionResult result, Duration ttl) {
+    }
+}
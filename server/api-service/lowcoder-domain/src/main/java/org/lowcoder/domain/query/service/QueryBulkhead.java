@@ -0,0 +1,181 @@
+package org.lowcoder.domain.query.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.lowcoder.domain.datasource.model.Datasource;
+import org.lowcoder.domain.plugin.DatasourceMetaInfo;
+import org.lowcoder.domain.plugin.service.DatasourceMetaInfoService;
+import org.lowcoder.infra.perf.PerfHelper;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.lowcoder.sdk.exception.PluginException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.lowcoder.infra.perf.PerfEvent.QUERY_BULKHEAD_ACTIVE;
+import static org.lowcoder.infra.perf.PerfEvent.QUERY_BULKHEAD_QUEUED;
+import static org.lowcoder.infra.perf.PerfEvent.QUERY_BULKHEAD_REJECTED;
+import static org.lowcoder.sdk.exception.PluginCommonError.QUERY_EXECUTION_REJECTED;
+
+/**
+ * Concurrency limits of queries executed by java based plugins, one per datasource and one per plugin type, so that a
+ * slow datasource cannot take all threads of the shared plugin scheduler.
+ * <p>
+ * An execution over the limit waits in a bounded queue until a running one finishes, or is rejected right away with a
+ * {@link PluginException} once the queue is full. Waiting counts against the query timeout.
+ * <p>
+ * The system datasources (quick rest api / graphql, lowcoder api) are singletons shared by all orgs, their bulkheads are
+ * kept per org so that one org's queries can't use up the permits of the others.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryBulkhead {
+
+    private static final Duration DATASOURCE_BULKHEAD_EXPIRE_AFTER_ACCESS = Duration.ofHours(1);
+
+    private final CommonConfig commonConfig;
+    private final DatasourceMetaInfoService datasourceMetaInfoService;
+    private final PerfHelper perfHelper;
+
+    private final Cache<String, Bulkhead> datasourceBulkheads = Caffeine.newBuilder()
+            .expireAfterAccess(DATASOURCE_BULKHEAD_EXPIRE_AFTER_ACCESS)
+            .build();
+    private final ConcurrentHashMap<String, Bulkhead> pluginBulkheads = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        for (DatasourceMetaInfo metaInfo : datasourceMetaInfoService.getJavaBasedSupportedDatasourceMetaInfos()) {
+            Bulkhead bulkhead = getPluginBulkhead(metaInfo.getType());
+            Tags tags = Tags.of("datasourceType", metaInfo.getType());
+            perfHelper.gaugeSafely(QUERY_BULKHEAD_ACTIVE, tags, bulkhead, Bulkhead::getActive);
+            perfHelper.gaugeSafely(QUERY_BULKHEAD_QUEUED, tags, bulkhead, Bulkhead::getQueued);
+        }
+    }
+
+    /**
+     * @param orgId the org executing the query, only used to separate the bulkheads of system datasources
+     */
+    public <T> Mono<T> execute(Datasource datasource, @Nullable String orgId, Supplier<Mono<T>> execution) {
+        String type = datasource.getType();
+        String datasourceId = datasource.getId();
+        Bulkhead pluginBulkhead = getPluginBulkhead(type);
+        Bulkhead datasourceBulkhead = datasourceBulkheads.get(getDatasourceBulkheadKey(datasource, orgId), ignore -> {
+            CommonConfig.Query config = commonConfig.getQuery();
+            int maxConcurrency = config.getDatasourceMaxConcurrencyOverrides()
+                    .getOrDefault(datasourceId, config.getDatasourceMaxConcurrency());
+            return new Bulkhead(maxConcurrency, config.getDatasourceMaxQueued(),
+                    () -> rejected(type, "datasource", new PluginException(QUERY_EXECUTION_REJECTED, "DATASOURCE_TOO_MANY_QUERIES")));
+        });
+        return datasourceBulkhead.execute(() -> pluginBulkhead.execute(execution));
+    }
+
+    static String getDatasourceBulkheadKey(Datasource datasource, @Nullable String orgId) {
+        if (Datasource.isSystemStaticId(datasource.getId())) {
+            return StringUtils.defaultString(orgId) + ":" + datasource.getId();
+        }
+        return datasource.getId();
+    }
+
+    private Bulkhead getPluginBulkhead(String type) {
+        return pluginBulkheads.computeIfAbsent(type, ignore -> {
+            CommonConfig.Query config = commonConfig.getQuery();
+            int maxConcurrency = config.getPluginMaxConcurrencyOverrides().getOrDefault(type, config.getPluginMaxConcurrency());
+            return new Bulkhead(maxConcurrency, config.getPluginMaxQueued(),
+                    () -> rejected(type, "plugin", new PluginException(QUERY_EXECUTION_REJECTED, "PLUGIN_TOO_MANY_QUERIES", type)));
+        });
+    }
+
+    private PluginException rejected(String type, String scope, PluginException exception) {
+        perfHelper.count(QUERY_BULKHEAD_REJECTED, Tags.of("datasourceType", type, "scope", scope));
+        return exception;
+    }
+
+    static class Bulkhead {
+
+        private final int maxConcurrency;
+        private final int maxQueued;
+        private final Supplier<PluginException> rejection;
+
+        private final Queue<Waiter> waiters = new ArrayDeque<>();
+        private int active;
+
+        Bulkhead(int maxConcurrency, int maxQueued, Supplier<PluginException> rejection) {
+            this.maxConcurrency = Math.max(maxConcurrency, 1);
+            this.maxQueued = Math.max(maxQueued, 0);
+            this.rejection = rejection;
+        }
+
+        <T> Mono<T> execute(Supplier<Mono<T>> execution) {
+            return Mono.defer(() -> {
+                AtomicBoolean acquired = new AtomicBoolean();
+                return Mono.<Void> create(sink -> acquire(new Waiter(sink, acquired)))
+                        .then(Mono.defer(execution))
+                        .doFinally(signalType -> {
+                            if (acquired.getAndSet(false)) {
+                                release();
+                            }
+                        });
+            });
+        }
+
+        private void acquire(Waiter waiter) {
+            synchronized (this) {
+                if (active < maxConcurrency) {
+                    active++;
+                    waiter.acquired().set(true);
+                } else if (waiters.size() < maxQueued) {
+                    waiters.add(waiter);
+                    waiter.sink().onCancel(() -> cancel(waiter));
+                    return;
+                } else {
+                    waiter.sink().error(rejection.get());
+                    return;
+                }
+            }
+            waiter.sink().success();
+        }
+
+        private synchronized void cancel(Waiter waiter) {
+            waiters.remove(waiter);
+        }
+
+        /**
+         * hands the permit of a finished execution over to the first waiter
+         */
+        private void release() {
+            Waiter next;
+            synchronized (this) {
+                next = waiters.poll();
+                if (next == null) {
+                    active--;
+                    return;
+                }
+                next.acquired().set(true);
+            }
+            next.sink().success();
+        }
+
+        synchronized int getActive() {
+            return active;
+        }
+
+        synchronized int getQueued() {
+            return waiters.size();
+        }
+
+        private record Waiter(MonoSink<Void> sink, AtomicBoolean acquired) {
+        }
+    }
+}
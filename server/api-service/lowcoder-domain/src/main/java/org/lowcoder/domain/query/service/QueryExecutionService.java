@@ -1,5 +1,6 @@
 package org.lowcoder.domain.query.service;
 
+import jakarta.annotation.Nullable;
 import org.lowcoder.domain.datasource.model.Datasource;
 import org.lowcoder.sdk.models.QueryExecutionResult;
 import org.lowcoder.sdk.query.QueryVisitorContext;
@@ -8,6 +9,15 @@ import reactor.core.publisher.Mono;
 import java.util.Map;
 
 public interface QueryExecutionService {
+
+    default Mono<QueryExecutionResult> executeQuery(Datasource datasource, Map<String, Object> queryConfig, Map<String, Object> requestParams,
+                                                    String timeoutStr, QueryVisitorContext queryVisitorContext) {
+        return executeQuery(datasource, queryConfig, requestParams, timeoutStr, null, queryVisitorContext);
+    }
+
+    /**
+     * @param cacheTtlStr opt-in result cache ttl of the query, same format as the timeout, blank to disable caching
+     */
     Mono<QueryExecutionResult> executeQuery(Datasource datasource, Map<String, Object> queryConfig, Map<String, Object> requestParams,
-                                            String timeoutStr, QueryVisitorContext queryVisitorContext);
+                                            String timeoutStr, @Nullable String cacheTtlStr, QueryVisitorContext queryVisitorContext);
 }
@@ -1,7 +1,9 @@
 package org.lowcoder.domain.query.service;
 
+import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
 import org.lowcoder.domain.datasource.model.Datasource;
 import org.lowcoder.domain.datasource.model.DatasourceConnectionHolder;
 import org.lowcoder.domain.datasource.service.DatasourceConnectionPool;
@@ -11,17 +13,27 @@ import org.lowcoder.domain.query.util.QueryTimeoutUtils;
 import org.lowcoder.sdk.config.CommonConfig;
 import org.lowcoder.sdk.exception.BizException;
 import org.lowcoder.sdk.exception.PluginException;
+import org.lowcoder.sdk.models.DatasourceConnectionConfig;
 import org.lowcoder.sdk.models.JsDatasourceConnectionConfig;
 import org.lowcoder.sdk.models.Property;
 import org.lowcoder.sdk.models.QueryExecutionResult;
+import org.lowcoder.sdk.plugin.graphql.GraphQLDatasourceConfig;
+import org.lowcoder.sdk.plugin.lowcoderapi.LowcoderApiDatasourceConfig;
+import org.lowcoder.sdk.plugin.restapi.RestApiDatasourceConfig;
 import org.lowcoder.sdk.query.QueryExecutionContext;
 import org.lowcoder.sdk.query.QueryVisitorContext;
+import org.lowcoder.sdk.util.HashUtils;
+import org.lowcoder.sdk.util.JsonUtils;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
@@ -38,19 +50,24 @@ public class QueryExecutionServiceImpl implements QueryExecutionService {
     private final DatasourceMetaInfoService datasourceMetaInfoService;
     private final DatasourcePluginClient datasourcePluginClient;
     private final CommonConfig common;
-    
+    private final QueryResultCache queryResultCache;
+    private final QueryBulkhead queryBulkhead;
+
+    private final Map<String, Mono<QueryExecutionResult>> inFlightQueries = new ConcurrentHashMap<>();
+
     @Override
     public Mono<QueryExecutionResult> executeQuery(Datasource datasource, Map<String, Object> queryConfig, Map<String, Object> requestParams,
-                                                   String timeoutStr, QueryVisitorContext queryVisitorContext) {
+                                                   String timeoutStr, @Nullable String cacheTtlStr, QueryVisitorContext queryVisitorContext) {
 
         int timeoutMs = QueryTimeoutUtils.parseQueryTimeoutMs(timeoutStr, requestParams, common.getMaxQueryTimeout());
         queryConfig.putIfAbsent("timeoutMs", String.valueOf(timeoutMs));
 
-        return Mono.defer(() -> {
+        Mono<QueryExecutionResult> execution = Mono.defer(() -> {
                     if (datasourceMetaInfoService.isJsDatasourcePlugin(datasource.getType())) {
                         return executeByNodeJs(datasource, queryConfig, requestParams, queryVisitorContext);
                     }
-                    return executeLocally(datasource, queryConfig, requestParams, queryVisitorContext);
+                    return queryBulkhead.execute(datasource, queryVisitorContext.getApplicationOrgId(),
+                            () -> executeLocally(datasource, queryConfig, requestParams, queryVisitorContext));
                 })
                 .timeout(Duration.ofMillis(timeoutMs))
                 .onErrorMap(TimeoutException.class, e -> new PluginException(QUERY_EXECUTION_TIMEOUT, "PLUGIN_EXECUTION_TIMEOUT", timeoutMs))
@@ -62,6 +79,67 @@ public class QueryExecutionServiceImpl implements QueryExecutionService {
                     log.error("query exception", exception);
                     return ofException(QUERY_EXECUTION_ERROR, "QUERY_EXECUTION_ERROR", exception.getMessage());
                 });
+
+        long cacheTtlMs = QueryTimeoutUtils.parseQueryCacheTtlMs(cacheTtlStr, requestParams, common.getQuery().getMaxResultCacheTtl());
+        if (cacheTtlMs <= 0 || !isResultShareable(datasource)) {
+            return execution;
+        }
+
+        String cacheKey = buildCacheKey(datasource, queryConfig, requestParams, queryVisitorContext);
+        return queryResultCache.get(cacheKey)
+                .switchIfEmpty(Mono.defer(() -> executeOnce(cacheKey, execution, Duration.ofMillis(cacheTtlMs))));
+    }
+
+    /**
+     * concurrent executions of the same cacheable query share one backend call, its successful result is cached.
+     */
+    private Mono<QueryExecutionResult> executeOnce(String cacheKey, Mono<QueryExecutionResult> execution, Duration cacheTtl) {
+        return inFlightQueries.computeIfAbsent(cacheKey, key -> execution
+                .flatMap(result -> {
+                    if (!result.isSuccess()) {
+                        return Mono.just(result);
+                    }
+                    return queryResultCache.put(key, result, cacheTtl)
+                            .onErrorResume(e -> {
+                                log.warn("cache query result error.", e);
+                                return Mono.empty();
+                            })
+                            .thenReturn(result);
+                })
+                .doFinally(signalType -> inFlightQueries.remove(key))
+                .cache());
+    }
+
+    /**
+     * results of queries executed with the visitor's own identity (forwarded cookies, oauth tokens inherited from login,
+     * lowcoder api) are never shared between requests.
+     */
+    private boolean isResultShareable(Datasource datasource) {
+        DatasourceConnectionConfig detailConfig = datasource.getDetailConfig();
+        if (detailConfig instanceof RestApiDatasourceConfig restApiDatasourceConfig) {
+            return !restApiDatasourceConfig.isOauth2InheritFromLogin()
+                    && !restApiDatasourceConfig.isForwardAllCookies()
+                    && CollectionUtils.isEmpty(restApiDatasourceConfig.getForwardCookies());
+        }
+        if (detailConfig instanceof GraphQLDatasourceConfig graphQLDatasourceConfig) {
+            return !graphQLDatasourceConfig.isOauth2InheritFromLogin()
+                    && !graphQLDatasourceConfig.isForwardAllCookies()
+                    && CollectionUtils.isEmpty(graphQLDatasourceConfig.getForwardCookies());
+        }
+        if (detailConfig instanceof JsDatasourceConnectionConfig jsDatasourceConnectionConfig) {
+            return !jsDatasourceConnectionConfig.isOauth2InheritFromLogin();
+        }
+        return !(detailConfig instanceof LowcoderApiDatasourceConfig);
+    }
+
+    private String buildCacheKey(Datasource datasource, Map<String, Object> queryConfig, Map<String, Object> requestParams,
+            QueryVisitorContext queryVisitorContext) {
+        String key = JsonUtils.toJson(Arrays.asList(datasource.getId(),
+                String.valueOf(datasource.getUpdatedAt()),
+                queryVisitorContext.getApplicationOrgId(),
+                new TreeMap<>(queryConfig),
+                new TreeMap<>(requestParams)));
+        return HashUtils.hash(key.getBytes(StandardCharsets.UTF_8));
     }
 
     private Mono<QueryExecutionResult> executeLocally(Datasource datasource, Map<String, Object> queryConfig, Map<String, Object> requestParams,
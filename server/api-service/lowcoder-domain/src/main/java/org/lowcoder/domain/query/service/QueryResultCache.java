@@ -0,0 +1,17 @@
+package org.lowcoder.domain.query.service;
+
+import org.lowcoder.sdk.models.QueryExecutionResult;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * store of query results for queries which opt in to result caching by setting a cache ttl,
+ * see {@link QueryExecutionServiceImpl}.
+ */
+public interface QueryResultCache {
+
+    Mono<QueryExecutionResult> get(String key);
+
+    Mono<Void> put(String key, QueryExecutionResult result, Duration ttl);
+}
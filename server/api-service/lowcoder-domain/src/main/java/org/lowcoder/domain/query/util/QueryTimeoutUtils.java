@@ -60,6 +60,28 @@ public final class QueryTimeoutUtils {
         return millis;
     }
 
+    /**
+     * parse the opt-in result cache ttl of a query, it shares the format of the query timeout.
+     *
+     * @return ttl in millis, 0 if the query result should not be cached
+     */
+    public static long parseQueryCacheTtlMs(String cacheTtlStr, Map<String, Object> paramMap, long maxCacheTtlMs) {
+        String renderedCacheTtlStr = renderMustacheString(cacheTtlStr, paramMap);
+        if (StringUtils.isBlank(renderedCacheTtlStr)) {
+            return 0;
+        }
+
+        Pair<String, Integer> unitInfo = getUnitInfo(renderedCacheTtlStr);
+        int unitIndex = unitInfo.getRight();
+        String valueStr = unitIndex == -1 ? renderedCacheTtlStr : renderedCacheTtlStr.substring(0, unitIndex);
+
+        double value = NumberUtils.toDouble(valueStr, -1);
+        if (value < 0) {
+            throw new PluginException(QUERY_ARGUMENT_ERROR, "INVALID_CACHE_TTL_SETTING", renderedCacheTtlStr);
+        }
+        return Math.min(convertToMs(value, unitInfo.getLeft()), maxCacheTtlMs);
+    }
+
     private static int convertToMs(double value, String unit) {
         if (unit.equals("s")) {
             return (int) (value * 1000);
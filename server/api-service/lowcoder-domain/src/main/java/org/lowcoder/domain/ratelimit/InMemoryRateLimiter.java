@@ -0,0 +1,60 @@
+package org.lowcoder.domain.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Node local buckets, for single node deployments and tests. Behind a load balancer every node allows the full rate.
+ */
+@Component
+@ConditionalOnProperty(prefix = "common.rate-limit", name = "store", havingValue = "memory")
+public class InMemoryRateLimiter implements RateLimiter {
+
+    // a bucket idle that long is full again, dropping it changes nothing
+    private static final Duration MAX_IDLE = Duration.ofHours(1);
+
+    private final Clock clock;
+    private final Cache<String, Bucket> buckets = Caffeine.newBuilder()
+            .expireAfterAccess(MAX_IDLE)
+            .build();
+
+    public InMemoryRateLimiter() {
+        this(Clock.systemUTC());
+    }
+
+    InMemoryRateLimiter(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Mono<RateLimitResult> tryAcquire(String key, long capacity, double refillPerSecond) {
+        return Mono.fromSupplier(() -> buckets.get(key, k -> new Bucket(capacity, clock.millis()))
+                .tryAcquire(capacity, refillPerSecond, clock.millis()));
+    }
+
+    private static class Bucket {
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(long capacity, long now) {
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        private synchronized RateLimitResult tryAcquire(long capacity, double refillPerSecond, long now) {
+            tokens = Math.min(capacity, tokens + Math.max(0, now - refilledAt) * refillPerSecond / 1000);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return RateLimitResult.allowed((long) tokens);
+            }
+            return RateLimitResult.rejected(Duration.ofMillis((long) Math.ceil((1 - tokens) * 1000 / refillPerSecond)));
+        }
+    }
+}
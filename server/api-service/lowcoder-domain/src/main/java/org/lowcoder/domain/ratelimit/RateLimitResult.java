@@ -0,0 +1,18 @@
+package org.lowcoder.domain.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * @param remaining  tokens left in the bucket
+ * @param retryAfter time until the bucket holds a token again, zero for allowed requests
+ */
+public record RateLimitResult(boolean allowed, long remaining, Duration retryAfter) {
+
+    public static RateLimitResult allowed(long remaining) {
+        return new RateLimitResult(true, remaining, Duration.ZERO);
+    }
+
+    public static RateLimitResult rejected(Duration retryAfter) {
+        return new RateLimitResult(false, 0, retryAfter);
+    }
+}
@@ -0,0 +1,15 @@
+package org.lowcoder.domain.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Token buckets shared by every request with the same key. A bucket holds at most {@code capacity} tokens, refilled at
+ * {@code refillPerSecond}, and every request takes one.
+ * <p>
+ * {@link RedisRateLimiter} keeps the buckets in redis so that a limit applies to the whole cluster,
+ * {@link InMemoryRateLimiter} keeps them on the node; {@code common.rate-limit.store} selects one of them.
+ */
+public interface RateLimiter {
+
+    Mono<RateLimitResult> tryAcquire(String key, long capacity, double refillPerSecond);
+}
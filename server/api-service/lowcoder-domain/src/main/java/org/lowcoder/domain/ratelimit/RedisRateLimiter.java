@@ -0,0 +1,82 @@
+package org.lowcoder.domain.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Buckets stored as redis hashes and updated by a script, so that concurrent requests of all nodes take tokens
+ * atomically and the limits hold for the whole cluster. The script reads the time from redis, which keeps clock skew
+ * between nodes out of the refill.
+ * <p>
+ * Requests are let through when redis fails or does not answer within {@code common.rate-limit.redis-timeout}: losing
+ * the limit for a while is better than rejecting or holding every request.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "common.rate-limit", name = "store", havingValue = "redis", matchIfMissing = true)
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final String SCRIPT = """
+            local capacity = tonumber(ARGV[1])
+            local refill = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(bucket[1]) or capacity
+            local ts = tonumber(bucket[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * refill / 1000)
+            local allowed = 0
+            local retry = 0
+            if tokens >= 1 then
+                tokens = tokens - 1
+                allowed = 1
+            else
+                retry = math.ceil((1 - tokens) * 1000 / refill)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * 1000 / refill) + 1000)
+            return allowed .. ':' .. math.floor(tokens) .. ':' .. retry
+            """;
+    private static final RedisScript<String> TOKEN_BUCKET = RedisScript.of(SCRIPT, String.class);
+
+    // the default value serializer writes json, the script needs plain numbers
+    private static final RedisElementWriter<String> ARGS_WRITER = RedisElementWriter.from(StringRedisSerializer.UTF_8);
+    private static final RedisElementReader<String> RESULT_READER = RedisElementReader.from(StringRedisSerializer.UTF_8);
+
+    private final ReactiveRedisOperations<String, String> reactiveRedisOperations;
+    private final CommonConfig commonConfig;
+
+    @Override
+    public Mono<RateLimitResult> tryAcquire(String key, long capacity, double refillPerSecond) {
+        return reactiveRedisOperations.execute(TOKEN_BUCKET, List.of(key),
+                        List.of(String.valueOf(capacity), String.valueOf(refillPerSecond)), ARGS_WRITER, RESULT_READER)
+                .next()
+                .map(RedisRateLimiter::parse)
+                .timeout(commonConfig.getRateLimit().getRedisTimeout())
+                .onErrorResume(e -> {
+                    log.warn("rate limit of {} not checked: {}", key, e.getMessage());
+                    return Mono.just(RateLimitResult.allowed(capacity));
+                });
+    }
+
+    private static RateLimitResult parse(String result) {
+        String[] parts = result.split(":");
+        if ("1".equals(parts[0])) {
+            return RateLimitResult.allowed(Long.parseLong(parts[1]));
+        }
+        return RateLimitResult.rejected(Duration.ofMillis(Long.parseLong(parts[2])));
+    }
+}
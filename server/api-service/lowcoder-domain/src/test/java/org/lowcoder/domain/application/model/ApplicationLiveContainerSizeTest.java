@@ -0,0 +1,53 @@
+package org.lowcoder.domain.application.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ApplicationLiveContainerSizeTest {
+
+    @Test
+    public void testPersistedSizeFollowsLiveDsl() {
+        Application module = Application.builder()
+                .applicationType(ApplicationType.MODULE.getValue())
+                .editingApplicationDSL(dsl(Map.of("width", 2)))
+                .publishedApplicationDSL(dsl(Map.of("width", 1)))
+                .build();
+        module.refreshLiveContainerSize();
+
+        Application withoutDsl = Application.builder()
+                .applicationType(ApplicationType.MODULE.getValue())
+                .liveContainerSize(Map.of("width", 1))
+                .build();
+
+        assertEquals(Map.of("width", 1), module.getLiveContainerSize());
+        assertEquals(Map.of("width", 1), withoutDsl.getLiveContainerSize());
+    }
+
+    @Test
+    public void testFallsBackToDslWhenNotPersisted() {
+        Application module = Application.builder()
+                .applicationType(ApplicationType.MODULE.getValue())
+                .editingApplicationDSL(dsl(Map.of("width", 2)))
+                .build();
+
+        assertEquals(Map.of("width", 2), module.getLiveContainerSize());
+    }
+
+    @Test
+    public void testApplicationsHaveNoContainerSize() {
+        Application application = Application.builder()
+                .applicationType(ApplicationType.APPLICATION.getValue())
+                .liveContainerSize(Map.of("width", 1))
+                .build();
+
+        assertNull(application.getLiveContainerSize());
+    }
+
+    private static Map<String, Object> dsl(Map<String, Object> containerSize) {
+        return Map.of("ui", Map.of("comp", Map.of("containerSize", containerSize)));
+    }
+}
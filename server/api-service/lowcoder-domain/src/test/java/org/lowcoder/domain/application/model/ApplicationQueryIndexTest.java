@@ -0,0 +1,58 @@
+package org.lowcoder.domain.application.model;
+
+import org.junit.jupiter.api.Test;
+import org.lowcoder.domain.query.model.ApplicationQuery;
+import org.lowcoder.sdk.exception.BizException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ApplicationQueryIndexTest {
+
+    @Test
+    public void testLookupMatchesApplication() {
+        Application application = Application.builder()
+                .editingApplicationDSL(dsl("query01", "query02"))
+                .publishedApplicationDSL(dsl("query01"))
+                .build();
+        application.setId("app01");
+        application.setUpdatedAt(Instant.ofEpochMilli(1000));
+
+        ApplicationQueryIndex index = ApplicationQueryIndex.of(application);
+
+        for (boolean viewMode : new boolean[] {true, false}) {
+            ApplicationQuery expected = application.getQueryByViewModeAndQueryId(viewMode, "query01");
+            ApplicationQuery actual = index.getQuery(viewMode, "gid-query01");
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getBaseQuery().getQueryConfig(), actual.getBaseQuery().getQueryConfig());
+        }
+        assertEquals("query02", index.getQuery(false, "query02").getId());
+        assertThrows(BizException.class, () -> index.getQuery(true, "query02"));
+
+        // every lookup gets its own query config, execution mutates it
+        assertNotSame(index.getQuery(true, "query01").getBaseQuery().getQueryConfig(),
+                index.getQuery(true, "query01").getBaseQuery().getQueryConfig());
+
+        assertTrue(index.isVersionOf(application));
+        application.setUpdatedAt(Instant.ofEpochMilli(2000));
+        assertFalse(index.isVersionOf(application));
+    }
+
+    private static Map<String, Object> dsl(String... queryIds) {
+        List<Map<String, Object>> queries = new ArrayList<>();
+        for (String queryId : queryIds) {
+            Map<String, Object> comp = new HashMap<>(Map.of("sql", "select * from " + queryId));
+            queries.add(Map.of("id", queryId, "gid", "gid-" + queryId, "datasourceId", "ds01", "compType", "mysql", "comp", comp));
+        }
+        return new HashMap<>(Map.of("queries", queries));
+    }
+}
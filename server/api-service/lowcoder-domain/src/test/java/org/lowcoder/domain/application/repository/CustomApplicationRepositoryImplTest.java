@@ -0,0 +1,59 @@
+package org.lowcoder.domain.application.repository;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.lowcoder.domain.application.model.Application;
+import org.lowcoder.domain.application.model.ApplicationActivity;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CustomApplicationRepositoryImplTest {
+
+    @Test
+    public void testOpenedActivityKeepsUpdatedAt() {
+        ReactiveMongoTemplate template = mock(ReactiveMongoTemplate.class);
+        ReactiveBulkOperations bulkOperations = mock(ReactiveBulkOperations.class);
+        when(template.bulkOps(BulkMode.UNORDERED, Application.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(Mono.empty());
+        CustomApplicationRepositoryImpl repository = new CustomApplicationRepositoryImpl();
+        ReflectionTestUtils.setField(repository, "reactiveMongoTemplate", template);
+
+        Instant opened = Instant.parse("2024-01-01T00:00:00Z");
+        Instant edited = Instant.parse("2024-01-01T00:01:00Z");
+        ApplicationActivity activity = ApplicationActivity.opened("app1", opened, "user1")
+                .merge(ApplicationActivity.edited("app1", edited, "user2"));
+        repository.updateActivities(List.of(activity)).block();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(bulkOperations, times(2)).updateOne(query.capture(), update.capture());
+        Document openedSet = (Document) update.getAllValues().get(0).getUpdateObject().get("$set");
+        assertThat(openedSet).doesNotContainKeys("updatedAt", "modifiedBy");
+        assertThat(openedSet).containsEntry("lastOpenedAt", opened)
+                .containsEntry("lastOpenedBy", "user1");
+
+        // the edit is only written if editing wasn't finished, or edited again, since
+        Document editedQuery = query.getAllValues().get(1).getQueryObject();
+        assertThat(editedQuery).containsEntry("editingFinishedAt", new Document("$not", new Document("$gte", edited)))
+                .containsEntry("lastEditedAt", new Document("$not", new Document("$gte", edited)));
+        Document editedSet = (Document) update.getAllValues().get(1).getUpdateObject().get("$set");
+        assertThat(editedSet).doesNotContainKeys("updatedAt", "modifiedBy");
+        assertThat(editedSet).containsEntry("lastEditedAt", edited)
+                .containsEntry("editingUserId", "user2");
+    }
+}
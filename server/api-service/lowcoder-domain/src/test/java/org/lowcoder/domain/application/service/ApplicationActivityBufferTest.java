@@ -0,0 +1,66 @@
+package org.lowcoder.domain.application.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lowcoder.domain.application.model.ApplicationActivity;
+import org.lowcoder.domain.application.repository.ApplicationRepository;
+import org.lowcoder.infra.perf.PerfHelper;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+public class ApplicationActivityBufferTest {
+
+    private ApplicationRepository repository;
+    private ApplicationActivityBuffer buffer;
+
+    @BeforeEach
+    public void setUp() {
+        repository = mock(ApplicationRepository.class);
+        when(repository.updateActivities(any())).thenReturn(Mono.empty());
+        buffer = new ApplicationActivityBuffer(repository, mock(PerfHelper.class));
+    }
+
+    @Test
+    public void testActivitiesAreCoalescedPerApplication() {
+        Instant edited = Instant.parse("2024-01-01T00:00:00Z");
+        buffer.recordOpened("app1", "user1");
+        buffer.recordEdited("app1", edited, "user2");
+        buffer.recordOpened("app1", "user3");
+        buffer.recordOpened("app2", "user1");
+        buffer.recordEdited("app2", edited, "user1");
+        buffer.discardEdited("app2");
+        buffer.recordEdited("app3", edited, "user1");
+        buffer.discardEdited("app3");
+
+        buffer.flush().block();
+        buffer.flush().block();
+
+        ArgumentCaptor<Collection<ApplicationActivity>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(repository, times(1)).updateActivities(captor.capture());
+        List<ApplicationActivity> activities = captor.getValue().stream()
+                .sorted((a, b) -> a.applicationId().compareTo(b.applicationId()))
+                .toList();
+        assertThat(activities).hasSize(2);
+
+        ApplicationActivity app1 = activities.get(0);
+        assertThat(app1.openedBy()).isEqualTo("user3");
+        assertThat(app1.lastEditedAt()).isEqualTo(edited);
+        assertThat(app1.editingUserId()).isEqualTo("user2");
+
+        ApplicationActivity app2 = activities.get(1);
+        assertThat(app2.openedBy()).isEqualTo("user1");
+        assertThat(app2.lastEditedAt()).isNull();
+    }
+}
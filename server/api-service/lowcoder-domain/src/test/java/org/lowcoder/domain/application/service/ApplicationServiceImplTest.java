@@ -0,0 +1,80 @@
+package org.lowcoder.domain.application.service;
+
+import org.junit.jupiter.api.Test;
+import org.lowcoder.domain.application.model.Application;
+import org.lowcoder.domain.application.model.ApplicationType;
+import org.lowcoder.domain.application.repository.ApplicationRepository;
+import org.lowcoder.domain.permission.service.ResourcePermissionService;
+import org.lowcoder.domain.user.repository.UserRepository;
+import org.lowcoder.infra.mongo.MongoUpsertHelper;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ApplicationServiceImplTest {
+
+    private static final String APPLICATION_ID = "app1";
+
+    private final MongoUpsertHelper mongoUpsertHelper = mock(MongoUpsertHelper.class);
+    private final ApplicationServiceImpl applicationService = new ApplicationServiceImpl(mongoUpsertHelper,
+            mock(ResourcePermissionService.class), mock(ApplicationRepository.class), mock(UserRepository.class),
+            mock(ApplicationQueryIndexCache.class), mock(ApplicationActivityBuffer.class));
+
+    // the partial application is mutated between the updates, so the persisted size is recorded when each one is called
+    private final List<Object> writtenSizes = new ArrayList<>();
+
+    @Test
+    public void testPublishedSizeIsWrittenWithTheDsl() {
+        when(mongoUpsertHelper.updateById(any(Application.class), eq(APPLICATION_ID))).thenAnswer(invocation -> {
+            writtenSizes.add(ReflectionTestUtils.getField(invocation.<Object>getArgument(0), "liveContainerSize"));
+            return Mono.just(true);
+        });
+
+        StepVerifier.create(applicationService.updatePublishedApplicationDSL(APPLICATION_ID, dsl(1)))
+                .expectNext(true)
+                .verifyComplete();
+
+        assertThat(writtenSizes).containsExactly(Map.of("width", 1));
+        verify(mongoUpsertHelper, never()).update(any(Application.class), any(Query.class));
+    }
+
+    @Test
+    public void testEditingSizeIsOnlyWrittenForUnpublishedApplications() {
+        when(mongoUpsertHelper.update(any(Application.class), any(Query.class))).thenAnswer(invocation -> {
+            writtenSizes.add(ReflectionTestUtils.getField(invocation.<Object>getArgument(0), "liveContainerSize"));
+            return Mono.just(false);
+        });
+        when(mongoUpsertHelper.updateById(any(Application.class), eq(APPLICATION_ID))).thenAnswer(invocation -> {
+            writtenSizes.add(ReflectionTestUtils.getField(invocation.<Object>getArgument(0), "liveContainerSize"));
+            return Mono.just(true);
+        });
+        Application application = Application.builder()
+                .applicationType(ApplicationType.MODULE.getValue())
+                .editingApplicationDSL(dsl(2))
+                .build();
+
+        StepVerifier.create(applicationService.updateById(APPLICATION_ID, application))
+                .expectNext(true)
+                .verifyComplete();
+
+        // the published application only gets the dsl
+        assertThat(writtenSizes).containsExactly(Map.of("width", 2), null);
+    }
+
+    private static Map<String, Object> dsl(int width) {
+        return Map.of("ui", Map.of("comp", Map.of("containerSize", Map.of("width", width))));
+    }
+}
@@ -0,0 +1,131 @@
+package org.lowcoder.domain.application.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lowcoder.domain.application.model.ApplicationHistorySnapshot;
+import org.lowcoder.domain.application.repository.ApplicationHistorySnapshotRepository;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+public class ApplicationHistorySnapshotServiceImplTest {
+
+    private static final String APPLICATION_ID = "app01";
+
+    // an in-memory repository handing out copies, ids are assigned in creation order like object ids
+    private final TreeMap<String, ApplicationHistorySnapshot> snapshots = new TreeMap<>();
+    private CommonConfig commonConfig;
+    private ApplicationHistorySnapshotServiceImpl service;
+
+    @BeforeEach
+    public void setUp() {
+        ApplicationHistorySnapshotRepository repository = mock(ApplicationHistorySnapshotRepository.class);
+        when(repository.save(any(ApplicationHistorySnapshot.class))).thenAnswer(invocation -> {
+            ApplicationHistorySnapshot snapshot = invocation.getArgument(0);
+            if (snapshot.getId() == null) {
+                snapshot.setId(String.format("s%02d", snapshots.size() + 1));
+            }
+            snapshots.put(snapshot.getId(), copy(snapshot));
+            return Mono.just(snapshot);
+        });
+        when(repository.saveAll(any(Iterable.class))).thenAnswer(invocation -> {
+            Iterable<ApplicationHistorySnapshot> saved = invocation.getArgument(0);
+            saved.forEach(snapshot -> snapshots.put(snapshot.getId(), copy(snapshot)));
+            return Flux.fromIterable(saved);
+        });
+        when(repository.findById(anyString())).thenAnswer(invocation -> Mono.justOrEmpty(snapshots.get(invocation.<String> getArgument(0))).map(this::copy));
+        when(repository.findAllByApplicationId(anyString(), any(Pageable.class))).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(1);
+            return Flux.fromIterable(List.copyOf(snapshots.descendingMap().values())).take(pageable.getPageSize()).map(this::copy);
+        });
+        when(repository.findAllChainInfoByApplicationId(anyString(), any(Sort.class)))
+                .thenAnswer(invocation -> Flux.fromIterable(List.copyOf(snapshots.values())).map(this::copy));
+        when(repository.findAllByKeyframeId(anyString())).thenAnswer(invocation -> Flux.fromIterable(snapshots.values().stream()
+                .filter(snapshot -> invocation.getArgument(0).equals(snapshot.getKeyframeId()))
+                .map(this::copy)
+                .toList()));
+        when(repository.deleteAllById(any(Iterable.class))).thenAnswer(invocation -> {
+            Iterable<String> ids = invocation.getArgument(0);
+            // lazy, like the mongo repository
+            return Mono.fromRunnable(() -> StreamSupport.stream(ids.spliterator(), false).toList().forEach(snapshots::remove));
+        });
+
+        commonConfig = new CommonConfig();
+        commonConfig.getHistorySnapshot().setKeyframeInterval(3);
+        service = new ApplicationHistorySnapshotServiceImpl(repository, commonConfig);
+    }
+
+    @Test
+    public void testDeltasRebuildAcrossCompaction() {
+        commonConfig.getHistorySnapshot().setMaxCount(5);
+        for (int version = 1; version <= 7; version++) {
+            assertTrue(service.createHistorySnapshot(APPLICATION_ID, dsl(version), Map.of(), "user01").block());
+        }
+
+        // s01 - s03, s04 - s06 and s07 are chains; compaction after the keyframe s07 removed s01 and s02, and rebased
+        // s03, whose keyframe was removed, into a keyframe
+        assertEquals(List.of("s03", "s04", "s05", "s06", "s07"), List.copyOf(snapshots.keySet()));
+        ApplicationHistorySnapshot rebased = snapshots.get("s03");
+        assertTrue(rebased.isKeyframe());
+        assertNull(rebased.getDslPatch());
+        ApplicationHistorySnapshot delta = snapshots.get("s05");
+        assertEquals("s04", delta.getKeyframeId());
+        assertNull(delta.getDsl());
+        assertNotNull(delta.getDslPatch());
+
+        for (int version = 3; version <= 7; version++) {
+            String id = String.format("s%02d", version);
+            assertEquals(dsl(version), service.getHistorySnapshotDetail(id).block().getDsl(), id);
+        }
+    }
+
+    @Test
+    public void testChainContinuesWithoutCachedDsl() {
+        service.createHistorySnapshot(APPLICATION_ID, dsl(1), Map.of(), "user01").block();
+        // a new instance has no cached latest dsl and rebuilds it from the chain
+        ApplicationHistorySnapshotRepository repository =
+                (ApplicationHistorySnapshotRepository) ReflectionTestUtils.getField(service, "repository");
+        ApplicationHistorySnapshotServiceImpl restarted = new ApplicationHistorySnapshotServiceImpl(repository, commonConfig);
+        restarted.createHistorySnapshot(APPLICATION_ID, dsl(2), Map.of(), "user01").block();
+        restarted.createHistorySnapshot(APPLICATION_ID, dsl(3), Map.of(), "user01").block();
+
+        assertEquals(2, snapshots.get("s03").getChainIndex());
+        assertEquals(dsl(3), restarted.getHistorySnapshotDetail("s03").block().getDsl());
+    }
+
+    private ApplicationHistorySnapshot copy(ApplicationHistorySnapshot snapshot) {
+        ApplicationHistorySnapshot copy = new ApplicationHistorySnapshot();
+        copy.setId(snapshot.getId());
+        copy.setApplicationId(snapshot.getApplicationId());
+        copy.setDsl(snapshot.getDsl());
+        copy.setContext(snapshot.getContext());
+        copy.setKeyframeId(snapshot.getKeyframeId());
+        copy.setPreviousSnapshotId(snapshot.getPreviousSnapshotId());
+        copy.setChainIndex(snapshot.getChainIndex());
+        copy.setDslPatch(snapshot.getDslPatch());
+        return copy;
+    }
+
+    private static Map<String, Object> dsl(int version) {
+        return Map.of("ui", Map.of("comp", Map.of("name", "button" + version, "size", 10)),
+                "queries", List.of(Map.of("id", "q1", "sql", "select " + version)));
+    }
+}
@@ -0,0 +1,45 @@
+package org.lowcoder.domain.application.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DslPatchTest {
+
+    @Test
+    public void testRoundTrip() {
+        Map<String, Object> from = Map.of(
+                "ui", Map.of("comp", Map.of("name", "button1", "size", 1), "a/b~c", "x"),
+                "queries", List.of(Map.of("id", "q1"), Map.of("id", "q2"), Map.of("id", "q3")),
+                "removed", "value");
+        Map<String, Object> to = Map.of(
+                "ui", Map.of("comp", Map.of("name", "button2", "size", 1), "a/b~c", "y"),
+                "queries", List.of(Map.of("id", "q1", "name", "query1")),
+                "settings", Map.of("theme", "dark"));
+
+        assertEquals(to, DslPatch.apply(from, DslPatch.diff(from, to)));
+        assertEquals(from, DslPatch.apply(to, DslPatch.diff(to, from)));
+    }
+
+    @Test
+    public void testArrayAppendAndTypeChange() {
+        Map<String, Object> from = Map.of("list", List.of(1, 2), "value", Map.of("a", 1));
+        Map<String, Object> to = Map.of("list", List.of(1, 2, 3, 4), "value", List.of("a"));
+
+        assertEquals(to, DslPatch.apply(from, DslPatch.diff(from, to)));
+    }
+
+    @Test
+    public void testPatchIsSmallerThanDsl() {
+        Map<String, Object> from = Map.of("queries", List.of(Map.of("sql", "select 1 ".repeat(1000)), Map.of("sql", "select 2")));
+        Map<String, Object> to = Map.of("queries", List.of(Map.of("sql", "select 1 ".repeat(1000)), Map.of("sql", "select 3")));
+
+        byte[] patch = DslPatch.diff(from, to);
+        assertTrue(patch.length < 200);
+        assertEquals(to, DslPatch.apply(from, patch));
+    }
+}
@@ -0,0 +1,105 @@
+package org.lowcoder.domain.asset.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lowcoder.domain.asset.model.Asset;
+import org.lowcoder.domain.asset.service.storage.AssetStorageService;
+import org.lowcoder.domain.asset.service.storage.FileSystemAssetStorageServiceImpl;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.lowcoder.sdk.config.dynamic.ConfigCenterForTest;
+import org.lowcoder.sdk.constants.AssetStorageType;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AssetServiceImplTest {
+
+    private static final String ASSET_ID = "asset-id";
+    private static final String STORAGE_KEY = "0d5b1bf1-3c61-4d8b-9a35-5f2c1e0a7c11";
+
+    private final AssetRepository repository = mock(AssetRepository.class);
+    private final AssetStorageService storageService = mock(AssetStorageService.class);
+    private AssetServiceImpl assetService;
+
+    @BeforeEach
+    public void setUp() {
+        when(storageService.getType()).thenReturn(AssetStorageType.GRIDFS);
+        assetService = new AssetServiceImpl(repository, new ConfigCenterForTest(), new CommonConfig(), List.of(storageService));
+        Asset asset = Asset.builder()
+                .contentType("image/png")
+                .storageType(AssetStorageType.GRIDFS)
+                .storageKey(STORAGE_KEY)
+                .size(5L)
+                .hash("hash")
+                .build();
+        when(repository.findById(ASSET_ID)).thenReturn(Mono.just(asset));
+    }
+
+    @Test
+    public void testStoredContentIsServed() {
+        when(storageService.download(STORAGE_KEY))
+                .thenReturn(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap("image".getBytes(StandardCharsets.UTF_8))));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/assets/" + ASSET_ID));
+
+        StepVerifier.create(assetService.makeImageResponse(exchange, ASSET_ID))
+                .verifyComplete();
+
+        Assertions.assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        Assertions.assertEquals(5L, exchange.getResponse().getHeaders().getContentLength());
+        Assertions.assertEquals("image/png", exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_TYPE));
+        StepVerifier.create(exchange.getResponse().getBodyAsString())
+                .expectNext("image")
+                .verifyComplete();
+    }
+
+    @Test
+    public void testMissingStoredContentIsNotFound() {
+        when(storageService.download(STORAGE_KEY)).thenReturn(Flux.empty());
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/assets/" + ASSET_ID));
+        exchange.getResponse().getHeaders().set(HttpHeaders.CACHE_CONTROL, "public, max-age=7776000, immutable");
+
+        StepVerifier.create(assetService.makeImageResponse(exchange, ASSET_ID))
+                .verifyComplete();
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode());
+        Assertions.assertFalse(exchange.getResponse().getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH));
+        Assertions.assertFalse(exchange.getResponse().getHeaders().containsKey(HttpHeaders.CACHE_CONTROL));
+        Assertions.assertFalse(exchange.getResponse().getHeaders().containsKey(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void testMissingFileIsNotFound(@TempDir Path root) {
+        CommonConfig commonConfig = new CommonConfig();
+        commonConfig.getAssetStorage().setFilesystemPath(root.toString());
+        AssetServiceImpl fileSystemAssetService = new AssetServiceImpl(repository, new ConfigCenterForTest(), commonConfig,
+                List.of(new FileSystemAssetStorageServiceImpl(commonConfig)));
+        Asset asset = Asset.builder()
+                .contentType("image/png")
+                .storageType(AssetStorageType.FILESYSTEM)
+                .storageKey(STORAGE_KEY)
+                .size(5L)
+                .hash("hash")
+                .build();
+        when(repository.findById(ASSET_ID)).thenReturn(Mono.just(asset));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/assets/" + ASSET_ID));
+
+        StepVerifier.create(fileSystemAssetService.makeImageResponse(exchange, ASSET_ID))
+                .verifyComplete();
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode());
+    }
+}
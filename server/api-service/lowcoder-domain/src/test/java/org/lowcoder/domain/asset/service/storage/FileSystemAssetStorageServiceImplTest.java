@@ -0,0 +1,37 @@
+package org.lowcoder.domain.asset.service.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+public class FileSystemAssetStorageServiceImplTest {
+
+    @Test
+    public void testSaveDownloadDelete(@TempDir Path root) {
+        CommonConfig commonConfig = new CommonConfig();
+        commonConfig.getAssetStorage().setFilesystemPath(root.toString());
+        FileSystemAssetStorageServiceImpl storageService = new FileSystemAssetStorageServiceImpl(commonConfig);
+        String storageKey = "0d5b1bf1-3c61-4d8b-9a35-5f2c1e0a7c11";
+
+        StepVerifier.create(storageService.save(storageKey, "image".getBytes(StandardCharsets.UTF_8)))
+                .verifyComplete();
+        StepVerifier.create(DataBufferUtils.join(storageService.download(storageKey))
+                        .map(dataBuffer -> dataBuffer.toString(StandardCharsets.UTF_8)))
+                .expectNext("image")
+                .verifyComplete();
+
+        StepVerifier.create(storageService.delete(storageKey))
+                .verifyComplete();
+        StepVerifier.create(storageService.download(storageKey))
+                .verifyComplete();
+
+        StepVerifier.create(storageService.download("../" + storageKey))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,82 @@
+package org.lowcoder.domain.datasource.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lowcoder.domain.datasource.model.Datasource;
+import org.lowcoder.domain.plugin.DatasourceMetaInfo;
+import org.lowcoder.domain.plugin.service.DatasourceMetaInfoService;
+import org.lowcoder.infra.perf.PerfHelper;
+import org.lowcoder.sdk.plugin.common.DatasourceConnector;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.lowcoder.infra.perf.PerfEvent.CLIENT_BASED_CONNECTION_SIZE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class ClientBasedConnectionPoolIndexTest {
+
+    private static final String TYPE = "redis";
+
+    private DatasourceConnector connector;
+    private ClientBasedConnectionPool pool;
+    private AtomicInteger connectionCount;
+
+    @BeforeEach
+    public void setUp() {
+        connector = mock(DatasourceConnector.class);
+        when(connector.doCreateConnection(any())).thenAnswer(invocation -> Mono.just(new Object()));
+        when(connector.destroyConnection(any())).thenReturn(Mono.empty());
+
+        DatasourceMetaInfoService datasourceMetaInfoService = mock(DatasourceMetaInfoService.class);
+        when(datasourceMetaInfoService.getDatasourceConnector(TYPE)).thenReturn(connector);
+        when(datasourceMetaInfoService.getJavaBasedSupportedDatasourceMetaInfos()).thenReturn(List.of(DatasourceMetaInfo.builder()
+                .type(TYPE)
+                .connectionPool(ClientBasedConnectionPool.class)
+                .build()));
+
+        PerfHelper perfHelper = mock(PerfHelper.class);
+        pool = new ClientBasedConnectionPool(datasourceMetaInfoService, perfHelper);
+        pool.init();
+
+        ArgumentCaptor<Object> gauge = ArgumentCaptor.forClass(Object.class);
+        verify(perfHelper).gaugeSafely(eq(CLIENT_BASED_CONNECTION_SIZE), any(), gauge.capture(), any());
+        connectionCount = (AtomicInteger) gauge.getValue();
+    }
+
+    @Test
+    public void testUpdatedDatasourceReleasesPreviousConnection() {
+        Instant updatedAt = Instant.now();
+        Object first = pool.getOrCreateConnection(datasource("1", updatedAt)).block().connection();
+        Object other = pool.getOrCreateConnection(datasource("2", updatedAt)).block().connection();
+        assertSame(first, pool.getOrCreateConnection(datasource("1", updatedAt)).block().connection());
+        assertEquals(2, connectionCount.get());
+
+        Object second = pool.getOrCreateConnection(datasource("1", updatedAt.plusSeconds(1))).block().connection();
+        assertNotSame(first, second);
+        verify(connector, timeout(5000)).destroyConnection(first);
+        verify(connector, never()).destroyConnection(other);
+        assertEquals(2, connectionCount.get());
+    }
+
+    private static Datasource datasource(String id, Instant updatedAt) {
+        Datasource datasource = new Datasource();
+        datasource.setId(id);
+        datasource.setType(TYPE);
+        datasource.setUpdatedAt(updatedAt);
+        return datasource;
+    }
+}
@@ -0,0 +1,71 @@
+package org.lowcoder.domain.folder.service;
+
+import org.junit.jupiter.api.Test;
+import org.lowcoder.domain.folder.model.Folder;
+import org.lowcoder.domain.folder.model.FolderElement;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FolderStructureTest {
+
+    private final Folder folder1 = folder("f1", "gid1", null);
+    private final Folder folder2 = folder("f2", "gid2", "f1");
+    private final Folder folder3 = folder("f3", "gid3", "f2");
+    private final Folder folder4 = folder("f4", "gid4", null);
+
+    private final FolderStructure structure = new FolderStructure("org01",
+            List.of(folder1, folder2, folder3, folder4),
+            List.of(new FolderElement("f1", "app1"), new FolderElement("f3", "app3"), new FolderElement("f4", "app4"),
+                    new FolderElement("f4", "app3")));
+
+    @Test
+    public void testSubtree() {
+        assertEquals(Set.of("f2", "f3"), ids(structure.getDescendants("f1")));
+        assertEquals(Set.of("f1", "f2", "f3", "f4"), ids(structure.getDescendants(null)));
+        assertTrue(structure.getDescendants("f3").isEmpty());
+
+        assertEquals(Set.of("app1", "app3"), structure.getElementIds(List.of("f1", "f2", "f3")));
+        assertEquals(Set.of("app4"), structure.getElementIds(List.of("f4")));
+    }
+
+    @Test
+    public void testLookups() {
+        assertSame(folder2, structure.getFolder("f2"));
+        assertSame(folder2, structure.getFolder("gid2"));
+        assertNull(structure.getFolder("f5"));
+
+        // an element in several folders stays in the first one
+        assertEquals("f3", structure.getFolderIdOfElement("app3"));
+        assertNull(structure.getFolderIdOfElement("app5"));
+        assertTrue(structure.containsElement("app1"));
+        assertFalse(structure.containsElement("app5"));
+    }
+
+    @Test
+    public void testParentCycle() {
+        FolderStructure cyclic = new FolderStructure("org01",
+                List.of(folder("a", "gida", "b"), folder("b", "gidb", "a")), List.of());
+
+        assertEquals(Set.of("a", "b"), ids(cyclic.getDescendants("a")));
+    }
+
+    private static Set<String> ids(List<Folder> folders) {
+        return Set.copyOf(folders.stream().map(Folder::getId).toList());
+    }
+
+    private static Folder folder(String id, String gid, String parentFolderId) {
+        Folder folder = new Folder();
+        folder.setId(id);
+        folder.setGid(gid);
+        folder.setParentFolderId(parentFolderId);
+        folder.setOrganizationId("org01");
+        return folder;
+    }
+}
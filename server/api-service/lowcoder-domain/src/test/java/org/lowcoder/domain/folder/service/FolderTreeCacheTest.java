@@ -0,0 +1,83 @@
+package org.lowcoder.domain.folder.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lowcoder.domain.folder.model.Folder;
+import org.lowcoder.domain.folder.repository.FolderRepository;
+import org.lowcoder.infra.birelation.BiRelationService;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+public class FolderTreeCacheTest {
+
+    private final List<Folder> folders = new ArrayList<>();
+    private ReactiveRedisOperations<String, String> redis;
+    private FolderTreeCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        FolderRepository folderRepository = mock(FolderRepository.class);
+        when(folderRepository.findByOrganizationId("org01")).thenAnswer(ignore -> Flux.fromIterable(List.copyOf(folders)));
+        BiRelationService biRelationService = mock(BiRelationService.class);
+        when(biRelationService.getBySourceIds(any(), any())).thenReturn(Flux.empty());
+        redis = mock(ReactiveRedisOperations.class);
+        when(redis.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(1L));
+        cache = new FolderTreeCache(new CommonConfig(), folderRepository, biRelationService, redis);
+    }
+
+    @Test
+    public void testReloadSeesNewFolders() {
+        assertNull(cache.get("org01").block().getFolder("f1"));
+
+        folders.add(folder("f1"));
+        // still cached
+        assertNull(cache.get("org01").block().getFolder("f1"));
+        assertNotNull(cache.reload("org01").block().getFolder("f1"));
+    }
+
+    @Test
+    public void testInvalidationsArePublishedAndReceived() {
+        folders.add(folder("f1"));
+        cache.get("org01").block();
+
+        cache.invalidateFolders(List.of("f1"));
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redis).convertAndSend(anyString(), message.capture());
+
+        // a node ignores its own messages
+        folders.add(folder("f2"));
+        cache.get("org01").block();
+        cache.onInvalidation(message.getValue());
+        assertNotNull(cache.get("org01").block().getFolder("f2"));
+
+        folders.add(folder("f3"));
+        cache.onInvalidation("another-node|org|org01");
+        assertNotNull(cache.get("org01").block().getFolder("f3"));
+
+        folders.add(folder("f4"));
+        cache.onInvalidation("another-node|folders|f1,f9");
+        assertNotNull(cache.get("org01").block().getFolder("f4"));
+    }
+
+    private static Folder folder(String id) {
+        Folder folder = new Folder();
+        folder.setId(id);
+        folder.setOrganizationId("org01");
+        return folder;
+    }
+}
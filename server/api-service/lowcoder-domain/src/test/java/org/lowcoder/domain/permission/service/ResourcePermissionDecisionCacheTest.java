@@ -0,0 +1,48 @@
+package org.lowcoder.domain.permission.service;
+
+import org.junit.jupiter.api.Test;
+import org.lowcoder.domain.permission.model.ResourceAction;
+import org.lowcoder.domain.permission.model.ResourceType;
+import org.lowcoder.domain.permission.service.ResourcePermissionDecisionCache.DecisionKey;
+import org.lowcoder.domain.permission.service.ResourcePermissionDecisionCache.OrgMemberDecision;
+import org.lowcoder.sdk.config.CommonConfig;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ResourcePermissionDecisionCacheTest {
+
+    private final ResourcePermissionDecisionCache cache = new ResourcePermissionDecisionCache(new CommonConfig());
+
+    @Test
+    public void testTargetedInvalidation() {
+        DecisionKey app1User1 = key("user01", "app01");
+        DecisionKey app2User1 = key("user01", "app02");
+        DecisionKey app1User2 = key("user02", "app01");
+        cache.put(app1User1, decision("group01"));
+        cache.put(app2User1, decision("group01"));
+        cache.put(app1User2, decision("group02"));
+
+        cache.invalidateResource(ResourceType.APPLICATION, "app02");
+        assertNull(cache.getIfPresent(app2User1));
+        assertNotNull(cache.getIfPresent(app1User1));
+
+        cache.invalidateGroup("group02");
+        assertNull(cache.getIfPresent(app1User2));
+        assertNotNull(cache.getIfPresent(app1User1));
+
+        cache.invalidateUser("user01");
+        assertNull(cache.getIfPresent(app1User1));
+    }
+
+    private static DecisionKey key(String userId, String applicationId) {
+        return new DecisionKey(userId, "org01", ResourceType.APPLICATION, applicationId, ResourceAction.READ_APPLICATIONS);
+    }
+
+    private static OrgMemberDecision decision(String groupId) {
+        return new OrgMemberDecision(true, false, false, Set.of(groupId), List.of());
+    }
+}
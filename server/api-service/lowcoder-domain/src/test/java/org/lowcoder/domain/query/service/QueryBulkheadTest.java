@@ -0,0 +1,73 @@
+package org.lowcoder.domain.query.service;
+
+import org.junit.jupiter.api.Test;
+import org.lowcoder.domain.datasource.model.Datasource;
+import org.lowcoder.domain.plugin.service.DatasourceMetaInfoService;
+import org.lowcoder.domain.query.service.QueryBulkhead.Bulkhead;
+import org.lowcoder.infra.perf.PerfHelper;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.lowcoder.sdk.exception.PluginException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.lowcoder.sdk.exception.PluginCommonError.QUERY_EXECUTION_REJECTED;
+
+public class QueryBulkheadTest {
+
+    @Test
+    public void testLimitQueueAndReject() {
+        Bulkhead bulkhead = new Bulkhead(2, 1, () -> new PluginException(QUERY_EXECUTION_REJECTED, "DATASOURCE_TOO_MANY_QUERIES"));
+        List<Sinks.One<String>> running = new ArrayList<>();
+
+        List<Disposable> executions = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            executions.add(bulkhead.execute(() -> {
+                Sinks.One<String> sink = Sinks.one();
+                running.add(sink);
+                return sink.asMono();
+            }).subscribe());
+        }
+        assertEquals(2, bulkhead.getActive());
+        assertEquals(1, bulkhead.getQueued());
+        assertEquals(2, running.size());
+
+        StepVerifier.create(bulkhead.execute(() -> Mono.just("rejected")))
+                .expectError(PluginException.class)
+                .verify();
+
+        // a finished execution hands its permit to the queued one
+        running.get(0).tryEmitValue("done");
+        assertEquals(3, running.size());
+        assertEquals(2, bulkhead.getActive());
+        assertEquals(0, bulkhead.getQueued());
+
+        // cancelled executions give their permits back
+        executions.forEach(Disposable::dispose);
+        assertEquals(0, bulkhead.getActive());
+    }
+
+    @Test
+    public void testOrgsDontShareSystemDatasourcePermits() {
+        CommonConfig commonConfig = new CommonConfig();
+        commonConfig.getQuery().setDatasourceMaxConcurrency(1);
+        commonConfig.getQuery().setDatasourceMaxQueued(0);
+        QueryBulkhead queryBulkhead = new QueryBulkhead(commonConfig, mock(DatasourceMetaInfoService.class), mock(PerfHelper.class));
+
+        Disposable running = queryBulkhead.execute(Datasource.QUICK_REST_API, "org01", () -> Mono.never()).subscribe();
+
+        StepVerifier.create(queryBulkhead.execute(Datasource.QUICK_REST_API, "org01", () -> Mono.just("org01")))
+                .expectError(PluginException.class)
+                .verify();
+        StepVerifier.create(queryBulkhead.execute(Datasource.QUICK_REST_API, "org02", () -> Mono.just("org02")))
+                .expectNext("org02")
+                .verifyComplete();
+        running.dispose();
+    }
+}
@@ -0,0 +1,96 @@
+package org.lowcoder.domain.query.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lowcoder.domain.datasource.model.Datasource;
+import org.lowcoder.domain.datasource.service.DatasourceConnectionPool;
+import org.lowcoder.domain.plugin.client.DatasourcePluginClient;
+import org.lowcoder.domain.plugin.service.DatasourceMetaInfoService;
+import org.lowcoder.infra.perf.PerfHelper;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.lowcoder.sdk.models.QueryExecutionResult;
+import org.lowcoder.sdk.query.QueryVisitorContext;
+import org.springframework.util.LinkedMultiValueMap;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class QueryExecutionServiceImplTest {
+
+    private final AtomicInteger backendCalls = new AtomicInteger();
+    private QueryExecutionServiceImpl queryExecutionService;
+    private Datasource datasource;
+
+    @BeforeEach
+    public void setUp() {
+        DatasourceMetaInfoService datasourceMetaInfoService = mock(DatasourceMetaInfoService.class);
+        when(datasourceMetaInfoService.isJsDatasourcePlugin(anyString())).thenReturn(true);
+
+        DatasourcePluginClient datasourcePluginClient = mock(DatasourcePluginClient.class);
+        when(datasourcePluginClient.executeQuery(anyString(), any(), any(), any()))
+                .thenReturn(Mono.delay(Duration.ofMillis(100))
+                        .doOnSubscribe(ignore -> backendCalls.incrementAndGet())
+                        .map(ignore -> QueryExecutionResult.success(backendCalls.get())));
+
+        CommonConfig commonConfig = new CommonConfig();
+        queryExecutionService = new QueryExecutionServiceImpl(mock(DatasourceConnectionPool.class), datasourceMetaInfoService,
+                datasourcePluginClient, commonConfig, new InMemoryQueryResultCache(commonConfig),
+                new QueryBulkhead(commonConfig, datasourceMetaInfoService, mock(PerfHelper.class)));
+
+        datasource = new Datasource();
+        datasource.setId("datasource01");
+        datasource.setType("jsPlugin");
+        datasource.setUpdatedAt(Instant.now());
+    }
+
+    @Test
+    public void testConcurrentExecutionsShareOneCall() {
+        Flux<QueryExecutionResult> results = Flux.range(0, 10)
+                .flatMap(ignore -> execute("5s", Map.of("id", 1)));
+
+        StepVerifier.create(results)
+                .expectNextCount(10)
+                .verifyComplete();
+        assertEquals(1, backendCalls.get());
+
+        // served from cache
+        StepVerifier.create(execute("5s", Map.of("id", 1)))
+                .expectNextMatches(result -> Integer.valueOf(1).equals(result.getData()))
+                .verifyComplete();
+        assertEquals(1, backendCalls.get());
+
+        // different params
+        StepVerifier.create(execute("5s", Map.of("id", 2)))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    public void testNoCacheTtl() {
+        StepVerifier.create(Flux.range(0, 3).concatMap(ignore -> execute(null, Map.of("id", 1))))
+                .expectNextCount(3)
+                .verifyComplete();
+        assertEquals(3, backendCalls.get());
+    }
+
+    private Mono<QueryExecutionResult> execute(String cacheTtlStr, Map<String, Object> params) {
+        QueryVisitorContext queryVisitorContext = new QueryVisitorContext("user01", "org01", 8080,
+                new LinkedMultiValueMap<>(), Mono.empty(), Set.of());
+        return queryExecutionService.executeQuery(datasource, new HashMap<>(Map.of("sql", "select 1")), params, "1s", cacheTtlStr,
+                queryVisitorContext);
+    }
+}
@@ -0,0 +1,77 @@
+package org.lowcoder.domain.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InMemoryRateLimiterTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final InMemoryRateLimiter rateLimiter = new InMemoryRateLimiter(clock);
+
+    @Test
+    public void testBurstThenRefill() {
+        assertEquals(1, acquire("user1").remaining());
+        assertEquals(0, acquire("user1").remaining());
+
+        RateLimitResult rejected = acquire("user1");
+        assertFalse(rejected.allowed());
+        assertEquals(Duration.ofMillis(500), rejected.retryAfter());
+
+        clock.advance(Duration.ofMillis(500));
+        assertTrue(acquire("user1").allowed());
+        assertFalse(acquire("user1").allowed());
+    }
+
+    @Test
+    public void testKeysHaveSeparateBuckets() {
+        acquire("org1");
+        acquire("org1");
+        assertFalse(acquire("org1").allowed());
+        assertTrue(acquire("org2").allowed());
+    }
+
+    @Test
+    public void testRefillIsCappedAtCapacity() {
+        acquire("ip1");
+        clock.advance(Duration.ofHours(1));
+        assertTrue(acquire("ip1").allowed());
+        assertTrue(acquire("ip1").allowed());
+        assertFalse(acquire("ip1").allowed());
+    }
+
+    private RateLimitResult acquire(String key) {
+        return rateLimiter.tryAcquire(key, 2, 2).block();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
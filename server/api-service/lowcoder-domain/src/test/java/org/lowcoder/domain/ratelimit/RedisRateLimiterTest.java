@@ -0,0 +1,79 @@
+package org.lowcoder.domain.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RedisRateLimiterTest {
+
+    @SuppressWarnings("unchecked")
+    private final ReactiveRedisOperations<String, String> redisOperations = mock(ReactiveRedisOperations.class);
+    private final CommonConfig commonConfig = new CommonConfig();
+    private RedisRateLimiter rateLimiter;
+
+    @BeforeEach
+    public void setUp() {
+        commonConfig.getRateLimit().setRedisTimeout(Duration.ofMillis(50));
+        rateLimiter = new RedisRateLimiter(redisOperations, commonConfig);
+    }
+
+    @Test
+    public void testAllowed() {
+        scriptReturns(Flux.just("1:4:0"));
+
+        StepVerifier.create(rateLimiter.tryAcquire("user1", 5, 1))
+                .expectNext(RateLimitResult.allowed(4))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testRejected() {
+        scriptReturns(Flux.just("0:0:1500"));
+
+        StepVerifier.create(rateLimiter.tryAcquire("user1", 5, 1))
+                .expectNext(RateLimitResult.rejected(Duration.ofMillis(1500)))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testAllowedWhenRedisFails() {
+        scriptReturns(Flux.error(new RedisConnectionFailureException("down")));
+
+        StepVerifier.create(rateLimiter.tryAcquire("user1", 5, 1))
+                .expectNext(RateLimitResult.allowed(5))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testAllowedWhenRedisDoesNotAnswer() {
+        scriptReturns(Flux.never());
+
+        StepVerifier.create(rateLimiter.tryAcquire("user1", 5, 1))
+                .expectNext(RateLimitResult.allowed(5))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void scriptReturns(Flux<String> result) {
+        when(redisOperations.execute(any(RedisScript.class), eq(List.of("user1")), anyList(), any(RedisElementWriter.class),
+                any(RedisElementReader.class)))
+                .thenReturn(result);
+    }
+}
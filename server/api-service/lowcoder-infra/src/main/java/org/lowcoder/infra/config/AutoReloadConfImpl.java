@@ -1,21 +1,31 @@
 package org.lowcoder.infra.config;
 
-import org.apache.commons.lang3.StringUtils;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.lowcoder.infra.config.AutoReloadConfigFactory.ConfigValue;
 import org.lowcoder.sdk.config.dynamic.Conf;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import static org.apache.commons.lang3.ObjectUtils.firstNonNull;
+import static org.lowcoder.sdk.util.JsonUtils.toJson;
 
+/**
+ * Keeps the typed value of a config, resolved once per change of the config rather than on every read.
+ */
+@Slf4j
 class AutoReloadConfImpl<T> implements Conf<T> {
 
     private final String confKey;
     private final T defaultValue;
     private final Function<String, T> valueResolver;
     private final AutoReloadConfigFactory autoReloadConfigFactory;
+    private final List<Consumer<T>> changeListeners = new CopyOnWriteArrayList<>();
 
-    private volatile String previousStrValue;
-    private volatile T currentValue;
+    private volatile ResolvedValue<T> resolvedValue;
 
     public AutoReloadConfImpl(String confKey, T defaultValue,
             AutoReloadConfigFactory autoReloadConfigFactory,
@@ -24,26 +34,51 @@ class AutoReloadConfImpl<T> implements Conf<T> {
         this.defaultValue = defaultValue;
         this.autoReloadConfigFactory = autoReloadConfigFactory;
         this.valueResolver = strValueResolver;
+        autoReloadConfigFactory.subscribe(confKey, this::onChange);
     }
 
     @Override
     public T get() {
-        String currentStrValue = autoReloadConfigFactory.getValue(confKey);
-        if (currentStrValue == null) {
+        ConfigValue configValue = autoReloadConfigFactory.getConfigValue(confKey);
+        if (configValue == null) {
             return defaultValue;
         }
+        ResolvedValue<T> current = resolvedValue;
+        if (current == null || current.source() != configValue) {
+            current = resolve(configValue);
+        }
+        return firstNonNull(current.value(), defaultValue);
+    }
+
+    @Override
+    public Conf<T> onChange(Consumer<T> listener) {
+        changeListeners.add(listener);
+        return this;
+    }
 
-        if (StringUtils.equals(previousStrValue, currentStrValue)) {
-            return firstNonNull(currentValue, defaultValue);
+    private void onChange(@Nullable ConfigValue configValue) {
+        T value = configValue == null ? defaultValue : firstNonNull(resolve(configValue).value(), defaultValue);
+        for (Consumer<T> listener : changeListeners) {
+            try {
+                listener.accept(value);
+            } catch (Exception e) {
+                log.error("config change listener error, key: {}", confKey, e);
+            }
         }
+    }
 
-        previousStrValue = currentStrValue;
+    private ResolvedValue<T> resolve(ConfigValue configValue) {
+        T value;
         try {
-            currentValue = valueResolver.apply(currentStrValue);
-            return firstNonNull(currentValue, defaultValue);
+            value = valueResolver.apply(toJson(configValue.value()));
         } catch (Exception e) {
-            return defaultValue;
+            value = null;
         }
+        ResolvedValue<T> result = new ResolvedValue<>(configValue, value);
+        resolvedValue = result;
+        return result;
     }
 
+    private record ResolvedValue<T>(ConfigValue source, @Nullable T value) {
+    }
 }
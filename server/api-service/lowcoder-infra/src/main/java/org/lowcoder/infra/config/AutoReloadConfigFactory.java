@@ -1,49 +1,145 @@
 package org.lowcoder.infra.config;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import jakarta.annotation.Nullable;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.lowcoder.infra.config.model.ServerConfig;
+import org.lowcoder.infra.config.model.ServerConfigVersion;
 import org.lowcoder.infra.config.repository.ServerConfigRepository;
-import org.lowcoder.infra.localcache.ReloadableCache;
+import org.lowcoder.sdk.destructor.DestructorUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
-import static java.util.Collections.emptyMap;
-import static java.util.stream.Collectors.toUnmodifiableMap;
-import static org.lowcoder.sdk.util.JsonUtils.toJson;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
 
+/**
+ * Holds the values of all {@link ServerConfig}s.
+ * <p>
+ * Instead of reloading every config on each tick, the {@link ServerConfigVersion} is polled and the configs are reloaded
+ * only when it changed, or every {@link #FULL_RELOAD_INTERVAL} to pick up changes made outside the application. A
+ * reloaded value replaces the held one only if it's different, and only then are the subscribers of its key notified.
+ */
 @Slf4j
 @Component
 class AutoReloadConfigFactory {
 
+    private static final Duration VERSION_CHECK_INTERVAL = Duration.ofSeconds(2);
+    private static final Duration FULL_RELOAD_INTERVAL = Duration.ofMinutes(1);
+
     @Autowired
     private ServerConfigRepository configRepository;
 
-    private ReloadableCache<Map<String, Object>> allConfigs;
+    private volatile Map<String, ConfigValue> configs = Map.of();
+    private final Map<String, List<Consumer<ConfigValue>>> subscribers = new ConcurrentHashMap<>();
+
+    private ServerConfigVersion loadedVersion;
+    private long lastFullReloadMillis;
 
     @PostConstruct
     private void init() {
-        allConfigs = ReloadableCache.<Map<String, Object>> newBuilder()
-                .setFactory(() -> configRepository.findAll()
-                        .filter(it -> it.getValue() != null)
-                        .collectList()
-                        .map(configs -> configs.stream().collect(toUnmodifiableMap(ServerConfig::getKey, ServerConfig::getValue))))
-                .setInterval(Duration.ofSeconds(3))
-                .setName("autoReloadConfCache")
-                .build();
+        ScheduledExecutorService scheduledExecutor = newSingleThreadScheduledExecutor();
+        scheduledExecutor.scheduleWithFixedDelay(this::reload, 0, VERSION_CHECK_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        DestructorUtil.register(() -> MoreExecutors.shutdownAndAwaitTermination(scheduledExecutor, Duration.ofSeconds(10)),
+                "shutdown and await config reload task executor termination.");
     }
 
+    /**
+     * @return the same instance as long as the value of the config is unchanged
+     */
     @Nullable
-    public String getValue(String confKey) {
-        Object result = allConfigs.getCachedOrDefault(emptyMap()).get(confKey);
-        if (result == null) {
-            return null;
+    public ConfigValue getConfigValue(String confKey) {
+        return configs.get(confKey);
+    }
+
+    /**
+     * @param subscriber called with the new value of the config once it changes, null if it's removed
+     */
+    public void subscribe(String confKey, Consumer<ConfigValue> subscriber) {
+        subscribers.computeIfAbsent(confKey, k -> new CopyOnWriteArrayList<>()).add(subscriber);
+    }
+
+    private void reload() {
+        try {
+            ServerConfigVersion version = configRepository.getVersion().block();
+            boolean fullReloadDue = System.currentTimeMillis() - lastFullReloadMillis >= FULL_RELOAD_INTERVAL.toMillis();
+            if (!fullReloadDue && Objects.equals(version, loadedVersion)) {
+                return;
+            }
+            log.trace("reload server configs, version: {}", version);
+            Map<String, Object> values = new HashMap<>();
+            configRepository.findAll()
+                    .filter(it -> it.getValue() != null)
+                    .doOnNext(it -> values.put(it.getKey(), it.getValue()))
+                    .blockLast();
+            update(values);
+            loadedVersion = version;
+            lastFullReloadMillis = System.currentTimeMillis();
+        } catch (Exception e) {
+            // keep the current values in error cases
+            log.error("scheduled config reload error", e);
+        }
+    }
+
+    void update(Map<String, Object> values) {
+        Map<String, ConfigValue> previous = configs;
+        Map<String, ConfigValue> next = new HashMap<>(values.size());
+        Set<String> changedKeys = new HashSet<>();
+        values.forEach((key, value) -> {
+            ConfigValue previousValue = previous.get(key);
+            if (previousValue != null && Objects.equals(previousValue.value(), value)) {
+                next.put(key, previousValue);
+                return;
+            }
+            next.put(key, new ConfigValue(value));
+            changedKeys.add(key);
+        });
+        previous.keySet().stream()
+                .filter(key -> !next.containsKey(key))
+                .forEach(changedKeys::add);
+        if (changedKeys.isEmpty()) {
+            return;
         }
 
-        return toJson(result);
+        configs = Map.copyOf(next);
+        for (String key : changedKeys) {
+            ConfigValue configValue = next.get(key);
+            for (Consumer<ConfigValue> subscriber : subscribers.getOrDefault(key, List.of())) {
+                try {
+                    subscriber.accept(configValue);
+                } catch (Exception e) {
+                    log.error("config change subscriber error, key: {}", key, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * raw value of a config as read from mongo; compared by identity to find out whether a config changed
+     */
+    static final class ConfigValue {
+
+        private final Object value;
+
+        ConfigValue(Object value) {
+            this.value = value;
+        }
+
+        Object value() {
+            return value;
+        }
     }
 }
@@ -0,0 +1,14 @@
+package org.lowcoder.infra.config.model;
+
+import jakarta.annotation.Nullable;
+
+import java.time.Instant;
+
+/**
+ * Changes whenever a server config is inserted, updated or deleted through the application: a write moves
+ * {@link #lastUpdatedAt} forward, a delete lowers {@link #count}.
+ */
+public record ServerConfigVersion(long count, @Nullable Instant lastUpdatedAt) {
+
+    public static final ServerConfigVersion EMPTY = new ServerConfigVersion(0, null);
+}
@@ -1,9 +1,15 @@
 package org.lowcoder.infra.config.repository;
 
 import org.lowcoder.infra.config.model.ServerConfig;
+import org.lowcoder.infra.config.model.ServerConfigVersion;
 import reactor.core.publisher.Mono;
 
 interface CustomServerConfigRepository {
 
     Mono<ServerConfig> upsert(String key, Object value);
+
+    /**
+     * a single aggregated document, cheap enough to be polled to find out whether the configs need to be reloaded
+     */
+    Mono<ServerConfigVersion> getVersion();
 }
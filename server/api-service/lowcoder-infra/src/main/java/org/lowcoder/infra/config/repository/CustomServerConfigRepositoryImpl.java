@@ -1,17 +1,26 @@
 package org.lowcoder.infra.config.repository;
 
+import org.bson.Document;
 import org.lowcoder.infra.config.model.ServerConfig;
+import org.lowcoder.infra.config.model.ServerConfigVersion;
 import org.lowcoder.infra.mongo.MongoUpsertHelper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
 
+import java.util.Date;
+
 @Repository
 class CustomServerConfigRepositoryImpl implements CustomServerConfigRepository {
 
     @Autowired
     private MongoUpsertHelper mongoUpsertHelper;
 
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
     @Override
     public Mono<ServerConfig> upsert(String key, Object value) {
         ServerConfig newConfig = ServerConfig.builder()
@@ -20,4 +29,19 @@ class CustomServerConfigRepositoryImpl implements CustomServerConfigRepository {
                 .build();
         return mongoUpsertHelper.upsertWithAuditingParams(newConfig, "key", key);
     }
+
+    @Override
+    public Mono<ServerConfigVersion> getVersion() {
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.group()
+                .count().as("count")
+                .max("updatedAt").as("lastUpdatedAt"));
+        return reactiveMongoTemplate.aggregate(aggregation, ServerConfig.class, Document.class)
+                .next()
+                .map(document -> {
+                    Date lastUpdatedAt = document.getDate("lastUpdatedAt");
+                    return new ServerConfigVersion(((Number) document.get("count")).longValue(),
+                            lastUpdatedAt == null ? null : lastUpdatedAt.toInstant());
+                })
+                .defaultIfEmpty(ServerConfigVersion.EMPTY);
+    }
 }
@@ -6,6 +6,7 @@ public enum PerfEvent {
     IO_HEART_BEAT,
     AUDIT_LOG_BATCH_INSERT,
     SERVER_LOG_BATCH_INSERT,
+    APPLICATION_ACTIVITY_BATCH_UPDATE,
     SEND_SMS,
     CLIENT_BASED_CONNECTION_CREATE,
     CLIENT_BASED_CONNECTION_REMOVE,
@@ -15,6 +16,19 @@ public enum PerfEvent {
     HIKARI_POOL_ACTIVE_CONNECTIONS,
     HIKARI_POOL_WAITING_CONNECTIONS,
     HIKARI_POOL_IDLE_CONNECTIONS,
+
+    SHARED_HTTP_CLIENT_SIZE,
+
+    QUERY_BULKHEAD_ACTIVE,
+    QUERY_BULKHEAD_QUEUED,
+    QUERY_BULKHEAD_REJECTED,
+
+    EVENT_BUS_QUEUE_SIZE,
+    EVENT_BUS_DROPPED,
+    EVENT_BUS_LISTENER_LATENCY,
+
+    MIGRATION_DOCUMENTS_SCANNED,
+    MIGRATION_DOCUMENTS_WRITTEN,
     ;
 
     public String perfKey() {
@@ -3,23 +3,45 @@ package org.lowcoder.infra.perf;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.lowcoder.sdk.config.CommonConfig.Metrics.Histogram;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.function.ToDoubleFunction;
 
+/**
+ * Counters and timers are cached by name and tag set, so recording a value doesn't go through the meter registry.
+ * <p>
+ * The number of distinct tag sets of a meter is capped by {@link CommonConfig.Metrics#getMaxTagSetsPerMeter()}: once
+ * a meter reaches it, values with new tag sets are recorded under a single tag set whose values are
+ * {@link #OVERFLOW_TAG_VALUE}.
+ */
 @Slf4j
 @Component
 public class PerfHelper {
 
+    static final String OVERFLOW_TAG_VALUE = "overflow";
+
     @Autowired
     private MeterRegistry meterRegistry;
 
+    @Autowired
+    private CommonConfig commonConfig;
+
+    private final Map<MeterKey, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> tagSetCounts = new ConcurrentHashMap<>();
+
     public void count(PerfEvent event, Iterable<Tag> tags) {
         count(event.perfKey(), tags);
     }
@@ -34,9 +56,7 @@ public class PerfHelper {
 
     private void count(String name, Iterable<Tag> tags, double count) {
         try {
-            Counter counter = meterRegistry.counter(name, tags);
-            counter.increment(count);
-            counter.count();
+            getMeter(counters, name, tags, key -> meterRegistry.counter(key.name(), key.tags())).increment(count);
         } catch (Exception e) {
             log.warn("count error.{},{},{}", name, tags, count, e);
         }
@@ -61,29 +81,58 @@ public class PerfHelper {
         }
     }
 
+    public void recordTime(PerfEvent event, Iterable<Tag> tags, Duration cost) {
+        recordTime(event.perfKey(), tags, cost);
+    }
+
     public void recordRunnableTime(String name, Iterable<Tag> tags, Runnable f) {
-        Timer timer = Timer.builder(name)
-                .tags(tags)
-                .publishPercentiles(0.95)
-                .register(meterRegistry);
-        timer.record(f);
+        getTimer(name, tags).record(f);
     }
 
     public void recordTime(String name, Iterable<Tag> tags, Duration cost) {
-        Timer timer = Timer.builder(name)
-                .tags(tags)
-                .publishPercentiles(0.95)
-                .register(meterRegistry);
-        timer.record(cost);
+        getTimer(name, tags).record(cost);
     }
 
     public <T> T recordCallableTime(String name, Iterable<Tag> tags, Callable<T> callable) throws Exception {
-        Timer timer = Timer.builder(name)
-                .tags(tags)
-                .publishPercentiles(0.95)
-                .register(meterRegistry);
-        return timer.recordCallable(callable);
+        return getTimer(name, tags).recordCallable(callable);
     }
 
+    private Timer getTimer(String name, Iterable<Tag> tags) {
+        return getMeter(timers, name, tags, key -> {
+            Histogram histogram = commonConfig.getMetrics().getHistogram(key.name());
+            return Timer.builder(key.name())
+                    .tags(key.tags())
+                    .publishPercentiles(histogram.getPercentiles().stream().mapToDouble(Double::doubleValue).toArray())
+                    .publishPercentileHistogram(histogram.isPercentileHistogram())
+                    .serviceLevelObjectives(histogram.getSlo().toArray(Duration[]::new))
+                    .register(meterRegistry);
+        });
+    }
 
+    private <M> M getMeter(Map<MeterKey, M> meters, String name, Iterable<Tag> tags, Function<MeterKey, M> factory) {
+        MeterKey key = new MeterKey(name, Tags.of(tags));
+        M meter = meters.get(key);
+        if (meter != null) {
+            return meter;
+        }
+        AtomicInteger tagSetCount = tagSetCounts.computeIfAbsent(name, ignore -> new AtomicInteger());
+        if (tagSetCount.get() >= commonConfig.getMetrics().getMaxTagSetsPerMeter()) {
+            key = new MeterKey(name, overflow(key.tags()));
+        }
+        return meters.computeIfAbsent(key, k -> {
+            if (tagSetCount.incrementAndGet() == commonConfig.getMetrics().getMaxTagSetsPerMeter()) {
+                log.warn("meter {} reached {} tag sets, recording new tag sets as {}", name, tagSetCount.get(), OVERFLOW_TAG_VALUE);
+            }
+            return factory.apply(k);
+        });
+    }
+
+    private static Tags overflow(Tags tags) {
+        return Tags.of(tags.stream()
+                .map(tag -> Tag.of(tag.getKey(), OVERFLOW_TAG_VALUE))
+                .toList());
+    }
+
+    private record MeterKey(String name, Tags tags) {
+    }
 }
@@ -1,6 +1,5 @@
 package org.lowcoder.infra.config;
 
-import jakarta.annotation.Nullable;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -9,6 +8,7 @@ import org.lowcoder.sdk.test.JsonFileReader;
 import org.lowcoder.sdk.util.JsonUtils;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -22,18 +22,9 @@ public class AutoReloadConfigInstanceImplTest {
         Map<String, Object> map = JsonFileReader.read(AutoReloadConfigInstanceImplTest.class, "$.configInstance");
         Field autoReloadConfigFactory = configInstance.getClass().getDeclaredField("autoReloadConfigFactory");
         autoReloadConfigFactory.setAccessible(true);
-        autoReloadConfigFactory.set(configInstance, new AutoReloadConfigFactory() {
-
-            @Nullable
-            @Override
-            public String getValue(String confKey) {
-                Object o = map.get(confKey);
-                if (o == null) {
-                    return null;
-                }
-                return JsonUtils.toJson(o);
-            }
-        });
+        AutoReloadConfigFactory factory = new AutoReloadConfigFactory();
+        factory.update(map);
+        autoReloadConfigFactory.set(configInstance, factory);
     }
 
     @Test
@@ -86,6 +77,24 @@ public class AutoReloadConfigInstanceImplTest {
         Assert.assertEquals(Map.of("map", 999), mapConf.get());
     }
 
+    @Test
+    public void onChange() {
+        AutoReloadConfigFactory factory = new AutoReloadConfigFactory();
+        factory.update(Map.of("a", 1, "b", "x"));
+        Conf<Integer> conf = new AutoReloadConfImpl<>("a", 0, factory, s -> JsonUtils.fromJson(s, Integer.class));
+        List<Integer> changes = new ArrayList<>();
+        conf.onChange(changes::add);
+        Assert.assertEquals(1, conf.get().intValue());
+
+        factory.update(Map.of("a", 1, "b", "y"));
+        Assert.assertEquals(List.of(), changes);
+        factory.update(Map.of("a", 2, "b", "y"));
+        Assert.assertEquals(2, conf.get().intValue());
+        factory.update(Map.of("b", "y"));
+        Assert.assertEquals(0, conf.get().intValue());
+        Assert.assertEquals(List.of(2, 0), changes);
+    }
+
     public record Json(String json) {
     }
 }
\ No newline at end of file
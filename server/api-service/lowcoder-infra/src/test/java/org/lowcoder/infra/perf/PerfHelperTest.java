@@ -0,0 +1,61 @@
+package org.lowcoder.infra.perf;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.lowcoder.sdk.config.CommonConfig;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.List;
+
+public class PerfHelperTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CommonConfig commonConfig = new CommonConfig();
+    private final PerfHelper perfHelper = new PerfHelper();
+
+    @Before
+    public void init() throws NoSuchFieldException, IllegalAccessException {
+        set("meterRegistry", meterRegistry);
+        set("commonConfig", commonConfig);
+    }
+
+    @Test
+    public void testTagSetsOverMaxAreRecordedAsOverflow() {
+        commonConfig.getMetrics().setMaxTagSetsPerMeter(2);
+        for (int i = 0; i < 5; i++) {
+            perfHelper.count(PerfEvent.API_ERROR_CODE, Tags.of("url", "/api/applications/" + i));
+        }
+        perfHelper.count(PerfEvent.API_ERROR_CODE, Tags.of("url", "/api/applications/0"));
+
+        String name = PerfEvent.API_ERROR_CODE.perfKey();
+        Assert.assertEquals(2.0, meterRegistry.get(name).tag("url", "/api/applications/0").counter().count(), 0);
+        Assert.assertEquals(1.0, meterRegistry.get(name).tag("url", "/api/applications/1").counter().count(), 0);
+        Assert.assertEquals(3.0, meterRegistry.get(name).tag("url", PerfHelper.OVERFLOW_TAG_VALUE).counter().count(), 0);
+        Assert.assertEquals(3, meterRegistry.get(name).counters().size());
+    }
+
+    @Test
+    public void testTimerUsesConfiguredHistogram() {
+        CommonConfig.Metrics.Histogram histogram = new CommonConfig.Metrics.Histogram();
+        histogram.setSlo(List.of(Duration.ofMillis(10), Duration.ofMillis(100)));
+        commonConfig.getMetrics().getHistograms().put(PerfEvent.EVENT_BUS_LISTENER_LATENCY.perfKey(), histogram);
+
+        perfHelper.recordTime(PerfEvent.EVENT_BUS_LISTENER_LATENCY, Tags.of("listener", "a"), Duration.ofMillis(5));
+        perfHelper.recordTime(PerfEvent.EVENT_BUS_LISTENER_LATENCY, Tags.of("listener", "a"), Duration.ofMillis(50));
+
+        Timer timer = meterRegistry.get(PerfEvent.EVENT_BUS_LISTENER_LATENCY.perfKey()).timer();
+        Assert.assertEquals(2, timer.count());
+        Assert.assertEquals(2, timer.takeSnapshot().histogramCounts().length);
+    }
+
+    private void set(String fieldName, Object value) throws NoSuchFieldException, IllegalAccessException {
+        Field field = PerfHelper.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(perfHelper, value);
+    }
+}
@@ -17,6 +17,7 @@ import org.lowcoder.sdk.models.QueryExecutionResult;
 import org.lowcoder.sdk.plugin.common.QueryExecutor;
 import org.lowcoder.sdk.plugin.common.SqlQueryUtils;
 import org.lowcoder.sdk.plugin.common.sql.SqlBasedQueryExecutionContext;
+import org.lowcoder.sdk.plugin.common.sql.SqlResultLimit;
 import org.lowcoder.sdk.query.QueryVisitorContext;
 import org.pf4j.Extension;
 import reactor.core.publisher.Mono;
@@ -68,6 +69,7 @@ public class ClickHouseQueryExecutor implements QueryExecutor<ClickHouseDatasour
                 .requestParams(requestParams)
                 .disablePreparedStatement(datasourceConfig.isEnableTurnOffPreparedStatement() &&
                         queryConfig.isDisablePreparedStatement())
+                .resultLimit(SqlResultLimit.of(datasourceConfig))
                 .build();
     }
 
@@ -77,8 +79,9 @@ public class ClickHouseQueryExecutor implements QueryExecutor<ClickHouseDatasour
         String query = queryExecutionContext.getQuery();
         Map<String, Object> requestParams = queryExecutionContext.getRequestParams();
         boolean preparedStatement = !queryExecutionContext.isDisablePreparedStatement();
+        SqlResultLimit resultLimit = queryExecutionContext.getResultLimit();
 
-        return Mono.fromSupplier(() -> executeQuery0(hikariDataSource, query, requestParams, preparedStatement))
+        return Mono.fromSupplier(() -> executeQuery0(hikariDataSource, query, requestParams, preparedStatement, resultLimit))
                 .onErrorMap(e -> {
                     if (e instanceof PluginException) {
                         return e;
@@ -117,7 +120,7 @@ public class ClickHouseQueryExecutor implements QueryExecutor<ClickHouseDatasour
 
     private QueryExecutionResult executeQuery0(HikariDataSource hikariDataSource, String query,
             Map<String, Object> requestParams,
-            boolean isPreparedStatement) {
+            boolean isPreparedStatement, SqlResultLimit resultLimit) {
 
         List<String> mustacheKeysInOrder = extractMustacheKeysInOrder(query);
 
@@ -131,6 +134,7 @@ public class ClickHouseQueryExecutor implements QueryExecutor<ClickHouseDatasour
             if (isPreparedStatement) {
                 var preparedSql = doPrepareStatement(query, mustacheKeysInOrder, requestParams);
                 preparedQuery = connection.prepareStatement(preparedSql);
+                resultLimit.applyTo(preparedQuery);
                 bindPreparedStatementParams(preparedQuery,
                         mustacheKeysInOrder,
                         requestParams
@@ -140,11 +144,12 @@ public class ClickHouseQueryExecutor implements QueryExecutor<ClickHouseDatasour
                 resultSet = preparedQuery.getResultSet();
             } else {
                 statement = connection.createStatement();
+                resultLimit.applyTo(statement);
                 isResultSet = statement.execute(renderMustacheString(query, requestParams), Statement.RETURN_GENERATED_KEYS);
                 resultSet = statement.getResultSet();
             }
 
-            return parseExecuteResult(isPreparedStatement, statement, resultSet, preparedQuery, isResultSet);
+            return parseExecuteResult(isPreparedStatement, statement, resultSet, preparedQuery, isResultSet, resultLimit);
 
         } catch (SQLException e) {
             throw new PluginException(QUERY_EXECUTION_ERROR, "QUERY_EXECUTION_ERROR", e.getMessage());
@@ -154,14 +159,15 @@ public class ClickHouseQueryExecutor implements QueryExecutor<ClickHouseDatasour
     }
 
     private QueryExecutionResult parseExecuteResult(boolean preparedStatement, Statement statement,
-            ResultSet resultSet, PreparedStatement preparedQuery, boolean isResultSet) throws SQLException {
+            ResultSet resultSet, PreparedStatement preparedQuery, boolean isResultSet, SqlResultLimit resultLimit) throws SQLException {
 
         if (isResultSet) {
             ResultSetMetaData metaData = resultSet.getMetaData();
             List<Map<String, Object>> dataRows = parseRows(resultSet);
 
             List<String> columnLabels = parseColumns(metaData);
-            return QueryExecutionResult.success((dataRows), getHintMessages(columnLabels));
+            List<LocaleMessage> hintMessages = getHintMessages(columnLabels);
+            return QueryExecutionResult.success(resultLimit.toResult(dataRows, hintMessages), hintMessages);
         }
 
         Object affectedRows = preparedStatement ? Math.max(preparedQuery.getUpdateCount(), 0) // might return -1
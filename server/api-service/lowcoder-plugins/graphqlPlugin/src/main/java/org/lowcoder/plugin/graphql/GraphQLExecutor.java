@@ -246,6 +246,7 @@ public class GraphQLExecutor implements QueryExecutor<GraphQLDatasourceConfig, O
                     WebClient.Builder webClientBuilder = WebClientBuildHelper.builder()
                             .systemProxy()
                             .disallowedHosts(commonConfig.getDisallowedHosts())
+                            .connectionPool(commonConfig.getHttpClientPool())
                             .toWebClientBuilder();
 
                     Map<String, String> allHeaders = context.getHeaders();
@@ -22,37 +22,37 @@ import com.google.common.collect.ImmutableSet;
 import com.mongodb.MongoCommandException;
 import com.mongodb.MongoSocketWriteException;
 import com.mongodb.MongoTimeoutException;
+import com.mongodb.reactivestreams.client.ClientSession;
 import com.mongodb.reactivestreams.client.MongoClients;
 import com.mongodb.reactivestreams.client.MongoDatabase;
 import jakarta.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.bson.Document;
-import org.json.JSONObject;
 import org.lowcoder.plugin.mongo.commands.MongoCommand;
 import org.lowcoder.plugin.mongo.constants.MongoSpecialDataTypes;
 import org.lowcoder.plugin.mongo.model.MongoConnection;
 import org.lowcoder.plugin.mongo.model.MongoConnectionUriParser;
 import org.lowcoder.plugin.mongo.model.MongoDatasourceConfig;
 import org.lowcoder.plugin.mongo.model.MongoQueryExecutionContext;
+import org.lowcoder.plugin.mongo.model.MongoResultLimit;
 import org.lowcoder.plugin.mongo.utils.MongoQueryUtils;
 import org.lowcoder.sdk.config.dynamic.Conf;
 import org.lowcoder.sdk.config.dynamic.ConfigCenter;
 import org.lowcoder.sdk.exception.PluginException;
 import org.lowcoder.sdk.models.DatasourceStructure;
 import org.lowcoder.sdk.models.DatasourceTestResult;
+import org.lowcoder.sdk.models.LocaleMessage;
 import org.lowcoder.sdk.models.QueryExecutionResult;
 import org.lowcoder.sdk.plugin.common.DatasourceQueryEngine;
 import org.lowcoder.sdk.query.QueryVisitorContext;
 import org.pf4j.Extension;
 import org.pf4j.Plugin;
 import org.pf4j.PluginWrapper;
-import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
 
-import java.math.BigInteger;
 import java.time.Duration;
 import java.util.*;
 import java.util.Map.Entry;
@@ -68,6 +68,7 @@ import static org.lowcoder.plugin.mongo.model.MongoConnectionUriParser.extractIn
 import static org.lowcoder.plugin.mongo.utils.MongoQueryUtils.isRawCommand;
 import static org.lowcoder.plugin.mongo.utils.MongoQueryUtils.parseResultBody;
 import static org.lowcoder.sdk.exception.PluginCommonError.*;
+import static org.lowcoder.sdk.plugin.common.QueryExecutionUtils.getStringValueSafelyFromFormData;
 import static org.lowcoder.sdk.plugin.common.QueryExecutionUtils.getValueSafelyFromFormData;
 import static org.lowcoder.sdk.plugin.common.QueryExecutionUtils.querySharedScheduler;
 import static org.lowcoder.sdk.util.JsonUtils.toJson;
@@ -99,47 +100,50 @@ public class MongoPlugin extends Plugin {
                 UPDATE_OPERATION
         ));
 
+        private static final String VALUE = "value";
+        private static final String CURSOR = "cursor";
+        private static final String FIRST_BATCH = "firstBatch";
+        private static final String NEXT_BATCH = "nextBatch";
+
         private final Scheduler scheduler = querySharedScheduler();
         private final Conf<Duration> datasourceValidateTimeout;
+        private final Conf<Integer> maxRows;
+        private final Conf<Integer> cursorBatchSize;
 
         public MongoEngine(ConfigCenter configCenter) {
             datasourceValidateTimeout = configCenter.mongoPlugin().ofInteger("datasourceValidateTimeoutMillis", 6000)
                     .then(Duration::ofMillis);
+            maxRows = configCenter.mongoPlugin().ofInteger("maxRows", 100000);
+            cursorBatchSize = configCenter.mongoPlugin().ofInteger("cursorBatchSize", 1000);
         }
 
         @Override
         public Mono<QueryExecutionResult> executeQuery(MongoConnection mongoConnection, MongoQueryExecutionContext context) {
 
-            Document command = context.getCommand();
+            // copied as the limit rewrites skip / limit / batch sizes of the command
+            Document command = new Document(context.getCommand());
+            MongoResultLimit resultLimit = context.getResultLimit();
+            if (!resultLimit.applyTo(command)) {
+                return Mono.just(QueryExecutionResult.success(resultLimit.toResult(List.of(), new ArrayList<>())));
+            }
 
-            Publisher<Document> source;
+            MongoDatabase database;
             try {
-                source = mongoConnection.getDatabase().runCommand(command);
+                database = mongoConnection.getDatabase();
             } catch (Exception e) {
                 throw new PluginException(MONGO_COMMAND_ERROR, "MONGODB_COMMAND_ERROR", e.getMessage());
             }
 
-            return Mono.from(source)
+            return Mono.usingWhen(mongoConnection.startSession(),
+                            session -> runCommand(database, session, command)
+                                    .flatMap(mongoOutput -> parseOutput(database, session, mongoOutput, resultLimit)),
+                            session -> Mono.fromRunnable(() -> session.ifPresent(ClientSession::close)))
                     .onErrorMap(MongoTimeoutException.class,
                             error -> new PluginException(QUERY_EXECUTION_TIMEOUT, "QUERY_TIMEOUT_ERROR", error.getMessage()))
                     .onErrorMap(MongoCommandException.class, error -> new PluginException(QUERY_ARGUMENT_ERROR, "QUERY_ARGUMENT_ERROR",
                             error.getErrorMessage()))
                     .onErrorMap(MongoSocketWriteException.class,
                             error -> new PluginException(CONNECTION_ERROR, "CONNECTION_ERROR", error.getMessage()))
-                    .flatMap(mongoOutput -> {
-
-                        try {
-                            JSONObject outputJson = new JSONObject(mongoOutput.toJson());
-                            BigInteger status = outputJson.getBigInteger("ok");
-                            if (!BigInteger.ONE.equals(status)) {
-                                return Mono.just(QueryExecutionResult.error(MONGO_EXECUTION_ERROR, "MONGODB_EXECUTE_ERROR", status));
-                            }
-                            return Mono.just(QueryExecutionResult.success(parseResultBody(outputJson)));
-
-                        } catch (Exception e) {
-                            return Mono.error(new PluginException(QUERY_EXECUTION_ERROR, "QUERY_EXECUTION_ERROR", e.getMessage()));
-                        }
-                    })
                     .onErrorResume(error -> {
                         if (error instanceof PluginException) {
                             return Mono.error(error);
@@ -150,6 +154,71 @@ public class MongoPlugin extends Plugin {
                     .subscribeOn(scheduler);
         }
 
+        private static Mono<Document> runCommand(MongoDatabase database, Optional<ClientSession> session, Document command) {
+            return Mono.from(session.map(clientSession -> database.runCommand(clientSession, command))
+                    .orElseGet(() -> database.runCommand(command)));
+        }
+
+        private Mono<QueryExecutionResult> parseOutput(MongoDatabase database, Optional<ClientSession> session, Document mongoOutput,
+                MongoResultLimit resultLimit) {
+            try {
+                Object status = mongoOutput.get("ok");
+                if (!(status instanceof Number number) || number.doubleValue() != 1) {
+                    return Mono.just(QueryExecutionResult.error(MONGO_EXECUTION_ERROR, "MONGODB_EXECUTE_ERROR", status));
+                }
+                if (!mongoOutput.containsKey(VALUE) && mongoOutput.get(CURSOR) instanceof Document cursor) {
+                    List<Document> rows = new ArrayList<>(cursor.getList(FIRST_BATCH, Document.class));
+                    return readCursor(database, session, getCursorCollection(cursor), getCursorId(cursor), rows, resultLimit)
+                            .map(allRows -> {
+                                List<LocaleMessage> hintMessages = new ArrayList<>();
+                                return QueryExecutionResult.success(resultLimit.toResult(allRows, hintMessages), hintMessages);
+                            });
+                }
+                return Mono.just(QueryExecutionResult.success(parseResultBody(mongoOutput)));
+
+            } catch (Exception e) {
+                return Mono.error(new PluginException(QUERY_EXECUTION_ERROR, "QUERY_EXECUTION_ERROR", e.getMessage()));
+            }
+        }
+
+        /**
+         * Reads the batches following the first one with getMore until the cursor is exhausted or the row limit is
+         * reached, in which case the cursor is killed.
+         */
+        private Mono<List<Document>> readCursor(MongoDatabase database, Optional<ClientSession> session, String collection, long cursorId,
+                List<Document> rows, MongoResultLimit resultLimit) {
+            if (cursorId == 0) {
+                return Mono.just(rows);
+            }
+            if (rows.size() >= resultLimit.getRowsToRead()) {
+                Document killCursors = new Document("killCursors", collection).append("cursors", List.of(cursorId));
+                return runCommand(database, session, killCursors)
+                        .onErrorResume(e -> {
+                            log.warn("kill mongo cursor {} error", cursorId, e);
+                            return Mono.empty();
+                        })
+                        .thenReturn(rows);
+            }
+            Document getMore = new Document("getMore", cursorId)
+                    .append("collection", collection)
+                    .append("batchSize", resultLimit.getNextBatchSize(rows.size()));
+            return runCommand(database, session, getMore)
+                    .flatMap(output -> {
+                        Document cursor = output.get(CURSOR, Document.class);
+                        rows.addAll(cursor.getList(NEXT_BATCH, Document.class));
+                        return readCursor(database, session, collection, getCursorId(cursor), rows, resultLimit);
+                    });
+        }
+
+        private static long getCursorId(Document cursor) {
+            return cursor.get("id", Number.class).longValue();
+        }
+
+        private static String getCursorCollection(Document cursor) {
+            // ns is "<database>.<collection>"
+            return StringUtils.substringAfter(cursor.getString("ns"), ".");
+        }
+
         @Nonnull
         @Override
         public MongoDatasourceConfig resolveConfig(Map<String, Object> configMap) {
@@ -181,6 +250,9 @@ public class MongoPlugin extends Plugin {
                     return MongoQueryExecutionContext.builder()
                             .command(Document.parse(updatedRawQuery))
                             .databaseName(datasourceConfig.getParsedDatabase())
+                            .resultLimit(buildResultLimit(
+                                    renderMustacheString(getStringValueSafelyFromFormData(queryConfig, PAGE_SIZE), requestParams),
+                                    renderMustacheString(getStringValueSafelyFromFormData(queryConfig, PAGE_TOKEN), requestParams)))
                             .build();
                 } catch (Exception e) {
                     if (e instanceof PluginException pluginException) {
@@ -204,9 +276,15 @@ public class MongoPlugin extends Plugin {
             return MongoQueryExecutionContext.builder()
                     .command(command)
                     .databaseName(datasourceConfig.getParsedDatabase())
+                    .resultLimit(buildResultLimit(getStringValueSafelyFromFormData(evaluatedQueryConfig, PAGE_SIZE),
+                            getStringValueSafelyFromFormData(evaluatedQueryConfig, PAGE_TOKEN)))
                     .build();
         }
 
+        private MongoResultLimit buildResultLimit(String pageSize, String pageToken) {
+            return MongoResultLimit.of(maxRows.get(), cursorBatchSize.get(), pageSize, pageToken);
+        }
+
         @SuppressWarnings(value = {"unchecked", "rawtypes"})
         private <T> T traverseAndEvaluate(T object, Map<String, Object> paramMap, List<String> pathStack) {
             if (object == null) {
@@ -258,6 +336,9 @@ public class MongoPlugin extends Plugin {
             String result = query;
 
             for (MongoSpecialDataTypes specialType : MongoSpecialDataTypes.values()) {
+                if (!result.contains(specialType.name())) {
+                    continue;
+                }
 
                 Map<String, String> objectIdMap = new LinkedHashMap<>();
 
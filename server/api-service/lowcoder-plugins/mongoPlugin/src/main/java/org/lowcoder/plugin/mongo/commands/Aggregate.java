@@ -23,6 +23,8 @@ import static org.lowcoder.plugin.mongo.utils.MongoQueryUtils.parseSafely;
 import static org.lowcoder.sdk.exception.PluginCommonError.QUERY_ARGUMENT_ERROR;
 import static org.lowcoder.sdk.plugin.common.QueryExecutionUtils.getValueSafelyFromFormData;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang3.math.NumberUtils;
@@ -82,12 +84,24 @@ public class Aggregate extends MongoCommand {
         Document commandDocument = new Document();
 
         commandDocument.put("aggregate", getCollection());
-        commandDocument.put("pipeline", parsePipeline());
+        commandDocument.put("pipeline", withLimitStage(parsePipeline()));
         commandDocument.put("cursor", parseSafely("cursor", "{batchSize: " + limit + "}"));
 
         return commandDocument;
     }
 
+    /**
+     * the whole cursor is read, so the limit has to be a stage rather than only the size of the first batch
+     */
+    private Object withLimitStage(Object pipeline) {
+        if (limit <= 0 || limit == Integer.MAX_VALUE || !(pipeline instanceof List<?> stages)) {
+            return pipeline;
+        }
+        List<Object> result = new ArrayList<>(stages);
+        result.add(new Document("$limit", limit));
+        return result;
+    }
+
     private Object parsePipeline() {
         if (isArrayStr(pipeline)) {
             try {
@@ -32,5 +32,7 @@ public class MongoFieldName {
     public static final String FIND_LIMIT = FIELD_PREFIX + "." + LIMIT;
     public static final String FIND_SKIP = FIELD_PREFIX + "." + SKIP;
     public static final String UPDATE_LIMIT = FIELD_PREFIX + "." + LIMIT;
+    public static final String PAGE_SIZE = FIELD_PREFIX + "." + "pageSize";
+    public static final String PAGE_TOKEN = FIELD_PREFIX + "." + "pageToken";
 
 }
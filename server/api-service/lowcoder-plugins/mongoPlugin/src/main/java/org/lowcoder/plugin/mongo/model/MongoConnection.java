@@ -1,13 +1,20 @@
 package org.lowcoder.plugin.mongo.model;
 
+import java.util.Optional;
+
 import org.bson.Document;
 
 import com.google.common.base.Preconditions;
+import com.mongodb.MongoClientException;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.reactivestreams.client.ClientSession;
 import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoDatabase;
 
+import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
 
+@Slf4j
 public class MongoConnection {
 
     private static final String TEST_CONNECTION_QUERY = "ping";
@@ -28,6 +35,20 @@ public class MongoConnection {
         return Mono.from(mongoClient.getDatabase(database).runCommand(new Document(TEST_CONNECTION_QUERY, 1)));
     }
 
+    /**
+     * Cursors opened in a session can only be continued by getMores in the same session.
+     *
+     * @return empty if the deployment does not support sessions, commands then run without one
+     */
+    public Mono<Optional<ClientSession>> startSession() {
+        return Mono.from(mongoClient.startSession())
+                .map(Optional::of)
+                .onErrorResume(e -> e instanceof MongoClientException && !(e instanceof MongoTimeoutException), e -> {
+                    log.debug("mongo sessions unsupported, running without a session: {}", e.getMessage());
+                    return Mono.just(Optional.empty());
+                });
+    }
+
     public Mono<Void> close() {
         return Mono.fromRunnable(mongoClient::close);
     }
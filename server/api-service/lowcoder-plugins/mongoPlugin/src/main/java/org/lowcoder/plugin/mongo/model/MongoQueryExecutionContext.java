@@ -10,11 +10,16 @@ public class MongoQueryExecutionContext extends QueryExecutionContext {
 
     private String databaseName;
     private Document command;
+    private MongoResultLimit resultLimit;
 
     public Document getCommand() {
         return command;
     }
 
+    public MongoResultLimit getResultLimit() {
+        return resultLimit == null ? MongoResultLimit.NONE : resultLimit;
+    }
+
     public String getDatabaseName() {
         return databaseName;
     }
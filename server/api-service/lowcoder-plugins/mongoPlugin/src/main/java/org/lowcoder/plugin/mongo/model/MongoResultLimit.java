@@ -0,0 +1,206 @@
+package org.lowcoder.plugin.mongo.model;
+
+import static org.lowcoder.sdk.exception.PluginCommonError.QUERY_ARGUMENT_ERROR;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.bson.Document;
+import org.lowcoder.plugin.mongo.utils.MongoQueryUtils;
+import org.lowcoder.sdk.exception.PluginException;
+import org.lowcoder.sdk.models.LocaleMessage;
+import org.lowcoder.sdk.util.JsonUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Row limits of a mongo query that returns a cursor, enforced while the cursor is iterated so that documents beyond the
+ * limit are never fetched.
+ * <p>
+ * {@code maxRows} and {@code batchSize} come from the plugin config, {@code pageSize} and {@code pageToken} from the
+ * query. Without paging the result is truncated to {@code maxRows} with a hint message; with paging the result becomes
+ * {@code {"rows": [...], "nextPageToken": "..."}} and the token can be passed back to read the next page. Paging is
+ * applied to {@code find} and {@code aggregate} commands only.
+ */
+public final class MongoResultLimit {
+
+    public static final MongoResultLimit NONE = new MongoResultLimit(0, 0, 0, 0);
+
+    public static final String ROWS = "rows";
+    public static final String NEXT_PAGE_TOKEN = "nextPageToken";
+
+    private static final String FIND = "find";
+    private static final String AGGREGATE = "aggregate";
+
+    private final int maxRows;
+    private final int batchSize;
+    private final int pageSize;
+    private final long offset;
+
+    private MongoResultLimit(int maxRows, int batchSize, int pageSize, long offset) {
+        this.maxRows = maxRows;
+        this.batchSize = batchSize;
+        this.pageSize = pageSize;
+        this.offset = offset;
+    }
+
+    /**
+     * @param pageSizeStr rendered page size of the query, blank means no paging
+     * @param pageToken rendered token returned by the previous page, blank means the first page
+     */
+    public static MongoResultLimit of(int maxRows, int batchSize, @Nullable String pageSizeStr, @Nullable String pageToken) {
+        maxRows = Math.max(maxRows, 0);
+        batchSize = Math.max(batchSize, 0);
+        if (StringUtils.isBlank(pageSizeStr)) {
+            return new MongoResultLimit(maxRows, batchSize, 0, 0);
+        }
+
+        int pageSize = parsePageSize(pageSizeStr);
+        if (maxRows > 0) {
+            pageSize = Math.min(pageSize, maxRows);
+        }
+        return new MongoResultLimit(maxRows, batchSize, pageSize, decodePageToken(pageToken));
+    }
+
+    public boolean isPaging() {
+        return pageSize > 0;
+    }
+
+    /**
+     * one more row than the limit is read so that truncation / a next page can be detected
+     */
+    public long getRowsToRead() {
+        if (isPaging()) {
+            return pageSize + 1L;
+        }
+        return maxRows > 0 ? maxRows + 1L : Long.MAX_VALUE;
+    }
+
+    /**
+     * @param rowsRead rows read from the cursor so far
+     * @return batch size of the next getMore, 0 means the server default
+     */
+    public int getNextBatchSize(long rowsRead) {
+        long remaining = getRowsToRead() - rowsRead;
+        if (batchSize > 0) {
+            remaining = Math.min(remaining, batchSize);
+        }
+        return (int) Math.min(remaining, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Moves a {@code find} / {@code aggregate} command to the current page and bounds the size of its first batch.
+     *
+     * @return false if the command is already exhausted at the current page and need not be executed
+     */
+    public boolean applyTo(Document command) {
+        if (command.containsKey(FIND)) {
+            return applyToFind(command);
+        }
+        if (command.containsKey(AGGREGATE)) {
+            applyToAggregate(command);
+        }
+        return true;
+    }
+
+    private boolean applyToFind(Document command) {
+        if (isPaging()) {
+            long skip = command.get("skip") instanceof Number number ? number.longValue() : 0;
+            command.put("skip", skip + offset);
+
+            long limit = pageSize + 1L;
+            if (command.get("limit") instanceof Number number && number.longValue() > 0) {
+                long remaining = number.longValue() - offset;
+                if (remaining <= 0) {
+                    return false;
+                }
+                limit = Math.min(limit, remaining);
+            }
+            command.put("limit", (int) limit);
+        }
+        command.put("batchSize", firstBatchSize(command.get("batchSize")));
+        return true;
+    }
+
+    private void applyToAggregate(Document command) {
+        if (isPaging() && command.get("pipeline") instanceof List<?> pipeline) {
+            List<Object> pagedPipeline = new ArrayList<>(pipeline.size() + 2);
+            pagedPipeline.addAll(pipeline);
+            if (offset > 0) {
+                pagedPipeline.add(new Document("$skip", offset));
+            }
+            pagedPipeline.add(new Document("$limit", pageSize + 1L));
+            command.put("pipeline", pagedPipeline);
+        }
+        Document cursor = command.get("cursor") instanceof Document document ? new Document(document) : new Document();
+        cursor.put("batchSize", firstBatchSize(cursor.get("batchSize")));
+        command.put("cursor", cursor);
+    }
+
+    private int firstBatchSize(@Nullable Object requested) {
+        int result = getNextBatchSize(0);
+        if (requested instanceof Number number && number.intValue() > 0) {
+            result = result > 0 ? Math.min(result, number.intValue()) : number.intValue();
+        }
+        return result;
+    }
+
+    /**
+     * @param rows documents read from the cursor
+     * @param hintMessages truncation hints are appended to it
+     */
+    public JsonNode toResult(List<Document> rows, List<LocaleMessage> hintMessages) {
+        if (isPaging()) {
+            ObjectNode page = JsonUtils.createObjectNode();
+            if (rows.size() > pageSize) {
+                page.set(ROWS, MongoQueryUtils.toJsonNode(rows.subList(0, pageSize)));
+                page.put(NEXT_PAGE_TOKEN, encodePageToken(offset + pageSize));
+            } else {
+                page.set(ROWS, MongoQueryUtils.toJsonNode(rows));
+            }
+            return page;
+        }
+        if (maxRows > 0 && rows.size() > maxRows) {
+            hintMessages.add(new LocaleMessage("QUERY_RESULT_TRUNCATED", maxRows));
+            return MongoQueryUtils.toJsonNode(rows.subList(0, maxRows));
+        }
+        return MongoQueryUtils.toJsonNode(rows);
+    }
+
+    static String encodePageToken(long offset) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long decodePageToken(@Nullable String pageToken) {
+        if (StringUtils.isBlank(pageToken)) {
+            return 0;
+        }
+        try {
+            long offset = Long.parseLong(new String(Base64.getUrlDecoder().decode(pageToken.trim()), StandardCharsets.UTF_8));
+            if (offset >= 0) {
+                return offset;
+            }
+        } catch (IllegalArgumentException e) {
+            // fall through
+        }
+        throw new PluginException(QUERY_ARGUMENT_ERROR, "INVALID_PAGE_TOKEN", pageToken);
+    }
+
+    private static int parsePageSize(String pageSizeStr) {
+        try {
+            int pageSize = Integer.parseInt(pageSizeStr.trim());
+            if (pageSize > 0) {
+                return pageSize;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw new PluginException(QUERY_ARGUMENT_ERROR, "INVALID_PAGE_SIZE", pageSizeStr);
+    }
+}
@@ -24,25 +24,20 @@ import static org.lowcoder.sdk.exception.PluginCommonError.QUERY_ARGUMENT_ERROR;
 import static org.lowcoder.sdk.util.JsonUtils.createObjectNode;
 import static org.lowcoder.sdk.util.JsonUtils.readTree;
 
-import java.math.BigDecimal;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Date;
-import java.util.HashSet;
 import java.util.Map;
 
 import org.bson.Document;
 import org.bson.json.JsonParseException;
 import org.bson.types.Decimal128;
 import org.bson.types.ObjectId;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.lowcoder.plugin.mongo.commands.Aggregate;
 import org.lowcoder.plugin.mongo.commands.Count;
 import org.lowcoder.plugin.mongo.commands.Delete;
@@ -51,14 +46,18 @@ import org.lowcoder.plugin.mongo.commands.Find;
 import org.lowcoder.plugin.mongo.commands.Insert;
 import org.lowcoder.plugin.mongo.commands.MongoCommand;
 import org.lowcoder.plugin.mongo.commands.UpdateMany;
+import org.lowcoder.plugin.mongo.model.MongoResultLimit;
 import org.lowcoder.sdk.exception.PluginException;
 import org.lowcoder.sdk.models.DatasourceStructure;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import jakarta.annotation.Nullable;
+
 public class MongoQueryUtils {
 
     public static final String N_MODIFIED = "nModified";
@@ -148,24 +147,18 @@ public class MongoQueryUtils {
         return URLEncoder.encode(text, StandardCharsets.UTF_8);
     }
 
-    public static JsonNode parseResultBody(JSONObject outputJson) throws JsonProcessingException {
+    /**
+     * Result of a command whose output is not a cursor, see {@link MongoResultLimit#toResult} for cursor results.
+     */
+    @Nullable
+    public static JsonNode parseResultBody(Document output) {
             /*
              For the `findAndModify` command, we don't get the count of modifications made. Instead,
              we either get the modified new value or the pre-modified old value (depending on the
              `new` field in the command. Let's return that value to the user.
              */
-        if (outputJson.has(VALUE)) {
-            return readTree(cleanUp(new JSONObject().put(VALUE, outputJson.get(VALUE))).toString());
-        }
-
-            /*
-             The json contains key "cursor" when find command was issued and there are 1 or more
-             results. In case there are no results for find, this key is not present in the result json.
-             */
-        if (outputJson.has("cursor")) {
-            JSONArray outputResult = (JSONArray) cleanUp(
-                    outputJson.getJSONObject("cursor").getJSONArray("firstBatch"));
-            return readTree(outputResult.toString());
+        if (output.containsKey(VALUE)) {
+            return createObjectNode().set(VALUE, toJsonNode(output.get(VALUE)));
         }
 
             /*
@@ -173,80 +166,79 @@ public class MongoQueryUtils {
              signifies the no of documents selected for update. "n" in case of insert signifies the
              number of documents inserted.
              */
-        if (outputJson.has("n")) {
-            JSONObject body = new JSONObject().put("n", outputJson.getBigInteger("n"));
-            return readTree(body.toString());
+        if (output.containsKey("n")) {
+            return createObjectNode().set("n", toJsonNode(output.get("n")));
         }
 
             /*
              The json key contains key "nModified" in case of update command. This signifies the no of
              documents updated.
              */
-        if (outputJson.has(N_MODIFIED)) {
-            JSONObject body = new JSONObject().put(N_MODIFIED, outputJson.getBigInteger(N_MODIFIED));
-            return readTree(body.toString());
+        if (output.containsKey(N_MODIFIED)) {
+            return createObjectNode().set(N_MODIFIED, toJsonNode(output.get(N_MODIFIED)));
         }
 
             /*
              The json contains key "values" when distinct command is used.
              */
-        if (outputJson.has(VALUES)) {
-            JSONArray outputResult = (JSONArray) cleanUp(
-                    outputJson.getJSONArray(VALUES));
-
-            ObjectNode resultNode = createObjectNode();
-
+        if (output.containsKey(VALUES)) {
             // Create a JSON structure with the results stored with a key to abide by the
             // Server-Client contract of only sending array of objects in result.
-            resultNode.putArray(VALUES)
-                    .addAll((ArrayNode) readTree(outputResult.toString()));
-
-            return readTree(resultNode.toString());
+            return createObjectNode().set(VALUES, toJsonNode(output.get(VALUES)));
         }
 
         return null;
     }
 
-    private static Object cleanUp(Object object) {
-        if (object instanceof JSONObject jsonObject) {
-            final boolean isSingleKey = jsonObject.keySet().size() == 1;
-
-            if (isSingleKey && "$numberLong".equals(jsonObject.keys().next())) {
-                return jsonObject.getBigInteger("$numberLong");
-
-            } else if (isSingleKey && "$oid".equals(jsonObject.keys().next())) {
-                return jsonObject.getString("$oid");
-
-            } else if (isSingleKey && "$date".equals(jsonObject.keys().next())) {
-                Instant instant;
-                if (jsonObject.get("$date") instanceof Long millis) {
-                    instant = Instant.ofEpochMilli(millis);
-                } else {
-                    instant = Instant.parse(jsonObject.getString("$date"));
-                }
-                return FORMATTER.format(instant);
-            } else if (isSingleKey && "$numberDecimal".equals(jsonObject.keys().next())) {
-                return new BigDecimal(jsonObject.getString("$numberDecimal"));
-
-            } else {
-                for (String key : new HashSet<>(jsonObject.keySet())) {
-                    jsonObject.put(key, cleanUp(jsonObject.get(key)));
-                }
-
-            }
-
-        } else if (object instanceof JSONArray) {
-            Collection<Object> cleaned = new ArrayList<>();
-
-            for (Object child : (JSONArray) object) {
-                cleaned.add(cleanUp(child));
-            }
-
-            return new JSONArray(cleaned);
-
+    /**
+     * Converts a value decoded by the driver straight into a json node: ObjectIds become their hex string, dates are
+     * formatted and decimals become numbers, other special bson types keep their relaxed extended json form.
+     */
+    public static JsonNode toJsonNode(@Nullable Object value) {
+        JsonNodeFactory factory = JsonNodeFactory.instance;
+        if (value == null) {
+            return factory.nullNode();
+        }
+        if (value instanceof String str) {
+            return factory.textNode(str);
+        }
+        if (value instanceof Integer i) {
+            return factory.numberNode(i);
+        }
+        if (value instanceof Long l) {
+            return factory.numberNode(l);
+        }
+        if (value instanceof Double d) {
+            return factory.numberNode(d);
+        }
+        if (value instanceof Boolean b) {
+            return factory.booleanNode(b);
+        }
+        if (value instanceof ObjectId objectId) {
+            return factory.textNode(objectId.toHexString());
+        }
+        if (value instanceof Date date) {
+            return factory.textNode(FORMATTER.format(date.toInstant()));
+        }
+        if (value instanceof Decimal128 decimal && decimal.isFinite()) {
+            return factory.numberNode(decimal.bigDecimalValue());
+        }
+        if (value instanceof Map<?, ?> map) {
+            ObjectNode result = factory.objectNode();
+            map.forEach((key, child) -> result.set(String.valueOf(key), toJsonNode(child)));
+            return result;
+        }
+        if (value instanceof Collection<?> collection) {
+            ArrayNode result = factory.arrayNode(collection.size());
+            collection.forEach(child -> result.add(toJsonNode(child)));
+            return result;
+        }
+        // rare types (binary, timestamp, regex, ...), wrapped since only documents can be written as json
+        try {
+            return readTree(new Document(VALUE, value).toJson()).get(VALUE);
+        } catch (JsonProcessingException | RuntimeException e) {
+            return factory.textNode(String.valueOf(value));
         }
-
-        return object;
     }
 
 }
@@ -0,0 +1,167 @@
+package org.lowcoder.plugin.mongo;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.lowcoder.plugin.mongo.MongoPlugin.MongoEngine;
+import org.lowcoder.plugin.mongo.commands.Aggregate;
+import org.lowcoder.plugin.mongo.model.MongoConnection;
+import org.lowcoder.plugin.mongo.model.MongoQueryExecutionContext;
+import org.lowcoder.plugin.mongo.model.MongoResultLimit;
+import org.lowcoder.sdk.config.dynamic.ConfigCenterForTest;
+import org.lowcoder.sdk.models.QueryExecutionResult;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mongodb.MongoClientException;
+import com.mongodb.reactivestreams.client.ClientSession;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+
+import reactor.core.publisher.Mono;
+
+public class MongoPluginTest {
+
+    private static final String DATABASE = "test";
+    private static final String COLLECTION = "items";
+    private static final int DOCUMENTS = 25;
+
+    private static GenericContainer<?> mongo;
+    private static MongoClient mongoClient;
+
+    private final MongoEngine engine = new MongoEngine(new ConfigCenterForTest());
+
+    @BeforeClass
+    public static void startMongo() {
+        if (!DockerClientFactory.instance().isDockerAvailable()) {
+            return;
+        }
+        mongo = new GenericContainer<>(DockerImageName.parse("mongo:6.0")).withExposedPorts(27017);
+        mongo.start();
+        mongoClient = MongoClients.create("mongodb://" + mongo.getHost() + ":" + mongo.getMappedPort(27017));
+        List<Document> documents = IntStream.range(0, DOCUMENTS)
+                .mapToObj(i -> new Document("i", i))
+                .toList();
+        Mono.from(mongoClient.getDatabase(DATABASE).getCollection(COLLECTION).insertMany(documents)).block();
+    }
+
+    @AfterClass
+    public static void stopMongo() {
+        if (mongoClient != null) {
+            mongoClient.close();
+        }
+        if (mongo != null) {
+            mongo.stop();
+        }
+    }
+
+    @Test
+    public void testAggregateLimitIsAStage() {
+        Aggregate aggregate = new Aggregate(Map.of("collection", COLLECTION,
+                "comp", Map.of("arrayPipelines", "[{\"$match\": {\"active\": true}}]", "limit", "5")));
+
+        Document command = aggregate.parseCommand();
+
+        @SuppressWarnings("unchecked")
+        List<Object> pipeline = (List<Object>) command.get("pipeline");
+        Assert.assertEquals(2, pipeline.size());
+        Assert.assertEquals(new Document("$limit", 5), pipeline.get(1));
+    }
+
+    @Test
+    public void testAggregateWithoutLimitHasNoLimitStage() {
+        Aggregate aggregate = new Aggregate(Map.of("collection", COLLECTION,
+                "comp", Map.of("arrayPipelines", "[{\"$match\": {\"active\": true}}]", "limit", "")));
+
+        @SuppressWarnings("unchecked")
+        List<Object> pipeline = (List<Object>) aggregate.parseCommand().get("pipeline");
+        Assert.assertEquals(1, pipeline.size());
+    }
+
+    @Test
+    public void testRunsWithoutSessionWhenUnsupported() {
+        MongoClient client = mock(MongoClient.class);
+        MongoDatabase database = mock(MongoDatabase.class);
+        when(client.startSession()).thenReturn(Mono.error(new MongoClientException("Sessions are not supported")));
+        when(client.getDatabase(DATABASE)).thenReturn(database);
+        Document output = new Document("ok", 1.0)
+                .append("cursor", new Document("firstBatch", List.of(new Document("i", 0)))
+                        .append("id", 0L)
+                        .append("ns", DATABASE + "." + COLLECTION));
+        when(database.runCommand(any(Bson.class))).thenReturn(Mono.just(output));
+
+        QueryExecutionResult result = engine.executeQuery(new MongoConnection(client, DATABASE), find(MongoResultLimit.NONE))
+                .block();
+
+        Assert.assertNotNull(result);
+        Assert.assertTrue(result.isSuccess());
+        Assert.assertEquals(1, ((JsonNode) result.getData()).size());
+        verify(database, never()).runCommand(any(ClientSession.class), any(Bson.class));
+    }
+
+    @Test
+    public void testReadsWholeCursor() {
+        JsonNode rows = (JsonNode) execute(MongoResultLimit.of(0, 4, null, null)).getData();
+
+        Assert.assertEquals(DOCUMENTS, rows.size());
+        Assert.assertEquals(DOCUMENTS - 1, rows.get(DOCUMENTS - 1).get("i").intValue());
+    }
+
+    @Test
+    public void testTruncatesAtMaxRowsAndKillsCursor() {
+        QueryExecutionResult result = execute(MongoResultLimit.of(10, 3, null, null));
+
+        Assert.assertEquals(10, ((JsonNode) result.getData()).size());
+        Assert.assertEquals("QUERY_RESULT_TRUNCATED", result.getHintLocaleMessages().get(0).messageKey());
+        Document serverStatus = Mono.from(mongoClient.getDatabase("admin").runCommand(new Document("serverStatus", 1))).block();
+        Assert.assertNotNull(serverStatus);
+        Document cursors = serverStatus.get("metrics", Document.class).get("cursor", Document.class).get("open", Document.class);
+        Assert.assertEquals(0L, cursors.get("total", Number.class).longValue());
+    }
+
+    @Test
+    public void testPagesThroughCursor() {
+        JsonNode firstPage = (JsonNode) execute(MongoResultLimit.of(100, 2, "20", null)).getData();
+        Assert.assertEquals(20, firstPage.get(MongoResultLimit.ROWS).size());
+        String token = firstPage.get(MongoResultLimit.NEXT_PAGE_TOKEN).asText();
+
+        JsonNode lastPage = (JsonNode) execute(MongoResultLimit.of(100, 2, "20", token)).getData();
+        Assert.assertEquals(DOCUMENTS - 20, lastPage.get(MongoResultLimit.ROWS).size());
+        Assert.assertEquals(20, lastPage.get(MongoResultLimit.ROWS).get(0).get("i").intValue());
+        Assert.assertFalse(lastPage.has(MongoResultLimit.NEXT_PAGE_TOKEN));
+    }
+
+    private QueryExecutionResult execute(MongoResultLimit resultLimit) {
+        Assume.assumeNotNull(mongoClient);
+        QueryExecutionResult result = engine.executeQuery(new MongoConnection(mongoClient, DATABASE), find(resultLimit)).block();
+        Assert.assertNotNull(result);
+        Assert.assertTrue(result.isSuccess());
+        return result;
+    }
+
+    private static MongoQueryExecutionContext find(MongoResultLimit resultLimit) {
+        Document command = new Document("find", COLLECTION).append("sort", new Document("i", 1));
+        return MongoQueryExecutionContext.builder()
+                .databaseName(DATABASE)
+                .command(command)
+                .resultLimit(resultLimit)
+                .build();
+    }
+}
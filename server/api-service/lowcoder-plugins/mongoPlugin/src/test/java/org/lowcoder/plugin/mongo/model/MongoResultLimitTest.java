@@ -0,0 +1,118 @@
+package org.lowcoder.plugin.mongo.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.bson.Document;
+import org.junit.Assert;
+import org.junit.Test;
+import org.lowcoder.sdk.exception.PluginException;
+import org.lowcoder.sdk.models.LocaleMessage;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+public class MongoResultLimitTest {
+
+    @Test
+    public void testTruncate() {
+        MongoResultLimit limit = MongoResultLimit.of(3, 0, null, null);
+        List<LocaleMessage> hints = new ArrayList<>();
+
+        Assert.assertEquals(4, limit.getRowsToRead());
+        Assert.assertEquals(ids(0, 3), limit.toResult(rows(0, 3), hints).findValuesAsText("i"));
+        Assert.assertTrue(hints.isEmpty());
+
+        JsonNode truncated = limit.toResult(rows(0, 4), hints);
+        Assert.assertEquals(3, truncated.size());
+        Assert.assertEquals(1, hints.size());
+        Assert.assertEquals("QUERY_RESULT_TRUNCATED", hints.get(0).messageKey());
+    }
+
+    @Test
+    public void testPageTokenRoundTrip() {
+        MongoResultLimit firstPage = MongoResultLimit.of(100, 0, "2", "");
+
+        JsonNode page = firstPage.toResult(rows(0, 3), new ArrayList<>());
+        Assert.assertEquals(ids(0, 2), page.get(MongoResultLimit.ROWS).findValuesAsText("i"));
+        String token = page.get(MongoResultLimit.NEXT_PAGE_TOKEN).asText();
+        Assert.assertEquals(2, MongoResultLimit.decodePageToken(token));
+
+        MongoResultLimit lastPage = MongoResultLimit.of(100, 0, "2", token);
+        JsonNode last = lastPage.toResult(rows(2, 3), new ArrayList<>());
+        Assert.assertEquals(ids(2, 3), last.get(MongoResultLimit.ROWS).findValuesAsText("i"));
+        Assert.assertFalse(last.has(MongoResultLimit.NEXT_PAGE_TOKEN));
+    }
+
+    @Test
+    public void testPageSizeIsCappedByMaxRows() {
+        MongoResultLimit limit = MongoResultLimit.of(5, 0, "50", null);
+
+        Assert.assertTrue(limit.isPaging());
+        Assert.assertEquals(6, limit.getRowsToRead());
+    }
+
+    @Test(expected = PluginException.class)
+    public void testInvalidPageToken() {
+        MongoResultLimit.of(100, 0, "10", "not-a-token");
+    }
+
+    @Test(expected = PluginException.class)
+    public void testNegativePageToken() {
+        MongoResultLimit.of(100, 0, "10", MongoResultLimit.encodePageToken(-1));
+    }
+
+    @Test(expected = PluginException.class)
+    public void testInvalidPageSize() {
+        MongoResultLimit.of(100, 0, "0", null);
+    }
+
+    @Test
+    public void testNextBatchSize() {
+        MongoResultLimit limit = MongoResultLimit.of(10, 4, null, null);
+
+        Assert.assertEquals(4, limit.getNextBatchSize(0));
+        Assert.assertEquals(4, limit.getNextBatchSize(4));
+        Assert.assertEquals(3, limit.getNextBatchSize(8));
+    }
+
+    @Test
+    public void testApplyPageToFind() {
+        MongoResultLimit limit = MongoResultLimit.of(100, 1000, "10", MongoResultLimit.encodePageToken(20));
+        Document find = new Document("find", "users").append("skip", 5).append("limit", 30);
+
+        Assert.assertTrue(limit.applyTo(find));
+        Assert.assertEquals(25L, find.get("skip"));
+        // only 10 documents of the query's own limit are left after the offset
+        Assert.assertEquals(10, find.get("limit"));
+        Assert.assertEquals(11, find.get("batchSize"));
+
+        Document exhausted = new Document("find", "users").append("limit", 20);
+        Assert.assertFalse(limit.applyTo(exhausted));
+    }
+
+    @Test
+    public void testApplyPageToAggregate() {
+        MongoResultLimit limit = MongoResultLimit.of(100, 1000, "10", MongoResultLimit.encodePageToken(20));
+        Document match = new Document("$match", new Document("active", true));
+        Document aggregate = new Document("aggregate", "users")
+                .append("pipeline", List.of(match))
+                .append("cursor", new Document("batchSize", 5));
+
+        Assert.assertTrue(limit.applyTo(aggregate));
+        Assert.assertEquals(List.of(match, new Document("$skip", 20L), new Document("$limit", 11L)), aggregate.get("pipeline"));
+        Assert.assertEquals(new Document("batchSize", 5), aggregate.get("cursor"));
+    }
+
+    private static List<Document> rows(int from, int to) {
+        return IntStream.range(from, to)
+                .mapToObj(i -> new Document("i", i))
+                .toList();
+    }
+
+    private static List<String> ids(int from, int to) {
+        return IntStream.range(from, to)
+                .mapToObj(String::valueOf)
+                .toList();
+    }
+}
@@ -0,0 +1,64 @@
+package org.lowcoder.plugin.mongo.utils;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableList;
+
+public class MongoQueryUtilsTest {
+
+    @Test
+    public void testToJsonNode() {
+        ObjectId id = new ObjectId();
+        Date createdAt = Date.from(ZonedDateTime.of(2024, 3, 1, 8, 30, 15, 0, ZoneId.systemDefault()).toInstant());
+        Document document = new Document("_id", id)
+                .append("createdAt", createdAt)
+                .append("price", new Decimal128(new BigDecimal("12.50")))
+                .append("count", 3)
+                .append("total", 4_000_000_000L)
+                .append("active", true)
+                .append("removedAt", null)
+                .append("owner", new Document("name", "jack").append("tags", List.of("a", "b")))
+                .append("items", List.of(new Document("sku", "x1"), List.of(1, 2)));
+
+        JsonNode json = MongoQueryUtils.toJsonNode(document);
+
+        Assert.assertEquals(id.toHexString(), json.get("_id").asText());
+        Assert.assertEquals("2024-03-01 08:30:15", json.get("createdAt").asText());
+        Assert.assertTrue(json.get("price").isNumber());
+        Assert.assertEquals(new BigDecimal("12.50"), json.get("price").decimalValue());
+        Assert.assertEquals(3, json.get("count").intValue());
+        Assert.assertEquals(4_000_000_000L, json.get("total").longValue());
+        Assert.assertTrue(json.get("active").booleanValue());
+        Assert.assertTrue(json.get("removedAt").isNull());
+        Assert.assertEquals("jack", json.get("owner").get("name").asText());
+        Assert.assertEquals("b", json.get("owner").get("tags").get(1).asText());
+        Assert.assertEquals("x1", json.get("items").get(0).get("sku").asText());
+        Assert.assertEquals(2, json.get("items").get(1).get(1).intValue());
+    }
+
+    @Test
+    public void testToJsonNodeKeepsOrderOfDocuments() {
+        JsonNode json = MongoQueryUtils.toJsonNode(List.of(new Document("b", 1).append("a", 2)));
+
+        Assert.assertTrue(json.isArray());
+        Assert.assertEquals(List.of("b", "a"), ImmutableList.copyOf(json.get(0).fieldNames()));
+    }
+
+    @Test
+    public void testToJsonNodeOfNonFiniteDecimal() {
+        JsonNode json = MongoQueryUtils.toJsonNode(new Document("value", Decimal128.NaN));
+
+        Assert.assertFalse(json.get("value").isNull());
+    }
+}
@@ -80,4 +80,9 @@ public class MssqlConnector extends SqlBasedConnector<MssqlDatasourceConfig> {
         config.setReadOnly(datasourceConfig.isReadonly());
     }
 
+    @Override
+    protected void setUpStatementCache(int statementCacheSize, HikariConfig config) {
+        config.addDataSourceProperty("disableStatementPooling", String.valueOf(statementCacheSize == 0));
+        config.addDataSourceProperty("statementPoolingCacheSize", String.valueOf(statementCacheSize));
+    }
 }
@@ -13,6 +13,7 @@ import com.zaxxer.hikari.HikariConfig;
 public class MysqlConnector extends SqlBasedConnector<MysqlDatasourceConfig> {
 
     private static final String JDBC_DRIVER = "com.mysql.cj.jdbc.Driver";
+    private static final int STATEMENT_CACHE_SQL_LIMIT = 8192;
 
     public MysqlConnector() {
         super(50);
@@ -53,4 +54,17 @@ public class MysqlConnector extends SqlBasedConnector<MysqlDatasourceConfig> {
         }
         config.setReadOnly(datasourceConfig.isReadonly());
     }
+
+    /**
+     * server side prepared statements (useServerPrepStmts) are not turned on: they count against the server wide
+     * max_prepared_stmt_count for every pooled connection, they can be enabled per datasource with ext params
+     */
+    @Override
+    protected void setUpStatementCache(int statementCacheSize, HikariConfig config) {
+        config.addDataSourceProperty("cachePrepStmts", String.valueOf(statementCacheSize > 0));
+        if (statementCacheSize > 0) {
+            config.addDataSourceProperty("prepStmtCacheSize", String.valueOf(statementCacheSize));
+            config.addDataSourceProperty("prepStmtCacheSqlLimit", String.valueOf(STATEMENT_CACHE_SQL_LIMIT));
+        }
+    }
 }
@@ -43,6 +43,11 @@ public class OracleConnector extends SqlBasedConnector<OracleDatasourceConfig> {
         config.setReadOnly(oracleDatasourceConfig.isReadonly());
     }
 
+    @Override
+    protected void setUpStatementCache(int statementCacheSize, HikariConfig config) {
+        config.addDataSourceProperty("oracle.jdbc.implicitStatementCacheSize", String.valueOf(statementCacheSize));
+    }
+
     @Override
     public Set<String> validateConfig(OracleDatasourceConfig connectionConfig) {
         Set<String> validates = new HashSet<>();
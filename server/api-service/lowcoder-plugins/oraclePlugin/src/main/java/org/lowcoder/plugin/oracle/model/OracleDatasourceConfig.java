@@ -50,6 +50,9 @@ public class OracleDatasourceConfig extends SqlBasedDatasourceConnectionConfig {
                 .enableTurnOffPreparedStatement(newConfig.isEnableTurnOffPreparedStatement())
                 .isReadonly(newConfig.isReadonly())
                 .extParams(newConfig.getExtParams())
+                .maxRows(newConfig.getMaxRows())
+                .fetchSize(newConfig.getFetchSize())
+                .statementCacheSize(newConfig.getStatementCacheSize())
                 .build();
     }
 
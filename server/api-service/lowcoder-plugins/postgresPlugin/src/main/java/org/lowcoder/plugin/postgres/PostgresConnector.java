@@ -55,4 +55,12 @@ public class PostgresConnector extends SqlBasedConnector<PostgresDatasourceConfi
             config.setReadOnly(false);
         }
     }
+
+    /**
+     * statements are prepared on the server once they ran prepareThreshold (driver default 5) times on a connection
+     */
+    @Override
+    protected void setUpStatementCache(int statementCacheSize, HikariConfig config) {
+        config.addDataSourceProperty("preparedStatementCacheQueries", String.valueOf(statementCacheSize));
+    }
 }
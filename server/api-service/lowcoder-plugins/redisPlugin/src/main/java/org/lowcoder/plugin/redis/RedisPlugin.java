@@ -23,6 +23,7 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.lowcoder.plugin.redis.commands.RedisCommand;
 import org.lowcoder.plugin.redis.model.RedisDatasourceConfig;
 import org.lowcoder.plugin.redis.model.RedisQueryExecutionContext;
+import org.lowcoder.plugin.redis.model.RedisStatement;
 import org.lowcoder.plugin.redis.utils.RedisQueryUtils;
 import org.lowcoder.plugin.redis.utils.RedisUriUtils;
 import org.lowcoder.sdk.exception.PluginException;
@@ -39,8 +40,10 @@ import reactor.core.scheduler.Scheduler;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.Protocol;
-import redis.clients.jedis.Protocol.Command;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisDataException;
 import redis.clients.jedis.exceptions.JedisException;
 import redis.clients.jedis.util.SafeEncoder;
 
@@ -49,14 +52,15 @@ import java.time.Duration;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import static com.google.common.collect.Maps.newHashMap;
 import static java.util.Objects.isNull;
 import static org.lowcoder.plugin.redis.RedisError.REDIS_EXECUTION_ERROR;
 import static org.lowcoder.plugin.redis.RedisError.REDIS_URL_ERROR;
 import static org.lowcoder.plugin.redis.constants.RedisConstants.*;
+import static org.lowcoder.plugin.redis.constants.RedisFieldName.PIPELINE;
 import static org.lowcoder.plugin.redis.constants.RedisFieldName.RAW_COMMAND;
+import static org.lowcoder.plugin.redis.constants.RedisFieldName.TRANSACTION;
 import static org.lowcoder.plugin.redis.utils.RedisQueryUtils.convertRedisFormInputToRedisCommand;
 import static org.lowcoder.sdk.exception.PluginCommonError.QUERY_ARGUMENT_ERROR;
 import static org.lowcoder.sdk.plugin.common.QueryExecutionUtils.getValueSafelyFromFormData;
@@ -65,8 +69,23 @@ import static org.lowcoder.sdk.util.MustacheHelper.renderMustacheStringWithoutRe
 
 public class RedisPlugin extends Plugin {
     public static final int DEFAULT_QUERY_TIMEOUT_SECONDS = 8;
-    private static final String CMD_KEY = "cmd";
-    private static final String ARGS_KEY = "args";
+
+    /*
+      - This regex matches either a whole word, anything inside double quotes or a line break. If something is inside
+      single quotes then it gets matched like a whole word
+      - e.g. if the query string is: set key 'test match' "my val" '{"a":"b"}', then the regex matches the following:
+      (1) set
+      (2) key
+      (3) 'test match'
+      (4) "my val"
+      (5) '{"a":"b"}'
+      Please note that the above example string is not a valid redis cmd and is only mentioned here for info.
+      Line breaks inside quotes belong to the quoted argument. Other line breaks separate commands in pipeline or
+      transaction mode only, otherwise they are whitespace like in a single command.
+     */
+    private static final Pattern REDIS_TOKEN_PATTERN = Pattern.compile("\"[^\"]+\"|'[^']+'|\\S+|\\r?\\n");
+    // commands on their own lines between a MULTI line and an EXEC line also select the transaction mode
+    private static final Pattern MULTI_EXEC_PATTERN = Pattern.compile("(?is)\\s*MULTI[ \\t]*\\r?\\n.*\\r?\\n[ \\t]*EXEC\\s*");
 
     public RedisPlugin(PluginWrapper wrapper) {
         super(wrapper);
@@ -179,46 +198,52 @@ public class RedisPlugin extends Plugin {
                 Map<String, Object> requestParams, QueryVisitorContext queryVisitorContext) {
 
             queryConfig = newHashMap(queryConfig);
-            Protocol.Command protocolCommand;
-            String[] args;
+            List<RedisStatement> statements;
+            boolean pipeline = isEnabled(getValueSafelyFromFormData(queryConfig, PIPELINE));
+            boolean transaction = isEnabled(getValueSafelyFromFormData(queryConfig, TRANSACTION));
 
             if (RedisQueryUtils.isRawCommand(queryConfig)) {
                 String rawCommandString = getValueSafelyFromFormData(queryConfig, RAW_COMMAND, String.class);
                 String renderedCommandString = renderMustacheStringWithoutRemoveSurroundedPar(rawCommandString, requestParams);
-                Map<String, Object> cmdAndArgs = getCommandAndArgs(renderedCommandString.trim());
-                protocolCommand = Protocol.Command.valueOf((String) cmdAndArgs.get(CMD_KEY));
-                args = (String[]) cmdAndArgs.get(ARGS_KEY);
+                if (MULTI_EXEC_PATTERN.matcher(renderedCommandString).matches()) {
+                    statements = parseStatements(renderedCommandString, true);
+                    statements = statements.subList(1, statements.size() - 1);
+                    transaction = true;
+                } else {
+                    // without an explicit mode the query stays one command, which may span several lines
+                    statements = parseStatements(renderedCommandString, pipeline || transaction);
+                }
             } else {
                 RedisCommand redisCommand = convertRedisFormInputToRedisCommand(queryConfig);
-                protocolCommand = redisCommand.getProtocolCommand();
                 // this method will remove quotes around {{}}
-                args = renderMustacheArrayString(redisCommand.getArgs(), requestParams);
+                statements = List.of(new RedisStatement(redisCommand.getProtocolCommand(),
+                        renderMustacheArrayString(redisCommand.getArgs(), requestParams)));
             }
 
-            if (isNull(protocolCommand)) {
+            if (statements.isEmpty() || statements.stream().anyMatch(statement -> isNull(statement.protocolCommand()))) {
                 throw new PluginException(QUERY_ARGUMENT_ERROR, "COMMAND_EMPTY");
             }
 
             return RedisQueryExecutionContext.builder()
-                    .protocolCommand(protocolCommand)
-                    .args(args)
+                    .statements(statements)
+                    .pipeline(pipeline)
+                    .transaction(transaction)
                     .build();
         }
 
+        private static boolean isEnabled(Object value) {
+            return value instanceof Boolean bool ? bool : value instanceof String str && Boolean.parseBoolean(str.trim());
+        }
 
         @Override
         public Mono<QueryExecutionResult> executeQuery(JedisPool jedisPool, RedisQueryExecutionContext context) {
-            Command protocolCommand = context.getProtocolCommand();
-            String[] args = context.getArgs();
             return Mono.fromCallable(() -> {
                         try (Jedis jedis = jedisPool.getResource()) {
-                            Object commandOutput;
-                            if (ArrayUtils.isNotEmpty(args)) {
-                                commandOutput = jedis.sendCommand(protocolCommand, args);
-                            } else {
-                                commandOutput = jedis.sendCommand(protocolCommand);
+                            if (!context.isBatch()) {
+                                RedisStatement statement = context.getStatements().get(0);
+                                return QueryExecutionResult.success(processCommandOutput(sendCommand(jedis, statement)));
                             }
-                            return QueryExecutionResult.success(processCommandOutput(commandOutput));
+                            return QueryExecutionResult.success(executePipeline(jedis, context));
                         }
                     })
                     .onErrorResume(error -> {
@@ -228,62 +253,106 @@ public class RedisPlugin extends Plugin {
                     .subscribeOn(scheduler);
         }
 
-        private static Map<String, Object> getCommandAndArgs(String query) {
-            /*
-              - This regex matches either a whole word, or anything inside double quotes. If something is inside
-              single quotes then it gets matched like a whole word
-              - e.g. if the query string is: set key 'test match' "my val" '{"a":"b"}', then the regex matches the following:
-              (1) set
-              (2) key
-              (3) 'test match'
-              (4) "my val"
-              (5) '{"a":"b"}'
-              Please note that the above example string is not a valid redis cmd and is only mentioned here for info.
-             */
-            String redisCmdRegex = "\"[^\"]+\"|'[^']+'|\\S+";
-            Pattern pattern = Pattern.compile(redisCmdRegex);
-            Matcher matcher = pattern.matcher(query);
-            Map<String, Object> cmdAndArgs = new HashMap<>();
+        private static Object sendCommand(Jedis jedis, RedisStatement statement) {
+            if (ArrayUtils.isNotEmpty(statement.args())) {
+                return jedis.sendCommand(statement.protocolCommand(), statement.args());
+            }
+            return jedis.sendCommand(statement.protocolCommand());
+        }
+
+        /**
+         * Sends all statements in one round trip; the first failed statement fails the query.
+         */
+        private List<Object> executePipeline(Jedis jedis, RedisQueryExecutionContext context) {
+            List<RedisStatement> statements = context.getStatements();
+            Pipeline pipeline = jedis.pipelined();
+            if (context.isTransaction()) {
+                pipeline.multi();
+            }
+            List<Response<Object>> responses = new ArrayList<>(statements.size());
+            for (RedisStatement statement : statements) {
+                responses.add(pipeline.sendCommand(statement.protocolCommand(),
+                        ArrayUtils.nullToEmpty(statement.args())));
+            }
+            Response<List<Object>> execResponse = context.isTransaction() ? pipeline.exec() : null;
+            pipeline.sync();
+
+            List<Object> outputs;
+            if (execResponse != null) {
+                outputs = execResponse.get();
+                if (outputs == null) {
+                    throw new JedisDataException("transaction aborted");
+                }
+            } else {
+                outputs = new ArrayList<>(responses.size());
+                for (Response<Object> response : responses) {
+                    outputs.add(response.get());
+                }
+            }
+
+            List<Object> result = new ArrayList<>(outputs.size());
+            for (Object output : outputs) {
+                if (output instanceof JedisDataException error) {
+                    throw error;
+                }
+                result.add(processCommandOutput(output));
+            }
+            return result;
+        }
+
+        /**
+         * @param splitLines true to read one statement per line, for pipelines and transactions; false to read the whole
+         * query as one statement
+         */
+        static List<RedisStatement> parseStatements(String query, boolean splitLines) {
+            List<RedisStatement> statements = new ArrayList<>();
+            String command = null;
             List<String> args = new ArrayList<>();
+            Matcher matcher = REDIS_TOKEN_PATTERN.matcher(query);
             while (matcher.find()) {
-                if (!cmdAndArgs.containsKey(CMD_KEY)) {
-                    cmdAndArgs.put(CMD_KEY, matcher.group().toUpperCase());
+                String token = matcher.group();
+                if (token.endsWith("\n")) {
+                    if (!splitLines) {
+                        continue;
+                    }
+                    if (command != null) {
+                        statements.add(toStatement(command, args));
+                    }
+                    command = null;
+                    args = new ArrayList<>();
+                } else if (command == null) {
+                    command = token.toUpperCase();
                 } else {
-                    String arg = matcher.group();
-                    if (arg.startsWith("\"") && arg.endsWith("\"")) {
-                        arg = arg.substring(1, arg.length() - 1);
+                    if (token.startsWith("\"") && token.endsWith("\"")) {
+                        token = token.substring(1, token.length() - 1);
                     }
-                    args.add(arg);
+                    args.add(token);
                 }
             }
-
-            if (args.size() > 0) {
-                cmdAndArgs.put(ARGS_KEY, args.toArray(new String[0]));
+            if (command != null) {
+                statements.add(toStatement(command, args));
             }
+            return statements;
+        }
 
-            return cmdAndArgs;
+        private static RedisStatement toStatement(String command, List<String> args) {
+            return new RedisStatement(Protocol.Command.valueOf(command), args.isEmpty() ? null : args.toArray(new String[0]));
         }
 
         // This will be updated as we encounter different outputs.
-        @SuppressWarnings("unchecked")
-        private Object processCommandOutput(Object commandOutput) {
+        private static Object processCommandOutput(Object commandOutput) {
             if (commandOutput == null) {
                 return null;
             }
-            if (commandOutput instanceof byte[]) {
-                return SafeEncoder.encode((byte[]) commandOutput);
+            if (commandOutput instanceof byte[] bytes) {
+                return SafeEncoder.encode(bytes);
             }
-            if (commandOutput instanceof List) {
-                List<byte[]> commandList = (List<byte[]>) commandOutput;
-                return commandList.stream()
-                        .map(s -> {
-                            if (isNull(s)) {
-                                return null;
-                            } else {
-                                return SafeEncoder.encode(s);
-                            }
-                        })
-                        .collect(Collectors.toList());
+            if (commandOutput instanceof List<?> commandList) {
+                List<Object> result = new ArrayList<>(commandList.size());
+                for (Object item : commandList) {
+                    result.add(processCommandOutput(item));
+                }
+                return result;
             }
             return String.valueOf(commandOutput);
         }
@@ -7,6 +7,8 @@ public class RedisFieldName {
     public static final String COMP = "comp";
 
     public static final String RAW_COMMAND = COMP + "." + "command";
+    public static final String PIPELINE = COMP + "." + "pipeline";
+    public static final String TRANSACTION = COMP + "." + "transaction";
     public static final String KEY = COMP + "." + "key";
     public static final String KEYS = COMP + "." + "keys";
     public static final String VALUE = COMP + "." + "value";
@@ -1,15 +1,26 @@
 package org.lowcoder.plugin.redis.model;
 
+import java.util.List;
+
 import org.lowcoder.sdk.query.QueryExecutionContext;
 
 import lombok.Builder;
 import lombok.Getter;
-import redis.clients.jedis.Protocol;
 
+/**
+ * A single statement is sent on its own and its output is the result. In pipeline or transaction mode the statements
+ * are sent in one pipeline, wrapped in MULTI / EXEC if {@code transaction} is set, and the result is the array of their
+ * outputs.
+ */
 @Getter
 @Builder
 public class RedisQueryExecutionContext extends QueryExecutionContext {
 
-    private Protocol.Command protocolCommand;
-    private String[] args;
+    private List<RedisStatement> statements;
+    private boolean pipeline;
+    private boolean transaction;
+
+    public boolean isBatch() {
+        return pipeline || transaction || statements.size() > 1;
+    }
 }
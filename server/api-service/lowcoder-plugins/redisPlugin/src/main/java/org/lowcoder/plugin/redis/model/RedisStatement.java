@@ -0,0 +1,9 @@
+package org.lowcoder.plugin.redis.model;
+
+import redis.clients.jedis.Protocol;
+
+/**
+ * One redis command of a query with its rendered arguments.
+ */
+public record RedisStatement(Protocol.Command protocolCommand, String[] args) {
+}
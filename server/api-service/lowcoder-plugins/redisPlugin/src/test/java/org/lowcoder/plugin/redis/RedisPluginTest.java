@@ -0,0 +1,175 @@
+package org.lowcoder.plugin.redis;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.lowcoder.plugin.redis.RedisPlugin.RedisEngine;
+import org.lowcoder.plugin.redis.model.RedisQueryExecutionContext;
+import org.lowcoder.plugin.redis.model.RedisStatement;
+import org.lowcoder.sdk.models.QueryExecutionResult;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Protocol.Command;
+import redis.clients.jedis.Response;
+
+public class RedisPluginTest {
+
+    private final RedisEngine engine = new RedisEngine();
+
+    @Test
+    public void testParseQuotedArguments() {
+        List<RedisStatement> statements = RedisEngine.parseStatements("set key \"my val\" '{\"a\":\"b\"}'", false);
+
+        Assert.assertEquals(1, statements.size());
+        Assert.assertEquals(Command.SET, statements.get(0).protocolCommand());
+        Assert.assertArrayEquals(new String[] {"key", "my val", "'{\"a\":\"b\"}'"}, statements.get(0).args());
+    }
+
+    @Test
+    public void testParseLineBreakInsideQuotesBelongsToArgument() {
+        List<RedisStatement> statements = RedisEngine.parseStatements("SET key \"line 1\nline 2\"\nGET key", true);
+
+        Assert.assertEquals(2, statements.size());
+        Assert.assertArrayEquals(new String[] {"key", "line 1\nline 2"}, statements.get(0).args());
+        Assert.assertEquals(Command.GET, statements.get(1).protocolCommand());
+    }
+
+    @Test
+    public void testParseSkipsBlankLinesAndCrlf() {
+        List<RedisStatement> statements = RedisEngine.parseStatements("\r\nSET a 1\r\n\r\n   \r\nGET a\r\n", true);
+
+        Assert.assertEquals(2, statements.size());
+        Assert.assertEquals(Command.SET, statements.get(0).protocolCommand());
+        Assert.assertArrayEquals(new String[] {"a", "1"}, statements.get(0).args());
+        Assert.assertEquals(Command.GET, statements.get(1).protocolCommand());
+        Assert.assertArrayEquals(new String[] {"a"}, statements.get(1).args());
+    }
+
+    @Test
+    public void testParseCommandWithoutArgs() {
+        List<RedisStatement> statements = RedisEngine.parseStatements("  ping  ", false);
+
+        Assert.assertEquals(1, statements.size());
+        Assert.assertEquals(Command.PING, statements.get(0).protocolCommand());
+        Assert.assertNull(statements.get(0).args());
+    }
+
+    @Test
+    public void testMultiLineCommandStaysOneCommandByDefault() {
+        RedisQueryExecutionContext context = buildContext("HSET key\n  f1 v1\r\n  f2 v2", Map.of());
+
+        Assert.assertFalse(context.isBatch());
+        Assert.assertEquals(1, context.getStatements().size());
+        Assert.assertEquals(Command.HSET, context.getStatements().get(0).protocolCommand());
+        Assert.assertArrayEquals(new String[] {"key", "f1", "v1", "f2", "v2"}, context.getStatements().get(0).args());
+    }
+
+    @Test
+    public void testPipelineModeSplitsLines() {
+        RedisQueryExecutionContext context = buildContext("SET a 1\nINCR a", Map.of("pipeline", true));
+
+        Assert.assertTrue(context.isBatch());
+        Assert.assertFalse(context.isTransaction());
+        Assert.assertEquals(2, context.getStatements().size());
+        Assert.assertEquals(Command.INCR, context.getStatements().get(1).protocolCommand());
+    }
+
+    @Test
+    public void testMultiExecLinesMakeTransaction() {
+        RedisQueryExecutionContext context = buildContext("MULTI\r\nSET a 1\r\nINCR a\r\nEXEC", Map.of());
+
+        Assert.assertTrue(context.isTransaction());
+        Assert.assertEquals(2, context.getStatements().size());
+        Assert.assertEquals(Command.SET, context.getStatements().get(0).protocolCommand());
+        Assert.assertEquals(Command.INCR, context.getStatements().get(1).protocolCommand());
+    }
+
+    @Test
+    public void testPipelineOutput() {
+        Pipeline pipeline = mock(Pipeline.class);
+        Response<Object> setResponse = response("OK".getBytes(StandardCharsets.UTF_8));
+        Response<Object> incrResponse = response(2L);
+        when(pipeline.sendCommand(eq(Command.SET), any(String[].class))).thenReturn(setResponse);
+        when(pipeline.sendCommand(eq(Command.INCR), any(String[].class))).thenReturn(incrResponse);
+
+        RedisQueryExecutionContext context = buildContext("SET a 1\nINCR a", Map.of("pipeline", "true"));
+        QueryExecutionResult result = engine.executeQuery(pool(pipeline), context).block();
+
+        Assert.assertNotNull(result);
+        Assert.assertTrue(result.isSuccess());
+        Assert.assertEquals(List.of("OK", "2"), result.getData());
+        verify(pipeline, never()).multi();
+        verify(pipeline).sync();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testTransactionOutput() {
+        Pipeline pipeline = mock(Pipeline.class);
+        Response<Object> queued = response("QUEUED".getBytes(StandardCharsets.UTF_8));
+        when(pipeline.sendCommand(any(Command.class), any(String[].class))).thenReturn(queued);
+        Response<List<Object>> execResponse = mock(Response.class);
+        when(execResponse.get()).thenReturn(List.of("OK".getBytes(StandardCharsets.UTF_8), 2L));
+        when(pipeline.exec()).thenReturn(execResponse);
+
+        RedisQueryExecutionContext context = buildContext("MULTI\nSET a 1\nINCR a\nEXEC", Map.of());
+        QueryExecutionResult result = engine.executeQuery(pool(pipeline), context).block();
+
+        Assert.assertNotNull(result);
+        Assert.assertTrue(result.isSuccess());
+        Assert.assertEquals(List.of("OK", "2"), result.getData());
+        verify(pipeline).multi();
+        verify(pipeline).sync();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testAbortedTransactionFails() {
+        Pipeline pipeline = mock(Pipeline.class);
+        Response<Object> queued = response("QUEUED".getBytes(StandardCharsets.UTF_8));
+        when(pipeline.sendCommand(any(Command.class), any(String[].class))).thenReturn(queued);
+        Response<List<Object>> execResponse = mock(Response.class);
+        when(pipeline.exec()).thenReturn(execResponse);
+
+        RedisQueryExecutionContext context = buildContext("SET a 1\nINCR a", Map.of("transaction", true));
+        QueryExecutionResult result = engine.executeQuery(pool(pipeline), context).block();
+
+        Assert.assertNotNull(result);
+        Assert.assertFalse(result.isSuccess());
+    }
+
+    private RedisQueryExecutionContext buildContext(String command, Map<String, Object> options) {
+        Map<String, Object> comp = new HashMap<>(options);
+        comp.put("command", command);
+        Map<String, Object> queryConfig = Map.of("compType", "RAW", "comp", comp);
+        return engine.buildQueryExecutionContext(null, queryConfig, Map.of(), null);
+    }
+
+    private static JedisPool pool(Pipeline pipeline) {
+        Jedis jedis = mock(Jedis.class);
+        when(jedis.pipelined()).thenReturn(pipeline);
+        JedisPool pool = mock(JedisPool.class);
+        when(pool.getResource()).thenReturn(jedis);
+        return pool;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Response<Object> response(Object value) {
+        Response<Object> response = mock(Response.class);
+        when(response.get()).thenReturn(value);
+        return response;
+    }
+}
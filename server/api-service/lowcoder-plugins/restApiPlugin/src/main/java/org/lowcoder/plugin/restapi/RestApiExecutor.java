@@ -222,6 +222,7 @@ public class RestApiExecutor implements QueryExecutor<RestApiDatasourceConfig, O
                             .disallowedHosts(commonConfig.getDisallowedHosts())
                             .sslConfig(context.getSslConfig())
                             .timeoutMs(context.getTimeoutMs())
+                            .connectionPool(commonConfig.getHttpClientPool())
                             .toWebClientBuilder();
 
                     Map<String, String> allHeaders = context.getHeaders();
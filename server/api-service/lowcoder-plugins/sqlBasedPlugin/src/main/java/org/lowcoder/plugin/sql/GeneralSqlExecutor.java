@@ -4,9 +4,11 @@ import jakarta.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 import org.lowcoder.sdk.exception.PluginException;
+import org.lowcoder.sdk.models.LocaleMessage;
 import org.lowcoder.sdk.models.QueryExecutionResult;
 import org.lowcoder.sdk.plugin.common.sql.ResultSetParser;
 import org.lowcoder.sdk.plugin.common.sql.SqlBasedQueryExecutionContext;
+import org.lowcoder.sdk.plugin.common.sql.SqlResultLimit;
 import org.lowcoder.sdk.plugin.sqlcommand.GuiSqlCommand;
 import org.lowcoder.sdk.plugin.sqlcommand.GuiSqlCommand.GuiSqlCommandRenderResult;
 import org.lowcoder.sdk.plugin.sqlcommand.command.UpdateOrDeleteSingleCommandRenderResult;
@@ -50,30 +52,33 @@ public class GeneralSqlExecutor {
         Map<String, Object> requestParams = new HashMap<>(context.getRequestParams());
 
         StatementInput statementInput = getSqlExecutionInput(guiSqlCommand, query, isPreparedStatement, requestParams);
-        return doExecute(connection, statementInput);
+        return doExecute(connection, statementInput, context.getResultLimit());
     }
 
-    private QueryExecutionResult doExecute(Connection connection, StatementInput statementInput) {
-        Pair<Statement, Boolean> executionResult = getStatementAndExecute(connection, statementInput);
+    private QueryExecutionResult doExecute(Connection connection, StatementInput statementInput, SqlResultLimit resultLimit) {
+        Pair<Statement, Boolean> executionResult = getStatementAndExecute(connection, statementInput, resultLimit);
 
         boolean isResultSet = executionResult.getRight();
         try (Statement statement = executionResult.getLeft()) {
-            return parseExecuteResult(statement, isResultSet);
+            return parseExecuteResult(statement, isResultSet, resultLimit);
         } catch (SQLException e) {
             throw wrapException(QUERY_EXECUTION_ERROR, "QUERY_EXECUTION_ERROR", e);
         }
     }
 
-    private QueryExecutionResult parseExecuteResult(Statement statement, boolean isResultSet) throws SQLException {
+    private QueryExecutionResult parseExecuteResult(Statement statement, boolean isResultSet, SqlResultLimit resultLimit)
+            throws SQLException {
 
         List<Object> result = newArrayList();
+        List<LocaleMessage> hintMessages = newArrayList();
         int updateCount = statement.getUpdateCount();
         do {
             if (isResultSet) {
                 try (ResultSet resultSet = statement.getResultSet()) {
+                    resultLimit.skipOffset(resultSet);
                     List<Map<String, Object>> dataRows = parseDataRows(resultSet);
                     if (!isGeneratedKeysWithNullValue(dataRows)) {
-                        result.add(dataRows);
+                        result.add(resultLimit.toResult(dataRows, hintMessages));
                     }
                 }
             } else {
@@ -85,10 +90,10 @@ public class GeneralSqlExecutor {
         } while (isResultSet || updateCount != -1);
 
         if (result.size() == 1) {
-            return QueryExecutionResult.success(result.get(0));
+            return QueryExecutionResult.success(result.get(0), hintMessages);
         }
 
-        return QueryExecutionResult.success(result);
+        return QueryExecutionResult.success(result, hintMessages);
     }
 
     protected List<Map<String, Object>> parseDataRows(ResultSet resultSet) throws SQLException {
@@ -133,11 +138,12 @@ public class GeneralSqlExecutor {
         return false;
     }
 
-    private Pair<Statement, Boolean> getStatementAndExecute(Connection connection, StatementInput statementInput) {
+    private Pair<Statement, Boolean> getStatementAndExecute(Connection connection, StatementInput statementInput,
+            SqlResultLimit resultLimit) {
 
         if (statementInput instanceof UpdateOrDeleteSingleRowStatementInput comboInput) {
             StatementInput selectInput = comboInput.getSelectInput();
-            QueryExecutionResult selectResult = doExecute(connection, selectInput);
+            QueryExecutionResult selectResult = doExecute(connection, selectInput, SqlResultLimit.NONE);
             int selectCount = getSelectCount(selectResult);
             if (selectCount > 1) {
                 throw new PluginException(QUERY_EXECUTION_ERROR, "AFFECT_MORE_THAN_ONE_ROWS_FOR_SINGLE_COMMAND");
@@ -149,6 +155,7 @@ public class GeneralSqlExecutor {
                 String sql = statementInput.getSql();
                 List<Object> params = statementInput.getParams();
                 var statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                resultLimit.applyTo(statement);
 
                 bindPreparedStatementParams(statement, params);
                 var isResultSet = statement.execute();
@@ -156,6 +163,7 @@ public class GeneralSqlExecutor {
             }
 
             var statement = connection.createStatement();
+            resultLimit.applyTo(statement);
             boolean isResultSet;
             if (supportGenerateKeys) {
                 isResultSet = statement.execute(statementInput.getSql(), Statement.RETURN_GENERATED_KEYS);
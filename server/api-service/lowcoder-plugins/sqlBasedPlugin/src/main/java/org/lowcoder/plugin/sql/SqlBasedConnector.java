@@ -53,6 +53,7 @@ public abstract class SqlBasedConnector<T extends SqlBasedDatasourceConnectionCo
         config.setInitializationFailTimeout(INITIALIZATION_FAIL_TIMEOUT);
 
         setUpConfigs(connectionConfig, config);
+        setUpStatementCache(connectionConfig.getStatementCacheSizeOrDefault(), config);
 
         connectionConfig.getExtParams()
                 .forEach((key, value) -> {
@@ -77,6 +78,16 @@ public abstract class SqlBasedConnector<T extends SqlBasedDatasourceConnectionCo
 
     protected abstract void setUpConfigs(T datasourceConfig, HikariConfig config);
 
+    /**
+     * Hikari closes the statements of a connection when it goes back to the pool, so prepared statements are cached by
+     * the jdbc driver, per physical connection and keyed by sql text. Driver properties set here can still be
+     * overridden by the datasource ext params.
+     *
+     * @param statementCacheSize max statements cached per connection, 0 means no caching
+     */
+    protected void setUpStatementCache(int statementCacheSize, HikariConfig config) {
+    }
+
     @Nonnull
     @Override
     protected final DatasourceTestResult blockingTestConnection(HikariPerfWrapper wrapper) {
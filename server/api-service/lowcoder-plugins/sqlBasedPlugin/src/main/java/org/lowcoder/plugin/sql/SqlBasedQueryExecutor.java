@@ -15,6 +15,7 @@ import org.lowcoder.sdk.plugin.common.SqlQueryUtils;
 import org.lowcoder.sdk.plugin.common.sql.HikariPerfWrapper;
 import org.lowcoder.sdk.plugin.common.sql.SqlBasedDatasourceConnectionConfig;
 import org.lowcoder.sdk.plugin.common.sql.SqlBasedQueryExecutionContext;
+import org.lowcoder.sdk.plugin.common.sql.SqlResultLimit;
 import org.lowcoder.sdk.plugin.sqlcommand.GuiSqlCommand;
 import org.lowcoder.sdk.query.QueryVisitorContext;
 import org.lowcoder.sdk.util.MustacheHelper;
@@ -26,6 +27,7 @@ import java.util.Set;
 
 import static org.lowcoder.sdk.exception.PluginCommonError.*;
 import static org.lowcoder.sdk.util.ExceptionUtils.wrapException;
+import static org.lowcoder.sdk.util.MustacheHelper.renderMustacheString;
 
 @Slf4j
 public abstract class SqlBasedQueryExecutor extends BlockingQueryExecutor<SqlBasedDatasourceConnectionConfig,
@@ -48,6 +50,7 @@ public abstract class SqlBasedQueryExecutor extends BlockingQueryExecutor<SqlBas
             return SqlBasedQueryExecutionContext.builder()
                     .guiSqlCommand(sqlCommand)
                     .requestParams(requestParams)
+                    .resultLimit(SqlResultLimit.of(datasourceConfig))
                     .build();
         }
 
@@ -61,6 +64,9 @@ public abstract class SqlBasedQueryExecutor extends BlockingQueryExecutor<SqlBas
                 .requestParams(requestParams)
                 .disablePreparedStatement(datasourceConfig.isEnableTurnOffPreparedStatement() &&
                         sqlQueryConfig.isDisablePreparedStatement())
+                .resultLimit(SqlResultLimit.of(datasourceConfig,
+                        renderMustacheString(sqlQueryConfig.getPageSize(), requestParams),
+                        renderMustacheString(sqlQueryConfig.getPageToken(), requestParams)))
                 .build();
     }
 
@@ -22,6 +22,8 @@ public class SqlQueryConfig {
     private final String sql;
     private final boolean disablePreparedStatement;
     private final String mode;
+    private final String pageSize;
+    private final String pageToken;
 
     @JsonAlias("commandType")
     private final String guiStatementType;
@@ -31,11 +33,15 @@ public class SqlQueryConfig {
     @JsonCreator
     private SqlQueryConfig(String sql, boolean disablePreparedStatement,
             String mode,
+            String pageSize,
+            String pageToken,
             String guiStatementType,
             Map<String, Object> guiStatementDetail) {
         this.sql = sql;
         this.disablePreparedStatement = disablePreparedStatement;
         this.mode = mode;
+        this.pageSize = pageSize;
+        this.pageToken = pageToken;
         this.guiStatementType = guiStatementType;
         this.guiStatementDetail = guiStatementDetail;
     }
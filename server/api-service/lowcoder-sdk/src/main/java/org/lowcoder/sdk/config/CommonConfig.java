@@ -6,10 +6,12 @@ import lombok.Setter;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.lowcoder.sdk.constants.AssetStorageType;
 import org.lowcoder.sdk.constants.WorkspaceMode;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 
 import java.time.Duration;
 import java.util.*;
@@ -36,8 +38,17 @@ public class CommonConfig {
     private String maxQueryRequestSize = "20MB";
     private String maxQueryResponseSize = "20MB";
     private Query query = new Query();
+    private HttpClientPool httpClientPool = new HttpClientPool();
+    private PermissionCache permissionCache = new PermissionCache();
+    private FolderTreeCache folderTreeCache = new FolderTreeCache();
+    private HistorySnapshot historySnapshot = new HistorySnapshot();
+    private Migration migration = new Migration();
+    private RateLimit rateLimit = new RateLimit();
+    private EventBus eventBus = new EventBus();
+    private Metrics metrics = new Metrics();
     private Cookie cookie = new Cookie();
     private JsExecutor jsExecutor = new JsExecutor();
+    private AssetStorage assetStorage = new AssetStorage();
     private Set<String> disallowedHosts = new HashSet<>();
     private List<String> pluginDirs = new ArrayList<>();
     private SuperAdmin superAdmin = new SuperAdmin();
@@ -138,11 +149,28 @@ public class CommonConfig {
     public static class Cookie {
         //Set cookie max age to 1 day
         private long maxAgeInSeconds = Duration.ofDays(1).toSeconds();
+        // how long a resolved token => user id is kept locally before asking redis again
+        private Duration sessionCacheTtl = Duration.ofSeconds(10);
+        // the session expiry is extended at most once per interval and token
+        private Duration extendValidityInterval = Duration.ofMinutes(1);
     }
 
     @Data
     public static class JsExecutor {
         private String host;
+        // plugin definitions of the node service are reloaded in the background after this interval
+        private Duration pluginDefinitionRefreshInterval = Duration.ofMinutes(5);
+    }
+
+    /**
+     * where the content of newly uploaded assets (avatars, logos, icons) is stored, assets keep the storage they were
+     * uploaded to
+     */
+    @Data
+    public static class AssetStorage {
+        private AssetStorageType type = AssetStorageType.GRIDFS;
+        private String gridFsBucketName = "asset";
+        private String filesystemPath = "../assets";
     }
 
     @Data
@@ -156,6 +184,188 @@ public class CommonConfig {
     @Setter
     public static class Query {
         private long readStructureTimeout = 15000;
+        // upper bound of the opt-in per query result cache ttl
+        private long maxResultCacheTtl = Duration.ofMinutes(10).toMillis();
+        private long resultCacheMaxSize = 10000;
+        // concurrency limits of queries run by java based plugins; executions over the limit wait in a bounded queue,
+        // the rest are rejected
+        private int datasourceMaxConcurrency = 20;
+        private int datasourceMaxQueued = 100;
+        private int pluginMaxConcurrency = 80;
+        private int pluginMaxQueued = 1000;
+        // datasource id => max concurrency
+        private Map<String, Integer> datasourceMaxConcurrencyOverrides = new HashMap<>();
+        // plugin type => max concurrency
+        private Map<String, Integer> pluginMaxConcurrencyOverrides = new HashMap<>();
+    }
+
+    /**
+     * short-lived, node local cache of org members' permission decisions on resources
+     */
+    @Data
+    public static class PermissionCache {
+        private boolean enabled = true;
+        private Duration ttl = Duration.ofSeconds(10);
+        private long maxSize = 100000;
+    }
+
+    /**
+     * node local cache of every org's folder hierarchy and folder contents, used to list folder elements; changes are
+     * also invalidated on the other nodes over redis, the ttl bounds the staleness if an invalidation is lost
+     */
+    @Data
+    public static class FolderTreeCache {
+        private boolean enabled = true;
+        private Duration ttl = Duration.ofSeconds(30);
+        private long maxSize = 10000;
+    }
+
+    /**
+     * storage of application history snapshots: a full keyframe every keyframeInterval snapshots, compressed deltas in
+     * between. Snapshots beyond the retention are removed whenever an application starts a new keyframe.
+     */
+    @Data
+    public static class HistorySnapshot {
+        private int keyframeInterval = 20;
+        /**
+         * snapshots older than this are removed, null keeps them forever
+         */
+        private Duration retention;
+        /**
+         * newest snapshots kept per application, 0 keeps all
+         */
+        private int maxCount = 0;
+        /**
+         * heap used to keep the dsl of each application's latest snapshot, which the next snapshot is diffed against;
+         * dsls are weighed by their serialized size
+         */
+        private DataSize latestDslCacheSize = DataSize.ofMegabytes(64);
+    }
+
+    /**
+     * database migrations rewriting whole collections
+     */
+    @Data
+    public static class Migration {
+        /**
+         * documents per bulk write, also the checkpoint interval
+         */
+        private int batchSize = 1000;
+    }
+
+    /**
+     * cluster-wide request rate limits. Every rule is a token bucket of capacity requests refilled at refillPerSecond,
+     * kept per value of its key, e.g. one bucket per org for {@link RateLimitKey#ORG}.
+     */
+    @Data
+    public static class RateLimit {
+        /**
+         * redis shares the buckets between all nodes, memory keeps them per node (single node deployments and tests)
+         */
+        private RateLimitStore store = RateLimitStore.REDIS;
+        /**
+         * longest wait for the redis store before a request is let through unchecked, well below the command timeout of
+         * the redis client
+         */
+        private Duration redisTimeout = Duration.ofMillis(200);
+        private List<RateLimitRule> rules = new ArrayList<>();
+    }
+
+    @Data
+    public static class RateLimitRule {
+        private String name;
+        private RateLimitKey key = RateLimitKey.USER;
+        /**
+         * path patterns of the endpoint group the rule applies to, e.g. /api/query/**; empty applies to all requests
+         */
+        private List<String> paths = new ArrayList<>();
+        private long capacity;
+        private double refillPerSecond;
+    }
+
+    public enum RateLimitKey {
+        USER,
+        ORG,
+        API_KEY,
+        IP,
+        /**
+         * one bucket per rule, shared by every request of its endpoint group
+         */
+        ENDPOINT,
+    }
+
+    public enum RateLimitStore {
+        REDIS,
+        MEMORY,
+    }
+
+    /**
+     * settings of the long-lived http clients shared by rest api / graphql queries
+     */
+    @Data
+    public static class HttpClientPool {
+        private int maxConnections = 500;
+        private int pendingAcquireMaxCount = 1000;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(45);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictInterval = Duration.ofSeconds(30);
+        // an unused client (and its connections) is released after this time
+        private Duration clientExpireAfterAccess = Duration.ofMinutes(30);
+        private int maxClients = 200;
+    }
+
+    /**
+     * settings of the asynchronous bus delivering business events to plugin event listeners; every listener has its own
+     * bounded queue and workers
+     */
+    @Data
+    public static class EventBus {
+        private int queueCapacity = 10000;
+        // a listener with more than one worker receives events concurrently and out of order, it must be thread-safe
+        private int workers = 1;
+        private BackpressurePolicy defaultBackpressure = BackpressurePolicy.DROP_OLDEST;
+        // event type => backpressure policy applied when a listener queue is full
+        private Map<String, BackpressurePolicy> backpressure = new HashMap<>();
+        // how long BLOCK waits for room in a full queue before dropping the event; it never waits on non-blocking
+        // (event loop) threads, there a full queue drops the event right away
+        private Duration blockTimeout = Duration.ofMillis(500);
+        // once a queue is half full, SAMPLE keeps one event in every sampleRate events
+        private int sampleRate = 10;
+        // on shutdown, how long the workers may take to deliver the queued events
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+        public BackpressurePolicy getBackpressure(String eventType) {
+            return backpressure.getOrDefault(eventType, defaultBackpressure);
+        }
+
+        public enum BackpressurePolicy {
+            BLOCK,
+            DROP_OLDEST,
+            SAMPLE,
+        }
+    }
+
+    @Data
+    public static class Metrics {
+        // distinct tag sets per meter name; further tag sets are recorded under the overflow tag value
+        private int maxTagSetsPerMeter = 1000;
+        private Histogram defaultHistogram = new Histogram();
+        // meter name, e.g. event_bus_listener_latency => histogram settings of its timers
+        private Map<String, Histogram> histograms = new HashMap<>();
+
+        public Histogram getHistogram(String meterName) {
+            return histograms.getOrDefault(meterName, defaultHistogram);
+        }
+
+        @Data
+        public static class Histogram {
+            // client side percentiles, not aggregatable across nodes
+            private List<Double> percentiles = List.of(0.95);
+            // publishes the histogram buckets so that percentiles can be computed in prometheus
+            private boolean percentileHistogram;
+            private List<Duration> slo = new ArrayList<>();
+        }
     }
 
     @Data
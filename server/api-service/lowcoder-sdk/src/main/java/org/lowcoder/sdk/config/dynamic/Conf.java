@@ -1,5 +1,6 @@
 package org.lowcoder.sdk.config.dynamic;
 
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -8,4 +9,11 @@ public interface Conf<T> extends Supplier<T> {
     default <K> Conf<K> then(Function<T, K> mapper) {
         return () -> mapper.apply(this.get());
     }
+
+    /**
+     * @param listener called with the new value once the config changes; a static config never changes
+     */
+    default Conf<T> onChange(Consumer<T> listener) {
+        return this;
+    }
 }
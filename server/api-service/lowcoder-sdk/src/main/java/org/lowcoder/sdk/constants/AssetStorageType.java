@@ -0,0 +1,11 @@
+package org.lowcoder.sdk.constants;
+
+public enum AssetStorageType {
+
+    /**
+     * content kept inside the asset document, how assets were stored before the other storages existed
+     */
+    DOCUMENT,
+    GRIDFS,
+    FILESYSTEM
+}
@@ -6,6 +6,7 @@ public enum PluginCommonError implements PluginError {
     QUERY_EXECUTION_ERROR(ErrorLogType.VERBOSE),
     QUERY_ARGUMENT_ERROR,
     QUERY_EXECUTION_TIMEOUT,
+    QUERY_EXECUTION_REJECTED,
 
     INVALID_QUERY_SETTINGS,
     DATASOURCE_GET_STRUCTURE_ERROR,
@@ -2,6 +2,7 @@ package org.lowcoder.sdk.plugin.common.sql;
 
 import org.jetbrains.annotations.Nullable;
 
+import java.sql.Date;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -18,6 +19,9 @@ import static org.lowcoder.sdk.util.DateTimeUtils.DATE_TIME_FORMAT;
 
 /**
  * sql result parser
+ * <p>
+ * Column labels and the way each column is read are resolved from the result set metadata once, before the first row,
+ * so parsing a cell is a single call of the column's getter.
  */
 public class ResultSetParser {
 
@@ -25,65 +29,95 @@ public class ResultSetParser {
     public static final String DATETIME_COLUMN_TYPE_NAME = "datetime";
     public static final String TIMESTAMP_COLUMN_TYPE_NAME = "timestamp";
     public static final String YEAR_COLUMN_TYPE_NAME = "year";
+    public static final String TIME_COLUMN_TYPE_NAME = "time";
 
     public static List<Map<String, Object>> parseRows(ResultSet resultSet) throws SQLException {
-        ResultSetMetaData metaData = resultSet.getMetaData();
-        int columnCount = metaData.getColumnCount();
         List<Map<String, Object>> result = new ArrayList<>();
-        while (resultSet.next()) {
-            Map<String, Object> row = parseRow(resultSet, metaData, columnCount);
-            result.add(row);
+        if (!resultSet.next()) {
+            return result;
         }
-        return result;
-    }
-
-    private static Map<String, Object> parseRow(ResultSet resultSet, ResultSetMetaData metaData, int colCount) throws SQLException {
-        Map<String, Object> row = new LinkedHashMap<>(colCount);
 
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        String[] labels = new String[columnCount];
+        ColumnReader[] readers = new ColumnReader[columnCount];
         // the first column is 1, the second is 2, ...
-        for (int i = 1; i <= colCount; i++) {
-            String typeName = metaData.getColumnTypeName(i);
-            Object value = getValue(resultSet, i, typeName);
-            row.put(metaData.getColumnLabel(i), value);
+        for (int i = 0; i < columnCount; i++) {
+            readers[i] = getColumnReader(metaData.getColumnTypeName(i + 1));
+            labels[i] = metaData.getColumnLabel(i + 1);
         }
-        return row;
-    }
-
-    @Nullable
-    private static Object getValue(ResultSet resultSet, int i, String typeName) throws SQLException {
 
-        // Special handle for this issue:
-        // com.mysql.cj.exceptions.DataReadException: The value '30:00:00' is an invalid TIME value.
-        //  JDBC Time objects represent a wall-clock time and not a duration as MySQL treats them. If
-        //  you are treating this type as a duration, consider retrieving this value as a string and
-        //  dealing with it according to your requirements.
-        if (typeName.equalsIgnoreCase("TIME") && isDuration(resultSet, i)) {
-            return resultSet.getString(i);
-        }
+        // sized so that a row map never rehashes
+        int rowCapacity = (int) (columnCount / 0.75f) + 1;
+        do {
+            Map<String, Object> row = new LinkedHashMap<>(rowCapacity);
+            for (int i = 0; i < columnCount; i++) {
+                row.put(labels[i], readers[i].read(resultSet, i + 1));
+            }
+            result.add(row);
+        } while (resultSet.next());
+        return result;
+    }
 
-        if (resultSet.getObject(i) == null) {
-            return null;
+    private static ColumnReader getColumnReader(@Nullable String typeName) {
+        if (TIME_COLUMN_TYPE_NAME.equalsIgnoreCase(typeName)) {
+            return ResultSetParser::readTime;
         }
         if (DATE_COLUMN_TYPE_NAME.equalsIgnoreCase(typeName)) {
-            return DateTimeFormatter.ISO_DATE.format(resultSet.getDate(i).toLocalDate());
+            return ResultSetParser::readDate;
         }
         if (DATETIME_COLUMN_TYPE_NAME.equalsIgnoreCase(typeName)
                 || TIMESTAMP_COLUMN_TYPE_NAME.equalsIgnoreCase(typeName)) {
-            return DATE_TIME_FORMAT.format(LocalDateTime.of(resultSet.getDate(i).toLocalDate(), resultSet.getTime(i).toLocalTime()));
+            return ResultSetParser::readDateTime;
         }
         if (YEAR_COLUMN_TYPE_NAME.equalsIgnoreCase(typeName)) {
-            return resultSet.getDate(i).toLocalDate().getYear();
+            return ResultSetParser::readYear;
         }
-        return resultSet.getObject(i);
+        return ResultSet::getObject;
     }
 
-    private static boolean isDuration(ResultSet resultSet, int i) {
+    @Nullable
+    private static Object readTime(ResultSet resultSet, int column) throws SQLException {
         try {
-            resultSet.getObject(i);
+            return resultSet.getObject(column);
         } catch (SQLException e) {
-            return e.getMessage().contains("JDBC Time objects represent a wall-clock");
+            // Special handle for this issue:
+            // com.mysql.cj.exceptions.DataReadException: The value '30:00:00' is an invalid TIME value.
+            //  JDBC Time objects represent a wall-clock time and not a duration as MySQL treats them. If
+            //  you are treating this type as a duration, consider retrieving this value as a string and
+            //  dealing with it according to your requirements.
+            if (e.getMessage() != null && e.getMessage().contains("JDBC Time objects represent a wall-clock")) {
+                return resultSet.getString(column);
+            }
+            throw e;
         }
-        return false;
+    }
+
+    @Nullable
+    private static Object readDate(ResultSet resultSet, int column) throws SQLException {
+        Date date = resultSet.getDate(column);
+        return date == null ? null : DateTimeFormatter.ISO_DATE.format(date.toLocalDate());
+    }
+
+    @Nullable
+    private static Object readDateTime(ResultSet resultSet, int column) throws SQLException {
+        Date date = resultSet.getDate(column);
+        if (date == null) {
+            return null;
+        }
+        return DATE_TIME_FORMAT.format(LocalDateTime.of(date.toLocalDate(), resultSet.getTime(column).toLocalTime()));
+    }
+
+    @Nullable
+    private static Object readYear(ResultSet resultSet, int column) throws SQLException {
+        Date date = resultSet.getDate(column);
+        return date == null ? null : date.toLocalDate().getYear();
+    }
+
+    @FunctionalInterface
+    private interface ColumnReader {
+        @Nullable
+        Object read(ResultSet resultSet, int column) throws SQLException;
     }
 
     public static List<String> parseColumns(ResultSetMetaData metaData) throws SQLException {
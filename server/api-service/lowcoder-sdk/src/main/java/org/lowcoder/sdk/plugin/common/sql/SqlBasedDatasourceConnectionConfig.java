@@ -1,5 +1,6 @@
 package org.lowcoder.sdk.plugin.common.sql;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonView;
 import lombok.Getter;
 import lombok.experimental.SuperBuilder;
@@ -24,6 +25,8 @@ import static org.lowcoder.sdk.util.ExceptionUtils.ofException;
 @SuperBuilder
 public abstract class SqlBasedDatasourceConnectionConfig implements DatasourceConnectionConfig {
 
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 250;
+
     private final String database;
     private final String username;
 
@@ -41,6 +44,25 @@ public abstract class SqlBasedDatasourceConnectionConfig implements DatasourceCo
 
     private final Map<String, Object> extParams;
 
+    /**
+     * max rows returned by a single query, null means unlimited, see {@link SqlResultLimit}
+     */
+    @JsonProperty
+    private Integer maxRows;
+
+    /**
+     * jdbc fetch size hint, null means the driver default
+     */
+    @JsonProperty
+    private Integer fetchSize;
+
+    /**
+     * prepared statements cached by the jdbc driver per pooled connection, null means
+     * {@link #DEFAULT_STATEMENT_CACHE_SIZE} and 0 turns the cache off
+     */
+    @JsonProperty
+    private Integer statementCacheSize;
+
     protected SqlBasedDatasourceConnectionConfig(String database, String username, String password, String host, Long port,
             boolean usingSsl, String serverTimezone, boolean isReadonly,
             boolean enableTurnOffPreparedStatement,
@@ -95,6 +117,10 @@ public abstract class SqlBasedDatasourceConnectionConfig implements DatasourceCo
         return enableTurnOffPreparedStatement;
     }
 
+    public final int getStatementCacheSizeOrDefault() {
+        return statementCacheSize == null ? DEFAULT_STATEMENT_CACHE_SIZE : Math.max(statementCacheSize, 0);
+    }
+
     public Map<String, Object> getExtParams() {
         return emptyIfNull(extParams);
     }
@@ -117,21 +143,32 @@ public abstract class SqlBasedDatasourceConnectionConfig implements DatasourceCo
                 updatedConfig.isReadonly(),
                 updatedConfig.isEnableTurnOffPreparedStatement(),
                 updatedConfig.getExtParams()
-        );
+        ).withQuerySettingsOf(updatedConfig);
     }
 
-    private DatasourceConnectionConfig createMergedConnectionConfig(String database, String username, String password, String host,
+    private SqlBasedDatasourceConnectionConfig createMergedConnectionConfig(String database, String username, String password, String host,
             long port, boolean usingSsl, String serverTimezone, boolean readonly, boolean enableTurnOffPreparedStatement,
             Map<String, Object> extParams) {
         Constructor<?>[] constructors = getClass().getConstructors();
         try {
-            return (DatasourceConnectionConfig) constructors[0].newInstance(database, username, password,
+            return (SqlBasedDatasourceConnectionConfig) constructors[0].newInstance(database, username, password,
                     host, port, usingSsl, serverTimezone, readonly, enableTurnOffPreparedStatement, extParams);
         } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
             throw new ServerException("fail to create SQL data source: {0}", e.getMessage());
         }
     }
 
+    /**
+     * Copies {@code maxRows}, {@code fetchSize} and {@code statementCacheSize}, which are not constructor arguments, from
+     * another config. Only meant for a config that was just created, e.g. by a merge.
+     */
+    protected final SqlBasedDatasourceConnectionConfig withQuerySettingsOf(SqlBasedDatasourceConnectionConfig source) {
+        this.maxRows = source.getMaxRows();
+        this.fetchSize = source.getFetchSize();
+        this.statementCacheSize = source.getStatementCacheSize();
+        return this;
+    }
+
     @Override
     public final DatasourceConnectionConfig doEncrypt(Function<String, String> encryptFunc) {
         try {
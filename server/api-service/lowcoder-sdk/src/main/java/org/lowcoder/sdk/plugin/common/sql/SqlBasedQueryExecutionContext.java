@@ -16,25 +16,32 @@ public class SqlBasedQueryExecutionContext extends QueryExecutionContext {
     private final Map<String, Object> requestParams;
     private final boolean disablePreparedStatement;
     private final GuiSqlCommand guiSqlCommand;
+    private final SqlResultLimit resultLimit;
 
     @Builder
     private SqlBasedQueryExecutionContext(String query, Map<String, Object> requestParams, boolean disablePreparedStatement,
-            GuiSqlCommand guiSqlCommand) {
+            GuiSqlCommand guiSqlCommand, SqlResultLimit resultLimit) {
         this.query = query;
         this.requestParams = requestParams;
         this.disablePreparedStatement = disablePreparedStatement;
         this.guiSqlCommand = guiSqlCommand;
+        this.resultLimit = resultLimit;
     }
 
     public Map<String, Object> getRequestParams() {
         return emptyIfNull(requestParams);
     }
 
+    public SqlResultLimit getResultLimit() {
+        return resultLimit == null ? SqlResultLimit.NONE : resultLimit;
+    }
+
     public SqlBasedQueryExecutionContextBuilder toBuilder() {
         return SqlBasedQueryExecutionContext.builder()
                 .query(query)
                 .requestParams(requestParams)
                 .disablePreparedStatement(disablePreparedStatement)
-                .guiSqlCommand(guiSqlCommand);
+                .guiSqlCommand(guiSqlCommand)
+                .resultLimit(resultLimit);
     }
 }
@@ -0,0 +1,152 @@
+package org.lowcoder.sdk.plugin.common.sql;
+
+import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.StringUtils;
+import org.lowcoder.sdk.exception.PluginException;
+import org.lowcoder.sdk.models.LocaleMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.lowcoder.sdk.exception.PluginCommonError.QUERY_ARGUMENT_ERROR;
+
+/**
+ * Row limits of a sql query, enforced on the jdbc statement so that rows beyond the limit are never loaded.
+ * <p>
+ * {@code maxRows} and {@code fetchSize} come from the datasource, {@code pageSize} and {@code pageToken} from the query.
+ * Without paging the result is truncated to {@code maxRows} with a hint message; with paging the result becomes
+ * {@code {"rows": [...], "nextPageToken": "..."}} and the token can be passed back to read the next page.
+ */
+public final class SqlResultLimit {
+
+    public static final SqlResultLimit NONE = new SqlResultLimit(0, 0, 0, 0);
+
+    public static final String ROWS = "rows";
+    public static final String NEXT_PAGE_TOKEN = "nextPageToken";
+
+    private final int maxRows;
+    private final int fetchSize;
+    private final int pageSize;
+    private final long offset;
+
+    private SqlResultLimit(int maxRows, int fetchSize, int pageSize, long offset) {
+        this.maxRows = maxRows;
+        this.fetchSize = fetchSize;
+        this.pageSize = pageSize;
+        this.offset = offset;
+    }
+
+    public static SqlResultLimit of(SqlBasedDatasourceConnectionConfig datasourceConfig) {
+        return of(datasourceConfig, null, null);
+    }
+
+    /**
+     * @param pageSizeStr rendered page size of the query, blank means no paging
+     * @param pageToken rendered token returned by the previous page, blank means the first page
+     */
+    public static SqlResultLimit of(SqlBasedDatasourceConnectionConfig datasourceConfig, @Nullable String pageSizeStr,
+            @Nullable String pageToken) {
+        int maxRows = positiveOrZero(datasourceConfig.getMaxRows());
+        int fetchSize = positiveOrZero(datasourceConfig.getFetchSize());
+        if (StringUtils.isBlank(pageSizeStr)) {
+            return new SqlResultLimit(maxRows, fetchSize, 0, 0);
+        }
+
+        int pageSize = parsePageSize(pageSizeStr);
+        if (maxRows > 0) {
+            pageSize = Math.min(pageSize, maxRows);
+        }
+        return new SqlResultLimit(maxRows, fetchSize, pageSize, decodePageToken(pageToken));
+    }
+
+    public boolean isPaging() {
+        return pageSize > 0;
+    }
+
+    /**
+     * reads one more row than the limit so that truncation / a next page can be detected
+     */
+    public void applyTo(Statement statement) throws SQLException {
+        if (fetchSize > 0) {
+            statement.setFetchSize(fetchSize);
+        }
+        long rowsToRead = isPaging() ? offset + pageSize + 1 : maxRows > 0 ? maxRows + 1L : 0;
+        if (rowsToRead > 0) {
+            statement.setMaxRows((int) Math.min(rowsToRead, Integer.MAX_VALUE));
+        }
+    }
+
+    /**
+     * moves the cursor to the first row of the current page without parsing the skipped rows
+     */
+    public void skipOffset(ResultSet resultSet) throws SQLException {
+        for (long i = 0; i < offset && isPaging(); i++) {
+            if (!resultSet.next()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param rows rows read after {@link #skipOffset(ResultSet)}
+     * @param hintMessages truncation hints are appended to it
+     */
+    public Object toResult(List<Map<String, Object>> rows, List<LocaleMessage> hintMessages) {
+        if (isPaging()) {
+            Map<String, Object> page = new LinkedHashMap<>(2);
+            if (rows.size() > pageSize) {
+                page.put(ROWS, rows.subList(0, pageSize));
+                page.put(NEXT_PAGE_TOKEN, encodePageToken(offset + pageSize));
+            } else {
+                page.put(ROWS, rows);
+            }
+            return page;
+        }
+        if (maxRows > 0 && rows.size() > maxRows) {
+            hintMessages.add(new LocaleMessage("QUERY_RESULT_TRUNCATED", maxRows));
+            return rows.subList(0, maxRows);
+        }
+        return rows;
+    }
+
+    static String encodePageToken(long offset) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long decodePageToken(@Nullable String pageToken) {
+        if (StringUtils.isBlank(pageToken)) {
+            return 0;
+        }
+        try {
+            long offset = Long.parseLong(new String(Base64.getUrlDecoder().decode(pageToken.trim()), StandardCharsets.UTF_8));
+            if (offset >= 0) {
+                return offset;
+            }
+        } catch (IllegalArgumentException e) {
+            // fall through
+        }
+        throw new PluginException(QUERY_ARGUMENT_ERROR, "INVALID_PAGE_TOKEN", pageToken);
+    }
+
+    private static int parsePageSize(String pageSizeStr) {
+        try {
+            int pageSize = Integer.parseInt(pageSizeStr.trim());
+            if (pageSize > 0) {
+                return pageSize;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw new PluginException(QUERY_ARGUMENT_ERROR, "INVALID_PAGE_SIZE", pageSizeStr);
+    }
+
+    private static int positiveOrZero(@Nullable Integer value) {
+        return value == null ? 0 : Math.max(value, 0);
+    }
+}
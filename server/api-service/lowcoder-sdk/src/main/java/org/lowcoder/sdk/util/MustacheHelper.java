@@ -71,8 +71,14 @@ public final class MustacheHelper {
     }
 
     public static List<String> tokenize(String template) {
-        List<String> strings = MUSTACHE_KEY_CACHE.get(template, MustacheHelper::doTokenize);
-        return new ArrayList<>(strings);
+        return new ArrayList<>(tokenizeUnmodifiable(template));
+    }
+
+    /**
+     * same as {@link #tokenize(String)} but returns the cached token list itself, callers must not modify it
+     */
+    static List<String> tokenizeUnmodifiable(String template) {
+        return MUSTACHE_KEY_CACHE.get(template, key -> List.copyOf(doTokenize(key)));
     }
 
     /**
@@ -195,7 +201,7 @@ public final class MustacheHelper {
     public static Set<String> extractMustacheKeys(String template) {
         Set<String> keys = new HashSet<>();
 
-        for (String token : tokenize(template)) {
+        for (String token : tokenizeUnmodifiable(template)) {
             if (token.startsWith("{{") && token.endsWith("}}")) {
                 // Allowing empty tokens to be added, to be compatible with the previous `extractMustacheKeys` method.
                 // Calling `.trim()` before adding because Mustache compiler strips keys in the template before looking
@@ -210,7 +216,7 @@ public final class MustacheHelper {
     public static Set<String> extractMustacheKeysWithCurlyBraces(String template) {
 
         Set<String> keys = new HashSet<>();
-        for (String token : tokenize(template)) {
+        for (String token : tokenizeUnmodifiable(template)) {
             if (token.startsWith("{{") && token.endsWith("}}")) {
                 // Allowing empty tokens to be added, to be compatible with the previous `extractMustacheKeys` method.
                 // Calling `.trim()` before adding because Mustache compiler strips keys in the template before looking
@@ -230,7 +236,7 @@ public final class MustacheHelper {
     public static List<String> extractMustacheKeysInOrder(String template) {
         List<String> keys = new ArrayList<>();
 
-        for (String token : tokenize(template)) {
+        for (String token : tokenizeUnmodifiable(template)) {
             if (token.startsWith("{{") && token.endsWith("}}")) {
                 // Allowing empty tokens to be added, to be compatible with the previous `extractMustacheKeys` method.
                 // Calling `.trim()` before adding because Mustache compiler strips keys in the template before looking
@@ -269,8 +275,7 @@ public final class MustacheHelper {
             return template;
         }
 
-        List<String> tokenize = tokenize(template);
-        return renderMustacheTokens(tokenize, paramMap);
+        return renderMustacheTokens(tokenizeUnmodifiable(template), paramMap);
     }
 
     @SuppressWarnings("DuplicatedCode")
@@ -278,8 +283,7 @@ public final class MustacheHelper {
         if (isBlank(template)) {
             return template;
         }
-        List<String> tokenize = tokenize(template);
-        return renderMustacheTokens(tokenize, paramMap, false);
+        return renderMustacheTokens(tokenizeUnmodifiable(template), paramMap, false);
     }
 
     public static String[] renderMustacheArrayString(String[] template, Map<String, ?> paramMap) {
@@ -292,25 +296,35 @@ public final class MustacheHelper {
         return renderMustacheTokens(tokens, paramMap, true);
     }
 
+    /**
+     * tokens are not modified, so cached token lists can be rendered directly
+     */
     @VisibleForTesting
     public static String renderMustacheTokens(List<String> tokens, Map<String, ?> paramMap, boolean removeSurroundedPar) {
         StringBuilder rendered = new StringBuilder();
+        String previousToken = null;
+        boolean removeLeadingPar = false;
         for (int i = 0; i < tokens.size(); i++) {
             String token = tokens.get(i);
+            if (removeLeadingPar) {
+                token = token.substring(1);
+                removeLeadingPar = false;
+            }
             if (token.startsWith("{{") && token.endsWith("}}")) {
                 Object mustacheValue = paramMap.get(token.substring(2, token.length() - 2).trim());
                 String mustacheStrValue = convertToStringValue(mustacheValue);
-                boolean isSurroundedByPar = isSurroundedByPar(tokens, i);
+                boolean isSurroundedByPar = isSurroundedByPar(tokens, i, previousToken);
                 if (removeSurroundedPar && isSurroundedByPar) {
                     removePreviousPar(rendered);
                     rendered.append(mustacheStrValue);
-                    removeNextPar(tokens, i + 1);
+                    removeLeadingPar = true;
                 } else {
                     rendered.append(firstNonNull(mustacheStrValue, token)); // append original token is value is not found
                 }
             } else {
                 rendered.append(token);
             }
+            previousToken = token;
         }
 
         return StringEscapeUtils.unescapeHtml4(rendered.toString());
@@ -573,20 +587,19 @@ public final class MustacheHelper {
         return String.valueOf(mustacheValue);
     }
 
-    private static void removeNextPar(List<String> tokenize, int index) {
-        tokenize.set(index, tokenize.get(index).substring(1));
-    }
-
     private static void removePreviousPar(StringBuilder rendered) {
         rendered.deleteCharAt(rendered.length() - 1);
     }
 
-    private static boolean isSurroundedByPar(List<String> tokenize, int index) {
+    /**
+     * @param previousToken the rendered form of the previous token, whose leading par may have been removed
+     */
+    private static boolean isSurroundedByPar(List<String> tokenize, int index, String previousToken) {
         if (index <= 0 || index >= tokenize.size() - 1) {
             return false;
         }
 
-        return tokenize.get(index - 1).endsWith("\"") && tokenize.get(index + 1).startsWith("\"");
+        return previousToken.endsWith("\"") && tokenize.get(index + 1).startsWith("\"");
     }
 
 }
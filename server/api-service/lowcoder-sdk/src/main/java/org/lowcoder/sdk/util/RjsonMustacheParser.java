@@ -2,6 +2,8 @@ package org.lowcoder.sdk.util;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.*;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
@@ -11,6 +13,8 @@ import tv.twelvetone.json.Json;
 import tv.twelvetone.json.JsonObject.Member;
 import tv.twelvetone.json.JsonValue;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -25,10 +29,22 @@ import static org.lowcoder.sdk.util.JsonUtils.*;
 import static org.lowcoder.sdk.util.MustacheHelper.*;
 import static org.lowcoder.sdk.util.StreamUtils.toMapNullFriendly;
 
+/**
+ * Json templates are compiled once into an immutable tree of {@link Node}s, whose mustache bindings are resolved to
+ * value slots at compile time, so rendering a cached template is a single pass of value substitution.
+ */
 class RjsonMustacheParser {
 
     private static final String REPLACE_TOKEN = "#replace";
 
+    private static final long COMPILED_TEMPLATE_CACHE_MAX_SIZE = 10000;
+    private static final int COMPILED_TEMPLATE_CACHE_EXPIRE_MINUTES = 15;
+
+    private static final Cache<String, CompiledTemplate> COMPILED_TEMPLATE_CACHE = Caffeine.newBuilder()
+            .maximumSize(COMPILED_TEMPLATE_CACHE_MAX_SIZE)
+            .expireAfterAccess(Duration.ofMinutes(COMPILED_TEMPLATE_CACHE_EXPIRE_MINUTES))
+            .build();
+
     public static String renderMustacheJsonString(String jsonStr, Map<String, Object> paramMap) {
         return renderMustacheJson(jsonStr, paramMap).toString();
     }
@@ -38,20 +54,24 @@ class RjsonMustacheParser {
             return EMPTY_JSON_NODE;
         }
 
-        List<String> tokens = tokenize(jsonStr.trim());
+        return COMPILED_TEMPLATE_CACHE.get(jsonStr, RjsonMustacheParser::compile)
+                .render(paramMap);
+    }
+
+    private static CompiledTemplate compile(String jsonStr) {
+        List<String> tokens = tokenizeUnmodifiable(jsonStr.trim());
         // handle cases like " {{ map }} " / "2022-05-05 11:12:13"
         if (tokens.size() == 1) {
             String oneTokenStr = tokens.get(0);
             if (isMustacheToken(oneTokenStr)) {
-                Object value = paramMap.get(removeCurlyBraces(oneTokenStr));
-                return convertToJsonNode(value);
+                return new SingleBindingTemplate(removeCurlyBraces(oneTokenStr));
             }
 
             try {
-                return traverse(RjsonParser.parse(oneTokenStr), Map.of());
+                return new JsonTemplate(compileNode(RjsonParser.parse(oneTokenStr)), Map.of());
             } catch (Throwable e) {
                 // return as a textNode if fails to parse
-                return TextNode.valueOf(oneTokenStr);
+                return new JsonTemplate(new ConstantNode(TextNode.valueOf(oneTokenStr)), Map.of());
             }
         }
 
@@ -59,8 +79,6 @@ class RjsonMustacheParser {
 
         String escapeEvaluatedTokens = escapeEvaluatedTokens(tokenReplaceMap, tokens);
 
-        Map<String, Object> tokenReplaceValueMap = getTokenReplaceValueMap(paramMap, tokenReplaceMap);
-
         JsonValue json;
         try {
             json = RjsonParser.parse(escapeEvaluatedTokens);
@@ -68,95 +86,74 @@ class RjsonMustacheParser {
             throw new PluginException(JSON_PARSE_ERROR, "JSON_PARSE_ERROR", escapeEvaluatedTokens, e.getMessage());
         }
 
-        return traverse(json, tokenReplaceValueMap);
-    }
-
-    private static Map<String, Object> getTokenReplaceValueMap(Map<String, ?> paramMap, Map<String, String> tokenReplaceMap) {
-        Map<String, Object> trimmedValueMap = paramMap.entrySet()
-                .stream()
-                .collect(toMapNullFriendly(it -> it.getKey().trim(), Entry::getValue, (a, b) -> b));
-        return tokenReplaceMap.entrySet()
-                .stream()
-                .collect(toMapNullFriendly(Entry::getValue, entry -> trimmedValueMap.get(entry.getKey())));
+        return new JsonTemplate(compileNode(json), Map.copyOf(tokenReplaceMap));
     }
 
-    private static JsonNode traverse(JsonValue jsonValue, Map<String, Object> paramMap) {
+    private static Node compileNode(JsonValue jsonValue) {
 
         if (jsonValue.isBoolean()) {
-            return BooleanNode.valueOf(jsonValue.asBoolean());
+            return new ConstantNode(BooleanNode.valueOf(jsonValue.asBoolean()));
         }
 
         if (jsonValue.isNull()) {
-            return NullNode.getInstance();
+            return new ConstantNode(NullNode.getInstance());
         }
 
         if (jsonValue.isNumber()) {
             String s = jsonValue.toString();
             Number number = NumberUtils.createNumber(s);
-            return tryGetNumberNode(number);
+            return new ConstantNode(tryGetNumberNode(number));
         }
 
         if (jsonValue.isArray()) {
-
-            ArrayNode newArrayNode = createArrayNode();
-
+            List<Node> elements = new ArrayList<>();
             for (JsonValue node : jsonValue.asArray()) {
-                newArrayNode.add(traverse(node, paramMap));
+                elements.add(compileNode(node));
             }
-
-            return newArrayNode;
+            return new ArrayNodeTemplate(List.copyOf(elements));
         }
 
         if (jsonValue.isObject()) {
-            var objectNode = createObjectNode();
+            List<MemberTemplate> members = new ArrayList<>();
             for (Member member : jsonValue.asObject()) {
-                String name = member.getName();
-                JsonValue value = member.getValue();
-
-                String updatedName = tryResolveAsString(name, paramMap);
-                objectNode.set(updatedName, traverse(value, paramMap));
+                Node name = compileString(Json.INSTANCE.value(member.getName()), true);
+                members.add(new MemberTemplate(name, compileNode(member.getValue())));
             }
-            return objectNode;
+            return new ObjectNodeTemplate(List.copyOf(members));
         }
 
-        return tryResolve(jsonValue, paramMap, false);
-    }
-
-    private static String tryResolveAsString(String input, Map<String, Object> paramMap) {
-        JsonNode jsonNode = tryResolve(Json.INSTANCE.value(input), paramMap, true);
-        return jsonNode.textValue();
+        return compileString(jsonValue, false);
     }
 
-    private static JsonNode tryResolve(JsonValue jsonValue, Map<String, Object> paramMap, boolean toStringType) {
+    private static Node compileString(JsonValue jsonValue, boolean toStringType) {
 
         String input = jsonValue.asString().trim();
         if (isBlank(input)) {
-            return TextNode.valueOf(input);
+            return new ConstantNode(TextNode.valueOf(input));
         }
 
         var checkStringResult = checkString(input);
         if (checkStringResult.isRawStr()) {
-            return TextNode.valueOf(input);
+            return new ConstantNode(TextNode.valueOf(input));
         }
 
         if (toStringType || checkStringResult.isQuotedStr()) {
-            return TextNode.valueOf(MustacheHelper.renderMustacheString(checkStringResult.result(), paramMap));
+            return new TextTemplate(tokenizeUnmodifiable(checkStringResult.result()));
         }
 
-        List<String> tokenize = tokenize(input);
+        List<String> tokenize = tokenizeUnmodifiable(input);
         if (tokenize.isEmpty()) {
-            return TextNode.valueOf(input);
+            return new ConstantNode(TextNode.valueOf(input));
         }
 
         if (tokenize.size() == 1) {
             String token = tokenize.get(0);
             if (token.startsWith("{{") && token.endsWith("}}")) {
-                Object mustacheValue = paramMap.get(token.substring(2, token.length() - 2).trim());
-                return convertToJsonNode(mustacheValue);
+                return new BindingNode(token.substring(2, token.length() - 2).trim());
             }
         }
 
-        return TextNode.valueOf(MustacheHelper.renderMustacheTokens(tokenize, paramMap));
+        return new TextTemplate(tokenize);
     }
 
     private static JsonNode convertToJsonNode(Object mustacheValue) {
@@ -252,4 +249,112 @@ class RjsonMustacheParser {
         return REPLACE_TOKEN + replaceCount.getAndIncrement();
     }
 
+    private interface CompiledTemplate {
+        JsonNode render(Map<String, ?> paramMap);
+    }
+
+    /**
+     * the whole template is a single mustache binding, e.g. " {{ map }} "
+     */
+    private record SingleBindingTemplate(String key) implements CompiledTemplate {
+
+        @Override
+        public JsonNode render(Map<String, ?> paramMap) {
+            return convertToJsonNode(paramMap.get(key));
+        }
+    }
+
+    /**
+     * @param tokenReplaceMap mustache key => replace token used as the binding slot inside {@code root}
+     */
+    private record JsonTemplate(Node root, Map<String, String> tokenReplaceMap) implements CompiledTemplate {
+
+        @Override
+        public JsonNode render(Map<String, ?> paramMap) {
+            return root.render(getTokenReplaceValueMap(paramMap));
+        }
+
+        private Map<String, Object> getTokenReplaceValueMap(Map<String, ?> paramMap) {
+            if (tokenReplaceMap.isEmpty()) {
+                return Map.of();
+            }
+            Map<String, ?> trimmedValueMap = hasUntrimmedKey(paramMap) ? trimKeys(paramMap) : paramMap;
+            Map<String, Object> result = new HashMap<>(tokenReplaceMap.size() * 2);
+            tokenReplaceMap.forEach((key, replaceToken) -> result.put(replaceToken, trimmedValueMap.get(key)));
+            return result;
+        }
+
+        private static boolean hasUntrimmedKey(Map<String, ?> paramMap) {
+            for (String key : paramMap.keySet()) {
+                if (key.length() != key.trim().length()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static Map<String, Object> trimKeys(Map<String, ?> paramMap) {
+            return paramMap.entrySet()
+                    .stream()
+                    .collect(toMapNullFriendly(it -> it.getKey().trim(), Entry::getValue, (a, b) -> b));
+        }
+    }
+
+    private interface Node {
+        JsonNode render(Map<String, Object> valueMap);
+    }
+
+    /**
+     * only immutable json nodes (text, number, boolean, null) are shared between renders
+     */
+    private record ConstantNode(JsonNode value) implements Node {
+
+        @Override
+        public JsonNode render(Map<String, Object> valueMap) {
+            return value;
+        }
+    }
+
+    private record BindingNode(String slot) implements Node {
+
+        @Override
+        public JsonNode render(Map<String, Object> valueMap) {
+            return convertToJsonNode(valueMap.get(slot));
+        }
+    }
+
+    private record TextTemplate(List<String> tokens) implements Node {
+
+        @Override
+        public JsonNode render(Map<String, Object> valueMap) {
+            return TextNode.valueOf(renderMustacheTokens(tokens, valueMap));
+        }
+    }
+
+    private record ArrayNodeTemplate(List<Node> elements) implements Node {
+
+        @Override
+        public JsonNode render(Map<String, Object> valueMap) {
+            ArrayNode newArrayNode = createArrayNode();
+            for (Node element : elements) {
+                newArrayNode.add(element.render(valueMap));
+            }
+            return newArrayNode;
+        }
+    }
+
+    private record MemberTemplate(Node name, Node value) {
+    }
+
+    private record ObjectNodeTemplate(List<MemberTemplate> members) implements Node {
+
+        @Override
+        public JsonNode render(Map<String, Object> valueMap) {
+            ObjectNode objectNode = createObjectNode();
+            for (MemberTemplate member : members) {
+                objectNode.set(member.name().render(valueMap).textValue(), member.value().render(valueMap));
+            }
+            return objectNode;
+        }
+    }
 }
@@ -0,0 +1,117 @@
+package org.lowcoder.sdk.webclient;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.lowcoder.sdk.config.CommonConfig.HttpClientPool;
+import org.lowcoder.sdk.plugin.common.ssl.SslCertVerificationType;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Long-lived {@link HttpClient}s shared by rest api / graphql queries.
+ * <p>
+ * Clients are keyed by the settings which affect their channels (ssl, proxy and disallowed hosts), so repeated queries
+ * against the same datasource reuse keep-alive connections instead of paying a TCP/TLS handshake on every call.
+ * Each client owns a bounded {@link ConnectionProvider} which publishes reactor-netty pool metrics and is disposed
+ * once the client is evicted.
+ * <p>
+ * All pool settings, those of the cache and those of the connection providers, are taken from the
+ * {@link HttpClientPool} of the first call and stay fixed for the lifetime of the registry; callers pass the single
+ * {@code CommonConfig#getHttpClientPool()}.
+ */
+@Slf4j
+public final class HttpClientRegistry {
+
+    private static final String PROVIDER_NAME_PREFIX = "lowcoder-http-";
+    private static final AtomicInteger PROVIDER_COUNT = new AtomicInteger();
+
+    private static volatile Clients clients;
+
+    private HttpClientRegistry() {
+    }
+
+    static HttpClient getOrCreate(HttpClientKey key, HttpClientPool poolConfig, Function<ConnectionProvider, HttpClient> httpClientFactory) {
+        Clients current = getClients(poolConfig);
+        return current.cache()
+                .get(key, ignore -> {
+                    ConnectionProvider provider = createConnectionProvider(current.poolConfig());
+                    return new PooledHttpClient(httpClientFactory.apply(provider), provider);
+                })
+                .httpClient();
+    }
+
+    /**
+     * number of cached clients, each of them owns its own connection pool
+     */
+    public static long size() {
+        Clients current = clients;
+        return current == null ? 0 : current.cache().estimatedSize();
+    }
+
+    private static Clients getClients(HttpClientPool poolConfig) {
+        Clients current = clients;
+        if (current != null) {
+            return current;
+        }
+        synchronized (HttpClientRegistry.class) {
+            if (clients == null) {
+                Cache<HttpClientKey, PooledHttpClient> cache = Caffeine.newBuilder()
+                        .maximumSize(poolConfig.getMaxClients())
+                        .expireAfterAccess(poolConfig.getClientExpireAfterAccess())
+                        .removalListener(HttpClientRegistry::onRemoval)
+                        .build();
+                clients = new Clients(cache, poolConfig);
+            }
+            return clients;
+        }
+    }
+
+    private static ConnectionProvider createConnectionProvider(HttpClientPool poolConfig) {
+        return ConnectionProvider.builder(PROVIDER_NAME_PREFIX + PROVIDER_COUNT.incrementAndGet())
+                .maxConnections(poolConfig.getMaxConnections())
+                .pendingAcquireMaxCount(poolConfig.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(poolConfig.getPendingAcquireTimeout())
+                .maxIdleTime(poolConfig.getMaxIdleTime())
+                .maxLifeTime(poolConfig.getMaxLifeTime())
+                .evictInBackground(poolConfig.getEvictInterval())
+                .metrics(true)
+                .build();
+    }
+
+    private static void onRemoval(@Nullable HttpClientKey key, @Nullable PooledHttpClient pooledHttpClient, RemovalCause cause) {
+        if (pooledHttpClient == null) {
+            return;
+        }
+        log.debug("release http client, cause: {}", cause);
+        pooledHttpClient.connectionProvider()
+                .disposeLater()
+                .onErrorResume(e -> {
+                    log.warn("dispose connection provider error.", e);
+                    return Mono.empty();
+                })
+                .subscribe();
+    }
+
+    /**
+     * everything that makes two http clients differ, see {@link WebClientBuildHelper#toWebClientBuilder()}
+     */
+    record HttpClientKey(@Nullable SslCertVerificationType sslCertVerificationType,
+                         @Nullable String selfSignedCertHash,
+                         boolean systemProxy,
+                         Set<String> disallowedHosts) {
+    }
+
+    private record PooledHttpClient(HttpClient httpClient, ConnectionProvider connectionProvider) {
+    }
+
+    private record Clients(Cache<HttpClientKey, PooledHttpClient> cache, HttpClientPool poolConfig) {
+    }
+}
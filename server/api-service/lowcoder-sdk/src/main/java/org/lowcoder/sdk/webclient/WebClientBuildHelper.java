@@ -6,20 +6,26 @@ import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.lowcoder.sdk.config.CommonConfig.HttpClientPool;
 import org.lowcoder.sdk.plugin.common.ssl.DisableVerifySslConfig;
+import org.lowcoder.sdk.plugin.common.ssl.SslCertVerificationType;
 import org.lowcoder.sdk.plugin.common.ssl.SslConfig;
 import org.lowcoder.sdk.plugin.common.ssl.SslHelper;
 import org.lowcoder.sdk.plugin.common.ssl.VerifySelfSignedCertSslConfig;
+import org.lowcoder.sdk.util.HashUtils;
+import org.lowcoder.sdk.webclient.HttpClientRegistry.HttpClientKey;
 import org.springframework.boot.context.properties.PropertyMapper;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClient.Builder;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientRequest;
 import reactor.netty.tcp.SslProvider;
 import reactor.netty.transport.ProxyProvider;
 import reactor.netty.transport.ProxyProvider.Proxy;
 
 import javax.net.ssl.SSLException;
+import java.nio.charset.StandardCharsets;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.time.Duration;
@@ -37,6 +43,7 @@ public class WebClientBuildHelper {
     private Set<String> disallowedHosts;
     private boolean systemProxy;
     private Long timeoutMs;
+    private HttpClientPool connectionPool;
 
     private int maxInMemorySize = 20 * 1024 * 1024;
 
@@ -78,18 +85,46 @@ public class WebClientBuildHelper {
         this.maxInMemorySize = maxInMemorySize;
         return this;
     }
-    
+
+    /**
+     * reuse a long-lived http client (and its keep-alive connections) from {@link HttpClientRegistry}
+     * instead of creating a new one for every call.
+     */
+    public WebClientBuildHelper connectionPool(HttpClientPool connectionPool) {
+        this.connectionPool = connectionPool;
+        return this;
+    }
+
     public WebClient build() {
         return toWebClientBuilder().build();
     }
 
     public Builder toWebClientBuilder() {
-        HttpClient httpClient = HttpClient.create();
-        if (timeoutMs != null)
-        {
-        	httpClient.responseTimeout(Duration.ofMillis(timeoutMs));
+        HttpClient httpClient;
+        if (connectionPool != null) {
+            httpClient = HttpClientRegistry.getOrCreate(httpClientKey(), connectionPool,
+                    connectionProvider -> configureHttpClient(HttpClient.create(connectionProvider)));
+        } else {
+            httpClient = configureHttpClient(HttpClient.create());
+        }
+
+        Builder builder = WebClient.builder()
+                .codecs(codecs -> codecs
+                        .defaultCodecs()
+                        .maxInMemorySize(maxInMemorySize))
+                .clientConnector(new ReactorClientHttpConnector(httpClient));
+        if (timeoutMs != null) {
+            // http client may be shared, so the response timeout is applied to each request
+            Duration responseTimeout = Duration.ofMillis(timeoutMs);
+            builder.defaultRequest(spec -> spec.httpRequest(request -> {
+                HttpClientRequest nativeRequest = request.getNativeRequest();
+                nativeRequest.responseTimeout(responseTimeout);
+            }));
         }
-        
+        return builder;
+    }
+
+    private HttpClient configureHttpClient(HttpClient httpClient) {
         if (sslConfig != null) {
             if (sslConfig instanceof DisableVerifySslConfig) {
                 httpClient = httpClient.secure(sslProviderWithoutCertVerify());
@@ -119,11 +154,22 @@ public class WebClientBuildHelper {
         if (CollectionUtils.isNotEmpty(disallowedHosts)) {
             httpClient = httpClient.resolver(new SafeHostResolverGroup(disallowedHosts));
         }
-        return WebClient.builder()
-                .codecs(codecs -> codecs
-                        .defaultCodecs()
-                        .maxInMemorySize(maxInMemorySize))
-                .clientConnector(new ReactorClientHttpConnector(httpClient));
+        return httpClient;
+    }
+
+    private HttpClientKey httpClientKey() {
+        SslCertVerificationType sslCertVerificationType = null;
+        String selfSignedCertHash = null;
+        if (sslConfig instanceof DisableVerifySslConfig) {
+            sslCertVerificationType = SslCertVerificationType.DISABLED;
+        }
+        if (sslConfig instanceof VerifySelfSignedCertSslConfig verifySelfSignedCertSslConfig) {
+            sslCertVerificationType = SslCertVerificationType.VERIFY_SELF_SIGNED_CERT;
+            selfSignedCertHash = HashUtils.hash(StringUtils.defaultString(verifySelfSignedCertSslConfig.getSelfSignedCert())
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+        return new HttpClientKey(sslCertVerificationType, selfSignedCertHash, systemProxy,
+                disallowedHosts == null ? Set.of() : Set.copyOf(disallowedHosts));
     }
 
     private static SslProvider sslProviderWithSelfSignedCert(VerifySelfSignedCertSslConfig verifySelfSignedCertSslConfig) {
@@ -1,5 +1,8 @@
 package org.lowcoder.sdk.helpers;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import org.junit.Assert;
@@ -461,4 +464,25 @@ public class MustacheHelperTest {
         Assert.assertEquals(1, objects[0]);
         Assert.assertEquals("33", objects[1]);
     }
+
+    @Test
+    public void renderCachedTemplateTwice() {
+        String json = "{\"a\": {{a}}, \"b\": [\"{{b}}\", {{c}}], \"d\": \"cached text\"}";
+        ObjectNode first = (ObjectNode) MustacheHelper.renderMustacheJson(json, Map.of("a", 1, "b", "x", "c", List.of(1)));
+        Assert.assertEquals("{\"a\":1,\"b\":[\"x\",[1]],\"d\":\"cached text\"}", first.toString());
+        JsonNode constant = first.get("d");
+        first.put("a", 2);
+        ((ArrayNode) first.get("b")).removeAll();
+
+        JsonNode second = MustacheHelper.renderMustacheJson(json, Map.of("a", 3, "b", "y", "c", List.of(2)));
+        Assert.assertEquals("{\"a\":3,\"b\":[\"y\",[2]],\"d\":\"cached text\"}", second.toString());
+        // constant leaves are shared by the renders of one compiled template, so the second render used the cached one
+        Assert.assertSame(constant, second.get("d"));
+
+        String template = "select \"{{a}}\"\"{{b}}\" from t";
+        // the quotes around the bindings are removed without changing the cached tokens of the template
+        Assert.assertEquals("select 12 from t", renderMustacheString(template, Map.of("a", 1, "b", 2)));
+        Assert.assertEquals("select 34 from t", renderMustacheString(template, Map.of("a", 3, "b", 4)));
+        Assert.assertEquals(List.of("select \"", "{{a}}", "\"\"", "{{b}}", "\" from t"), tokenize(template));
+    }
 }
@@ -0,0 +1,73 @@
+package org.lowcoder.sdk.plugin.common.sql;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.lowcoder.sdk.util.JsonUtils;
+
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+
+public class ResultSetParserTest {
+
+    private static final String[] LABELS = {"id", "name", "d", "dt", "y", "t", "name"};
+    private static final String[] TYPE_NAMES = {"INT", "VARCHAR", "DATE", "DATETIME", "YEAR", "TIME", "text"};
+
+    @Test
+    public void testParseRows() throws SQLException {
+        ResultSet resultSet = resultSet(List.of(
+                new Object[] {1, "a", Date.valueOf("2024-02-29"), Timestamp.valueOf("2024-03-01 10:11:12.345"), Date.valueOf("2021-01-01"),
+                        Time.valueOf("10:00:00"), "b"},
+                new Object[] {null, null, null, null, null, null, null},
+                new Object[] {3L, "c", Date.valueOf("1970-01-01"), Timestamp.valueOf("2000-01-01 00:00:00"), Date.valueOf("2022-01-01"),
+                        "30:00:00", "d"}));
+
+        Assert.assertEquals("[{\"id\":1,\"name\":\"b\",\"d\":\"2024-02-29\",\"dt\":\"2024-03-01 10:11:12\",\"y\":2021,\"t\":\"10:00:00\"},"
+                        + "{\"id\":null,\"name\":null,\"d\":null,\"dt\":null,\"y\":null,\"t\":null},"
+                        + "{\"id\":3,\"name\":\"d\",\"d\":\"1970-01-01\",\"dt\":\"2000-01-01 00:00:00\",\"y\":2022,\"t\":\"30:00:00\"}]",
+                JsonUtils.toJson(ResultSetParser.parseRows(resultSet)));
+        Assert.assertTrue(ResultSetParser.parseRows(resultSet(List.of())).isEmpty());
+    }
+
+    /**
+     * a result set answering the getters used by the parser, a TIME cell holding a String is a mysql duration
+     */
+    private static ResultSet resultSet(List<Object[]> rows) {
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(ResultSetParserTest.class.getClassLoader(),
+                new Class[] {ResultSetMetaData.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> LABELS.length;
+                    case "getColumnLabel" -> LABELS[(int) args[0] - 1];
+                    case "getColumnTypeName" -> TYPE_NAMES[(int) args[0] - 1];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        int[] cursor = {-1};
+        return (ResultSet) Proxy.newProxyInstance(ResultSetParserTest.class.getClassLoader(), new Class[] {ResultSet.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("next")) {
+                        return ++cursor[0] < rows.size();
+                    }
+                    if (method.getName().equals("getMetaData")) {
+                        return metaData;
+                    }
+                    Object value = rows.get(cursor[0])[(int) args[0] - 1];
+                    return switch (method.getName()) {
+                        case "getObject" -> {
+                            if (value instanceof String && "TIME".equals(TYPE_NAMES[(int) args[0] - 1])) {
+                                throw new SQLException("JDBC Time objects represent a wall-clock time and not a duration");
+                            }
+                            yield value;
+                        }
+                        case "getString" -> value;
+                        case "getDate" -> value instanceof Timestamp timestamp ? new Date(timestamp.getTime()) : value;
+                        case "getTime" -> value instanceof Timestamp timestamp ? new Time(timestamp.getTime()) : value;
+                        default -> throw new UnsupportedOperationException(method.getName() + Arrays.toString(args));
+                    };
+                });
+    }
+}
@@ -0,0 +1,26 @@
+package org.lowcoder.sdk.plugin.common.sql;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.lowcoder.sdk.plugin.mysql.MysqlDatasourceConfig;
+
+import java.util.Map;
+
+public class SqlBasedDatasourceConnectionConfigTest {
+
+    @Test
+    public void testMergeKeepsQuerySettings() {
+        MysqlDatasourceConfig original = MysqlDatasourceConfig.buildFrom(Map.of("host", "db", "password", "secret", "maxRows", 10));
+        MysqlDatasourceConfig updated = MysqlDatasourceConfig.buildFrom(Map.of("host", "db2", "maxRows", 20, "fetchSize", 500,
+                "statementCacheSize", 0));
+
+        SqlBasedDatasourceConnectionConfig merged = (SqlBasedDatasourceConnectionConfig) original.mergeWithUpdatedConfig(updated);
+
+        Assert.assertTrue(merged instanceof MysqlDatasourceConfig);
+        Assert.assertEquals("db2", merged.getHost());
+        Assert.assertEquals("secret", merged.getPassword());
+        Assert.assertEquals(Integer.valueOf(20), merged.getMaxRows());
+        Assert.assertEquals(Integer.valueOf(500), merged.getFetchSize());
+        Assert.assertEquals(0, merged.getStatementCacheSizeOrDefault());
+    }
+}
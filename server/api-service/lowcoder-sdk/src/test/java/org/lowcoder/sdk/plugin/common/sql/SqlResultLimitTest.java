@@ -0,0 +1,58 @@
+package org.lowcoder.sdk.plugin.common.sql;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.lowcoder.sdk.exception.PluginException;
+import org.lowcoder.sdk.models.LocaleMessage;
+import org.lowcoder.sdk.plugin.mysql.MysqlDatasourceConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlResultLimitTest {
+
+    @Test
+    public void testTruncate() {
+        SqlResultLimit limit = SqlResultLimit.of(MysqlDatasourceConfig.buildFrom(Map.of("maxRows", 3)));
+        List<LocaleMessage> hints = new ArrayList<>();
+
+        Assert.assertEquals(rows(0, 3), limit.toResult(rows(0, 3), hints));
+        Assert.assertTrue(hints.isEmpty());
+
+        Assert.assertEquals(rows(0, 3), limit.toResult(rows(0, 4), hints));
+        assertThat(hints).extracting(LocaleMessage::messageKey).containsExactly("QUERY_RESULT_TRUNCATED");
+    }
+
+    @Test
+    public void testPaging() {
+        MysqlDatasourceConfig datasourceConfig = MysqlDatasourceConfig.buildFrom(Map.of("maxRows", 100));
+        SqlResultLimit firstPage = SqlResultLimit.of(datasourceConfig, "2", "");
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> page = (Map<String, Object>) firstPage.toResult(rows(0, 3), new ArrayList<>());
+        Assert.assertEquals(rows(0, 2), page.get(SqlResultLimit.ROWS));
+        String token = (String) page.get(SqlResultLimit.NEXT_PAGE_TOKEN);
+        Assert.assertEquals(2, SqlResultLimit.decodePageToken(token));
+
+        SqlResultLimit lastPage = SqlResultLimit.of(datasourceConfig, "2", token);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> last = (Map<String, Object>) lastPage.toResult(rows(2, 3), new ArrayList<>());
+        Assert.assertEquals(rows(2, 3), last.get(SqlResultLimit.ROWS));
+        Assert.assertFalse(last.containsKey(SqlResultLimit.NEXT_PAGE_TOKEN));
+    }
+
+    @Test(expected = PluginException.class)
+    public void testInvalidPageToken() {
+        SqlResultLimit.of(MysqlDatasourceConfig.buildFrom(Map.of()), "10", "not-a-token");
+    }
+
+    private static List<Map<String, Object>> rows(int from, int to) {
+        return IntStream.range(from, to)
+                .<Map<String, Object>> mapToObj(i -> Map.of("id", i))
+                .toList();
+    }
+}
@@ -0,0 +1,50 @@
+package org.lowcoder.sdk.webclient;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.lowcoder.sdk.config.CommonConfig.HttpClientPool;
+import org.lowcoder.sdk.plugin.common.ssl.DisableVerifySslConfig;
+import org.lowcoder.sdk.plugin.common.ssl.SslCertVerificationType;
+import org.lowcoder.sdk.webclient.HttpClientRegistry.HttpClientKey;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.Set;
+
+public class HttpClientRegistryTest {
+
+    private final HttpClientPool poolConfig = new HttpClientPool();
+
+    @Test
+    public void testClientIsReusedForTheSameKey() {
+        HttpClientKey key = new HttpClientKey(null, null, false, Set.of("registry-test.internal"));
+
+        HttpClient first = HttpClientRegistry.getOrCreate(key, poolConfig, HttpClient::create);
+        HttpClient second = HttpClientRegistry.getOrCreate(new HttpClientKey(null, null, false, Set.of("registry-test.internal")),
+                poolConfig, HttpClient::create);
+
+        Assert.assertSame(first, second);
+    }
+
+    @Test
+    public void testQueriesShareClientsBySslAndProxySettings() {
+        long size = HttpClientRegistry.size();
+        Set<String> disallowedHosts = Set.of("helper-test.internal");
+
+        webClient(disallowedHosts).build();
+        webClient(disallowedHosts).build();
+        Assert.assertEquals(size + 1, HttpClientRegistry.size());
+
+        webClient(disallowedHosts).sslConfig(new DisableVerifySslConfig(SslCertVerificationType.DISABLED)).build();
+        Assert.assertEquals(size + 2, HttpClientRegistry.size());
+
+        webClient(disallowedHosts).systemProxy().build();
+        webClient(disallowedHosts).systemProxy().build();
+        Assert.assertEquals(size + 3, HttpClientRegistry.size());
+    }
+
+    private WebClientBuildHelper webClient(Set<String> disallowedHosts) {
+        return WebClientBuildHelper.builder()
+                .disallowedHosts(disallowedHosts)
+                .connectionPool(poolConfig);
+    }
+}
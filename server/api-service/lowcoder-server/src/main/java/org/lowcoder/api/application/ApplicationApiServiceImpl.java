@@ -48,6 +48,7 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuples;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -246,17 +247,20 @@ public class ApplicationApiServiceImpl implements ApplicationApiService {
 
     @Override
     public Mono<ApplicationView> getEditingApplication(String applicationId) {
-        return applicationService.findById(applicationId).filter(application -> application.isPublicToAll() && application.isPublicToMarketplace())
-                .map(application -> {
-                    ResourcePermission permission = ResourcePermission.builder().resourceRole(ResourceRole.VIEWER).build();
-                    return permission;
+        return applicationService.findById(applicationId)
+                .flatMap(application -> {
+                    if (application.isPublicToAll() && application.isPublicToMarketplace()) {
+                        ResourcePermission permission = ResourcePermission.builder().resourceRole(ResourceRole.VIEWER).build();
+                        return Mono.just(Tuples.of(permission, application));
+                    }
+                    return checkPermissionWithReadableErrorMsg(applicationId, EDIT_APPLICATIONS)
+                            .map(permission -> Tuples.of(permission, application));
                 })
-                .switchIfEmpty(checkPermissionWithReadableErrorMsg(applicationId, EDIT_APPLICATIONS))
-                .zipWhen(permission -> applicationService.findById(applicationId)
-                        .delayUntil(application -> checkApplicationStatus(application, NORMAL)))
+                .delayUntil(tuple -> checkApplicationStatus(tuple.getT2(), NORMAL))
                 .zipWhen(tuple -> applicationService.getAllDependentModulesFromApplication(tuple.getT2(), false), TupleUtils::merge)
                 .zipWhen(tuple -> organizationService.getOrgCommonSettings(tuple.getT2().getOrganizationId()), TupleUtils::merge)
-                .flatMap(tuple -> {
+                .delayUntil(__ -> applicationService.recordOpened(applicationId))
+                .map(tuple -> {
                     ResourcePermission permission = tuple.getT1();
                     Application application = tuple.getT2();
                     List<Application> dependentModules = tuple.getT3();
@@ -264,13 +268,12 @@ public class ApplicationApiServiceImpl implements ApplicationApiService {
 
                     Map<String, Map<String, Object>> dependentModuleDsl = dependentModules.stream()
                             .collect(Collectors.toMap(Application::getId, Application::getLiveApplicationDsl, (a, b) -> b));
-                    return applicationService.updateById(applicationId, application).map(__ ->
-                        ApplicationView.builder()
+                    return ApplicationView.builder()
                             .applicationInfoView(buildView(application, permission.getResourceRole().getValue()))
                             .applicationDSL(application.getEditingApplicationDSL())
                             .moduleDSL(dependentModuleDsl)
                             .orgCommonSettings(commonSettings)
-                            .build());
+                            .build();
                 });
     }
 
@@ -0,0 +1,192 @@
+package org.lowcoder.api.framework.event;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.lowcoder.infra.perf.PerfHelper;
+import org.lowcoder.plugin.api.event.LowcoderEvent;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.lowcoder.sdk.config.CommonConfig.EventBus.BackpressurePolicy;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.lowcoder.infra.perf.PerfEvent.EVENT_BUS_DROPPED;
+import static org.lowcoder.infra.perf.PerfEvent.EVENT_BUS_LISTENER_LATENCY;
+import static org.lowcoder.infra.perf.PerfEvent.EVENT_BUS_QUEUE_SIZE;
+
+/**
+ * Delivers business events to listeners asynchronously, so that slow listeners don't add latency to the request that
+ * published the event.
+ * <p>
+ * Every listener has its own bounded queue drained by its own workers. When a queue is full, the
+ * {@link BackpressurePolicy} configured for the event type decides what happens to the event, see
+ * {@link CommonConfig.EventBus}. Publishing never blocks a non-blocking (event loop) thread.
+ * <p>
+ * On shutdown the workers deliver the events already queued, for at most the configured shutdown timeout.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LowcoderEventBus {
+
+    private final CommonConfig commonConfig;
+    private final PerfHelper perfHelper;
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final List<ListenerQueue> listenerQueues = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    public synchronized void register(String name, Consumer<LowcoderEvent> listener) {
+        String uniqueName = name;
+        for (int i = 1; isRegistered(uniqueName); i++) {
+            uniqueName = name + "-" + i;
+        }
+        ListenerQueue listenerQueue = new ListenerQueue(uniqueName, listener, commonConfig.getEventBus());
+        perfHelper.gaugeSafely(EVENT_BUS_QUEUE_SIZE, Tags.of("listener", uniqueName), listenerQueue.queue, BlockingQueue::size);
+        listenerQueues.add(listenerQueue);
+    }
+
+    public void publish(LowcoderEvent event) {
+        BackpressurePolicy policy = commonConfig.getEventBus().getBackpressure(event.getEventType().name());
+        for (ListenerQueue listenerQueue : listenerQueues) {
+            if (closed) {
+                listenerQueue.dropped(event, "shutdown");
+                continue;
+            }
+            listenerQueue.offer(event, policy);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        listenerQueues.forEach(listenerQueue -> listenerQueue.workers.shutdown());
+        long deadline = System.nanoTime() + commonConfig.getEventBus().getShutdownTimeout().toNanos();
+        for (ListenerQueue listenerQueue : listenerQueues) {
+            try {
+                if (!listenerQueue.workers.awaitTermination(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS)) {
+                    listenerQueue.workers.shutdownNow();
+                    log.warn("event listener {} stopped with {} events undelivered", listenerQueue.name, listenerQueue.queue.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                listenerQueues.forEach(queue -> queue.workers.shutdownNow());
+                return;
+            }
+        }
+    }
+
+    private boolean isRegistered(String name) {
+        return listenerQueues.stream().anyMatch(listenerQueue -> listenerQueue.name.equals(name));
+    }
+
+    private class ListenerQueue {
+
+        private final String name;
+        private final Consumer<LowcoderEvent> listener;
+        private final BlockingQueue<LowcoderEvent> queue;
+        private final ExecutorService workers;
+        private final AtomicLong sampleSequence = new AtomicLong();
+
+        private ListenerQueue(String name, Consumer<LowcoderEvent> listener, CommonConfig.EventBus config) {
+            this.name = name;
+            this.listener = listener;
+            this.queue = new ArrayBlockingQueue<>(Math.max(config.getQueueCapacity(), 1));
+            int workerCount = Math.max(config.getWorkers(), 1);
+            this.workers = Executors.newFixedThreadPool(workerCount, new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("event-bus-" + name + "-%d")
+                    .build());
+            for (int i = 0; i < workerCount; i++) {
+                workers.execute(this::drain);
+            }
+        }
+
+        private void offer(LowcoderEvent event, BackpressurePolicy policy) {
+            switch (policy) {
+                case BLOCK -> {
+                    // an event loop thread must not wait, the event is dropped like in a full SAMPLE queue
+                    if (Schedulers.isInNonBlockingThread()) {
+                        if (!queue.offer(event)) {
+                            dropped(event, "full");
+                        }
+                        return;
+                    }
+                    try {
+                        if (!queue.offer(event, commonConfig.getEventBus().getBlockTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                            dropped(event, "timeout");
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        dropped(event, "interrupted");
+                    }
+                }
+                case DROP_OLDEST -> {
+                    while (!queue.offer(event)) {
+                        LowcoderEvent oldest = queue.poll();
+                        if (oldest != null) {
+                            dropped(oldest, "oldest");
+                        }
+                    }
+                }
+                case SAMPLE -> {
+                    if (queue.size() * 2 >= queue.size() + queue.remainingCapacity()
+                            && sampleSequence.incrementAndGet() % Math.max(commonConfig.getEventBus().getSampleRate(), 1) != 0) {
+                        dropped(event, "sampled");
+                        return;
+                    }
+                    if (!queue.offer(event)) {
+                        dropped(event, "full");
+                    }
+                }
+            }
+        }
+
+        /**
+         * runs until the bus is closed and the queue is empty, or the worker is interrupted
+         */
+        private void drain() {
+            while (!Thread.currentThread().isInterrupted()) {
+                LowcoderEvent event;
+                try {
+                    event = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (event == null) {
+                    if (closed) {
+                        return;
+                    }
+                    continue;
+                }
+                long start = System.nanoTime();
+                try {
+                    listener.accept(event);
+                } catch (Throwable e) {
+                    log.error("event listener {} error, event type: {}", name, event.getEventType(), e);
+                }
+                perfHelper.recordTime(EVENT_BUS_LISTENER_LATENCY,
+                        Tags.of("listener", name, "eventType", event.getEventType().name()),
+                        Duration.ofNanos(System.nanoTime() - start));
+            }
+        }
+
+        private void dropped(LowcoderEvent event, String reason) {
+            perfHelper.count(EVENT_BUS_DROPPED, Tags.of("listener", name, "eventType", event.getEventType().name(), "reason", reason));
+        }
+    }
+}
@@ -16,6 +16,7 @@ public enum FilterOrder {
 
     USER_BAN(AFTER_PROXY_CHAIN),
     GLOBAL_CONTEXT(AFTER_PROXY_CHAIN), // currentOrgMember is set here, filters needing currentOrgMember should be placed after this filter
+    TENANT_THROTTLING(AFTER_PROXY_CHAIN),
     QUERY_EXECUTE_HTTP_BODY_SIZE(AFTER_PROXY_CHAIN),
     PRICING_FEATURE(AFTER_PROXY_CHAIN),
     ;
@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.lowcoder.api.framework.service.GlobalContextService;
 import org.lowcoder.api.home.SessionUserService;
+import org.lowcoder.domain.organization.model.OrgMember;
 import org.lowcoder.domain.organization.service.OrgMemberService;
 import org.lowcoder.infra.serverlog.ServerLog;
 import org.lowcoder.infra.serverlog.ServerLogService;
@@ -52,26 +53,29 @@ public class GlobalContextFilter implements WebFilter, Ordered {
     public Mono<Void> filter(@Nonnull ServerWebExchange exchange, @Nonnull WebFilterChain chain) {
 
         return sessionUserService.getVisitorId()
-                .flatMap(visitorId -> saveServerLog(exchange, visitorId))
-                .flatMap(visitorId -> chain.filter(exchange)
-                        .contextWrite(ctx -> {
-                            Map<String, Object> contextMap = buildContextMap(exchange, visitorId);
-                            for (Entry<String, Object> entry : contextMap.entrySet()) {
-                                String key = entry.getKey();
-                                Object value = entry.getValue();
-                                ctx = ctx.put(key, value);
-                            }
-                            return ctx.put(CONTEXT_MAP, contextMap);
-                        }));
+                .flatMap(visitorId -> {
+                    // resolved at most once per request, shared by the server log and the context
+                    Mono<OrgMember> currentOrgMemberMono = orgMemberService.getCurrentOrgMember(visitorId).cache();
+                    return saveServerLog(exchange, visitorId, currentOrgMemberMono)
+                            .flatMap(ignore -> chain.filter(exchange)
+                                    .contextWrite(ctx -> {
+                                        Map<String, Object> contextMap = buildContextMap(exchange, visitorId, currentOrgMemberMono);
+                                        for (Entry<String, Object> entry : contextMap.entrySet()) {
+                                            String key = entry.getKey();
+                                            Object value = entry.getValue();
+                                            ctx = ctx.put(key, value);
+                                        }
+                                        return ctx.put(CONTEXT_MAP, contextMap);
+                                    }));
+                });
     }
 
-    private Mono<String> saveServerLog(ServerWebExchange exchange, String visitorId) {
+    private Mono<String> saveServerLog(ServerWebExchange exchange, String visitorId, Mono<OrgMember> currentOrgMemberMono) {
         if (isAnonymousUser(visitorId)) {
             return Mono.just(visitorId);
         }
 
-        return orgMemberService
-                .getCurrentOrgMember(visitorId)
+        return currentOrgMemberMono
                 .map(orgMember -> {
                     ServerLog serverLog = ServerLog.builder()
                             .orgId(orgMember.getOrgId())
@@ -86,7 +90,8 @@ public class GlobalContextFilter implements WebFilter, Ordered {
 
     }
 
-    private Map<String, Object> buildContextMap(ServerWebExchange serverWebExchange, String visitorId) {
+    private Map<String, Object> buildContextMap(ServerWebExchange serverWebExchange, String visitorId,
+            Mono<OrgMember> currentOrgMemberMono) {
         ServerHttpRequest request = serverWebExchange.getRequest();
         Map<String, Object> contextMap = request.getHeaders().toSingleValueMap().entrySet()
                 .stream()
@@ -99,7 +104,7 @@ public class GlobalContextFilter implements WebFilter, Ordered {
         contextMap.put(REQUEST, request);
         contextMap.put(REQUEST_METHOD, ofNullable(request.getMethod()).map(HttpMethod::name).orElse(""));
         contextMap.put(CLIENT_LOCALE, globalContextService.getClientLocale(request));
-        contextMap.put(CURRENT_ORG_MEMBER, orgMemberService.getCurrentOrgMember(visitorId).cache());
+        contextMap.put(CURRENT_ORG_MEMBER, currentOrgMemberMono);
         contextMap.put(VISITOR_TOKEN, cookieHelper.getCookieToken(serverWebExchange));
         contextMap.put(DOMAIN, UriUtils.getRefererDomainFromRequest(serverWebExchange));
         return contextMap;
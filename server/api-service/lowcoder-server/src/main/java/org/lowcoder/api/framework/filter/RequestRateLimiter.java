@@ -0,0 +1,99 @@
+package org.lowcoder.api.framework.filter;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.lowcoder.domain.ratelimit.RateLimitResult;
+import org.lowcoder.domain.ratelimit.RateLimiter;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.lowcoder.sdk.config.CommonConfig.RateLimitKey;
+import org.lowcoder.sdk.config.CommonConfig.RateLimitRule;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.lowcoder.infra.util.RateLimitHelper.buildLimitKey;
+import static org.lowcoder.sdk.exception.BizError.REQUEST_THROTTLED;
+import static org.lowcoder.sdk.util.ExceptionUtils.ofErrorWithHeaders;
+
+/**
+ * Checks requests against the {@code common.rate-limit.rules}. Rules keyed by what is known before authentication are
+ * checked by {@link ThrottlingFilter}, the user and org rules by {@link TenantThrottlingFilter}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestRateLimiter {
+
+    private final CommonConfig commonConfig;
+    private final RateLimiter rateLimiter;
+
+    private List<CompiledRule> rules = List.of();
+
+    @PostConstruct
+    private void init() {
+        List<CompiledRule> compiled = new ArrayList<>();
+        List<RateLimitRule> configured = commonConfig.getRateLimit().getRules();
+        for (int i = 0; i < configured.size(); i++) {
+            RateLimitRule rule = configured.get(i);
+            if (rule.getCapacity() <= 0 || rule.getRefillPerSecond() <= 0) {
+                throw new IllegalStateException("rate limit rule " + i + " needs a positive capacity and refillPerSecond");
+            }
+            String name = StringUtils.defaultIfBlank(rule.getName(), "rule" + i);
+            List<PathPattern> paths = rule.getPaths().stream()
+                    .map(PathPatternParser.defaultInstance::parse)
+                    .toList();
+            compiled.add(new CompiledRule(name, rule, paths));
+        }
+        rules = compiled;
+    }
+
+    public boolean hasRules(Set<RateLimitKey> keys) {
+        return rules.stream().anyMatch(rule -> keys.contains(rule.rule().getKey()));
+    }
+
+    /**
+     * @param keyValue the value of a key for this request, empty when it has none (e.g. the user of an anonymous
+     *                 request), in which case its rules don't apply
+     * @return empty, or a {@code REQUEST_THROTTLED} error with a Retry-After header once a bucket is exhausted
+     */
+    public Mono<Void> check(ServerWebExchange exchange, Set<RateLimitKey> keys, Function<RateLimitKey, Mono<String>> keyValue) {
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        return Flux.fromIterable(rules)
+                .filter(rule -> keys.contains(rule.rule().getKey()) && rule.matches(path))
+                .concatMap(rule -> keyValue.apply(rule.rule().getKey())
+                        .flatMap(value -> rateLimiter.tryAcquire(buildLimitKey(rule.name() + ":", value),
+                                rule.rule().getCapacity(), rule.rule().getRefillPerSecond())))
+                .filter(result -> !result.allowed())
+                .next()
+                .flatMap(RequestRateLimiter::throttled);
+    }
+
+    static Mono<Void> throttled(RateLimitResult result) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(toRetryAfterSeconds(result.retryAfter())));
+        return ofErrorWithHeaders(REQUEST_THROTTLED, "REQUEST_THROTTLED", headers);
+    }
+
+    // Retry-After takes whole seconds, rounding down would invite the client back too early
+    private static long toRetryAfterSeconds(Duration retryAfter) {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+
+    private record CompiledRule(String name, RateLimitRule rule, List<PathPattern> paths) {
+
+        private boolean matches(PathContainer path) {
+            return paths.isEmpty() || paths.stream().anyMatch(pattern -> pattern.matches(path));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.lowcoder.api.framework.filter;
+
+import jakarta.annotation.Nonnull;
+import lombok.RequiredArgsConstructor;
+import org.lowcoder.api.home.SessionUserService;
+import org.lowcoder.domain.organization.model.OrgMember;
+import org.lowcoder.sdk.config.CommonConfig.RateLimitKey;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+import static org.lowcoder.api.framework.filter.FilterOrder.TENANT_THROTTLING;
+import static org.lowcoder.sdk.constants.Authentication.isAnonymousUser;
+
+/**
+ * Throttles requests by user and by the user's current org, so that one tenant can't use up the capacity of the
+ * cluster. Anonymous requests are only throttled by {@link ThrottlingFilter}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TenantThrottlingFilter implements WebFilter, Ordered {
+
+    private static final Set<RateLimitKey> KEYS = Set.of(RateLimitKey.USER, RateLimitKey.ORG);
+
+    private final RequestRateLimiter requestRateLimiter;
+    private final SessionUserService sessionUserService;
+
+    @Nonnull
+    @Override
+    public Mono<Void> filter(@Nonnull ServerWebExchange exchange, @Nonnull WebFilterChain chain) {
+        if (!requestRateLimiter.hasRules(KEYS)) {
+            return chain.filter(exchange);
+        }
+        return requestRateLimiter.check(exchange, KEYS, this::getKeyValue)
+                .then(Mono.defer(() -> chain.filter(exchange)));
+    }
+
+    private Mono<String> getKeyValue(RateLimitKey key) {
+        return switch (key) {
+            case USER -> sessionUserService.getVisitorId()
+                    .filter(visitorId -> !isAnonymousUser(visitorId));
+            case ORG -> sessionUserService.getVisitorOrgMemberCacheSilent()
+                    .filter(orgMember -> !orgMember.isInvalid())
+                    .map(OrgMember::getOrgId);
+            default -> Mono.empty();
+        };
+    }
+
+    @Override
+    public int getOrder() {
+        return TENANT_THROTTLING.getOrder();
+    }
+}
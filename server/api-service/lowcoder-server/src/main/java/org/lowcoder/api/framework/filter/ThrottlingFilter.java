@@ -1,119 +1,100 @@
 package org.lowcoder.api.framework.filter;
 
-import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.hash.Hashing;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.PostConstruct;
-import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.lowcoder.api.authentication.util.JWTUtils;
+import org.lowcoder.domain.ratelimit.RateLimiter;
+import org.lowcoder.infra.util.NetworkUtils;
+import org.lowcoder.sdk.config.CommonConfig.RateLimitKey;
 import org.lowcoder.sdk.config.dynamic.ConfigCenter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.core.Ordered;
-import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import static java.util.Collections.emptyMap;
 import static org.lowcoder.api.framework.filter.FilterOrder.THROTTLING;
-import static org.lowcoder.sdk.exception.BizError.REQUEST_THROTTLED;
-import static org.lowcoder.sdk.util.ExceptionUtils.ofError;
-
-@ConditionalOnExpression("${default.api-rate-limit:0} > 0")
-@SuppressWarnings("UnstableApiUsage")
+import static org.lowcoder.infra.util.RateLimitHelper.buildLimitKey;
+
+/**
+ * Throttles requests before authentication, by ip, api key and endpoint group, so that floods are rejected before
+ * sessions are resolved.
+ * <p>
+ * Also applies the per url limit of {@code default.api-rate-limit} and the {@code urlRateLimiter} threshold, in requests
+ * per second. Like the rules, it is now counted by the {@link RateLimiter}, i.e. for the whole cluster, not per node.
+ */
 @Slf4j
 @Component
 public class ThrottlingFilter implements WebFilter, Ordered {
 
-	@Value("${default.api-rate-limit}")
+    private static final Set<RateLimitKey> KEYS = Set.of(RateLimitKey.IP, RateLimitKey.API_KEY, RateLimitKey.ENDPOINT);
+    private static final String URL_LIMIT = "URL:";
+
+    @Value("${default.api-rate-limit:0}")
     private int defaultApiRateLimit;
 
-    
-    private final Map<String, RateLimiterWrapper> rateLimiterMap = new ConcurrentHashMap<>();
     private Supplier<Map<String, Integer>> urlRateLimiter;
 
     @Autowired
     private ConfigCenter configCenter;
+    @Autowired
+    private RequestRateLimiter requestRateLimiter;
+    @Autowired
+    private RateLimiter rateLimiter;
+    @Autowired
+    private JWTUtils jwtUtils;
 
     @PostConstruct
     private void init() {
         urlRateLimiter = configCenter.threshold().ofMap("urlRateLimiter", String.class, Integer.class, emptyMap());
-        log.info("API rate limit filter enabled with default rate limit set to: {} requests per second", defaultApiRateLimit);
+        if (defaultApiRateLimit > 0) {
+            log.info("API rate limit filter enabled with default rate limit set to: {} requests per second", defaultApiRateLimit);
+        }
     }
 
     @Nonnull
     @Override
     public Mono<Void> filter(@Nonnull ServerWebExchange exchange, @Nonnull WebFilterChain chain) {
+        return checkUrlLimit(exchange)
+                .then(Mono.defer(() -> requestRateLimiter.check(exchange, KEYS, key -> getKeyValue(exchange, key))))
+                .then(Mono.defer(() -> chain.filter(exchange)));
+    }
 
-        ServerHttpRequest request = exchange.getRequest();
-        String requestUrl = request.getPath().pathWithinApplication().value();
-
-        RateLimiterWrapper rateLimiter = rateLimiterMap.compute(requestUrl,
-                (url, currentLimiter) -> {
-                    int targetRate = urlRateLimiter.get().getOrDefault(url, defaultApiRateLimit);
-                    if (currentLimiter == null) {
-                        return RateLimiterWrapper.create(targetRate);
-                    }
-                    if (currentLimiter.rateNotChanged(targetRate)) {
-                        return currentLimiter;
-                    }
-                    return currentLimiter.updateRate(targetRate);
-                });
-
-
-        if (!rateLimiter.tryAcquire()) {
-            return ofError(REQUEST_THROTTLED, "REQUEST_THROTTLED");
+    private Mono<Void> checkUrlLimit(ServerWebExchange exchange) {
+        String requestUrl = exchange.getRequest().getPath().pathWithinApplication().value();
+        int targetRate = urlRateLimiter.get().getOrDefault(requestUrl, defaultApiRateLimit);
+        if (targetRate <= 0) {
+            return Mono.empty();
         }
+        return rateLimiter.tryAcquire(buildLimitKey(URL_LIMIT, requestUrl), targetRate, targetRate)
+                .flatMap(result -> result.allowed() ? Mono.empty() : RequestRateLimiter.throttled(result));
+    }
 
-        return chain.filter(exchange);
+    private Mono<String> getKeyValue(ServerWebExchange exchange, RateLimitKey key) {
+        return switch (key) {
+            case IP -> Mono.justOrEmpty(StringUtils.trimToNull(NetworkUtils.getRemoteIp(exchange)));
+            // only a hash of the token is kept in the bucket key
+            case API_KEY -> Mono.justOrEmpty(StringUtils.trimToNull(jwtUtils.resolveToken(exchange)))
+                    .map(token -> Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString());
+            case ENDPOINT -> Mono.just("");
+            default -> Mono.empty();
+        };
     }
 
     @Override
     public int getOrder() {
         return THROTTLING.getOrder();
     }
-
-    @Getter
-    private static class RateLimiterWrapper {
-        private final RateLimiter rateLimiter;
-
-        private volatile long initMillis;
-
-        private RateLimiterWrapper(int targetRate) {
-            this.rateLimiter = RateLimiter.create(targetRate);
-            this.initMillis = System.currentTimeMillis();
-        }
-
-        public static RateLimiterWrapper create(int targetRate) {
-            return new RateLimiterWrapper(targetRate);
-        }
-
-        public boolean rateNotChanged(int targetRate) {
-            return Math.abs(targetRate - rateLimiter.getRate()) < 1e-6;
-        }
-
-        public RateLimiterWrapper updateRate(int targetRate) {
-            rateLimiter.setRate(targetRate);
-            initMillis = System.currentTimeMillis();
-            return this;
-        }
-
-        public boolean tryAcquire() {
-            // might fail when just init, e.g. multiple queries come after server restarted
-            // so here we give one second for the rateLimiter to become active
-            if (System.currentTimeMillis() - initMillis <= 1000) {
-                return true;
-            }
-            return rateLimiter.tryAcquire();
-        }
-
-    }
-
 }
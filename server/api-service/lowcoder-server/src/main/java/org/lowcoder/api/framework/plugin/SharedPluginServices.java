@@ -1,9 +1,10 @@
 package org.lowcoder.api.framework.plugin;
 
-import java.util.LinkedList;
 import java.util.List;
 import java.util.function.Consumer;
 
+import org.apache.commons.lang3.StringUtils;
+import org.lowcoder.api.framework.event.LowcoderEventBus;
 import org.lowcoder.api.framework.plugin.endpoint.PluginEndpointHandler;
 import org.lowcoder.infra.config.repository.ServerConfigRepository;
 import org.lowcoder.plugin.api.LowcoderServices;
@@ -20,25 +21,25 @@ import lombok.RequiredArgsConstructor;
 public class SharedPluginServices implements LowcoderServices
 {
 	private final PluginEndpointHandler pluginEndpointHandler;
+	private final LowcoderEventBus eventBus;
 
 	@Autowired
 	private ServerConfigRepository serverConfigRepository;
 	
-	private List<Consumer<LowcoderEvent>> eventListeners = new LinkedList<>();
-
 	@Override
 	public void registerEventListener(Consumer<LowcoderEvent> listener) 
 	{
-		this.eventListeners.add(listener);
+		// lambda class names end with a generated, per run suffix
+		eventBus.register(StringUtils.substringBefore(listener.getClass().getName(), "$$"), listener);
 	}
 
+	/**
+	 * events still published through spring, business events are published to the bus directly
+	 */
 	@EventListener(classes = LowcoderEvent.class)
 	private void publishEvents(LowcoderEvent event)
 	{
-		for (Consumer<LowcoderEvent> listener : eventListeners)
-		{
-			listener.accept(event);
-		}
+		eventBus.publish(event);
 	}
 
 	@Override
@@ -14,7 +14,6 @@ import org.lowcoder.api.usermanagement.OrgDevChecker;
 import org.lowcoder.domain.application.model.ApplicationStatus;
 import org.lowcoder.domain.application.model.ApplicationType;
 import org.lowcoder.domain.folder.model.Folder;
-import org.lowcoder.domain.folder.model.FolderElement;
 import org.lowcoder.domain.folder.service.*;
 import org.lowcoder.domain.group.service.GroupService;
 import org.lowcoder.domain.interaction.UserFolderInteraction;
@@ -42,7 +41,6 @@ import java.util.function.Function;
 import java.util.function.ToLongFunction;
 
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
-import static org.lowcoder.infra.util.MonoUtils.emptyIfNull;
 import static org.lowcoder.sdk.exception.BizError.*;
 import static org.lowcoder.sdk.util.ExceptionUtils.ofError;
 
@@ -79,6 +77,7 @@ public class FolderApiServiceImpl implements FolderApiService {
     private final UserService userService;
     private final OrganizationService organizationService;
     private final UserFolderInteractionService userFolderInteractionService;
+    private final FolderTreeCache folderTreeCache;
 
     @Override
     public Mono<FolderInfoView> create(Folder folder) {
@@ -234,17 +233,10 @@ public class FolderApiServiceImpl implements FolderApiService {
      */
     @Override
     public Flux<?> getElements(@Nullable String folderId, @Nullable ApplicationType applicationType) {
-        return buildApplicationInfoViewTree(applicationType)
-                .flatMap(tree -> {
-                    FolderNode<ApplicationInfoView, FolderInfoView> folderNode = tree.get(folderId);
-                    if (folderNode == null) {
-                        return Mono.error(new BizException(FOLDER_NOT_EXIST, "FOLDER_NOT_EXIST", folderId));
-                    }
-                    return Mono.just(folderNode);
-                })
+        return buildApplicationInfoViewTree(folderId, applicationType)
                 .zipWith(Mono.zip(sessionUserService.getVisitorOrgMemberCache(), orgDevChecker.isCurrentOrgDev()))
                 .doOnNext(tuple -> {
-                    FolderNode<ApplicationInfoView, FolderInfoView> node = tuple.getT1();
+                    Tree<ApplicationInfoView, FolderInfoView> node = tuple.getT1();
                     OrgMember orgMember = tuple.getT2().getT1();
                     boolean devOrAdmin = tuple.getT2().getT2();
                     // father folder's visibility depends on child nodes
@@ -278,72 +270,100 @@ public class FolderApiServiceImpl implements FolderApiService {
                 .map(folders -> new Tree<>(folders, Folder::getId, Folder::getParentFolderId, Collections.emptyList(), null, null));
     }
 
-    private Mono<Tree<ApplicationInfoView, FolderInfoView>> buildApplicationInfoViewTree(@Nullable ApplicationType applicationType) {
+    /**
+     * Builds the subtree of a folder from the cached {@link FolderStructure} of the org, only the folders under the folder
+     * and the applications placed in them are read and turned into views.
+     *
+     * @param folderId null means root folder
+     * @return a tree whose root is the folder
+     */
+    private Mono<Tree<ApplicationInfoView, FolderInfoView>> buildApplicationInfoViewTree(@Nullable String folderId,
+            @Nullable ApplicationType applicationType) {
+        return sessionUserService.getVisitorOrgMemberCache()
+                .flatMap(orgMember -> folderTreeCache.get(orgMember.getOrgId())
+                        .flatMap(structure -> {
+                            if (StringUtils.isBlank(folderId) || structure.getFolder(folderId) != null) {
+                                return Mono.just(structure);
+                            }
+                            // the folder may have been created after the structure was cached, e.g. on another node
+                            return folderTreeCache.reload(orgMember.getOrgId());
+                        })
+                        .flatMap(structure -> {
+                            if (StringUtils.isBlank(folderId)) {
+                                return buildApplicationInfoViewTree(orgMember, structure, null, applicationType);
+                            }
+                            Folder folder = structure.getFolder(folderId);
+                            if (folder == null) {
+                                return Mono.error(new BizException(FOLDER_NOT_EXIST, "FOLDER_NOT_EXIST", folderId));
+                            }
+                            return buildApplicationInfoViewTree(orgMember, structure, folder.getId(), applicationType);
+                        }));
+    }
 
-        Mono<OrgMember> orgMemberMono = sessionUserService.getVisitorOrgMemberCache()
-                .cache();
+    private Mono<Tree<ApplicationInfoView, FolderInfoView>> buildApplicationInfoViewTree(OrgMember orgMember, FolderStructure structure,
+            @Nullable String rootFolderId, @Nullable ApplicationType applicationType) {
 
-        Flux<ApplicationInfoView> applicationInfoViewFlux =
-                userHomeApiService.getAllAuthorisedApplications4CurrentOrgMember(applicationType, ApplicationStatus.NORMAL, false)
-                        .cache();
+        List<Folder> folders = structure.getDescendants(rootFolderId);
 
-        Mono<Map<String, String>> application2FolderMapMono = applicationInfoViewFlux
-                .map(ApplicationInfoView::getApplicationId)
-                .collectList()
-                .flatMapMany(applicationIds -> folderElementRelationService.getByElementIds(applicationIds))
-                .collectMap(FolderElement::elementId, FolderElement::folderId);
+        // the root folder holds every application of the org, a sub folder only those placed in its subtree
+        Collection<String> applicationIds = null;
+        if (rootFolderId != null) {
+            List<String> folderIds = new ArrayList<>(folders.size() + 1);
+            folderIds.add(rootFolderId);
+            folders.forEach(folder -> folderIds.add(folder.getId()));
+            applicationIds = structure.getElementIds(folderIds);
+        }
 
-        Flux<Folder> folderFlux = orgMemberMono.flatMapMany(orgMember -> folderService.findByOrganizationId(orgMember.getOrgId()))
-                .cache();
+        Mono<List<ApplicationInfoView>> applicationInfoViewsMono =
+                userHomeApiService.getAuthorisedApplications4CurrentOrgMember(applicationIds, applicationType, ApplicationStatus.NORMAL, false)
+                        .collectList();
 
-        Mono<Map<String, Instant>> folderId2LastViewTimeMapMono = orgMemberMono
-                .flatMapMany(orgMember -> userFolderInteractionService.findByUserId(orgMember.getUserId()))
-                .collectMap(UserFolderInteraction::folderId, UserFolderInteraction::lastViewTime)
-                .cache();
+        Mono<Map<String, Instant>> folderId2LastViewTimeMapMono = userFolderInteractionService.findByUserId(orgMember.getUserId())
+                .collectMap(UserFolderInteraction::folderId, UserFolderInteraction::lastViewTime);
 
-        Mono<Map<String, User>> userMapMono = folderFlux
-                .flatMap(folder -> emptyIfNull(folder.getCreatedBy()))
-                .collectList()
-                .flatMap(list -> userService.getByIds(list))
-                .cache();
-
-        Flux<FolderInfoView> folderInfoViewFlux = folderFlux
-                .flatMap(folder -> Mono.zip(orgMemberMono, userMapMono, folderId2LastViewTimeMapMono)
-                        .map(tuple -> {
-                            OrgMember orgMember = tuple.getT1();
-                            Map<String, User> userMap = tuple.getT2();
-                            Map<String, Instant> folderId2LastViewTimeMap = tuple.getT3();
-                            User creator = userMap.get(folder.getCreatedBy());
-                            return FolderInfoView.builder()
-                                    .orgId(orgMember.getOrgId())
-                                    .folderId(folder.getId())
-                                    .folderGid(folder.getGid())
-                                    .parentFolderId(folder.getParentFolderId())
-                                    .parentFolderGid(folder.getParentFolderGid())
-                                    .name(folder.getName())
-                                    .createAt(folder.getCreatedAt().toEpochMilli())
-                                    .createBy(creator == null ? null : creator.getName())
-                                    .createTime(folder.getCreatedAt())
-                                    .lastViewTime(folderId2LastViewTimeMap.get(folder.getId()))
-                                    .build();
-                        }));
+        Mono<Map<String, User>> userMapMono = userService.getByIds(folders.stream()
+                .map(Folder::getCreatedBy)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList());
 
-        return Mono.zip(applicationInfoViewFlux.collectList(),
-                        application2FolderMapMono,
-                        folderInfoViewFlux.collectList())
+        return Mono.zip(applicationInfoViewsMono, folderId2LastViewTimeMapMono, userMapMono)
                 .map(tuple -> {
                     List<ApplicationInfoView> applicationInfoViews = tuple.getT1();
-                    Map<String, String> application2FolderMap = tuple.getT2();
-                    List<FolderInfoView> folderInfoViews = tuple.getT3();
+                    Map<String, Instant> folderId2LastViewTimeMap = tuple.getT2();
+                    Map<String, User> userMap = tuple.getT3();
+                    List<FolderInfoView> folderInfoViews = folders.stream()
+                            .map(folder -> {
+                                User creator = userMap.get(folder.getCreatedBy());
+                                return FolderInfoView.builder()
+                                        .orgId(orgMember.getOrgId())
+                                        .folderId(folder.getId())
+                                        .folderGid(folder.getGid())
+                                        .parentFolderId(folder.getParentFolderId())
+                                        .parentFolderGid(folder.getParentFolderGid())
+                                        .name(folder.getName())
+                                        .createAt(folder.getCreatedAt().toEpochMilli())
+                                        .createBy(creator == null ? null : creator.getName())
+                                        .createTime(folder.getCreatedAt())
+                                        .lastViewTime(folderId2LastViewTimeMap.get(folder.getId()))
+                                        .build();
+                            })
+                            .toList();
+                    // nodes directly in the root folder are mounted on the tree itself
                     return new Tree<>(folderInfoViews,
                             FolderInfoView::getFolderId,
-                            FolderInfoView::getParentFolderId,
+                            folderInfoView -> relativeParentId(folderInfoView.getParentFolderId(), rootFolderId),
                             applicationInfoViews,
-                            application -> application2FolderMap.get(application.getApplicationId()),
+                            application -> relativeParentId(structure.getFolderIdOfElement(application.getApplicationId()), rootFolderId),
                             DEFAULT_COMPARATOR);
                 });
     }
 
+    @Nullable
+    private static String relativeParentId(@Nullable String parentId, @Nullable String rootFolderId) {
+        return StringUtils.equals(parentId, rootFolderId) ? null : parentId;
+    }
+
     /**
      * only org admin and folder creator has manage permissions
      */
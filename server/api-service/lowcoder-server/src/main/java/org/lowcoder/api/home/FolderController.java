@@ -7,6 +7,7 @@ import static org.lowcoder.sdk.util.ExceptionUtils.ofError;
 import java.util.List;
 
 import org.lowcoder.api.application.view.ApplicationPermissionView;
+import org.lowcoder.api.framework.view.PageResponseView;
 import org.lowcoder.api.framework.view.ResponseView;
 import org.lowcoder.api.util.BusinessEventPublisher;
 import org.lowcoder.api.util.GidService;
@@ -68,13 +69,25 @@ public class FolderController implements FolderEndpoints
      * get all files under folder
      */
     @Override
-    public Mono<ResponseView<List<?>>> getElements(@RequestParam(value = "id", required = false) String folderId,
-            @RequestParam(value = "applicationType", required = false) ApplicationType applicationType) {
+    public Mono<ResponseView<? extends List<?>>> getElements(@RequestParam(value = "id", required = false) String folderId,
+            @RequestParam(value = "applicationType", required = false) ApplicationType applicationType,
+            @RequestParam(value = "pageNum", required = false, defaultValue = "1") int pageNum,
+            @RequestParam(value = "pageSize", required = false, defaultValue = "0") int pageSize) {
+        if (pageNum < 1 || pageSize < 0) {
+            return ofError(INVALID_PARAMETER, "INVALID_PARAMETER", pageNum < 1 ? "pageNum" : "pageSize");
+        }
         String objectId = gidService.convertFolderIdToObjectId(folderId);
         return folderApiService.getElements(objectId, applicationType)
                 .collectList()
                 .delayUntil(__ -> folderApiService.upsertLastViewTime(objectId))
-                .map(ResponseView::success);
+                .map(elements -> {
+                    if (pageSize == 0) {
+                        return ResponseView.success(elements);
+                    }
+                    int from = (int) Math.min((long) (pageNum - 1) * pageSize, elements.size());
+                    int to = (int) Math.min((long) from + pageSize, elements.size());
+                    return PageResponseView.success(elements.subList(from, to), pageNum, pageSize, elements.size());
+                });
     }
 
     @Override
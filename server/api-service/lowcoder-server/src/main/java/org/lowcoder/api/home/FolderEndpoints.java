@@ -65,11 +65,14 @@ public interface FolderEndpoints
 			tags = TAG_FOLDER_MANAGEMENT,
 		    operationId = "listFolderContents",
 		    summary = "Get Folder contents",
-		    description = "Retrieve the contents of an Application Folder within Lowcoder, including Applications and Subfolders."
+		    description = "Retrieve the contents of an Application Folder within Lowcoder, including Applications and Subfolders. " +
+		    		"Pass pageSize to read the contents page by page, pageNum starts from 1."
 	)
     @GetMapping("/elements")
-    public Mono<ResponseView<List<?>>> getElements(@RequestParam(value = "id", required = false) String folderId,
-            @RequestParam(value = "applicationType", required = false) ApplicationType applicationType);
+    public Mono<ResponseView<? extends List<?>>> getElements(@RequestParam(value = "id", required = false) String folderId,
+            @RequestParam(value = "applicationType", required = false) ApplicationType applicationType,
+            @RequestParam(value = "pageNum", required = false, defaultValue = "1") int pageNum,
+            @RequestParam(value = "pageSize", required = false, defaultValue = "0") int pageSize);
 
 	@Operation(
 			tags = TAG_FOLDER_MANAGEMENT,
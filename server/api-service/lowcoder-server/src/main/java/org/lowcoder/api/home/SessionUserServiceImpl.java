@@ -1,6 +1,9 @@
 package org.lowcoder.api.home;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.lowcoder.api.usermanagement.UserApiService;
@@ -9,6 +12,7 @@ import org.lowcoder.domain.organization.service.OrgMemberService;
 import org.lowcoder.domain.user.model.User;
 import org.lowcoder.domain.user.model.UserState;
 import org.lowcoder.domain.user.service.UserService;
+import org.lowcoder.infra.localcache.CaffeineCacheUtils;
 import org.lowcoder.sdk.config.CommonConfig;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
@@ -30,6 +34,8 @@ import static org.lowcoder.sdk.util.JsonUtils.fromJsonQuietly;
 @Service
 public class SessionUserServiceImpl implements SessionUserService {
 
+    private static final long SESSION_CACHE_MAX_SIZE = 100000;
+
     @Autowired
     private CommonConfig commonConfig;
     @Autowired
@@ -42,6 +48,28 @@ public class SessionUserServiceImpl implements SessionUserService {
     @Autowired
     private ReactiveRedisTemplate<String, String> reactiveTemplate;
 
+    /**
+     * token => user id, saves the redis round trip of the requests following each other within the ttl.
+     * the user itself is always loaded fresh as the visitor is saved back by some apis.
+     */
+    private Cache<String, String> sessionUserIdCache;
+    /**
+     * tokens whose validity was extended within the last interval
+     */
+    private Cache<String, Boolean> recentlyExtendedTokens;
+
+    @PostConstruct
+    private void init() {
+        sessionUserIdCache = Caffeine.newBuilder()
+                .maximumSize(SESSION_CACHE_MAX_SIZE)
+                .expireAfterWrite(commonConfig.getCookie().getSessionCacheTtl())
+                .build();
+        recentlyExtendedTokens = Caffeine.newBuilder()
+                .maximumSize(SESSION_CACHE_MAX_SIZE)
+                .expireAfterWrite(commonConfig.getCookie().getExtendValidityInterval())
+                .build();
+    }
+
     @SuppressWarnings("ReactiveStreamsNullableInLambdaInTransform")
     @Override
     public Mono<String> getVisitorId() {
@@ -101,6 +129,7 @@ public class SessionUserServiceImpl implements SessionUserService {
     @Override
     public Mono<Void> saveUserSession(String token, User user, String source) {
         ReactiveValueOperations<String, String> ops = reactiveTemplate.opsForValue();
+        sessionUserIdCache.invalidate(token);
         return ops.set(token, Objects.requireNonNull(user.getId()), getTokenExpireTime())
                 .then(userApiService.removeInvalidTokens(user.getId()))
                 .then(userApiService.saveToken(user.getId(), source, token));
@@ -111,7 +140,11 @@ public class SessionUserServiceImpl implements SessionUserService {
         if (StringUtils.isBlank(token)) {
             return Mono.empty();
         }
+        if (recentlyExtendedTokens.asMap().putIfAbsent(token, Boolean.TRUE) != null) {
+            return Mono.empty();
+        }
         return reactiveTemplate.expire(token, getTokenExpireTime())
+                .doOnError(e -> recentlyExtendedTokens.invalidate(token))
                 .then();
     }
 
@@ -125,27 +158,39 @@ public class SessionUserServiceImpl implements SessionUserService {
         if (StringUtils.isBlank(token)) {
             return Mono.empty();
         }
+        invalidateLocally(token);
         ReactiveValueOperations<String, String> ops = reactiveTemplate.opsForValue();
         return ops.get(token)
-                .delayUntil(__ -> ops.delete(token))
+                // invalidated again once the delete is done, as a concurrent request may have cached the token meanwhile
+                .delayUntil(__ -> ops.delete(token).doOnSuccess(deleted -> invalidateLocally(token)))
                 .flatMap(userId -> userApiService.removeToken(userId, token));
     }
 
+    private void invalidateLocally(String token) {
+        sessionUserIdCache.invalidate(token);
+        recentlyExtendedTokens.invalidate(token);
+    }
+
     @Override
     public Mono<User> resolveSessionUserFromCookie(String token) {
         if (StringUtils.isBlank(token)) {
             return Mono.empty();
         }
-        return reactiveTemplate.opsForValue().get(token)
-                .flatMap(value -> {
+        return getSessionUserId(token)
+                .flatMap(userService::findById)
+                .filter(user -> user.getState() != UserState.DELETED);
+    }
+
+    private Mono<String> getSessionUserId(String token) {
+        return CaffeineCacheUtils.getCacheValueMono(sessionUserIdCache, token, () -> reactiveTemplate.opsForValue().get(token)
+                .map(value -> {
                     User user = fromJsonQuietly(value, User.class);
                     if (user == null) {
-                        return userService.findById(value);
+                        return value;
                     }
                     // some compatible code
-                    return userService.findById(user.getId());
-                })
-                .filter(user -> user.getState() != UserState.DELETED);
+                    return user.getId();
+                }));
     }
 
     @Override
@@ -15,6 +15,8 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 public interface UserHomeApiService {
 
     Mono<UserProfileView> buildUserProfileView(User user, ServerWebExchange exchange);
@@ -26,6 +28,15 @@ public interface UserHomeApiService {
     Flux<ApplicationInfoView> getAllAuthorisedApplications4CurrentOrgMember(@Nullable ApplicationType applicationType,
                                                                             @Nullable ApplicationStatus applicationStatus, boolean withContainerSize);
 
+    /**
+     * same as {@link #getAllAuthorisedApplications4CurrentOrgMember(ApplicationType, ApplicationStatus, boolean)}, limited to
+     * the given applications
+     *
+     * @param applicationIds null for all applications of the current org
+     */
+    Flux<ApplicationInfoView> getAuthorisedApplications4CurrentOrgMember(@Nullable Collection<String> applicationIds,
+            @Nullable ApplicationType applicationType, @Nullable ApplicationStatus applicationStatus, boolean withContainerSize);
+
     Flux<BundleInfoView> getAllAuthorisedBundles4CurrentOrgMember(@Nullable BundleStatus bundleStatus);
 
     public Flux<MarketplaceApplicationInfoView> getAllMarketplaceApplications(@Nullable ApplicationType applicationType);
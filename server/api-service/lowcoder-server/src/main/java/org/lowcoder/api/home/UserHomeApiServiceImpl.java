@@ -190,20 +190,22 @@ public class UserHomeApiServiceImpl implements UserHomeApiService {
     @Override
     public Flux<ApplicationInfoView> getAllAuthorisedApplications4CurrentOrgMember(@Nullable ApplicationType applicationType,
                                                                                    @Nullable ApplicationStatus applicationStatus, boolean withContainerSize) {
+        return getAuthorisedApplications4CurrentOrgMember(null, applicationType, applicationStatus, withContainerSize);
+    }
+
+    @Override
+    public Flux<ApplicationInfoView> getAuthorisedApplications4CurrentOrgMember(@Nullable Collection<String> applicationIds,
+            @Nullable ApplicationType applicationType, @Nullable ApplicationStatus applicationStatus, boolean withContainerSize) {
 
         return sessionUserService.getVisitorOrgMemberCache()
                 .flatMapMany(orgMember -> {
                     String visitorId = orgMember.getUserId();
                     String currentOrgId = orgMember.getOrgId();
-                    // application flux
-                    Flux<Application> applicationFlux = Flux.defer(() -> {
-                                if (withContainerSize) {
-                                    return applicationService.findByOrganizationIdWithDsl(currentOrgId);
-                                }
-                                return applicationService.findByOrganizationIdWithoutDsl(currentOrgId);
-                            })
-                            .filter(application -> isNull(applicationType) || application.getApplicationType() == applicationType.getValue())
-                            .filter(application -> isNull(applicationStatus) || application.getApplicationStatus() == applicationStatus)
+                    // application flux, the container size is persisted next to the dsl so the dsl is never loaded here
+                    Flux<Application> applicationFlux = (applicationIds == null
+                            ? applicationService.findByOrganizationIdWithoutDsl(currentOrgId, applicationType, applicationStatus)
+                            : applicationService.findByOrganizationIdWithoutDsl(currentOrgId, applicationIds, applicationType,
+                                    applicationStatus))
                             .cache()
                             .collectList()
                             .flatMapIterable(Function.identity());
@@ -216,7 +218,7 @@ public class UserHomeApiServiceImpl implements UserHomeApiService {
                     Mono<Map<String, ResourcePermission>> resourcePermissionMapMono = applicationFlux
                             .mapNotNull(Application::getId)
                             .collectList()
-                            .flatMap(applicationIds -> resourcePermissionService.getMaxMatchingPermission(visitorId, applicationIds,
+                            .flatMap(ids -> resourcePermissionService.getMaxMatchingPermission(visitorId, ids,
                                     READ_APPLICATIONS))
                             .cache();
 
@@ -227,32 +229,37 @@ public class UserHomeApiServiceImpl implements UserHomeApiService {
                             .flatMap(userService::getByIds)
                             .cache();
 
+                    // bundle positions of the readable applications, in one lookup
+                    Mono<Map<String, Long>> bundlePositionMapMono = resourcePermissionMapMono
+                            .flatMap(resourcePermissionMap -> {
+                                if (resourcePermissionMap.isEmpty()) {
+                                    return Mono.just(Map.<String, Long> of());
+                                }
+                                return bundleElementRelationServiceImpl.getByElementIds(List.copyOf(resourcePermissionMap.keySet()))
+                                        .collect(Collectors.toMap(BundleElement::elementId, BundleElement::position,
+                                                (first, second) -> first));
+                            })
+                            .cache();
+
                     return applicationFlux
                             .flatMap(application -> Mono.zip(Mono.just(application), resourcePermissionMapMono, userMapMono,
-                                    applicationLastViewTimeMapMono))
+                                    applicationLastViewTimeMapMono, bundlePositionMapMono))
                             .filter(tuple -> {
                                 // filter by permission
                                 Application application = tuple.getT1();
                                 Map<String, ResourcePermission> resourcePermissionMap = tuple.getT2();
                                 return resourcePermissionMap.containsKey(application.getId());
                             })
-                            .flatMap(tuple -> {
+                            .map(tuple -> {
                                 // build view
                                 Application application = tuple.getT1();
                                 Map<String, ResourcePermission> resourcePermissionMap = tuple.getT2();
                                 Map<String, User> userMap = tuple.getT3();
                                 Map<String, Instant> applicationLastViewTimeMap = tuple.getT4();
-
-                                return bundleElementRelationServiceImpl.getByElementIds(List.of(Objects.requireNonNull(application.getId())))
-                                        .mapNotNull(BundleElement::position)
-                                        .defaultIfEmpty(0L)
-                                        .collectList()
-                                        .flatMap(positions -> {
-                                            long position = positions.isEmpty() ? 0 : positions.get(0);
-                                            ResourceRole resourceRole = resourcePermissionMap.get(application.getId()).getResourceRole();
-                                            return Mono.just(buildView(application, resourceRole, userMap, applicationLastViewTimeMap.get(application.getId()),
-                                                    position, withContainerSize));
-                                        });
+                                long position = tuple.getT5().getOrDefault(application.getId(), 0L);
+                                ResourceRole resourceRole = resourcePermissionMap.get(application.getId()).getResourceRole();
+                                return buildView(application, resourceRole, userMap, applicationLastViewTimeMap.get(application.getId()),
+                                        position, withContainerSize);
                             });
                 });
     }
@@ -7,6 +7,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.lowcoder.api.home.SessionUserService;
 import org.lowcoder.api.query.view.QueryExecutionRequest;
 import org.lowcoder.domain.application.model.Application;
+import org.lowcoder.domain.application.service.ApplicationQueryIndexCache;
 import org.lowcoder.domain.application.service.ApplicationService;
 import org.lowcoder.domain.datasource.model.Datasource;
 import org.lowcoder.domain.datasource.service.DatasourceService;
@@ -42,7 +43,6 @@ import reactor.core.publisher.Timed;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import static org.lowcoder.domain.permission.model.ResourceAction.READ_APPLICATIONS;
 import static org.lowcoder.sdk.exception.BizError.DATASOURCE_AND_APP_ORG_NOT_MATCH;
@@ -58,6 +58,7 @@ public class ApplicationQueryApiServiceImpl implements ApplicationQueryApiServic
     private final LibraryQueryService libraryQueryService;
     private final LibraryQueryRecordService libraryQueryRecordService;
     private final ApplicationService applicationService;
+    private final ApplicationQueryIndexCache applicationQueryIndexCache;
     private final ResourcePermissionService resourcePermissionService;
     private final DatasourceService datasourceService;
     private final QueryExecutionService queryExecutionService;
@@ -77,9 +78,10 @@ public class ApplicationQueryApiServiceImpl implements ApplicationQueryApiServic
         }
         boolean viewMode = queryExecutionRequest.isViewMode();
         String queryId = queryExecutionRequest.getQueryId();
-        Mono<Application> appMono = applicationService.findById(appId).cache();
+        Mono<Application> appMono = applicationService.findByIdWithoutDsl(appId).cache();
         Mono<ApplicationQuery> appQueryMono = appMono
-                .map(app -> app.getQueryByViewModeAndQueryId(viewMode, queryId))
+                .flatMap(applicationQueryIndexCache::getIndex)
+                .map(index -> index.getQuery(viewMode, queryId))
                 .cache();
 
         Mono<BaseQuery> baseQueryMono = appQueryMono.flatMap(this::getBaseQuery).cache();
@@ -126,7 +128,7 @@ public class ApplicationQueryApiServiceImpl implements ApplicationQueryApiServic
 
                     QueryVisitorContext queryVisitorContext = new QueryVisitorContext(userId, app.getOrganizationId(), port, cookies, paramsAndHeadersInheritFromLogin, commonConfig.getDisallowedHosts());
                     return queryExecutionService.executeQuery(datasource, baseQuery.getQueryConfig(), queryExecutionRequest.paramMap(),
-                                    appQuery.getTimeoutStr(), queryVisitorContext
+                                    appQuery.getTimeoutStr(), appQuery.getCacheTtlStr(), queryVisitorContext
                             )
                             .timed()
                             .doOnNext(timed -> onNextOrError(queryExecutionRequest, queryVisitorContext, appQuery, baseQuery,
@@ -155,9 +157,9 @@ public class ApplicationQueryApiServiceImpl implements ApplicationQueryApiServic
         if (StringUtils.isBlank(rootAppId)) {
             return Mono.just(appId);
         }
-        Mono<List<Application>> allDependentModules = applicationService.getAllDependentModulesFromApplicationId(rootAppId, viewMode);
-        return allDependentModules
-                .map(modules -> modules.stream().map(Application::getId).collect(Collectors.toSet()))
+        return applicationService.findByIdWithoutDsl(rootAppId)
+                .flatMap(applicationQueryIndexCache::getIndex)
+                .flatMap(rootIndex -> applicationQueryIndexCache.getAllDependentModuleIds(rootIndex, viewMode))
                 .flatMap(modules -> {
                     if (!modules.contains(appId)) {
                         return ofError(INVALID_PARAMETER, "INVALID_PARAMETER");
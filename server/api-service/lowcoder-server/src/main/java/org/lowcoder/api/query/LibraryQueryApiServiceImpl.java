@@ -255,7 +255,7 @@ public class LibraryQueryApiServiceImpl implements LibraryQueryApiService {
                     String timeoutStr = firstNonBlank(baseQuery.getTimeoutStr(), "5s");
 
                     return queryExecutionService.executeQuery(datasource, queryConfig, request.paramMap(), timeoutStr,
-                                    queryVisitorContext)
+                                    baseQuery.getCacheTtlStr(), queryVisitorContext)
                             .onErrorResume(throwable -> Mono.just(QueryExecutionResult.error(PluginCommonError.QUERY_EXECUTION_ERROR,
                                     "QUERY_EXECUTION_ERROR", throwable.getMessage())));
                 });
@@ -314,7 +314,7 @@ public class LibraryQueryApiServiceImpl implements LibraryQueryApiService {
                     Map<String, Object> queryConfig = baseQuery.getQueryConfig();
                     String timeoutStr = baseQuery.getTimeoutStr();
                     return queryExecutionService.executeQuery(datasource, queryConfig, queryExecutionRequest.paramMap(), timeoutStr,
-                                    queryVisitorContext
+                                    baseQuery.getCacheTtlStr(), queryVisitorContext
                             )
                             .timed()
                             .doOnNext(timed -> onNextOrError(queryExecutionRequest, queryVisitorContext, baseQuery, datasource,
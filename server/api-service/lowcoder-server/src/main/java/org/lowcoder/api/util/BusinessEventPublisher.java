@@ -7,6 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.lowcoder.api.application.view.ApplicationInfoView;
 import org.lowcoder.api.application.view.ApplicationView;
+import org.lowcoder.api.framework.event.LowcoderEventBus;
 import org.lowcoder.api.home.SessionUserService;
 import org.lowcoder.api.usermanagement.view.AddMemberRequest;
 import org.lowcoder.api.usermanagement.view.UpdateRoleRequest;
@@ -43,7 +44,6 @@ import org.lowcoder.infra.event.user.UserLogoutEvent;
 import org.lowcoder.plugin.api.event.LowcoderEvent.EventType;
 import org.lowcoder.sdk.constants.Authentication;
 import org.lowcoder.sdk.util.LocaleUtils;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
@@ -57,7 +57,7 @@ import static org.lowcoder.domain.permission.model.ResourceHolder.USER;
 @Component
 public class BusinessEventPublisher {
 
-    private final ApplicationEventPublisher applicationEventPublisher;
+    private final LowcoderEventBus eventBus;
     private final SessionUserService sessionUserService;
     private final GroupService groupService;
     private final UserService userService;
@@ -84,7 +84,7 @@ public class BusinessEventPublisher {
                                 .sessionHash(Hashing.sha512().hashString(token, StandardCharsets.UTF_8).toString())
                                 .build();
                         event.populateDetails();
-                        applicationEventPublisher.publishEvent(event);
+                        eventBus.publish(event);
                 })
                 .then()
                 .onErrorResume(throwable -> {
@@ -144,7 +144,7 @@ public class BusinessEventPublisher {
                                         .sessionHash(Hashing.sha512().hashString(token, StandardCharsets.UTF_8).toString())
                                         .build();
                                 event.populateDetails();
-                                applicationEventPublisher.publishEvent(event);
+                                eventBus.publish(event);
                             })
                             .then()
                             .onErrorResume(throwable -> {
@@ -167,7 +167,7 @@ public class BusinessEventPublisher {
                             .sessionHash(Hashing.sha512().hashString(token, StandardCharsets.UTF_8).toString())
                             .build();
                     event.populateDetails();
-                    applicationEventPublisher.publishEvent(event);
+                    eventBus.publish(event);
                 })
                 .then()
                 .onErrorResume(throwable -> {
@@ -189,7 +189,7 @@ public class BusinessEventPublisher {
                             .sessionHash(Hashing.sha512().hashString(token, StandardCharsets.UTF_8).toString())
                             .build();
                     event.populateDetails();
-                    applicationEventPublisher.publishEvent(event);
+                    eventBus.publish(event);
                 })
                 .then()
                 .onErrorResume(throwable -> {
@@ -213,7 +213,7 @@ public class BusinessEventPublisher {
                                     .sessionHash(Hashing.sha512().hashString(tuple.getT2(), StandardCharsets.UTF_8).toString())
                                     .build();
                             event.populateDetails();
-                            applicationEventPublisher.publishEvent(event);
+                            eventBus.publish(event);
                             return Mono.empty();
                         }))
                 .then()
@@ -241,7 +241,7 @@ public class BusinessEventPublisher {
                                     .sessionHash(Hashing.sha512().hashString(tuple.getT2(), StandardCharsets.UTF_8).toString())
                                     .build();
                             event.populateDetails();
-                            applicationEventPublisher.publishEvent(event);
+                            eventBus.publish(event);
                             return Mono.empty();
                         }))
                 .then()
@@ -269,7 +269,7 @@ public class BusinessEventPublisher {
                                     .sessionHash(Hashing.sha512().hashString(tuple.getT2(), StandardCharsets.UTF_8).toString())
                                     .build();
                             event.populateDetails();
-                            applicationEventPublisher.publishEvent(event);
+                            eventBus.publish(event);
                             return Mono.empty();
                         }))
                 .then()
@@ -306,7 +306,7 @@ public class BusinessEventPublisher {
                                     .sessionHash(Hashing.sha512().hashString(token, StandardCharsets.UTF_8).toString())
                                     .build();
                             event.populateDetails();
-                            applicationEventPublisher.publishEvent(event);
+                            eventBus.publish(event);
                             return Mono.empty();
                         }))
                 .then()
@@ -343,7 +343,7 @@ public class BusinessEventPublisher {
                                     .sessionHash(Hashing.sha512().hashString(tuple.getT4(), StandardCharsets.UTF_8).toString())
                                     .build();
                             event.populateDetails();
-                            applicationEventPublisher.publishEvent(event);
+                            eventBus.publish(event);
                             return Mono.empty();
                         }))
                 .then()
@@ -379,7 +379,7 @@ public class BusinessEventPublisher {
                                     .sessionHash(Hashing.sha512().hashString(tuple.getT4(), StandardCharsets.UTF_8).toString())
                                     .build();
                             event.populateDetails();
-                            applicationEventPublisher.publishEvent(event);
+                            eventBus.publish(event);
                             return Mono.empty();
                         }))
                 .then()
@@ -415,7 +415,7 @@ public class BusinessEventPublisher {
                                     .sessionHash(Hashing.sha512().hashString(tuple.getT4(), StandardCharsets.UTF_8).toString())
                                     .build();
                             event.populateDetails();
-                            applicationEventPublisher.publishEvent(event);
+                            eventBus.publish(event);
                             return Mono.empty();
                         }))
                 .then()
@@ -426,7 +426,7 @@ public class BusinessEventPublisher {
     }
 
     public void publishQueryExecutionEvent(QueryExecutionEvent queryExecutionEvent) {
-        applicationEventPublisher.publishEvent(queryExecutionEvent);
+        eventBus.publish(queryExecutionEvent);
     }
 
     public Mono<Void> publishDatasourceEvent(String id, EventType eventType) {
@@ -453,7 +453,7 @@ public class BusinessEventPublisher {
                             .sessionHash(Hashing.sha512().hashString(tuple.getT2(), StandardCharsets.UTF_8).toString())
                             .build();
                     event.populateDetails();
-                    applicationEventPublisher.publishEvent(event);
+                    eventBus.publish(event);
                     return Mono.<Void> empty();
                 })
                 .onErrorResume(throwable -> {
@@ -504,7 +504,7 @@ public class BusinessEventPublisher {
                             .sessionHash(Hashing.sha512().hashString(tuple.getT3(), StandardCharsets.UTF_8).toString())
                             .build();
                     datasourcePermissionEvent.populateDetails();
-                    applicationEventPublisher.publishEvent(datasourcePermissionEvent);
+                    eventBus.publish(datasourcePermissionEvent);
                     return Mono.<Void> empty();
                 })
                 .onErrorResume(throwable -> {
@@ -533,7 +533,7 @@ public class BusinessEventPublisher {
                     event.populateDetails();
                     return event;
                 })
-                .doOnNext(applicationEventPublisher::publishEvent)
+                .doOnNext(eventBus::publish)
                 .then()
                 .onErrorResume(throwable -> {
                     log.error("publishLibraryQueryEvent error.", throwable);
@@ -4,9 +4,15 @@ import com.github.cloudyrock.mongock.ChangeLog;
 import com.github.cloudyrock.mongock.ChangeSet;
 import com.github.cloudyrock.mongock.driver.mongodb.springdata.v4.decorator.impl.MongockTemplate;
 import com.github.f4b6a3.uuid.UuidCreator;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.Document;
 import org.lowcoder.domain.application.model.Application;
+import org.lowcoder.domain.application.model.ApplicationHistorySnapshot;
+import org.lowcoder.domain.application.model.ApplicationType;
 import org.lowcoder.domain.bundle.model.Bundle;
 import org.lowcoder.domain.datasource.model.Datasource;
 import org.lowcoder.domain.datasource.model.DatasourceStructureDO;
@@ -23,6 +29,7 @@ import org.lowcoder.infra.birelation.BiRelation;
 import org.lowcoder.infra.config.model.ServerConfig;
 import org.lowcoder.infra.eventlog.EventLog;
 import org.lowcoder.infra.serverlog.ServerLog;
+import org.lowcoder.runner.migrations.bulk.BulkMigrations;
 import org.lowcoder.runner.migrations.job.AddPtmFieldsJob;
 import org.lowcoder.runner.migrations.job.AddSuperAdminUser;
 import org.lowcoder.runner.migrations.job.CompleteAuthType;
@@ -30,18 +37,16 @@ import org.lowcoder.runner.migrations.job.MigrateAuthConfigJob;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.UncategorizedMongoDbException;
-import org.springframework.data.mongodb.core.DocumentCallbackHandler;
 import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
 import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.index.IndexOperations;
-import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.Query;
-import org.springframework.data.mongodb.core.query.Update;
 
 import java.time.Instant;
 import java.util.Set;
 
+import static org.lowcoder.domain.application.ApplicationUtil.getContainerSizeFromDSL;
 import static org.lowcoder.domain.util.QueryDslUtils.fieldName;
+import static org.lowcoder.runner.migrations.bulk.BulkMigration.updateById;
 import static org.lowcoder.sdk.util.IDUtils.generate;
 
 @SuppressWarnings("all")
@@ -206,7 +211,7 @@ public class DatabaseChangelog {
     }
 
     @ChangeSet(order = "022", id = "add-gid", author = "")
-    public void addGidToDBObjects(MongockTemplate mongoTemplate) {
+    public void addGidToDBObjects(MongockTemplate mongoTemplate, BulkMigrations bulkMigrations) {
         // Define an array of collection names
         String[] collectionNames = {"application", "bundle", "datasource", "libraryQuery", "folder"};
 
@@ -215,7 +220,7 @@ public class DatabaseChangelog {
 
         for (String collectionName : collectionNames) {
             if (existingCollections.contains(collectionName)) {
-                addGidField(mongoTemplate, collectionName);
+                addGidField(mongoTemplate, bulkMigrations, "add-gid", collectionName);
             } else {
                 System.out.println("Collection " + collectionName + " does not exist.");
             }
@@ -223,55 +228,23 @@ public class DatabaseChangelog {
     }
 
     @ChangeSet(order = "023", id = "add-email", author = "")
-    public void addEmailField(MongockTemplate mongoTemplate) {
-        // Create a query to match all documents
-        Query query = new Query();
-
-        // Use a DocumentCallbackHandler to iterate through each document
-        mongoTemplate.executeQuery(query, "user", new DocumentCallbackHandler() {
-            @Override
-            public void processDocument(Document document) {
-                // Generate a random UUID and ensure it is unique within the collection
-                String username = document.getString("name");
-                // Create an update object to add the 'gid' field
-                Update update = new Update();
-                update.set("email", username);
-
-                // Create a query to match the current document by its _id
-                Query idQuery = new Query(Criteria.where("_id").is(document.getObjectId("_id")));
-
-                // Update the document with the new 'gid' field
-                mongoTemplate.updateFirst(idQuery, update, "user");
-            }
-        });
+    public void addEmailField(MongockTemplate mongoTemplate, BulkMigrations bulkMigrations) {
+        bulkMigrations.of("add-email", mongoTemplate.getCollection("user"))
+                .projection(Projections.include("name"))
+                .run(document -> updateById(document, Updates.set("email", document.getString("name"))));
     }
 
     @ChangeSet(order = "024", id = "fill-create-at", author = "")
-    public void fillCreateAt(MongockTemplate mongoTemplate) {
-        // Create a query to match all documents
-        Query query = new Query();
-
-        // Use a DocumentCallbackHandler to iterate through each document
-        mongoTemplate.executeQuery(query, "folder", new DocumentCallbackHandler() {
-            @Override
-            public void processDocument(Document document) {
-                Object object = document.get("createdAt");
-                if (object != null) return;
-                // Create an update object to add the 'gid' field
-                Update update = new Update();
-                update.set("createdAt", Instant.now());
-
-                // Create a query to match the current document by its _id
-                Query idQuery = new Query(Criteria.where("_id").is(document.getObjectId("_id")));
-
-                // Update the document with the new 'gid' field
-                mongoTemplate.updateFirst(idQuery, update, "folder");
-            }
-        });
+    public void fillCreateAt(MongockTemplate mongoTemplate, BulkMigrations bulkMigrations) {
+        Instant now = Instant.now();
+        bulkMigrations.of("fill-create-at", mongoTemplate.getCollection("folder"))
+                .filter(Filters.eq("createdAt", null))
+                .projection(Projections.include("_id"))
+                .run(document -> updateById(document, Updates.set("createdAt", now)));
     }
   
     @ChangeSet(order = "025", id = "add-gid-indexes-unique", author = "")
-    public void addGidIndexesUnique(MongockTemplate mongoTemplate) {
+    public void addGidIndexesUnique(MongockTemplate mongoTemplate, BulkMigrations bulkMigrations) {
         // collections to add gid
         String[] collectionNames = {"group", "organization"};
 
@@ -280,7 +253,7 @@ public class DatabaseChangelog {
 
         for (String collectionName : collectionNames) {
             if (existingCollections.contains(collectionName)) {
-                addGidField(mongoTemplate, collectionName);
+                addGidField(mongoTemplate, bulkMigrations, "add-gid-indexes-unique", collectionName);
             } else {
                 System.out.println("Collection " + collectionName + " does not exist.");
             }
@@ -295,36 +268,40 @@ public class DatabaseChangelog {
         ensureIndexes(mongoTemplate, LibraryQuery.class, makeIndex("gid").unique());
     }
 
-    private void addGidField(MongockTemplate mongoTemplate, String collectionName) {
-        // Create a query to match all documents
-        Query query = new Query();
-
-        // Use a DocumentCallbackHandler to iterate through each document
-        mongoTemplate.executeQuery(query, collectionName, new DocumentCallbackHandler() {
-            @Override
-            public void processDocument(Document document) {
-                // Generate a random UUID and ensure it is unique within the collection
-                String uniqueGid;
-                do {
-                    uniqueGid = UuidCreator.getTimeOrderedEpoch().toString();
-                } while (isGidPresent(mongoTemplate, collectionName, uniqueGid));
-
-                // Create an update object to add the 'gid' field
-                Update update = new Update();
-                update.set("gid", uniqueGid);
-
-                // Create a query to match the current document by its _id
-                Query idQuery = new Query(Criteria.where("_id").is(document.getObjectId("_id")).andOperator(Criteria.where("gid").isNull()));
-
-                // Update the document with the new 'gid' field
-                mongoTemplate.updateFirst(idQuery, update, collectionName);
-            }
-        });
+    @ChangeSet(order = "026", id = "fill-live-container-size", author = "")
+    public void fillLiveContainerSize(MongockTemplate mongoTemplate, BulkMigrations bulkMigrations) {
+        // only modules show a container size, applications saved without a type are applications
+        bulkMigrations.of("fill-live-container-size", mongoTemplate.getCollection("application"))
+                .filter(Filters.and(Filters.nin("applicationType", ApplicationType.APPLICATION.getValue(), null),
+                        Filters.exists("liveContainerSize", false)))
+                .projection(Projections.include("publishedApplicationDSL.ui.comp.containerSize",
+                        "editingApplicationDSL.ui.comp.containerSize"))
+                .run(document -> {
+                    Document dsl = document.get("publishedApplicationDSL", Document.class);
+                    if (dsl == null || dsl.isEmpty()) {
+                        dsl = document.get("editingApplicationDSL", Document.class);
+                    }
+                    Object liveContainerSize = getContainerSizeFromDSL(dsl == null ? new Document() : dsl);
+                    return updateById(document, Updates.set("liveContainerSize", liveContainerSize));
+                });
+    }
+
+    @ChangeSet(order = "027", id = "add-history-snapshot-indexes", author = "")
+    public void addHistorySnapshotIndexes(MongockTemplate mongoTemplate) {
+        ensureIndexes(mongoTemplate, ApplicationHistorySnapshot.class,
+                makeIndex("applicationId", "_id"),
+                makeIndex("keyframeId")
+        );
     }
 
-    private boolean isGidPresent(MongockTemplate mongoTemplate, String collectionName, String gid) {
-        Query query = new Query(Criteria.where("gid").is(gid));
-        return mongoTemplate.exists(query, collectionName);
+    private void addGidField(MongockTemplate mongoTemplate, BulkMigrations bulkMigrations, String changeSetId, String collectionName) {
+        // time ordered uuids don't collide, so the gid is not looked up before it is set
+        bulkMigrations.of(changeSetId + ":" + collectionName, mongoTemplate.getCollection(collectionName))
+                .filter(Filters.eq("gid", null))
+                .projection(Projections.include("_id"))
+                .run(document -> new UpdateOneModel<>(
+                        Filters.and(Filters.eq("_id", document.get("_id")), Filters.eq("gid", null)),
+                        Updates.set("gid", UuidCreator.getTimeOrderedEpoch().toString())));
     }
 
     public static Index makeIndex(String... fields) {
@@ -0,0 +1,182 @@
+package org.lowcoder.runner.migrations.bulk;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.lowcoder.infra.perf.PerfHelper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.lowcoder.infra.perf.PerfEvent.MIGRATION_DOCUMENTS_SCANNED;
+import static org.lowcoder.infra.perf.PerfEvent.MIGRATION_DOCUMENTS_WRITTEN;
+
+/**
+ * Rewrites the documents of a collection with unordered bulk writes of {@code batchSize} documents, instead of one
+ * update per document.
+ * <p>
+ * Documents are read in _id order. After every batch the last _id read is saved in the {@value #CHECKPOINT_COLLECTION}
+ * collection, so a migration interrupted by a restart continues after its last batch when its changeset runs again, and
+ * a finished migration is not run twice. Get instances from {@link BulkMigrations}.
+ * <p>
+ * The checkpoint of a finished migration is kept, so to run a changeset again, its checkpoint document has to be
+ * deleted together with its changelog entry, otherwise the migration does nothing.
+ */
+@Slf4j
+public class BulkMigration {
+
+    public static final String CHECKPOINT_COLLECTION = "migrationCheckpoint";
+
+    private static final String ID = "_id";
+    private static final String LAST_ID = "lastId";
+    private static final String SCANNED = "scanned";
+    private static final String WRITTEN = "written";
+    private static final String DONE = "done";
+    private static final String UPDATED_AT = "updatedAt";
+
+    private final String migrationId;
+    private final MongoCollection<Document> collection;
+    private final MongoCollection<Document> checkpoints;
+    @Nullable
+    private final PerfHelper perfHelper;
+    private int batchSize;
+    private Bson filter = new Document();
+    @Nullable
+    private Bson projection;
+
+    BulkMigration(String migrationId, MongoCollection<Document> collection, MongoCollection<Document> checkpoints, int batchSize,
+            @Nullable PerfHelper perfHelper) {
+        this.migrationId = migrationId;
+        this.collection = collection;
+        this.checkpoints = checkpoints;
+        this.batchSize = Math.max(batchSize, 1);
+        this.perfHelper = perfHelper;
+    }
+
+    /**
+     * only the matching documents are read
+     */
+    public BulkMigration filter(Bson filter) {
+        this.filter = filter;
+        return this;
+    }
+
+    /**
+     * fields read from every document, _id is always read
+     */
+    public BulkMigration projection(Bson projection) {
+        this.projection = projection;
+        return this;
+    }
+
+    public BulkMigration batchSize(int batchSize) {
+        this.batchSize = Math.max(batchSize, 1);
+        return this;
+    }
+
+    /**
+     * @param writer the write of a document, null leaves the document unchanged
+     * @return documents written by this run
+     */
+    public long run(Function<Document, WriteModel<Document>> writer) {
+        Document checkpoint = checkpoints.find(Filters.eq(ID, migrationId)).first();
+        if (checkpoint != null && checkpoint.getBoolean(DONE, false)) {
+            log.info("migration {} already done", migrationId);
+            return 0;
+        }
+
+        Object lastId = checkpoint == null ? null : checkpoint.get(LAST_ID);
+        Progress progress = checkpoint == null ? new Progress(0, 0)
+                                               : new Progress(getLong(checkpoint, SCANNED), getLong(checkpoint, WRITTEN));
+        Bson query = lastId == null ? filter : Filters.and(filter, Filters.gt(ID, lastId));
+        // an estimate from the collection metadata, counting the query would scan the collection once more
+        log.info("migration {} {}, about {} documents in the collection", migrationId,
+                lastId == null ? "started" : "resumed after " + lastId, collection.estimatedDocumentCount());
+
+        long writtenByRun = 0;
+        List<WriteModel<Document>> batch = new ArrayList<>(batchSize);
+        int pending = 0;
+        try (MongoCursor<Document> cursor = collection.find(query)
+                .projection(projection)
+                .sort(Sorts.ascending(ID))
+                .batchSize(batchSize)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document document = cursor.next();
+                WriteModel<Document> write = writer.apply(document);
+                if (write != null) {
+                    batch.add(write);
+                }
+                lastId = document.get(ID);
+                // a batch is also closed after batchSize unchanged documents, so the checkpoint keeps up with the scan
+                if (++pending >= batchSize) {
+                    writtenByRun += flush(batch, pending, lastId, progress, false);
+                    batch.clear();
+                    pending = 0;
+                }
+            }
+        }
+        writtenByRun += flush(batch, pending, lastId, progress, true);
+        log.info("migration {} done, {} documents scanned, {} written", migrationId, progress.scanned, progress.written);
+        return writtenByRun;
+    }
+
+    private int flush(List<WriteModel<Document>> batch, int scanned, @Nullable Object lastId, Progress progress, boolean done) {
+        if (!batch.isEmpty()) {
+            collection.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+        }
+        progress.scanned += scanned;
+        progress.written += batch.size();
+
+        Document checkpoint = new Document(ID, migrationId)
+                .append(LAST_ID, lastId)
+                .append(SCANNED, progress.scanned)
+                .append(WRITTEN, progress.written)
+                .append(DONE, done)
+                .append(UPDATED_AT, Instant.now());
+        checkpoints.replaceOne(Filters.eq(ID, migrationId), checkpoint, new ReplaceOptions().upsert(true));
+
+        if (perfHelper != null) {
+            Tags tags = Tags.of("migration", migrationId);
+            perfHelper.count(MIGRATION_DOCUMENTS_SCANNED, tags, scanned);
+            perfHelper.count(MIGRATION_DOCUMENTS_WRITTEN, tags, batch.size());
+        }
+        if (!done) {
+            log.info("migration {}: {} documents scanned, {} written", migrationId, progress.scanned, progress.written);
+        }
+        return batch.size();
+    }
+
+    /**
+     * the common write of a migration, an update of the document by its _id
+     */
+    public static UpdateOneModel<Document> updateById(Document document, Bson update) {
+        return new UpdateOneModel<>(Filters.eq(ID, document.get(ID)), update);
+    }
+
+    private static long getLong(Document document, String key) {
+        return document.get(key) instanceof Number number ? number.longValue() : 0;
+    }
+
+    private static class Progress {
+        private long scanned;
+        private long written;
+
+        private Progress(long scanned, long written) {
+            this.scanned = scanned;
+            this.written = written;
+        }
+    }
+}
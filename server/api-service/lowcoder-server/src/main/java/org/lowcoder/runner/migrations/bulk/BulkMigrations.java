@@ -0,0 +1,14 @@
+package org.lowcoder.runner.migrations.bulk;
+
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+
+public interface BulkMigrations {
+
+    /**
+     * @param migrationId identifies the checkpoint of the migration, unique among all migrations
+     * @param collection  the collection to rewrite, e.g. {@code mongoTemplate.getCollection("application")}
+     * @return a migration with the configured batch size, see {@link org.lowcoder.sdk.config.CommonConfig.Migration}
+     */
+    BulkMigration of(String migrationId, MongoCollection<Document> collection);
+}
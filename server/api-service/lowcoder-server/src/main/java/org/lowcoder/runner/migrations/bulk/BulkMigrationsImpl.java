@@ -0,0 +1,26 @@
+package org.lowcoder.runner.migrations.bulk;
+
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.lowcoder.infra.perf.PerfHelper;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BulkMigrationsImpl implements BulkMigrations {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private CommonConfig commonConfig;
+    @Autowired
+    private PerfHelper perfHelper;
+
+    @Override
+    public BulkMigration of(String migrationId, MongoCollection<Document> collection) {
+        return new BulkMigration(migrationId, collection, mongoTemplate.getCollection(BulkMigration.CHECKPOINT_COLLECTION),
+                commonConfig.getMigration().getBatchSize(), perfHelper);
+    }
+}
@@ -0,0 +1,127 @@
+package org.lowcoder.api.framework.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.lowcoder.infra.event.SystemCommonEvent;
+import org.lowcoder.infra.perf.PerfHelper;
+import org.lowcoder.plugin.api.event.LowcoderEvent;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.lowcoder.sdk.config.CommonConfig.EventBus.BackpressurePolicy;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class LowcoderEventBusTest {
+
+    private LowcoderEventBus eventBus;
+
+    @AfterEach
+    public void tearDown() {
+        eventBus.shutdown();
+    }
+
+    @Test
+    public void testSlowListenerDropsOldestEventsWithoutBlockingPublisher() throws InterruptedException {
+        CommonConfig commonConfig = new CommonConfig();
+        commonConfig.getEventBus().setQueueCapacity(2);
+        commonConfig.getEventBus().setWorkers(1);
+        commonConfig.getEventBus().setDefaultBackpressure(BackpressurePolicy.DROP_OLDEST);
+        eventBus = new LowcoderEventBus(commonConfig, mock(PerfHelper.class));
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> received = new CopyOnWriteArrayList<>();
+        eventBus.register("slow", event -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(event.details().get("id").toString());
+        });
+
+        eventBus.publish(event("1"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // the worker is busy with event 1, the queue keeps the two latest events
+        for (int i = 2; i <= 5; i++) {
+            eventBus.publish(event(String.valueOf(i)));
+        }
+        release.countDown();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (received.size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of("1", "4", "5"), received);
+    }
+
+    @Test
+    public void testBlockPolicyDoesNotWaitOnEventLoopThreads() {
+        CommonConfig commonConfig = new CommonConfig();
+        commonConfig.getEventBus().setQueueCapacity(1);
+        commonConfig.getEventBus().setDefaultBackpressure(BackpressurePolicy.BLOCK);
+        commonConfig.getEventBus().setBlockTimeout(Duration.ofSeconds(10));
+        eventBus = new LowcoderEventBus(commonConfig, mock(PerfHelper.class));
+
+        CountDownLatch release = new CountDownLatch(1);
+        eventBus.register("stuck", event -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        long start = System.nanoTime();
+        Mono.fromRunnable(() -> {
+                    for (int i = 0; i < 5; i++) {
+                        eventBus.publish(event(String.valueOf(i)));
+                    }
+                })
+                .subscribeOn(Schedulers.parallel())
+                .block(Duration.ofSeconds(5));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+        release.countDown();
+    }
+
+    @Test
+    public void testShutdownDeliversQueuedEvents() {
+        CommonConfig commonConfig = new CommonConfig();
+        eventBus = new LowcoderEventBus(commonConfig, mock(PerfHelper.class));
+
+        List<String> received = new CopyOnWriteArrayList<>();
+        eventBus.register("slow", event -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(event.details().get("id").toString());
+        });
+
+        for (int i = 1; i <= 5; i++) {
+            eventBus.publish(event(String.valueOf(i)));
+        }
+        eventBus.shutdown();
+
+        // a single worker delivers in publishing order
+        assertEquals(List.of("1", "2", "3", "4", "5"), received);
+    }
+
+    private static LowcoderEvent event(String id) {
+        return SystemCommonEvent.builder()
+                .detail("id", id)
+                .build();
+    }
+}
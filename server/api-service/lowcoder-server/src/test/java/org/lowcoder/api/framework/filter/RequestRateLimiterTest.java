@@ -0,0 +1,95 @@
+package org.lowcoder.api.framework.filter;
+
+import org.junit.jupiter.api.Test;
+import org.lowcoder.domain.ratelimit.RateLimitResult;
+import org.lowcoder.domain.ratelimit.RateLimiter;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.lowcoder.sdk.config.CommonConfig.RateLimitKey;
+import org.lowcoder.sdk.config.CommonConfig.RateLimitRule;
+import org.lowcoder.sdk.exception.BizException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RequestRateLimiterTest {
+
+    private static final String QUERY_PATH = "/api/query/execute";
+
+    private final RateLimiter rateLimiter = mock(RateLimiter.class);
+    private final RequestRateLimiter requestRateLimiter = createRequestRateLimiter();
+
+    @Test
+    public void testThrottledRequestGets429WithRetryAfter() {
+        when(rateLimiter.tryAcquire(anyString(), anyLong(), anyDouble()))
+                .thenReturn(Mono.just(RateLimitResult.rejected(Duration.ofMillis(1500))));
+
+        StepVerifier.create(checkIp(QUERY_PATH))
+                .expectErrorSatisfies(error -> {
+                    assertTrue(error instanceof BizException);
+                    BizException bizException = (BizException) error;
+                    assertEquals(429, bizException.getHttpStatus());
+                    // rounded up to whole seconds
+                    assertEquals("2", bizException.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+                })
+                .verify();
+    }
+
+    @Test
+    public void testAllowedRequestPasses() {
+        when(rateLimiter.tryAcquire(anyString(), anyLong(), anyDouble()))
+                .thenReturn(Mono.just(RateLimitResult.allowed(3)));
+
+        StepVerifier.create(checkIp(QUERY_PATH))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testOtherPathsAndKeysAreNotLimited() {
+        StepVerifier.create(checkIp("/api/users/me"))
+                .verifyComplete();
+        StepVerifier.create(requestRateLimiter.check(exchange(QUERY_PATH), Set.of(RateLimitKey.USER), key -> Mono.just("user1")))
+                .verifyComplete();
+
+        verify(rateLimiter, never()).tryAcquire(anyString(), anyLong(), anyDouble());
+    }
+
+    private Mono<Void> checkIp(String path) {
+        return requestRateLimiter.check(exchange(path), Set.of(RateLimitKey.IP), key -> Mono.just("10.0.0.1"));
+    }
+
+    private RequestRateLimiter createRequestRateLimiter() {
+        RateLimitRule rule = new RateLimitRule();
+        rule.setName("query");
+        rule.setKey(RateLimitKey.IP);
+        rule.setPaths(List.of("/api/query/**"));
+        rule.setCapacity(5);
+        rule.setRefillPerSecond(1);
+        CommonConfig commonConfig = new CommonConfig();
+        commonConfig.getRateLimit().setRules(List.of(rule));
+
+        RequestRateLimiter result = new RequestRateLimiter(commonConfig, rateLimiter);
+        ReflectionTestUtils.invokeMethod(result, "init");
+        return result;
+    }
+
+    private static MockServerWebExchange exchange(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    }
+}
@@ -0,0 +1,86 @@
+package org.lowcoder.api.infra;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.lowcoder.runner.migrations.bulk.BulkMigration;
+import org.lowcoder.runner.migrations.bulk.BulkMigrations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.lowcoder.runner.migrations.bulk.BulkMigration.updateById;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class BulkMigrationTest {
+
+    private static final String COLLECTION = "bulkMigrationTest";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private BulkMigrations bulkMigrations;
+
+    private MongoCollection<Document> collection;
+
+    @Before
+    public void setUp() {
+        mongoTemplate.dropCollection(COLLECTION);
+        mongoTemplate.getCollection(BulkMigration.CHECKPOINT_COLLECTION).deleteMany(Filters.regex("_id", "^bulk-migration-test"));
+        collection = mongoTemplate.getCollection(COLLECTION);
+        IntStream.range(0, 25).forEach(i -> collection.insertOne(new Document("index", i).append("count", 0)));
+    }
+
+    @Test
+    public void testRunInBatches() {
+        long written = bulkMigrations.of("bulk-migration-test-run", collection)
+                .filter(Filters.lt("index", 20))
+                .batchSize(10)
+                .run(document -> updateById(document, Updates.inc("count", 1)));
+
+        assertEquals(20, written);
+        assertEquals(20, collection.countDocuments(Filters.eq("count", 1)));
+
+        // a finished migration is not run again
+        assertEquals(0, bulkMigrations.of("bulk-migration-test-run", collection)
+                .batchSize(10)
+                .run(document -> updateById(document, Updates.inc("count", 1))));
+        assertEquals(20, collection.countDocuments(Filters.eq("count", 1)));
+    }
+
+    @Test
+    public void testResumeAfterFailure() {
+        AtomicInteger calls = new AtomicInteger();
+        try {
+            bulkMigrations.of("bulk-migration-test-resume", collection)
+                    .batchSize(10)
+                    .run(document -> {
+                        if (calls.incrementAndGet() == 15) {
+                            throw new IllegalStateException("interrupted");
+                        }
+                        return updateById(document, Updates.inc("count", 1));
+                    });
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+        assertEquals(10, collection.countDocuments(Filters.eq("count", 1)));
+
+        long written = bulkMigrations.of("bulk-migration-test-resume", collection)
+                .batchSize(10)
+                .run(document -> updateById(document, Updates.inc("count", 1)));
+
+        assertEquals(15, written);
+        assertEquals(25, collection.countDocuments(Filters.eq("count", 1)));
+    }
+}